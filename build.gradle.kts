@@ -2,6 +2,7 @@ plugins {
     java
     id("org.springframework.boot") version "3.5.5"
     id("io.spring.dependency-management") version "1.1.7"
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "com"
@@ -27,6 +28,8 @@ repositories {
 dependencies {
     implementation("org.springframework.boot:spring-boot-starter")
     compileOnly("org.projectlombok:lombok")
+    // MicrometerMetricsSink 용. 쓰는 쪽(예: spring-boot-starter-actuator)이 런타임에 제공한다.
+    compileOnly("io.micrometer:micrometer-core")
     runtimeOnly("com.mysql:mysql-connector-j")
     annotationProcessor("org.projectlombok:lombok")
     testImplementation("org.springframework.boot:spring-boot-starter-test")
@@ -36,3 +39,10 @@ dependencies {
 tasks.withType<Test> {
     useJUnitPlatform()
 }
+
+// ./gradlew jmh -> build/results/jmh/results.json
+jmh {
+    jmhVersion = "1.37"
+    resultFormat = "JSON"
+    resultsFile = layout.buildDirectory.file("results/jmh/results.json")
+}
@@ -0,0 +1,47 @@
+package com.back.global.db;
+
+import com.back.global.db.fake.FakeDriver;
+import com.back.global.db.fake.FakeResultSet;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 가짜 드라이버는 값을 보관만 하므로 SimpleDb 쪽 바인딩 비용만 잰다. 드라이버 안의 타입 판별 비용은 실제 DB 에서 확인한다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParamBindBenchmark {
+    private PreparedStatement pstmt;
+    private ParamBinder binder;
+    private List<Object> params;
+
+    @Setup
+    public void setUp() throws SQLException {
+        pstmt = new FakeDriver(FakeResultSet.articles(1)).create()
+                .prepareStatement("UPDATE article SET title = ?, `body` = ?, isBlind = ? WHERE id = ?", Statement.NO_GENERATED_KEYS);
+        binder = new ParamBinder();
+        params = Arrays.asList("제목 new", null, false, 1L);
+    }
+
+    @Benchmark
+    public PreparedStatement setObject() throws SQLException {
+        for (int i = 0; i < params.size(); i++) {
+            pstmt.setObject(i + 1, params.get(i));
+        }
+        return pstmt;
+    }
+
+    @Benchmark
+    public PreparedStatement typed() throws SQLException {
+        binder.bind(pstmt, params);
+        return pstmt;
+    }
+}
@@ -0,0 +1,62 @@
+package com.back.global.db;
+
+import com.back.domain.article.article.entity.Article;
+import com.back.global.db.fake.FakeResultSet;
+import com.back.global.db.mapper.BaseRowMapper;
+import com.back.global.db.mapper.MapRowMapper;
+import com.back.global.db.mapper.ObjectRowMapper;
+import com.back.global.db.mapper.RowMappers;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// 매퍼별 초당 매핑 행 수
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RowMapperBenchmark {
+    private static final int ROW_COUNT = 10_000;
+
+    private FakeResultSet resultSet;
+
+    @Setup
+    public void setUp() {
+        resultSet = FakeResultSet.articles(ROW_COUNT);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROW_COUNT)
+    public void mapRowMapper(Blackhole blackhole) throws SQLException {
+        FakeResultSet rs = resultSet.reset();
+        BaseRowMapper<Map<String, Object>> mapper = new MapRowMapper(rs.getMetaData());
+        while (rs.next()) {
+            blackhole.consume(mapper.mapRow(rs));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROW_COUNT)
+    public void objectRowMapper(Blackhole blackhole) throws SQLException {
+        FakeResultSet rs = resultSet.reset();
+        BaseRowMapper<Article> mapper = new ObjectRowMapper<>(Article.class, rs.getMetaData());
+        while (rs.next()) {
+            blackhole.consume(mapper.mapRow(rs));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROW_COUNT)
+    public void generatedRowMapper(Blackhole blackhole) throws SQLException {
+        FakeResultSet rs = resultSet.reset();
+        BaseRowMapper<Article> mapper = RowMappers.forClass(Article.class, rs.getMetaData());
+        while (rs.next()) {
+            blackhole.consume(mapper.mapRow(rs));
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.back.global.db;
+
+import com.back.domain.article.article.entity.Article;
+import com.back.global.db.fake.FakeResultSet;
+import com.back.global.db.mapper.BaseRowMapper;
+import com.back.global.db.mapper.RowMapperFactory;
+import com.back.global.db.mapper.RowMappers;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+// 100,000 행 결과 셋을 Article 로 매핑할 때 행마다 매퍼를 만드는 방식(이전)과
+// 결과 셋마다 한 번 만드는 방식(이후)을 비교한다. 점수는 초당 매핑 행 수다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RowMapperFactoryBenchmark {
+    private static final int ROW_COUNT = 100_000;
+
+    private FakeResultSet resultSet;
+
+    @Setup
+    public void setUp() {
+        resultSet = FakeResultSet.articles(ROW_COUNT);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROW_COUNT)
+    public void mapperPerRow(Blackhole blackhole) throws SQLException {
+        FakeResultSet rs = resultSet.reset();
+        BaseRowMapper<Article> mapper = r -> RowMappers.forClass(Article.class, r.getMetaData()).mapRow(r);
+        while (rs.next()) {
+            blackhole.consume(mapper.mapRow(rs));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROW_COUNT)
+    public void mapperPerResultSet(Blackhole blackhole) throws SQLException {
+        FakeResultSet rs = resultSet.reset();
+        RowMapperFactory<Article> factory = RowMappers.factoryFor(Article.class);
+        BaseRowMapper<Article> mapper = factory.create(rs.getMetaData());
+        while (rs.next()) {
+            blackhole.consume(mapper.mapRow(rs));
+        }
+    }
+}
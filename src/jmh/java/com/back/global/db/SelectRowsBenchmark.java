@@ -0,0 +1,42 @@
+package com.back.global.db;
+
+import com.back.domain.article.article.entity.Article;
+import com.back.global.db.fake.FakeDriver;
+import com.back.global.db.fake.FakeResultSet;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 커넥션 대여부터 구문 준비, 바인딩, 매핑, 반납까지 selectRows(Article.class) 한 번의 전체 경로
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SelectRowsBenchmark {
+    @Param({"1", "100", "10000"})
+    public int rowCount;
+
+    private SimpleDb simpleDb;
+
+    @Setup
+    public void setUp() {
+        simpleDb = new SimpleDb(new FakeDriver(FakeResultSet.articles(rowCount)), SimpleDbConfig.builder().minIdle(0).build());
+    }
+
+    @TearDown
+    public void tearDown() {
+        simpleDb.shutdown();
+    }
+
+    @Benchmark
+    public List<Article> selectRows() {
+        return simpleDb.genSql()
+                .append("SELECT * FROM article")
+                .append("WHERE id > ?", 0)
+                .append("ORDER BY id ASC")
+                .selectRows(Article.class);
+    }
+}
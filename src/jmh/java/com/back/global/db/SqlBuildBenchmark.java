@@ -0,0 +1,54 @@
+package com.back.global.db;
+
+import com.back.global.db.fake.FakeDriver;
+import com.back.global.db.fake.FakeResultSet;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SqlBuildBenchmark {
+    private SimpleDb simpleDb;
+    private Object[] inValues;
+    private SqlTemplate inTemplate;
+
+    @Setup
+    public void setUp() {
+        simpleDb = new SimpleDb(new FakeDriver(FakeResultSet.articles(1)), SimpleDbConfig.builder().minIdle(0).build());
+        inValues = new Object[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+        inTemplate = simpleDb.template("SELECT COUNT(*) FROM article WHERE id IN (?)");
+    }
+
+    @TearDown
+    public void tearDown() {
+        simpleDb.shutdown();
+    }
+
+    @Benchmark
+    public Sql append() {
+        return simpleDb.genSql()
+                .append("INSERT INTO article")
+                .append("SET createdDate = NOW()")
+                .append(", modifiedDate = NOW()")
+                .append(", title = ?", "제목 new")
+                .append(", body = ?", "내용 new");
+    }
+
+    @Benchmark
+    public Sql appendIn() {
+        return simpleDb.genSql()
+                .append("SELECT COUNT(*)")
+                .append("FROM article")
+                .appendIn("WHERE id IN (?)", inValues);
+    }
+
+    @Benchmark
+    public Sql templateIn() {
+        return inTemplate.bind((Object) inValues);
+    }
+}
@@ -0,0 +1,39 @@
+package com.back.global.db;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SqlRenderBenchmark {
+    private static final String QUERY = """
+            INSERT INTO article
+            SET createdDate = ?,
+            modifiedDate = ?,
+            title = ?,
+            `body` = ?,
+            isBlind = ?
+            """;
+
+    private SqlLogger sqlLogger;
+    private List<Object> params;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        params = List.of(now, now, "제목1", "내용1", false);
+        sqlLogger = new SqlLogger(SimpleDbConfig.defaults());
+    }
+
+    @Benchmark
+    public String render() {
+        return sqlLogger.render(QUERY, params);
+    }
+}
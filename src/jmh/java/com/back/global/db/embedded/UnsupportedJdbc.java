@@ -0,0 +1,20 @@
+package com.back.global.db.embedded;
+
+// 벤치마크용 가짜 JDBC 객체(com.back.global.db.fake)가 내장 엔진의 package-private 바탕 클래스를
+// 그대로 물려받도록 열어 주는 어댑터. 바탕 클래스를 jmh 에 한 벌 더 두지 않기 위해 jmh 소스 셋에만 있다.
+public final class UnsupportedJdbc {
+    private UnsupportedJdbc() {
+    }
+
+    public abstract static class ConnectionBase extends UnsupportedConnection {
+    }
+
+    public abstract static class PreparedStatementBase extends UnsupportedPreparedStatement {
+    }
+
+    public abstract static class ResultSetBase extends UnsupportedResultSet {
+    }
+
+    public abstract static class ResultSetMetaDataBase extends UnsupportedResultSetMetaData {
+    }
+}
@@ -0,0 +1,62 @@
+package com.back.global.db.fake;
+
+import com.back.global.db.embedded.UnsupportedJdbc;
+
+import java.sql.PreparedStatement;
+
+public class FakeConnection extends UnsupportedJdbc.ConnectionBase {
+    private final FakeDriver driver;
+    private boolean autoCommit = true;
+    private boolean closed;
+
+    FakeConnection(FakeDriver driver) {
+        this.driver = driver;
+    }
+
+    FakeDriver getDriver() {
+        return driver;
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) {
+        return new FakePreparedStatement(this);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency) {
+        return new FakePreparedStatement(this);
+    }
+
+    @Override
+    public boolean getAutoCommit() {
+        return autoCommit;
+    }
+
+    @Override
+    public void setAutoCommit(boolean autoCommit) {
+        this.autoCommit = autoCommit;
+    }
+
+    @Override
+    public void commit() {
+    }
+
+    @Override
+    public void rollback() {
+    }
+
+    @Override
+    public boolean isValid(int timeout) {
+        return !closed;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+}
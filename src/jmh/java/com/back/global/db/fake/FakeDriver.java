@@ -0,0 +1,26 @@
+package com.back.global.db.fake;
+
+import com.back.global.db.pool.ConnectionPool;
+
+import java.sql.Connection;
+
+// 네트워크 없이 SimpleDb 의 실행 경로 전체를 측정하기 위한 가짜 드라이버.
+// 모든 조회는 같은 행 배열을 공유하는 새 FakeResultSet 을 돌려준다.
+public class FakeDriver implements ConnectionPool.ConnectionFactory {
+    private final String[] labels;
+    private final Object[][] rows;
+
+    public FakeDriver(FakeResultSet template) {
+        this.labels = template.getLabels();
+        this.rows = template.getRows();
+    }
+
+    @Override
+    public Connection create() {
+        return new FakeConnection(this);
+    }
+
+    FakeResultSet newResultSet() {
+        return new FakeResultSet(labels, rows);
+    }
+}
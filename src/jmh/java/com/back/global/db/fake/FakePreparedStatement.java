@@ -0,0 +1,94 @@
+package com.back.global.db.fake;
+
+import com.back.global.db.embedded.UnsupportedJdbc;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+public class FakePreparedStatement extends UnsupportedJdbc.PreparedStatementBase {
+    private static final String[] GENERATED_KEY_LABELS = {"GENERATED_KEY"};
+
+    private final FakeConnection connection;
+    private final Object[] parameters = new Object[64];
+    private boolean closed;
+
+    FakePreparedStatement(FakeConnection connection) {
+        this.connection = connection;
+    }
+
+    @Override
+    public void setObject(int parameterIndex, Object x) {
+        parameters[parameterIndex - 1] = x;
+    }
+
+    @Override
+    public void setNull(int parameterIndex, int sqlType) {
+        parameters[parameterIndex - 1] = null;
+    }
+
+    @Override
+    public void setLong(int parameterIndex, long x) {
+        parameters[parameterIndex - 1] = x;
+    }
+
+    @Override
+    public void setInt(int parameterIndex, int x) {
+        parameters[parameterIndex - 1] = x;
+    }
+
+    @Override
+    public void setBoolean(int parameterIndex, boolean x) {
+        parameters[parameterIndex - 1] = x;
+    }
+
+    @Override
+    public void setString(int parameterIndex, String x) {
+        parameters[parameterIndex - 1] = x;
+    }
+
+    @Override
+    public void clearParameters() {
+        Arrays.fill(parameters, null);
+    }
+
+    @Override
+    public ResultSet executeQuery() {
+        return connection.getDriver().newResultSet();
+    }
+
+    @Override
+    public int executeUpdate() {
+        return 1;
+    }
+
+    @Override
+    public int getUpdateCount() {
+        return 1;
+    }
+
+    @Override
+    public ResultSet getGeneratedKeys() {
+        return new FakeResultSet(GENERATED_KEY_LABELS, new Object[][]{{1L}});
+    }
+
+    @Override
+    public void setFetchSize(int rows) {
+    }
+
+    @Override
+    public Connection getConnection() {
+        return connection;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    @Override
+    public boolean isClosed() throws SQLException {
+        return closed;
+    }
+}
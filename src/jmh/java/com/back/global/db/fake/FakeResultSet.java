@@ -0,0 +1,123 @@
+package com.back.global.db.fake;
+
+import com.back.global.db.embedded.UnsupportedJdbc;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+// 미리 만들어 둔 행 배열을 앞에서부터 돌려주는 메모리 결과 셋.
+// 같은 인스턴스를 reset() 해 가며 반복 측정에 재사용한다.
+public class FakeResultSet extends UnsupportedJdbc.ResultSetBase {
+    public static final String[] ARTICLE_LABELS = {"id", "createdDate", "modifiedDate", "title", "body", "isBlind"};
+
+    private final String[] labels;
+    private final FakeResultSetMetaData metaData;
+    private final Object[][] rows;
+    private int cursor = -1;
+    private boolean wasNull;
+    private boolean closed;
+
+    public FakeResultSet(String[] labels, Object[][] rows) {
+        this.labels = labels;
+        this.metaData = new FakeResultSetMetaData(labels);
+        this.rows = rows;
+    }
+
+    public static FakeResultSet articles(int rowCount) {
+        LocalDateTime now = LocalDateTime.now();
+        Object[][] rows = new Object[rowCount][];
+        for (int i = 0; i < rowCount; i++) {
+            rows[i] = new Object[]{(long) i + 1, now, now, "제목" + (i + 1), "내용" + (i + 1), i % 2 == 0};
+        }
+        return new FakeResultSet(ARTICLE_LABELS, rows);
+    }
+
+    public FakeResultSet reset() {
+        cursor = -1;
+        closed = false;
+        return this;
+    }
+
+    public int getRowCount() {
+        return rows.length;
+    }
+
+    String[] getLabels() {
+        return labels;
+    }
+
+    Object[][] getRows() {
+        return rows;
+    }
+
+    @Override
+    public boolean next() {
+        return ++cursor < rows.length;
+    }
+
+    @Override
+    public ResultSetMetaData getMetaData() {
+        return metaData;
+    }
+
+    @Override
+    public Object getObject(int columnIndex) {
+        Object value = rows[cursor][columnIndex - 1];
+        wasNull = value == null;
+        return value;
+    }
+
+    @Override
+    public <T> T getObject(int columnIndex, Class<T> type) throws SQLException {
+        Object value = getObject(columnIndex);
+        if (value == null || type.isInstance(value)) return type.cast(value);
+        throw new SQLException("변환할 수 없는 타입: " + value.getClass().getName() + " -> " + type.getName());
+    }
+
+    @Override
+    public long getLong(int columnIndex) {
+        Object value = getObject(columnIndex);
+        return value == null ? 0L : ((Number) value).longValue();
+    }
+
+    @Override
+    public int getInt(int columnIndex) {
+        Object value = getObject(columnIndex);
+        return value == null ? 0 : ((Number) value).intValue();
+    }
+
+    @Override
+    public double getDouble(int columnIndex) {
+        Object value = getObject(columnIndex);
+        return value == null ? 0d : ((Number) value).doubleValue();
+    }
+
+    @Override
+    public boolean getBoolean(int columnIndex) {
+        Object value = getObject(columnIndex);
+        if (value instanceof Number n) return n.intValue() != 0;
+        return value != null && (Boolean) value;
+    }
+
+    @Override
+    public String getString(int columnIndex) {
+        Object value = getObject(columnIndex);
+        return value == null ? null : value.toString();
+    }
+
+    @Override
+    public boolean wasNull() {
+        return wasNull;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+}
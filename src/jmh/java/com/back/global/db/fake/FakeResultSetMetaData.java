@@ -0,0 +1,26 @@
+package com.back.global.db.fake;
+
+import com.back.global.db.embedded.UnsupportedJdbc;
+
+public class FakeResultSetMetaData extends UnsupportedJdbc.ResultSetMetaDataBase {
+    private final String[] labels;
+
+    public FakeResultSetMetaData(String[] labels) {
+        this.labels = labels;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return labels.length;
+    }
+
+    @Override
+    public String getColumnLabel(int column) {
+        return labels[column - 1];
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return labels[column - 1];
+    }
+}
@@ -0,0 +1,252 @@
+package com.back.global.db;
+
+import com.back.global.db.metrics.AsyncWriterStats;
+import com.back.global.db.primitive.MpscArrayQueue;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// 한 테이블에 덧붙이기만 하는 행을 큐에 받아 두고, 백그라운드 스레드가 batchSize 개씩 또는 flushInterval 마다 다중 행 INSERT 로 보낸다.
+// write 는 큐에 넣기만 하고 바로 돌아오며, 큐가 가득 차면 자리가 날 때까지 기다린다.
+// 묶음 하나는 inTransaction 으로 보내므로 교착 상태 등은 다시 시도하고, 그래도 실패한 묶음은 로그를 남기고 버린다.
+// SimpleDb.shutdown 이나 JVM 종료 때 남은 행을 모두 보낸 뒤 끝난다.
+@Slf4j
+public class AsyncWriter implements AutoCloseable {
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final SimpleDb simpleDb;
+    private final String key;
+    private final String table;
+    private final List<String> columns;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long offerTimeoutNanos;
+    private final MpscArrayQueue<Object[]> queue;
+    private final AsyncWriterStats stats = new AsyncWriterStats();
+    private final Thread flusher;
+    private final Thread shutdownHook;
+    // 큐에 넣은 행 수와 보낸(실패 포함) 행 수. flush() 는 부른 시점까지 넣은 행이 모두 보내질 때까지 기다린다.
+    private final AtomicLong accepted = new AtomicLong();
+    private volatile long processed;
+    // 닫힌 것을 확인하기 전에 넣기 시작한 write 수. 닫을 때 이들이 끝날 때까지 기다려야 행을 잃지 않는다.
+    private final AtomicInteger writesInFlight = new AtomicInteger();
+    private volatile boolean flushRequested;
+    private volatile boolean sleeping;
+    private volatile boolean closed;
+
+    AsyncWriter(SimpleDb simpleDb, String key, String table, List<String> columns) {
+        if (columns.isEmpty()) throw new RuntimeException("비동기 쓰기에 넣을 컬럼이 없습니다: " + table);
+
+        SimpleDbConfig config = simpleDb.getConfig();
+        this.simpleDb = simpleDb;
+        this.key = key;
+        this.table = table;
+        this.columns = List.copyOf(columns);
+        this.batchSize = Math.max(1, config.getAsyncWriterBatchSize());
+        this.flushIntervalNanos = config.getAsyncWriterFlushInterval().toNanos();
+        this.offerTimeoutNanos = config.getAsyncWriterOfferTimeout().toNanos();
+        this.queue = new MpscArrayQueue<>(Math.max(batchSize, config.getAsyncWriterQueueCapacity()));
+
+        this.flusher = new Thread(this::runFlusher, "simpledb-async-writer-" + table);
+        flusher.setDaemon(true);
+        flusher.start();
+        this.shutdownHook = new Thread(this::close, "simpledb-async-writer-shutdown-" + table);
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    // values 는 컬럼 순서대로. 배열은 복사해 두므로 호출한 쪽에서 다시 써도 된다.
+    public void write(Object... values) {
+        Object[] row = rowOf(values);
+        writesInFlight.incrementAndGet();
+        try {
+            checkOpen();
+            if (!queue.offer(row)) awaitSpace(row);
+            afterEnqueue();
+        } finally {
+            writesInFlight.decrementAndGet();
+        }
+    }
+
+    // 큐가 가득 차 있으면 기다리지 않고 false 를 돌려준다.
+    public boolean tryWrite(Object... values) {
+        Object[] row = rowOf(values);
+        writesInFlight.incrementAndGet();
+        try {
+            checkOpen();
+            if (!queue.offer(row)) {
+                stats.recordRejected();
+                wakeFlusher();
+                return false;
+            }
+            afterEnqueue();
+            return true;
+        } finally {
+            writesInFlight.decrementAndGet();
+        }
+    }
+
+    // 지금까지 write 한 행이 모두 보내질 때까지 기다린다.
+    public void flush() {
+        long target = accepted.get();
+        if (processed >= target) return;
+
+        flushRequested = true;
+        wakeFlusher();
+        long parkNanos = 10_000;
+        while (processed < target && flusher.isAlive()) {
+            LockSupport.parkNanos(parkNanos);
+            parkNanos = Math.min(parkNanos * 2, MAX_PARK_NANOS);
+        }
+    }
+
+    // 새 행을 받지 않고, 큐에 남은 행을 모두 보낸 뒤 돌아온다.
+    @Override
+    public void close() {
+        closed = true;
+        wakeFlusher();
+        boolean interrupted = false;
+        while (flusher.isAlive() && Thread.currentThread() != flusher) {
+            try {
+                flusher.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+
+        simpleDb.removeAsyncWriter(key, this);
+        if (Thread.currentThread() != shutdownHook) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException ignored) {
+                // JVM 이 이미 종료 중이다.
+            }
+        }
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    // 큐에 남아 있는 행 수
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public int getQueueCapacity() {
+        return queue.capacity();
+    }
+
+    public AsyncWriterStats getStats() {
+        return stats;
+    }
+
+    private Object[] rowOf(Object[] values) {
+        if (values.length != columns.size()) {
+            throw new RuntimeException("행의 값 개수가 컬럼 수와 다릅니다: " + values.length + " != " + columns.size());
+        }
+        return values.clone();
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            stats.recordRejected();
+            throw new RuntimeException("닫힌 비동기 쓰기에는 행을 넣을 수 없습니다: " + table);
+        }
+    }
+
+    // 자리가 날 때까지 조금씩 길게 쉬며 다시 넣어 본다.
+    private void awaitSpace(Object[] row) {
+        stats.recordBackpressure();
+        wakeFlusher();
+        long startedAt = System.nanoTime();
+        long parkNanos = 1_000;
+        while (!queue.offer(row)) {
+            if (System.nanoTime() - startedAt >= offerTimeoutNanos) {
+                stats.recordRejected();
+                throw new RuntimeException("비동기 쓰기 큐가 가득 차 " + TimeUnit.NANOSECONDS.toMillis(offerTimeoutNanos)
+                        + "ms 동안 자리가 나지 않았습니다: " + table);
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                stats.recordRejected();
+                throw new RuntimeException("비동기 쓰기 큐의 자리를 기다리다 인터럽트되었습니다: " + table);
+            }
+            LockSupport.parkNanos(parkNanos);
+            parkNanos = Math.min(parkNanos * 2, MAX_PARK_NANOS);
+        }
+    }
+
+    private void afterEnqueue() {
+        accepted.incrementAndGet();
+        int depth = queue.size();
+        stats.recordEnqueue(depth);
+        // 한 묶음이 모였으면 시간을 기다리지 않고 깨운다.
+        if (depth >= batchSize && sleeping) wakeFlusher();
+    }
+
+    private void wakeFlusher() {
+        LockSupport.unpark(flusher);
+    }
+
+    private void runFlusher() {
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        long firstRowAt = 0;
+
+        while (true) {
+            boolean closing = closed;
+            boolean wasEmpty = batch.isEmpty();
+            queue.drainTo(batch, batchSize - batch.size());
+            if (wasEmpty && !batch.isEmpty()) firstRowAt = System.nanoTime();
+
+            long waited = System.nanoTime() - firstRowAt;
+            if (batch.size() >= batchSize || !batch.isEmpty() && (closing || flushRequested || waited >= flushIntervalNanos)) {
+                send(batch);
+                batch.clear();
+                continue;
+            }
+            if (!queue.isEmpty()) continue;
+
+            if (batch.isEmpty()) {
+                flushRequested = false;
+                // 닫힌 뒤에도 그 전에 넣기 시작한 write 가 끝날 때까지는 더 받는다.
+                if (closing && writesInFlight.get() == 0 && queue.isEmpty()) return;
+            }
+
+            sleeping = true;
+            if (closing) {
+                LockSupport.parkNanos(MAX_PARK_NANOS);
+            } else if (queue.isEmpty() && !closed && !flushRequested) {
+                LockSupport.parkNanos(batch.isEmpty() ? flushIntervalNanos : flushIntervalNanos - waited);
+            }
+            sleeping = false;
+        }
+    }
+
+    private void send(List<Object[]> batch) {
+        long startedAt = System.nanoTime();
+        boolean succeeded = false;
+        try {
+            BulkInsert bulkInsert = new BulkInsert(table, columns, batch);
+            simpleDb.inTransaction(tx -> simpleDb.getPrimaryExecutor().executeBulkInsert(bulkInsert));
+            succeeded = true;
+        } catch (RuntimeException e) {
+            log.error("비동기 쓰기 실패, {}행을 버립니다: {}", batch.size(), table, e);
+        } finally {
+            stats.recordFlush(System.nanoTime() - startedAt, batch.size(), succeeded);
+            processed += batch.size();
+        }
+    }
+}
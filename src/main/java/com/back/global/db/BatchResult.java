@@ -0,0 +1,28 @@
+package com.back.global.db;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class BatchResult {
+    private final int[] updateCounts;
+    private final List<Long> generatedKeys;
+
+    BatchResult(int[] updateCounts, List<Long> generatedKeys) {
+        this.updateCounts = updateCounts;
+        this.generatedKeys = generatedKeys;
+    }
+
+    // 행마다의 영향 행 수. rewriteBatchedStatements 를 켜면 Statement.SUCCESS_NO_INFO(-2) 가 올 수 있다.
+    public int[] getUpdateCounts() {
+        return updateCounts.clone();
+    }
+
+    // 배치에 들어간 순서대로 생성된 AUTO_INCREMENT 키
+    public List<Long> getGeneratedKeys() {
+        return generatedKeys;
+    }
+
+    public long getAffectedRows() {
+        return Arrays.stream(updateCounts).filter(count -> count > 0).asLongStream().sum();
+    }
+}
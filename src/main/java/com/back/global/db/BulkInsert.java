@@ -0,0 +1,144 @@
+package com.back.global.db;
+
+import com.back.global.db.mapper.EntityMetadata;
+import com.back.global.db.mapper.FieldAccessor;
+
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// INSERT INTO t (a, b) VALUES (?, ?), (?, ?), ... 한 문장에 여러 행을 담는다.
+// 플레이스홀더 65535 개 제한과 max_allowed_packet 을 넘지 않도록 행을 여러 문장으로 나눈다.
+final class BulkInsert {
+    // MySQL 프로토콜의 prepared statement 파라미터 수 한도
+    static final int MAX_PLACEHOLDERS = 65535;
+
+    // 한 문장이 담는 행 범위 [from, to)
+    record Chunk(int from, int to) {
+        int size() {
+            return to - from;
+        }
+    }
+
+    private final String table;
+    private final List<String> columns;
+    private final List<Object[]> rows;
+    private final String rowPlaceholders;
+
+    BulkInsert(String table, List<String> columns, List<Object[]> rows) {
+        if (columns.isEmpty()) throw new RuntimeException("다중 행 INSERT 에 넣을 컬럼이 없습니다: " + table);
+
+        this.table = table;
+        this.columns = columns;
+        this.rows = rows;
+        this.rowPlaceholders = "(" + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+    }
+
+    List<Chunk> split(long maxPacketBytes) {
+        int maxRows = Math.max(1, MAX_PLACEHOLDERS / columns.size());
+        long headerBytes = sqlFor(0).length();
+
+        List<Chunk> chunks = new ArrayList<>();
+        int from = 0;
+        long bytes = headerBytes;
+        for (int i = 0; i < rows.size(); i++) {
+            long rowBytes = estimateBytes(rows.get(i));
+            boolean full = i - from == maxRows || (i > from && bytes + rowBytes > maxPacketBytes);
+            if (full) {
+                chunks.add(new Chunk(from, i));
+                from = i;
+                bytes = headerBytes;
+            }
+            bytes += rowBytes;
+        }
+        if (from < rows.size()) chunks.add(new Chunk(from, rows.size()));
+        return chunks;
+    }
+
+    String sqlFor(int rowCount) {
+        StringBuilder sb = new StringBuilder(64 + rowCount * (rowPlaceholders.length() + 2));
+        sb.append("INSERT INTO ").append(table).append(" (").append(String.join(", ", columns)).append(") VALUES ");
+        for (int i = 0; i < rowCount; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(rowPlaceholders);
+        }
+        return sb.toString();
+    }
+
+    List<Object> paramsOf(Chunk chunk) {
+        List<Object> params = new ArrayList<>(chunk.size() * columns.size());
+        for (int i = chunk.from(); i < chunk.to(); i++) {
+            Object[] row = rows.get(i);
+            if (row.length != columns.size()) {
+                throw new RuntimeException("행의 값 개수가 컬럼 수와 다릅니다: " + row.length + " != " + columns.size());
+            }
+            Collections.addAll(params, row);
+        }
+        return params;
+    }
+
+    // 드라이버가 값을 SQL 문자열에 풀어 보내는 경우를 기준으로 넉넉하게 잡는다. (utf8mb4, 이스케이프 포함)
+    private static long estimateBytes(Object[] row) {
+        long bytes = 4;
+        for (Object value : row) {
+            bytes += 2 + switch (value) {
+                case null -> 4;
+                case Number n -> 24;
+                case Boolean b -> 5;
+                case CharSequence s -> s.length() * 4L + 2;
+                case byte[] b -> b.length * 2L + 10;
+                case Temporal t -> 32;
+                default -> value.toString().length() * 4L + 2;
+            };
+        }
+        return bytes;
+    }
+
+    // 엔티티 목록을 컬럼과 행으로 펼친다. 모든 엔티티의 id 가 비어 있으면 id 컬럼은 빼고 DB 가 만들게 한다.
+    static final class Entities<T> {
+        private final List<T> entities;
+        private final FieldAccessor generatedId;
+        private final BulkInsert bulkInsert;
+
+        Entities(String table, List<T> entities) {
+            @SuppressWarnings("unchecked")
+            EntityMetadata<T> metadata = EntityMetadata.of((Class<T>) entities.get(0).getClass());
+            FieldAccessor id = metadata.getField("id");
+            this.entities = entities;
+            this.generatedId = id != null && entities.stream().allMatch(entity -> isEmptyId(id.get(entity))) ? id : null;
+
+            List<FieldAccessor> fields = new ArrayList<>();
+            for (FieldAccessor field : metadata.getFields()) {
+                if (field != generatedId) fields.add(field);
+            }
+
+            List<Object[]> rows = new ArrayList<>(entities.size());
+            for (T entity : entities) {
+                Object[] row = new Object[fields.size()];
+                for (int i = 0; i < row.length; i++) {
+                    row[i] = fields.get(i).get(entity);
+                }
+                rows.add(row);
+            }
+            this.bulkInsert = new BulkInsert(table, fields.stream().map(FieldAccessor::getName).toList(), rows);
+        }
+
+        BulkInsert getBulkInsert() {
+            return bulkInsert;
+        }
+
+        // DB 가 만든 id 를 엔티티에 채워 넣는다.
+        void assignIds(List<Long> ids) {
+            if (generatedId == null || ids.size() != entities.size()) return;
+
+            for (int i = 0; i < ids.size(); i++) {
+                generatedId.set(entities.get(i), ids.get(i));
+            }
+        }
+
+        private static boolean isEmptyId(Object id) {
+            return id == null || id instanceof Number n && n.longValue() == 0;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.back.global.db;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Sql 로 만든 조회문을 키 기준 페이지 조회문으로 바꾼다.
+// 다음 페이지는 OFFSET 대신 "마지막 키보다 큰 행"을 인덱스로 바로 찾으므로 깊은 페이지도 첫 페이지만큼 빠르다.
+// 최상위 WHERE 가 있으면 괄호로 감싸 키 조건과 AND 로 잇는다. ORDER BY, LIMIT, GROUP BY 등은 직접 붙이지 않는다.
+// PartitionedQuery 도 같은 방식으로 키 범위 조건을 붙인다.
+final class KeysetQuery {
+    // 한 페이지의 행과, 다음 페이지의 시작점이 되는 마지막 행의 키 값
+    record Page<T>(List<T> rows, Object[] lastKey) {
+    }
+
+    private static final List<String> UNSUPPORTED_CLAUSES = List.of("ORDER", "LIMIT", "GROUP", "HAVING", "UNION", "OFFSET");
+
+    private final List<String> keyColumns;
+    private final String firstPageQuery;
+    private final String nextPageQuery;
+
+    KeysetQuery(String query, List<String> keyColumns) {
+        if (keyColumns.isEmpty()) throw new RuntimeException("키 컬럼이 없습니다.");
+
+        this.keyColumns = keyColumns;
+
+        String base = query.strip();
+        String orderByLimit = " ORDER BY " + String.join(", ", keyColumns) + " LIMIT ?";
+
+        this.nextPageQuery = andWhere(base, keyCondition()) + orderByLimit;
+        this.firstPageQuery = base + orderByLimit;
+    }
+
+    // 최상위 WHERE 가 있으면 기존 조건을 괄호로 감싸 condition 과 AND 로 잇고, 없으면 WHERE 를 새로 붙인다.
+    static String andWhere(String query, String condition) {
+        String base = query.strip();
+        int where = findTopLevelClauses(base);
+        if (where < 0) return base + " WHERE " + condition;
+
+        String existing = base.substring(where + "WHERE".length()).strip();
+        return base.substring(0, where) + "WHERE (" + existing + ") AND (" + condition + ")";
+    }
+
+    // 결과 셋에서 키 값을 읽을 라벨 ("a.id" -> "id")
+    static String labelOf(String column) {
+        return column.substring(column.lastIndexOf('.') + 1).replace("`", "");
+    }
+
+    String query(Object[] lastKey) {
+        return lastKey == null ? firstPageQuery : nextPageQuery;
+    }
+
+    List<Object> params(List<Object> baseParams, Object[] lastKey, int pageSize) {
+        List<Object> params = new ArrayList<>(baseParams);
+        if (lastKey != null) {
+            params.add(lastKey[0]);
+            if (keyColumns.size() > 1) {
+                for (int i = 0; i < keyColumns.size(); i++) {
+                    for (int j = 0; j <= i; j++) params.add(lastKey[j]);
+                }
+            }
+        }
+        params.add(pageSize);
+        return params;
+    }
+
+    List<String> keyLabels() {
+        return keyColumns.stream().map(KeysetQuery::labelOf).toList();
+    }
+
+    // (a, b) > (?, ?) 를 인덱스 범위 검색이 되도록 풀어 쓴다.
+    // a >= ? AND (a > ? OR (a = ? AND b > ?))
+    private String keyCondition() {
+        String first = keyColumns.get(0);
+        if (keyColumns.size() == 1) return first + " > ?";
+
+        StringBuilder sb = new StringBuilder(first).append(" >= ? AND (");
+        for (int i = 0; i < keyColumns.size(); i++) {
+            if (i > 0) sb.append(" OR ");
+            sb.append('(');
+            for (int j = 0; j < i; j++) {
+                sb.append(keyColumns.get(j)).append(" = ? AND ");
+            }
+            sb.append(keyColumns.get(i)).append(" > ?)");
+        }
+        return sb.append(')').toString();
+    }
+
+    // 괄호와 문자열 밖의 WHERE 위치. 붙일 수 없는 절이 있으면 예외를 던진다.
+    private static int findTopLevelClauses(String query) {
+        int depth = 0;
+        int where = -1;
+        for (int i = 0; i < query.length(); i++) {
+            char c = query.charAt(i);
+            if (c == '\'' || c == '"' || c == '`') {
+                i = skipQuoted(query, i, c);
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (depth == 0 && Character.isLetter(c) && (i == 0 || !isWordPart(query.charAt(i - 1)))) {
+                int end = i;
+                while (end < query.length() && isWordPart(query.charAt(end))) end++;
+                String word = query.substring(i, end).toUpperCase(Locale.ROOT);
+
+                if (word.equals("WHERE")) where = i;
+                else if (UNSUPPORTED_CLAUSES.contains(word)) {
+                    throw new RuntimeException("키 범위 조회에는 " + word + " 절을 직접 쓸 수 없습니다: " + query);
+                }
+                i = end - 1;
+            }
+        }
+        return where;
+    }
+
+    private static int skipQuoted(String query, int start, char quote) {
+        for (int i = start + 1; i < query.length(); i++) {
+            char c = query.charAt(i);
+            if (c == '\\' && quote != '`') i++;
+            else if (c == quote) return i;
+        }
+        return query.length();
+    }
+
+    private static boolean isWordPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+}
@@ -0,0 +1,79 @@
+package com.back.global.db;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.List;
+
+// 쿼리 문자열 하나의 파라미터 자리마다, 값의 클래스에 맞는 setXxx 를 골라 기억해 둔다.
+// setObject 는 부를 때마다 드라이버가 instanceof 를 차례로 따져 타입을 찾으므로, 같은 문장을 다시 바인딩할 때는 고른 것을 그대로 쓴다.
+// Reader, InputStream 값은 setCharacterStream, setBinaryStream 으로 넘겨 큰 본문을 문자열로 만들지 않고 보낸다.
+final class ParamBinder {
+    @FunctionalInterface
+    private interface Setter {
+        void set(PreparedStatement pstmt, int index, Object value) throws SQLException;
+    }
+
+    // 한 클래스의 바인딩 방법. sqlType 은 같은 자리에 NULL 이 올 때 setNull 에 넘긴다.
+    private record Binder(Class<?> type, int sqlType, Setter setter) {
+    }
+
+    private static final ClassValue<Binder> BINDERS = new ClassValue<>() {
+        @Override
+        protected Binder computeValue(Class<?> type) {
+            return binderFor(type);
+        }
+    };
+
+    // 자리마다 마지막으로 쓴 바인딩 방법. 여러 스레드가 함께 쓰지만 원소는 불변 객체라 잠깐 어긋나도 다시 고를 뿐이다.
+    private Binder[] slots = new Binder[0];
+
+    void bind(PreparedStatement pstmt, List<Object> params) throws SQLException {
+        Binder[] slots = this.slots;
+        if (slots.length < params.size()) {
+            slots = Arrays.copyOf(slots, params.size());
+            this.slots = slots;
+        }
+
+        for (int i = 0; i < params.size(); i++) {
+            Object value = params.get(i);
+            Binder binder = slots[i];
+            if (value == null) {
+                pstmt.setNull(i + 1, binder != null ? binder.sqlType() : Types.NULL);
+                continue;
+            }
+
+            if (binder == null || binder.type() != value.getClass()) {
+                binder = BINDERS.get(value.getClass());
+                slots[i] = binder;
+            }
+            binder.setter().set(pstmt, i + 1, value);
+        }
+    }
+
+    // java.time 타입은 드라이버가 시간대 변환 없이 그대로 보내도록 setObject 를 유지한다.
+    // setTimestamp 로 바꾸면 JVM 시간대와 serverTimezone 이 다를 때 저장되는 값이 달라진다.
+    private static Binder binderFor(Class<?> type) {
+        if (type == Long.class) return new Binder(type, Types.BIGINT, (pstmt, i, v) -> pstmt.setLong(i, (Long) v));
+        if (type == Integer.class) return new Binder(type, Types.INTEGER, (pstmt, i, v) -> pstmt.setInt(i, (Integer) v));
+        if (type == String.class) return new Binder(type, Types.VARCHAR, (pstmt, i, v) -> pstmt.setString(i, (String) v));
+        if (type == Boolean.class) return new Binder(type, Types.BOOLEAN, (pstmt, i, v) -> pstmt.setBoolean(i, (Boolean) v));
+        if (type == Double.class) return new Binder(type, Types.DOUBLE, (pstmt, i, v) -> pstmt.setDouble(i, (Double) v));
+        if (type == Float.class) return new Binder(type, Types.REAL, (pstmt, i, v) -> pstmt.setFloat(i, (Float) v));
+        if (type == Short.class) return new Binder(type, Types.SMALLINT, (pstmt, i, v) -> pstmt.setShort(i, (Short) v));
+        if (type == Byte.class) return new Binder(type, Types.TINYINT, (pstmt, i, v) -> pstmt.setByte(i, (Byte) v));
+        if (type == BigDecimal.class) return new Binder(type, Types.DECIMAL, (pstmt, i, v) -> pstmt.setBigDecimal(i, (BigDecimal) v));
+        if (type == byte[].class) return new Binder(type, Types.VARBINARY, (pstmt, i, v) -> pstmt.setBytes(i, (byte[]) v));
+        if (Reader.class.isAssignableFrom(type)) {
+            return new Binder(type, Types.LONGVARCHAR, (pstmt, i, v) -> pstmt.setCharacterStream(i, (Reader) v));
+        }
+        if (InputStream.class.isAssignableFrom(type)) {
+            return new Binder(type, Types.LONGVARBINARY, (pstmt, i, v) -> pstmt.setBinaryStream(i, (InputStream) v));
+        }
+        return new Binder(type, Types.NULL, PreparedStatement::setObject);
+    }
+}
@@ -0,0 +1,62 @@
+package com.back.global.db;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 조회문을 정수 키 범위로 나눈 여러 조회문으로 바꾼다. 각 조회문은 서로 다른 커넥션에서 동시에 실행된다.
+// 범위는 키의 최솟값과 최댓값 사이를 같은 폭으로 나누므로, 키가 고르게 퍼져 있을수록 조각 크기가 비슷해진다.
+final class PartitionedQuery {
+    // 한 조각이 맡는 키 범위. 마지막 조각만 상한을 포함한다.
+    record Range(long from, long to, boolean inclusive) {
+    }
+
+    private final String keyColumn;
+    private final String base;
+    private final String rangeQuery;
+
+    PartitionedQuery(String query, String keyColumn) {
+        this.keyColumn = keyColumn;
+        this.base = query.strip();
+        // 키 범위 조건을 붙일 수 없는 조회문이면 여기서 예외가 난다.
+        KeysetQuery.andWhere(base, "1 = 1");
+
+        String label = KeysetQuery.labelOf(keyColumn);
+        this.rangeQuery = "SELECT MIN(`" + label + "`), MAX(`" + label + "`) FROM (" + base + ") AS partition_source";
+    }
+
+    // 키의 최솟값과 최댓값을 구하는 조회문. 원래 조회문의 결과에 키 컬럼이 있어야 한다.
+    String rangeQuery() {
+        return rangeQuery;
+    }
+
+    String query(Range range) {
+        String condition = keyColumn + " >= ? AND " + keyColumn + (range.inclusive() ? " <= ?" : " < ?");
+        return KeysetQuery.andWhere(base, condition) + " ORDER BY " + keyColumn;
+    }
+
+    static List<Object> params(List<Object> baseParams, Range range) {
+        List<Object> params = new ArrayList<>(baseParams);
+        params.add(range.from());
+        params.add(range.to());
+        return params;
+    }
+
+    // [min, max] 를 최대 partitions 개로 나눈다. 키 개수보다 많이 나누지는 않는다.
+    // max - min 이 long 범위를 넘을 수 있어 부호 없는 값으로 계산한다.
+    static List<Range> split(long min, long max, int partitions) {
+        long gaps = max - min;
+        int count = Long.compareUnsigned(gaps, partitions) < 0 ? (int) gaps + 1 : partitions;
+        long width = Long.divideUnsigned(gaps, count) + 1;
+
+        List<Range> ranges = new ArrayList<>(count);
+        long from = min;
+        while (true) {
+            if (Long.compareUnsigned(max - from, width) < 0) {
+                ranges.add(new Range(from, max, true));
+                return ranges;
+            }
+            ranges.add(new Range(from, from + width, false));
+            from += width;
+        }
+    }
+}
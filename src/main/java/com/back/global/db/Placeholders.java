@@ -0,0 +1,34 @@
+package com.back.global.db;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// "?, ?, ?" 형태의 플레이스홀더 목록 문자열. 자주 쓰는 길이는 한 번 만들어 재사용한다.
+final class Placeholders {
+    private static final int MAX_CACHED = 1024;
+    private static final AtomicReferenceArray<String> CACHE = new AtomicReferenceArray<>(MAX_CACHED + 1);
+
+    private Placeholders() {
+    }
+
+    static String list(int count) {
+        if (count > MAX_CACHED) return render(count);
+
+        String placeholders = CACHE.get(count);
+        if (placeholders == null) {
+            placeholders = render(count);
+            CACHE.set(count, placeholders);
+        }
+        return placeholders;
+    }
+
+    private static String render(int count) {
+        if (count <= 0) return "";
+
+        StringBuilder sb = new StringBuilder(count * 3 - 2);
+        sb.append('?');
+        for (int i = 1; i < count; i++) {
+            sb.append(", ?");
+        }
+        return sb.toString();
+    }
+}
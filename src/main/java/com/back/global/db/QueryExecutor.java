@@ -1,21 +1,61 @@
 package com.back.global.db;
 
 import com.back.global.db.mapper.BaseRowMapper;
-import lombok.extern.slf4j.Slf4j;
+import com.back.global.db.mapper.RowMapperFactory;
+import com.back.global.db.mapper.RowHandler;
+import com.back.global.db.metrics.MetricsSink;
+import com.back.global.db.pool.PooledConnection;
+import com.back.global.db.primitive.LongLongMap;
 
 import java.sql.*;
-import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-@Slf4j
 public class QueryExecutor {
+    private static final int MAX_CACHED_FINGERPRINTS = 1024;
+    private static final int MAX_CACHED_BINDERS = 1024;
+
     private final SimpleDb simpleDb;
+    private final SqlLogger sqlLogger;
+    // true 면 트랜잭션 밖 조회를 복제본으로 보낸다.
+    private final boolean readFromReplica;
+    // true 면 SimpleDb.setDevMode 와 상관없이 문장을 로그로 남긴다. Sql(SimpleDb, true) 가 쓴다.
     private final boolean devMode;
+    // 메트릭이 꺼져 있으면 null
+    private final MetricsSink metricsSink;
+    private final Map<String, String> fingerprints;
+    private final Map<String, ParamBinder> binders;
 
-    public QueryExecutor(SimpleDb simpleDb, boolean devMode) {
+    // SimpleDb 만 만든다. 예전 QueryExecutor(SimpleDb, boolean devMode) 와 헷갈리지 않도록 밖에 열지 않는다.
+    QueryExecutor(SimpleDb simpleDb, boolean readFromReplica) {
         this.simpleDb = simpleDb;
-        this.devMode = devMode;
+        this.sqlLogger = simpleDb.getSqlLogger();
+        this.readFromReplica = readFromReplica;
+        this.devMode = false;
+        this.metricsSink = simpleDb.getMetricsSink();
+        this.fingerprints = new ConcurrentHashMap<>();
+        this.binders = new ConcurrentHashMap<>();
+    }
+
+    private QueryExecutor(QueryExecutor source) {
+        this.simpleDb = source.simpleDb;
+        this.sqlLogger = source.sqlLogger;
+        this.readFromReplica = source.readFromReplica;
+        this.devMode = true;
+        this.metricsSink = source.metricsSink;
+        this.fingerprints = source.fingerprints;
+        this.binders = source.binders;
+    }
+
+    // 같은 라우팅과 캐시를 쓰면서 문장을 항상 로그로 남기는 실행기
+    QueryExecutor withDevMode() {
+        return devMode ? this : new QueryExecutor(this);
     }
 
     @FunctionalInterface
@@ -23,28 +63,149 @@ public class QueryExecutor {
         R apply(T t) throws SQLException;
     }
 
-    private void bindParams(PreparedStatement pstmt, List<Object> params) throws SQLException {
-        for (int i = 0; i < params.size(); i++) {
-            pstmt.setObject(i + 1, params.get(i));
+    @FunctionalInterface
+    private interface StatementCallback<R> {
+        R apply(PreparedStatement pstmt, StatementTimer timer) throws SQLException;
+    }
+
+    // 한 문장의 준비, 실행, 결과 처리 시간을 차례로 잰다. 각 단계가 끝날 때 해당 메서드를 부른다.
+    private static final class StatementTimer {
+        private long mark = System.nanoTime();
+        private long prepareNanos;
+        private long executeNanos;
+        private long mapNanos;
+
+        void prepared() {
+            prepareNanos += lap();
+        }
+
+        void executed() {
+            executeNanos += lap();
+        }
+
+        void mapped() {
+            mapNanos += lap();
+        }
+
+        // 느린 쿼리 판단 기준. 준비 시간은 빼고 서버 실행과 결과 처리만 본다.
+        long elapsedNanos() {
+            return executeNanos + mapNanos;
+        }
+
+        private long lap() {
+            long now = System.nanoTime();
+            long elapsed = now - mark;
+            mark = now;
+            return elapsed;
         }
     }
 
-    private <R> R executeCommonQuery(String query, List<Object> params, int autoGeneratedKeys, CheckedFunction<PreparedStatement, R> callback) {
-        try (PreparedStatement pstmt = simpleDb.getConnection().prepareStatement(query, autoGeneratedKeys)) {
-            bindParams(pstmt, params);
+    private void bindParams(String query, PreparedStatement pstmt, List<Object> params) throws SQLException {
+        if (params.isEmpty()) return;
 
-            if (devMode) log.debug("실행될 SQL문: {}", formatSql(query, params));
+        ParamBinder binder = binders.get(query);
+        if (binder == null) {
+            if (binders.size() >= MAX_CACHED_BINDERS) binders.clear();
+            binder = binders.computeIfAbsent(query, key -> new ParamBinder());
+        }
+        binder.bind(pstmt, params);
+    }
 
-            return callback.apply(pstmt);
+    // callback 은 문장을 실행한 직후 timer.executed() 를 부르고, 결과 처리는 그 뒤에 한다.
+    private <R> R executeCommonQuery(String query, List<Object> params, boolean read, int autoGeneratedKeys, StatementCallback<R> callback) {
+        return executeWithStatement(query, read, autoGeneratedKeys, (pstmt, timer) -> {
+            bindParams(query, pstmt, params);
+            timer.prepared();
+
+            sqlLogger.logStatement(isDevMode(), "실행될 SQL문", query, params);
+
+            R result = callback.apply(pstmt, timer);
+            timer.mapped();
+
+            long rows = rowsOf(pstmt, result);
+            if (sqlLogger.isSlow(timer.elapsedNanos())) sqlLogger.logSlowQuery(query, params, timer.elapsedNanos(), rows);
+            recordStatement(query, timer, rows);
+
+            return result;
+        });
+    }
+
+    private <R> R executeWithStatement(String query, boolean read, int autoGeneratedKeys, StatementCallback<R> callback) {
+        PooledConnection conn = connectionFor(read);
+        PreparedStatement pstmt = null;
+        boolean returned = false;
+        try {
+            StatementTimer timer = new StatementTimer();
+            pstmt = conn.prepareStatement(query, autoGeneratedKeys);
+            timer.prepared();
+
+            R result = callback.apply(pstmt, timer);
+            conn.returnStatement(query, autoGeneratedKeys, pstmt);
+            returned = true;
+            return result;
         } catch (SQLException e) {
+            recordError(query);
+            simpleDb.reportFailure(conn, e);
             throw new RuntimeException("SQL문 실행 실패: " + query, e);
+        } finally {
+            // 실패한 구문은 (매핑, 바인딩 중의 RuntimeException 포함) 캐시에 돌려놓지 않고 닫는다.
+            if (!returned) closeQuietly(pstmt);
+            simpleDb.releaseConnection(conn);
+        }
+    }
+
+    private PooledConnection connectionFor(boolean read) {
+        return read && readFromReplica ? simpleDb.getReadConnection() : simpleDb.getConnection();
+    }
+
+    private void recordStatement(String query, StatementTimer timer, long rows) {
+        if (metricsSink == null) return;
+
+        metricsSink.recordStatement(fingerprintOf(query), timer.prepareNanos, timer.executeNanos, timer.mapNanos, rows);
+    }
+
+    private void recordError(String query) {
+        if (metricsSink == null) return;
+
+        metricsSink.recordError(fingerprintOf(query));
+    }
+
+    private String fingerprintOf(String query) {
+        String fingerprint = fingerprints.get(query);
+        if (fingerprint != null) return fingerprint;
+
+        if (fingerprints.size() >= MAX_CACHED_FINGERPRINTS) fingerprints.clear();
+        fingerprint = SqlAnalyzer.fingerprint(query);
+        fingerprints.put(query, fingerprint);
+        return fingerprint;
+    }
+
+    // 조회는 결과 행 수, 쓰기는 영향 행 수
+    private long rowsOf(PreparedStatement pstmt, Object result) throws SQLException {
+        if (result instanceof Collection<?> rows) return rows.size();
+        if (result instanceof KeysetQuery.Page<?> page) return page.rows().size();
+        if (result instanceof long[] values) return values.length;
+        if (result instanceof int[] values) return values.length;
+        if (result instanceof LongLongMap map) return map.size();
+        int updateCount = pstmt.getUpdateCount();
+        if (updateCount >= 0) return updateCount;
+        return result == null ? 0 : 1;
+    }
+
+    private void closeQuietly(Statement stmt) {
+        if (stmt == null) return;
+        try {
+            stmt.close();
+        } catch (SQLException ignored) {
         }
     }
 
     public long executeUpdate(String query, List<Object> params, boolean returnGeneratedKeys) {
-        return executeCommonQuery(query, params, returnGeneratedKeys ? Statement.RETURN_GENERATED_KEYS : Statement.NO_GENERATED_KEYS,
-                pstmt -> {
+        return executeCommonQuery(query, params, false, returnGeneratedKeys ? Statement.RETURN_GENERATED_KEYS : Statement.NO_GENERATED_KEYS,
+                (pstmt, timer) -> {
                     pstmt.executeUpdate();
+                    timer.executed();
+                    simpleDb.afterWrite(query);
                     if (!returnGeneratedKeys) return (long) pstmt.getUpdateCount();
 
                     try (ResultSet rs = pstmt.getGeneratedKeys()) {
@@ -53,9 +214,72 @@ public class QueryExecutor {
                 });
     }
 
+    // 행마다 addBatch 하고 batchSize 개씩 나눠 전송한다. 모든 행의 생성 키를 순서대로 모아 돌려준다.
+    public BatchResult executeBatch(String query, List<Object> commonParams, List<Object[]> rows) {
+        int batchSize = Math.max(1, simpleDb.getConfig().getBatchSize());
+
+        return executeWithStatement(query, false, Statement.RETURN_GENERATED_KEYS, (pstmt, timer) -> {
+            int[] updateCounts = new int[rows.size()];
+            List<Long> generatedKeys = new ArrayList<>(rows.size());
+            List<Object> params = new ArrayList<>();
+            int flushed = 0;
+
+            for (int i = 0; i < rows.size(); i++) {
+                params.clear();
+                params.addAll(commonParams);
+                Collections.addAll(params, rows.get(i));
+                bindParams(query, pstmt, params);
+                pstmt.addBatch();
+
+                if (i + 1 - flushed == batchSize || i + 1 == rows.size()) {
+                    timer.prepared();
+                    sqlLogger.logStatement(isDevMode(), "실행될 배치 SQL문 (" + (i + 1 - flushed) + "건, 마지막 행)", query, params);
+
+                    long elapsedBefore = timer.elapsedNanos();
+                    int[] counts = pstmt.executeBatch();
+                    timer.executed();
+
+                    System.arraycopy(counts, 0, updateCounts, flushed, counts.length);
+                    try (ResultSet rs = pstmt.getGeneratedKeys()) {
+                        while (rs.next()) generatedKeys.add(rs.getLong(1));
+                    }
+                    timer.mapped();
+
+                    long elapsed = timer.elapsedNanos() - elapsedBefore;
+                    if (sqlLogger.isSlow(elapsed)) sqlLogger.logSlowQuery(query, params, elapsed, counts.length);
+                    flushed = i + 1;
+                }
+            }
+            if (!rows.isEmpty()) simpleDb.afterWrite(query);
+            recordStatement(query, timer, rows.size());
+            return new BatchResult(updateCounts, generatedKeys);
+        });
+    }
+
+    // 행 묶음마다 다중 행 INSERT 한 문장씩 보낸다. 생성 키는 행 순서대로 모은다.
+    public List<Long> executeBulkInsert(BulkInsert bulkInsert) {
+        List<Long> generatedKeys = new ArrayList<>();
+
+        for (BulkInsert.Chunk chunk : bulkInsert.split(simpleDb.getConfig().getBulkInsertMaxPacketBytes())) {
+            String query = bulkInsert.sqlFor(chunk.size());
+            executeCommonQuery(query, bulkInsert.paramsOf(chunk), false, Statement.RETURN_GENERATED_KEYS, (pstmt, timer) -> {
+                pstmt.executeUpdate();
+                timer.executed();
+                simpleDb.afterWrite(query);
+
+                try (ResultSet rs = pstmt.getGeneratedKeys()) {
+                    while (rs.next()) generatedKeys.add(rs.getLong(1));
+                }
+                return null;
+            });
+        }
+        return generatedKeys;
+    }
+
     private <R> R executeSelectQuery(String query, List<Object> params, CheckedFunction<ResultSet, R> callback) {
-        return executeCommonQuery(query, params, Statement.NO_GENERATED_KEYS, pstmt -> {
+        return executeCommonQuery(query, params, true, Statement.NO_GENERATED_KEYS, (pstmt, timer) -> {
             try (ResultSet rs = pstmt.executeQuery()) {
+                timer.executed();
                 return callback.apply(rs);
             }
         });
@@ -78,24 +302,272 @@ public class QueryExecutor {
         });
     }
 
-    private String formatSql(String sqlQuery, List<Object> parameters) {
-        if (parameters == null || parameters.isEmpty()) return sqlQuery;
+    // 첫 번째 컬럼을 박싱 없이 원시 배열로 모은다. 배열은 모자랄 때마다 두 배로 늘린다.
+    public long[] executeSelectLongArray(String query, List<Object> params) {
+        return executeSelectQuery(query, params, rs -> {
+            long[] values = new long[64];
+            int size = 0;
+            while (rs.next()) {
+                if (size == values.length) values = Arrays.copyOf(values, size * 2);
+                values[size++] = rs.getLong(1);
+            }
+            return Arrays.copyOf(values, size);
+        });
+    }
 
-        String[] parts = sqlQuery.split("\\?");
-        StringBuilder formattedSqlQuery = new StringBuilder(parts[0]);
+    public int[] executeSelectIntArray(String query, List<Object> params) {
+        return executeSelectQuery(query, params, rs -> {
+            int[] values = new int[64];
+            int size = 0;
+            while (rs.next()) {
+                if (size == values.length) values = Arrays.copyOf(values, size * 2);
+                values[size++] = rs.getInt(1);
+            }
+            return Arrays.copyOf(values, size);
+        });
+    }
 
-        for (int i = 0; i < parameters.size(); i++) {
-            Object param = parameters.get(i);
-            String value = switch (param) {
-                case null -> "NULL";
-                case String s -> "'" + s + "'";
-                case LocalDateTime ldt -> "'" + ldt + "'";
-                default -> param.toString();
-            };
+    // 첫 번째 컬럼을 키, 두 번째 컬럼을 값으로 모은다. 같은 키가 여러 번 나오면 마지막 값이 남는다.
+    public LongLongMap executeSelectLongToLongMap(String query, List<Object> params) {
+        return executeSelectQuery(query, params, rs -> {
+            LongLongMap map = new LongLongMap();
+            while (rs.next()) {
+                map.put(rs.getLong(1), rs.getLong(2));
+            }
+            return map;
+        });
+    }
+
+    // 결과 셋마다 매퍼를 한 번만 만들어 모든 행에 재사용한다.
+    // 상태 없는 단일 컬럼 매퍼는 executeSelectList/executeSelectOne 에 바로 넘긴다.
+    public <T> List<T> executeMappedList(String query, List<Object> params, RowMapperFactory<T> mapperFactory) {
+        return executeSelectQuery(query, params, rs -> {
+            BaseRowMapper<T> mapper = mapperFactory.create(rs.getMetaData());
+            List<T> results = new ArrayList<>();
+            while (rs.next()) {
+                results.add(mapper.mapRow(rs));
+            }
+            return results;
+        });
+    }
+
+    public <T> T executeMappedOne(String query, List<Object> params, RowMapperFactory<T> mapperFactory) {
+        return executeSelectQuery(query, params, rs -> {
+            if (rs.next()) return mapperFactory.create(rs.getMetaData()).mapRow(rs);
+            return null;
+        });
+    }
+
+    // 한 페이지를 매핑하면서 마지막 행의 키 값을 함께 읽어 둔다.
+    public <T> KeysetQuery.Page<T> executeKeysetPage(String query, List<Object> params, RowMapperFactory<T> mapperFactory, List<String> keyLabels) {
+        return executeSelectQuery(query, params, rs -> {
+            ResultSetMetaData metaData = rs.getMetaData();
+            BaseRowMapper<T> mapper = mapperFactory.create(metaData);
+            int[] keyIndexes = new int[keyLabels.size()];
+            for (int i = 0; i < keyIndexes.length; i++) {
+                keyIndexes[i] = columnIndexOf(metaData, keyLabels.get(i));
+            }
+
+            List<T> rows = new ArrayList<>();
+            Object[] lastKey = new Object[keyIndexes.length];
+            while (rs.next()) {
+                rows.add(mapper.mapRow(rs));
+                for (int i = 0; i < keyIndexes.length; i++) {
+                    lastKey[i] = rs.getObject(keyIndexes[i]);
+                }
+            }
+            return new KeysetQuery.Page<>(rows, rows.isEmpty() ? null : lastKey);
+        });
+    }
+
+    private static int columnIndexOf(ResultSetMetaData metaData, String label) throws SQLException {
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            if (metaData.getColumnLabel(i).equalsIgnoreCase(label)) return i;
+        }
+        throw new SQLException("키 컬럼이 조회 결과에 없습니다: " + label);
+    }
+
+    // 결과를 모두 메모리에 올리지 않고 한 행씩 서버에서 받아오는 스트리밍 조회.
+    // 스트림을 닫거나 끝까지 읽으면 결과 셋, 구문, 커넥션이 정리된다.
+    public <T> Stream<T> executeSelectStream(String query, List<Object> params, RowMapperFactory<T> mapperFactory) {
+        StreamingCursor cursor = openCursor(query, params);
+        BaseRowMapper<T> mapper;
+        try {
+            mapper = mapperFactory.create(cursor.rs.getMetaData());
+        } catch (SQLException e) {
+            throw cursor.fail(e);
+        }
+
+        Spliterator<T> spliterator = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                try {
+                    if (!cursor.next()) return false;
+                    action.accept(mapper.mapRow(cursor.rs));
+                    return true;
+                } catch (SQLException e) {
+                    throw cursor.fail(e);
+                }
+            }
+        };
+
+        return StreamSupport.stream(spliterator, false).onClose(cursor);
+    }
+
+    // 첫 번째 컬럼을 long 으로 읽는 스트리밍 조회. 값마다 Long 을 만들지 않는다.
+    public LongStream executeSelectLongStream(String query, List<Object> params) {
+        StreamingCursor cursor = openCursor(query, params);
+
+        Spliterator.OfLong spliterator = new Spliterators.AbstractLongSpliterator(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(LongConsumer action) {
+                try {
+                    if (!cursor.next()) return false;
+                    action.accept(cursor.rs.getLong(1));
+                    return true;
+                } catch (SQLException e) {
+                    throw cursor.fail(e);
+                }
+            }
+        };
+
+        return StreamSupport.longStream(spliterator, false).onClose(cursor);
+    }
+
+    // 스트리밍 결과 셋을 콜백에 통째로 넘긴다. 콜백은 처리한 행 수를 돌려주고, 끝나면 자원이 정리된다.
+    public long executeStreamingScan(String query, List<Object> params, CheckedFunction<ResultSet, Long> callback) {
+        StreamingCursor cursor = openCursor(query, params);
+        try {
+            long rows = callback.apply(cursor.rs);
+            cursor.rowCount = rows;
+            return rows;
+        } catch (SQLException e) {
+            throw cursor.fail(e);
+        } finally {
+            cursor.run();
+        }
+    }
+
+    private StreamingCursor openCursor(String query, List<Object> params) {
+        PooledConnection conn = connectionFor(true);
+        StatementTimer timer = new StatementTimer();
+        PreparedStatement pstmt = null;
+        try {
+            pstmt = prepareStreamingStatement(conn, query, params);
+            timer.prepared();
+            ResultSet rs = pstmt.executeQuery();
+            timer.executed();
+            return new StreamingCursor(query, conn, pstmt, rs, timer);
+        } catch (SQLException e) {
+            closeQuietly(pstmt);
+            simpleDb.reportFailure(conn, e);
+            simpleDb.releaseConnection(conn);
+            recordError(query);
+            throw new RuntimeException("SQL문 실행 실패: " + query, e);
+        } catch (RuntimeException e) {
+            closeQuietly(pstmt);
+            simpleDb.releaseConnection(conn);
+            throw e;
+        }
+    }
+
+    // 스트리밍 조회 하나가 붙잡고 있는 자원. run() 으로 한 번만 정리된다.
+    // 스트리밍의 결과 처리 시간에는 호출자가 각 행을 소비하는 시간도 들어간다.
+    private final class StreamingCursor implements Runnable {
+        private final String query;
+        private final PooledConnection conn;
+        private final PreparedStatement pstmt;
+        private final ResultSet rs;
+        private final StatementTimer timer;
+        private final AtomicBoolean closed = new AtomicBoolean(false);
+        private long rowCount;
+
+        private StreamingCursor(String query, PooledConnection conn, PreparedStatement pstmt, ResultSet rs, StatementTimer timer) {
+            this.query = query;
+            this.conn = conn;
+            this.pstmt = pstmt;
+            this.rs = rs;
+            this.timer = timer;
+        }
+
+        // 다음 행으로 옮긴다. 끝에 닿으면 자원을 정리하고 false 를 돌려준다.
+        private boolean next() throws SQLException {
+            if (closed.get()) return false;
+            if (!rs.next()) {
+                run();
+                return false;
+            }
+            rowCount++;
+            return true;
+        }
 
-            formattedSqlQuery.append(value);
-            if (i + 1 < parts.length) formattedSqlQuery.append(parts[i + 1]);
+        private RuntimeException fail(SQLException e) {
+            simpleDb.reportFailure(conn, e);
+            run();
+            recordError(query);
+            return new RuntimeException("결과 행 읽기 실패: " + query, e);
         }
-        return formattedSqlQuery.toString();
+
+        @Override
+        public void run() {
+            if (!closed.compareAndSet(false, true)) return;
+            try {
+                rs.close();
+            } catch (SQLException ignored) {
+            }
+            closeQuietly(pstmt);
+            simpleDb.releaseConnection(conn);
+            timer.mapped();
+            recordStatement(query, timer, rowCount);
+        }
+    }
+
+    // 행을 객체로 모으지 않고 결과 셋을 그대로 콜백에 넘긴다.
+    public void executeForEachRow(String query, List<Object> params, RowHandler handler) {
+        PooledConnection conn = connectionFor(true);
+        StatementTimer timer = new StatementTimer();
+        try (PreparedStatement pstmt = prepareStreamingStatement(conn, query, params)) {
+            timer.prepared();
+            try (ResultSet rs = pstmt.executeQuery()) {
+                timer.executed();
+                long rows = 0;
+                while (rs.next()) {
+                    handler.handleRow(rs);
+                    rows++;
+                }
+                timer.mapped();
+
+                if (sqlLogger.isSlow(timer.elapsedNanos())) sqlLogger.logSlowQuery(query, params, timer.elapsedNanos(), rows);
+                recordStatement(query, timer, rows);
+            }
+        } catch (SQLException e) {
+            recordError(query);
+            simpleDb.reportFailure(conn, e);
+            throw new RuntimeException("SQL문 실행 실패: " + query, e);
+        } finally {
+            simpleDb.releaseConnection(conn);
+        }
+    }
+
+    // 스트리밍 결과 셋은 커넥션을 점유하므로 캐시하지 않는 전용 구문을 쓴다.
+    private PreparedStatement prepareStreamingStatement(PooledConnection conn, String query, List<Object> params) throws SQLException {
+        PreparedStatement pstmt = conn.getConnection().prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        try {
+            SimpleDbConfig config = simpleDb.getConfig();
+            // useCursorFetch 가 꺼져 있으면 Integer.MIN_VALUE 가 Connector/J 의 행 단위 스트리밍 신호다.
+            pstmt.setFetchSize(config.isUseCursorFetch() ? config.getFetchSize() : Integer.MIN_VALUE);
+            bindParams(query, pstmt, params);
+
+            sqlLogger.logStatement(isDevMode(), "실행될 SQL문(스트리밍)", query, params);
+
+            return pstmt;
+        } catch (SQLException | RuntimeException e) {
+            closeQuietly(pstmt);
+            throw e;
+        }
+    }
+
+    private boolean isDevMode() {
+        return devMode || simpleDb.isDevMode();
     }
 }
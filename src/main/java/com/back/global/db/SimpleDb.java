@@ -1,86 +1,483 @@
 package com.back.global.db;
 
+import com.back.global.db.cache.EntityCache;
+import com.back.global.db.cache.IdentityMap;
+import com.back.global.db.cache.QueryResultCache;
+import com.back.global.db.metrics.InMemoryMetricsSink;
+import com.back.global.db.metrics.MetricsSink;
+import com.back.global.db.metrics.StatementStats;
+import com.back.global.db.metrics.TransactionStats;
+import com.back.global.db.pool.ConnectionPool;
+import com.back.global.db.pool.PooledConnection;
+import com.back.global.db.pool.ReplicaRouter;
+import com.back.global.db.pool.StatementCacheStats;
 import lombok.Setter;
 
 import java.sql.*;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
 @Setter
 public class SimpleDb {
-    private final String url;
-    private final String user;
-    private final String password;
-    private final ThreadLocal<Connection> threadLocalConnection = new ThreadLocal<>();
+    private static final int MAX_CACHED_TEMPLATES = 1024;
+
+    private final SimpleDbConfig config;
+    private final ConnectionPool connectionPool;
+    // 복제본이 없으면 null
+    private final ReplicaRouter replicaRouter;
+    private final Executor asyncExecutor;
+    // 직접 만든 실행기만 shutdown 때 닫는다. 외부에서 받은 실행기는 주인이 관리한다.
+    private final ExecutorService ownedAsyncExecutor;
+    // 트랜잭션 중인 스레드만 커넥션을 붙잡고, 나머지는 구문마다 풀에서 빌려 쓰고 돌려준다.
+    private final ThreadLocal<PooledConnection> transactionConnection = new ThreadLocal<>();
+    // 트랜잭션 중에 쓴 테이블. 커밋/롤백 전에 다른 스레드가 캐시한 결과를 끝날 때 한 번 더 지운다.
+    private final ThreadLocal<Set<String>> transactionWrittenTables = new ThreadLocal<>();
+    private final QueryResultCache resultCache;
+    // 엔티티 캐시를 끄면 null
+    private final EntityCache entityCache;
+    // 트랜잭션 동안 id 로 읽은 엔티티
+    private final ThreadLocal<IdentityMap> transactionEntities = new ThreadLocal<>();
+    private final SqlLogger sqlLogger;
+    private final InMemoryMetricsSink metrics;
+    // metricsEnabled 가 꺼져 있으면 null
+    private final MetricsSink metricsSink;
+    // 트랜잭션 밖 조회를 복제본으로 보내는 실행기와, 모든 문장을 주 DB 로 보내는 실행기
+    private final QueryExecutor executor;
+    private final QueryExecutor primaryExecutor;
+    private final Map<String, SqlTemplate> templates = new ConcurrentHashMap<>();
+    private final Map<String, AsyncWriter> asyncWriters = new ConcurrentHashMap<>();
+    private final TransactionStats transactionStats = new TransactionStats();
     private boolean devMode = false;
 
+    // inTransaction 에 넘기는 작업. 재시도되면 처음부터 다시 실행되므로 DB 밖의 부수 효과를 두지 않는다.
+    @FunctionalInterface
+    public interface TransactionCallback<R> {
+        R doInTransaction(SimpleDb tx);
+    }
+
     public SimpleDb(String host, String user, String password, String dbName) {
-        this.url = "jdbc:mysql://" + host + ":3306/" + dbName + "?serverTimezone=UTC";
-        this.user = user;
-        this.password = password;
+        this(host, user, password, dbName, SimpleDbConfig.defaults());
+    }
+
+    public SimpleDb(String host, String user, String password, String dbName, SimpleDbConfig config) {
+        this(host, List.of(), user, password, dbName, config);
+    }
+
+    // host 는 "host" 또는 "host:port". 복제본도 주 DB 와 같은 계정, 같은 DB 이름을 쓴다.
+    public SimpleDb(String primaryHost, List<String> replicaHosts, String user, String password, String dbName) {
+        this(primaryHost, replicaHosts, user, password, dbName, SimpleDbConfig.defaults());
+    }
+
+    public SimpleDb(String primaryHost, List<String> replicaHosts, String user, String password, String dbName, SimpleDbConfig config) {
+        this(driverManager(buildUrl(primaryHost, dbName, config), user, password),
+                replicaHosts.stream().map(host -> driverManager(buildUrl(host, dbName, config), user, password)).toList(),
+                replicaHosts,
+                config);
+    }
+
+    // MySQL 이외의 커넥션 공급원(테스트용 드라이버, 벤치마크용 가짜 드라이버 등)을 쓸 때
+    public SimpleDb(ConnectionPool.ConnectionFactory connectionFactory, SimpleDbConfig config) {
+        this(connectionFactory, List.of(), List.of(), config);
+    }
+
+    public SimpleDb(ConnectionPool.ConnectionFactory primaryFactory, List<ConnectionPool.ConnectionFactory> replicaFactories, SimpleDbConfig config) {
+        this(primaryFactory, replicaFactories, IntStream.range(0, replicaFactories.size()).mapToObj(i -> "replica-" + i).toList(), config);
+    }
+
+    private SimpleDb(ConnectionPool.ConnectionFactory primaryFactory, List<ConnectionPool.ConnectionFactory> replicaFactories,
+                     List<String> replicaNames, SimpleDbConfig config) {
+        this.config = config;
+        this.connectionPool = new ConnectionPool(primaryFactory, config);
+        if (replicaFactories.isEmpty()) {
+            this.replicaRouter = null;
+        } else {
+            this.replicaRouter = new ReplicaRouter(config.getReplicaRouting(), config.getReplicaDownTime().toNanos());
+            for (int i = 0; i < replicaFactories.size(); i++) {
+                replicaRouter.addReplica(replicaNames.get(i), new ConnectionPool(replicaFactories.get(i), config));
+            }
+        }
+        this.resultCache = new QueryResultCache(config.getResultCacheMaxEntries(), config.getResultCacheStaleReadWindow());
+        this.entityCache = config.getEntityCacheMaxEntries() > 0
+                ? new EntityCache(config.getEntityCacheMaxEntries(), config.getEntityCacheTtl(), config.getResultCacheStaleReadWindow())
+                : null;
+        this.sqlLogger = new SqlLogger(config);
+        this.metrics = new InMemoryMetricsSink(config.getMetricsMaxFingerprints());
+        if (!config.isMetricsEnabled()) this.metricsSink = null;
+        else if (config.getMetricsSink() != null) this.metricsSink = metrics.andThen(config.getMetricsSink());
+        else this.metricsSink = metrics;
+        this.executor = new QueryExecutor(this, true);
+        this.primaryExecutor = new QueryExecutor(this, false);
+
+        if (config.getAsyncExecutor() != null) {
+            this.asyncExecutor = config.getAsyncExecutor();
+            this.ownedAsyncExecutor = null;
+        } else {
+            this.ownedAsyncExecutor = Executors.newVirtualThreadPerTaskExecutor();
+            this.asyncExecutor = ownedAsyncExecutor;
+        }
     }
 
     public Sql genSql() {
-        return new Sql(this, devMode);
+        return new Sql(this);
+    }
+
+    // 같은 SQL 문자열이면 같은 템플릿을 돌려준다.
+    public SqlTemplate template(String sql) {
+        SqlTemplate template = templates.get(sql);
+        if (template != null) return template;
+
+        if (templates.size() >= MAX_CACHED_TEMPLATES) templates.clear();
+        return templates.computeIfAbsent(sql, key -> new SqlTemplate(this, key));
     }
 
     public void run(String query, Object... params) {
-        new QueryExecutor(this, devMode).executeUpdate(query, List.of(params), false);
+        executor.executeUpdate(query, Arrays.asList(params), false);
     }
 
-    Connection getConnection() throws SQLException {
-        Connection conn = threadLocalConnection.get();
-        try {
-            if (conn == null || conn.isClosed()) {
-                conn = DriverManager.getConnection(url, user, password);
-                threadLocalConnection.set(conn);
+    public BatchResult runBatch(String query, List<Object[]> rows) {
+        return executor.executeBatch(query, List.of(), rows);
+    }
+
+    // 테이블과 컬럼이 같으면 같은 쓰기를 돌려준다. 닫힌 뒤에 다시 부르면 새로 만든다.
+    public AsyncWriter asyncWriter(String table, String... columns) {
+        return asyncWriter(table, List.of(columns));
+    }
+
+    public AsyncWriter asyncWriter(String table, List<String> columns) {
+        String key = table + "(" + String.join(",", columns) + ")";
+        return asyncWriters.computeIfAbsent(key, k -> new AsyncWriter(this, k, table, columns));
+    }
+
+    void removeAsyncWriter(String key, AsyncWriter writer) {
+        asyncWriters.remove(key, writer);
+    }
+
+    // 트랜잭션 커넥션은 호출 스레드에 묶여 있어 다른 스레드의 작업이 이어받을 수 없다.
+    <R> CompletableFuture<R> supplyAsync(Supplier<R> task) {
+        if (isInTransaction()) throw new RuntimeException("트랜잭션 안에서는 비동기 실행을 사용할 수 없습니다.");
+
+        return CompletableFuture.supplyAsync(task, asyncExecutor);
+    }
+
+    // Sql.selectRow(Class) 의 SELECT * FROM table WHERE id = ? 조회. 엔티티 캐시가 켜져 있을 때만 불린다.
+    // 트랜잭션 안에서는 공유 캐시를 거치지 않고 그 트랜잭션의 식별자 맵을 쓴다. 트랜잭션 안의 조회는 어차피 주 DB 로 간다.
+    <T> T selectEntity(Class<T> type, String table, long id, QueryResultCache.Loader<T> loader) {
+        if (!isInTransaction()) return entityCache.get(type, table, id, loader);
+
+        IdentityMap identityMap = transactionEntities.get();
+        if (identityMap == null) {
+            identityMap = new IdentityMap();
+            transactionEntities.set(identityMap);
+        }
+        return identityMap.get(type, table, id, () -> loader.load(false));
+    }
+
+    // 쓰기 문장이 성공한 뒤 QueryExecutor 가 호출한다.
+    void afterWrite(String query) {
+        Set<String> tables = SqlAnalyzer.tablesOf(query);
+        resultCache.invalidate(tables);
+        if (entityCache != null) entityCache.invalidate(tables);
+
+        if (isInTransaction()) {
+            IdentityMap identityMap = transactionEntities.get();
+            if (identityMap != null) identityMap.invalidate(tables);
+
+            Set<String> written = transactionWrittenTables.get();
+            if (written == null) {
+                written = new HashSet<>();
+                transactionWrittenTables.set(written);
             }
-        } catch (SQLException e) {
-            throw new RuntimeException("DB 연결 실패", e);
+            // 어떤 테이블인지 모르는 쓰기는 null 원소로 표시해 끝날 때 전체를 비운다.
+            if (tables.isEmpty()) written.add(null);
+            else written.addAll(tables);
         }
+    }
+
+    PooledConnection getConnection() {
+        PooledConnection conn = transactionConnection.get();
+        return conn != null ? conn : borrow();
+    }
+
+    // 트랜잭션 밖이면 복제본에서 빌린다. 쓸 수 있는 복제본이 없으면 주 DB 로 간다.
+    PooledConnection getReadConnection() {
+        PooledConnection conn = transactionConnection.get();
+        if (conn != null || replicaRouter == null) return conn != null ? conn : borrow();
+
+        long startedAt = System.nanoTime();
+        conn = replicaRouter.borrow();
+        if (conn == null) return borrow();
+
+        if (metricsSink != null) metricsSink.recordAcquire(System.nanoTime() - startedAt);
         return conn;
     }
 
+    void releaseConnection(PooledConnection conn) {
+        if (conn != transactionConnection.get()) conn.getPool().release(conn);
+    }
+
+    // 문장 실행 중 오류. 복제본의 연결 오류면 그 복제본을 잠시 뺀다.
+    void reportFailure(PooledConnection conn, SQLException e) {
+        if (replicaRouter != null) replicaRouter.reportFailure(conn, e);
+    }
+
     public void startTransaction() {
+        PooledConnection conn = transactionConnection.get();
+        if (conn == null) {
+            conn = borrow();
+            transactionConnection.set(conn);
+        }
+
         try {
-            Connection conn = getConnection();
-            conn.setAutoCommit(false);
+            conn.getConnection().setAutoCommit(false);
         } catch (SQLException e) {
+            endTransaction();
             throw new RuntimeException("트랜잭션 시작 실패", e);
         }
     }
 
     public void commit() {
         try {
-            Connection conn = getConnection();
+            Connection conn = getTransactionConnection().getConnection();
             conn.commit();
             conn.setAutoCommit(true);
         } catch (SQLException e) {
             throw new RuntimeException("트랜젝션 커밋 실패", e);
+        } finally {
+            endTransaction();
         }
     }
 
     public void rollback() {
         try {
-            Connection conn = getConnection();
+            Connection conn = getTransactionConnection().getConnection();
             conn.rollback();
             conn.setAutoCommit(true);
         } catch (SQLException e) {
             throw new RuntimeException("트랜젝션 롤백 실패", e);
+        } finally {
+            endTransaction();
+        }
+    }
+
+    // 커넥션 하나를 빌려 callback 을 트랜잭션으로 실행하고, 정상 종료면 커밋, 예외면 롤백한다.
+    // 교착 상태(1213), 락 대기 시간 초과(1205), 직렬화 실패(40001)로 실패하면 잠시 기다렸다가 처음부터 다시 실행한다.
+    public <R> R inTransaction(TransactionCallback<R> callback) {
+        return inTransaction(TransactionIsolation.DEFAULT, false, callback);
+    }
+
+    public <R> R inTransaction(TransactionIsolation isolation, TransactionCallback<R> callback) {
+        return inTransaction(isolation, false, callback);
+    }
+
+    // 이미 트랜잭션 중이면 바깥 트랜잭션에 합류한다. 이때 격리 수준, 커밋, 재시도는 바깥 트랜잭션을 따른다.
+    public <R> R inTransaction(TransactionIsolation isolation, boolean readOnly, TransactionCallback<R> callback) {
+        if (isInTransaction()) return callback.doInTransaction(this);
+
+        long startedAt = System.nanoTime();
+        for (int attempt = 0; ; attempt++) {
+            try {
+                R result = runTransaction(isolation, readOnly, callback);
+                transactionStats.recordCommit(System.nanoTime() - startedAt);
+                return result;
+            } catch (RuntimeException e) {
+                TransactionStats.RetryReason reason = TransactionStats.RetryReason.of(e);
+                if (reason == null || attempt >= config.getTransactionMaxRetries()) {
+                    transactionStats.recordRollback(System.nanoTime() - startedAt, reason != null);
+                    throw e;
+                }
+
+                long backoffNanos = retryBackoffNanos(attempt);
+                transactionStats.recordRetry(reason, backoffNanos);
+                sleepNanos(backoffNanos);
+            }
         }
     }
 
+    public boolean isInTransaction() {
+        return transactionConnection.get() != null;
+    }
+
+    // 현재 스레드가 붙잡고 있는 커넥션을 풀에 돌려준다. 끝나지 않은 트랜잭션은 반납 시 롤백된다.
     public void close() {
-        Connection conn = threadLocalConnection.get();
-        if (conn != null) {
+        endTransaction();
+    }
+
+    // 비동기 쓰기를 모두 비우고 풀의 모든 커넥션을 닫는다. 애플리케이션 종료 시 한 번 호출한다.
+    public void shutdown() {
+        // 비동기 쓰기 큐에 남은 행을 먼저 보낸다.
+        List.copyOf(asyncWriters.values()).forEach(AsyncWriter::close);
+        if (ownedAsyncExecutor != null) ownedAsyncExecutor.shutdown();
+        connectionPool.close();
+        if (replicaRouter != null) replicaRouter.close();
+    }
+
+    boolean isDevMode() {
+        return devMode;
+    }
+
+    QueryExecutor getExecutor() {
+        return executor;
+    }
+
+    QueryExecutor getPrimaryExecutor() {
+        return primaryExecutor;
+    }
+
+    SqlLogger getSqlLogger() {
+        return sqlLogger;
+    }
+
+    MetricsSink getMetricsSink() {
+        return metricsSink;
+    }
+
+    SimpleDbConfig getConfig() {
+        return config;
+    }
+
+    public QueryResultCache getResultCache() {
+        return resultCache;
+    }
+
+    // 엔티티 캐시를 끄면 null
+    public EntityCache getEntityCache() {
+        return entityCache;
+    }
+
+    public ConnectionPool getConnectionPool() {
+        return connectionPool;
+    }
+
+    // 복제본이 없으면 null
+    public ReplicaRouter getReplicaRouter() {
+        return replicaRouter;
+    }
+
+    public StatementCacheStats getStatementCacheStats() {
+        return connectionPool.getStatementCacheStats();
+    }
+
+    public InMemoryMetricsSink getMetrics() {
+        return metrics;
+    }
+
+    public TransactionStats getTransactionStats() {
+        return transactionStats;
+    }
+
+    // p99 지연 시간이 가장 큰 문장 n 개
+    public List<StatementStats> getSlowestStatements(int n) {
+        return metrics.topSlowest(n);
+    }
+
+    private static ConnectionPool.ConnectionFactory driverManager(String url, String user, String password) {
+        return () -> DriverManager.getConnection(url, user, password);
+    }
+
+    private static String buildUrl(String host, String dbName, SimpleDbConfig config) {
+        String address = host.contains(":") ? host : host + ":3306";
+        StringBuilder url = new StringBuilder("jdbc:mysql://" + address + "/" + dbName + "?serverTimezone=UTC");
+        if (config.isUseServerPrepStmts()) url.append("&useServerPrepStmts=true");
+        if (config.isUseCursorFetch()) url.append("&useCursorFetch=true");
+        if (config.isRewriteBatchedStatements()) url.append("&rewriteBatchedStatements=true");
+        if (config.isCachePrepStmts()) {
+            url.append("&cachePrepStmts=true&prepStmtCacheSize=").append(Math.max(25, config.getStatementCacheSize()));
+        }
+        return url.toString();
+    }
+
+    private PooledConnection borrow() {
+        if (metricsSink == null) return connectionPool.borrow();
+
+        long startedAt = System.nanoTime();
+        PooledConnection conn = connectionPool.borrow();
+        metricsSink.recordAcquire(System.nanoTime() - startedAt);
+        return conn;
+    }
+
+    private <R> R runTransaction(TransactionIsolation isolation, boolean readOnly, TransactionCallback<R> callback) {
+        PooledConnection conn = borrow();
+        transactionConnection.set(conn);
+        try {
+            conn.setTransactionOptions(isolation.getLevel(), readOnly);
+            conn.getConnection().setAutoCommit(false);
+        } catch (SQLException e) {
+            endTransaction();
+            throw new RuntimeException("트랜잭션 시작 실패", e);
+        }
+
+        R result;
+        try {
+            result = callback.doInTransaction(this);
+        } catch (RuntimeException | Error e) {
             try {
-                conn.close();
-            } catch (SQLException e) {
-                throw new RuntimeException("커넥션 닫기 실패", e);
-            } finally {
-                threadLocalConnection.remove();
+                rollback();
+            } catch (RuntimeException rollbackFailure) {
+                e.addSuppressed(rollbackFailure);
+            }
+            throw e;
+        }
+        commit();
+        return result;
+    }
+
+    // 재시도마다 두 배로 늘린 상한(최대 transactionRetryMaxDelay)의 절반에서 전체 사이를 고른다.
+    // 같은 행을 두고 부딪힌 트랜잭션들이 동시에 다시 시작해 또 부딪히지 않도록 흩어 놓는다.
+    private long retryBackoffNanos(int attempt) {
+        long base = config.getTransactionRetryBaseDelay().toNanos();
+        long max = config.getTransactionRetryMaxDelay().toNanos();
+        long ceiling = attempt >= 30 ? max : Math.min(max, base << attempt);
+        if (ceiling <= 1) return ceiling;
+
+        return ceiling / 2 + ThreadLocalRandom.current().nextLong(ceiling - ceiling / 2 + 1);
+    }
+
+    private static void sleepNanos(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("트랜잭션 재시도 대기 중 인터럽트", e);
+        }
+    }
+
+    private PooledConnection getTransactionConnection() {
+        PooledConnection conn = transactionConnection.get();
+        if (conn == null) throw new RuntimeException("진행 중인 트랜잭션이 없습니다.");
+        return conn;
+    }
+
+    private void endTransaction() {
+        PooledConnection conn = transactionConnection.get();
+        if (conn == null) return;
+
+        transactionConnection.remove();
+        transactionEntities.remove();
+        connectionPool.release(conn);
+
+        // 트랜잭션 중에 다른 스레드가 커밋 전 값을 캐시에 담았을 수 있으므로 끝날 때 한 번 더 비운다.
+        Set<String> written = transactionWrittenTables.get();
+        if (written != null) {
+            transactionWrittenTables.remove();
+            if (written.contains(null)) {
+                resultCache.invalidateAll();
+                if (entityCache != null) entityCache.invalidateAll();
+            } else {
+                resultCache.invalidate(written);
+                if (entityCache != null) entityCache.invalidate(written);
             }
-        } else {
-            throw new RuntimeException("커넥션이 존재하지 않습니다.");
         }
     }
 }
@@ -0,0 +1,158 @@
+package com.back.global.db;
+
+import com.back.global.db.metrics.MetricsSink;
+import com.back.global.db.pool.ReplicaRouter;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+@Getter
+@Builder
+public class SimpleDbConfig {
+    // 풀이 유지하려고 하는 최소 유휴 커넥션 수
+    @Builder.Default
+    private final int minIdle = 2;
+
+    // 풀이 동시에 가질 수 있는 최대 커넥션 수 (대여 중 + 유휴)
+    @Builder.Default
+    private final int maxPoolSize = 10;
+
+    // 이 시간 이상 사용되지 않은 유휴 커넥션은 minIdle 을 넘는 만큼 정리된다.
+    @Builder.Default
+    private final Duration idleTimeout = Duration.ofMinutes(10);
+
+    // 커넥션의 최대 수명. 지나면 반납 시점이나 하우스키핑 때 교체된다.
+    @Builder.Default
+    private final Duration maxLifetime = Duration.ofMinutes(30);
+
+    // 커넥션 대여 대기 최대 시간
+    @Builder.Default
+    private final Duration connectionTimeout = Duration.ofSeconds(30);
+
+    // 대여 시 Connection.isValid 검사에 쓰는 타임아웃
+    @Builder.Default
+    private final Duration validationTimeout = Duration.ofSeconds(5);
+
+    // 유휴 정리/최소 커넥션 보충 주기
+    @Builder.Default
+    private final Duration housekeepingPeriod = Duration.ofSeconds(30);
+
+    // 커넥션마다 보관할 PreparedStatement 수. 0 이면 매번 새로 준비하고 닫는다.
+    @Builder.Default
+    private final int statementCacheSize = 64;
+
+    // MySQL 서버 측 prepared statement 사용 (Connector/J useServerPrepStmts)
+    @Builder.Default
+    private final boolean useServerPrepStmts = false;
+
+    // 드라이버 내부의 prepared statement 캐시 사용 (Connector/J cachePrepStmts)
+    @Builder.Default
+    private final boolean cachePrepStmts = false;
+
+    // 배치 실행 시 한 번에 서버로 보내는 행 수
+    @Builder.Default
+    private final int batchSize = 1000;
+
+    // 배치를 다중 행 INSERT 로 재작성해 한 번에 전송 (Connector/J rewriteBatchedStatements)
+    @Builder.Default
+    private final boolean rewriteBatchedStatements = false;
+
+    // 다중 행 INSERT 한 문장의 최대 크기. 서버의 max_allowed_packet 보다 작게 잡는다.
+    @Builder.Default
+    private final long bulkInsertMaxPacketBytes = 4L * 1024 * 1024;
+
+    // 스트리밍 조회를 서버 커서로 나눠 받기 (Connector/J useCursorFetch). 끄면 행 단위 스트리밍을 쓴다.
+    @Builder.Default
+    private final boolean useCursorFetch = false;
+
+    // useCursorFetch 사용 시 한 번에 받아오는 행 수
+    @Builder.Default
+    private final int fetchSize = 1000;
+
+    // Sql.cached(ttl) 로 켠 조회 결과 캐시가 보관하는 최대 항목 수
+    @Builder.Default
+    private final int resultCacheMaxEntries = 10_000;
+
+    // 쓰기로 무효화된 테이블은 이 시간 동안 조회 결과 캐시와 엔티티 캐시를 채울 때 복제본 대신 주 DB 에서 읽는다. 복제 지연보다 길게 잡는다.
+    @Builder.Default
+    private final Duration resultCacheStaleReadWindow = Duration.ofSeconds(5);
+
+    // selectRow(Class) 로 읽는 SELECT * FROM 테이블 WHERE id = ? 결과를 담아 둘 엔티티 캐시의 최대 항목 수. 0 이면 끈다.
+    // 켜면 트랜잭션 안에서는 같은 행을 같은 객체로 돌려준다.
+    @Builder.Default
+    private final int entityCacheMaxEntries = 0;
+
+    // 엔티티 캐시 항목을 보관하는 시간
+    @Builder.Default
+    private final Duration entityCacheTtl = Duration.ofMinutes(5);
+
+    // 이 시간 이상 걸린 문장을 com.back.global.db.SlowQuery 로거에 WARN 으로 남긴다. null 이면 끈다.
+    @Builder.Default
+    private final Duration slowQueryThreshold = Duration.ofSeconds(1);
+
+    // SQL 로그에서 값을 가릴 컬럼 이름(소문자). "password = ?" 처럼 비교되는 ?, "password IN (?, ?)" 목록,
+    // INSERT 컬럼 목록에서 그 컬럼 자리에 오는 VALUES 값에 적용된다.
+    @Builder.Default
+    private final Set<String> redactedColumns = Set.of("password", "passwd", "pwd", "secret", "token", "api_key");
+
+    // SQL 로그에 남길 문자열 값의 최대 길이. 넘는 부분은 잘라낸다.
+    @Builder.Default
+    private final int logMaxValueLength = 200;
+
+    // 복제본이 있을 때 트랜잭션 밖 조회를 나눠 보내는 방식
+    @Builder.Default
+    private final ReplicaRouter.Strategy replicaRouting = ReplicaRouter.Strategy.ROUND_ROBIN;
+
+    // 연결에 실패한 복제본을 조회 대상에서 빼 두는 시간
+    @Builder.Default
+    private final Duration replicaDownTime = Duration.ofSeconds(30);
+
+    // inTransaction 이 교착 상태, 락 대기 시간 초과, 직렬화 실패 때 다시 실행하는 최대 횟수 (첫 실행 제외)
+    @Builder.Default
+    private final int transactionMaxRetries = 3;
+
+    // 재시도 대기 시간의 시작값. 재시도마다 두 배로 늘리고, 그 절반에서 전체 사이의 임의 값만큼 기다린다.
+    @Builder.Default
+    private final Duration transactionRetryBaseDelay = Duration.ofMillis(10);
+
+    // 재시도 대기 시간의 상한
+    @Builder.Default
+    private final Duration transactionRetryMaxDelay = Duration.ofMillis(500);
+
+    // asyncWriter 큐에 담아 둘 수 있는 최대 행 수. 2의 거듭제곱으로 올려 잡는다.
+    @Builder.Default
+    private final int asyncWriterQueueCapacity = 65_536;
+
+    // asyncWriter 가 다중 행 INSERT 한 번에 보내는 최대 행 수
+    @Builder.Default
+    private final int asyncWriterBatchSize = 1000;
+
+    // 한 묶음이 덜 찼어도 첫 행이 들어온 뒤 이 시간이 지나면 보낸다.
+    @Builder.Default
+    private final Duration asyncWriterFlushInterval = Duration.ofMillis(100);
+
+    // 큐가 가득 찼을 때 write 가 자리가 나기를 기다리는 최대 시간. 넘으면 예외를 던진다.
+    @Builder.Default
+    private final Duration asyncWriterOfferTimeout = Duration.ofSeconds(10);
+
+    // 문장별 메트릭(커넥션 대여/준비/실행/매핑 시간, 행 수, 오류 수) 수집
+    @Builder.Default
+    private final boolean metricsEnabled = true;
+
+    // 기본 수집기가 따로 보관하는 fingerprint 수. 넘치면 나머지는 하나로 합친다.
+    @Builder.Default
+    private final int metricsMaxFingerprints = 1000;
+
+    // 기본 수집기와 함께 기록할 추가 수집기 (예: MicrometerMetricsSink)
+    private final MetricsSink metricsSink;
+
+    // *Async 메서드를 실행할 실행기. 지정하지 않으면 작업마다 가상 스레드를 하나씩 만든다.
+    private final Executor asyncExecutor;
+
+    public static SimpleDbConfig defaults() {
+        return SimpleDbConfig.builder().build();
+    }
+}
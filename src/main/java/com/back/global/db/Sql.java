@@ -1,24 +1,60 @@
 package com.back.global.db;
 
+import com.back.global.db.export.ExportFormat;
+import com.back.global.db.export.ResultExporter;
 import com.back.global.db.mapper.MapRowMapper;
-import com.back.global.db.mapper.ObjectRowMapper;
+import com.back.global.db.mapper.RowHandler;
+import com.back.global.db.mapper.RowMapperFactory;
+import com.back.global.db.mapper.RowMappers;
+import com.back.global.db.primitive.LongLongMap;
 
+import java.nio.file.Path;
 import java.sql.*;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class Sql {
-    private final QueryExecutor executor;
+    private final SimpleDb simpleDb;
+    private QueryExecutor executor;
+    // true 면 SimpleDb.setDevMode 와 상관없이 이 Sql 의 문장을 로그로 남긴다.
+    private boolean devMode;
     private final StringBuilder sqlQuery = new StringBuilder();
     private final List<Object> parameters = new ArrayList<>();
+    private final List<Object[]> batchParameters = new ArrayList<>();
+    private Duration cacheTtl;
+    // 마지막으로 만든 쿼리 문자열. append 할 때마다 비운다.
+    private String renderedQuery;
 
+    public Sql(SimpleDb simpleDb) {
+        this.simpleDb = simpleDb;
+        this.executor = simpleDb.getExecutor();
+    }
+
+    // devMode 가 true 면 SimpleDb 전체 설정이 꺼져 있어도 이 Sql 의 문장만 로그로 남긴다.
     public Sql(SimpleDb simpleDb, boolean devMode) {
-        this.executor = new QueryExecutor(simpleDb, devMode);
+        this(simpleDb);
+        this.devMode = devMode;
+        if (devMode) this.executor = executor.withDevMode();
+    }
+
+    // SqlTemplate 이 완성한 쿼리와 파라미터로 만든다.
+    Sql(SimpleDb simpleDb, String query, List<Object> params) {
+        this(simpleDb);
+        this.sqlQuery.append(query).append(" ");
+        this.parameters.addAll(params);
     }
 
     public Sql append(String queryPart, Object... values) {
         sqlQuery.append(queryPart).append(" ");
+        renderedQuery = null;
 
         parameters.addAll(Arrays.asList(values));
 
@@ -29,68 +65,320 @@ public class Sql {
         int idx = queryPart.indexOf("?");
 
         // (?, ?, ?, ...)
-        String placeholders = Arrays.stream(values)
-                .map(v -> "?")
-                .collect(Collectors.joining(", "));
-
         sqlQuery.append(queryPart, 0, idx)
-                .append(placeholders)
-                .append(queryPart.substring(idx + 1))
+                .append(Placeholders.list(values.length))
+                .append(queryPart, idx + 1, queryPart.length())
                 .append(" ");
+        renderedQuery = null;
 
         Collections.addAll(parameters, values);
 
         return this;
     }
 
+    // 복제본이 있어도 조회를 주 DB 로 보낸다. 방금 쓴 내용을 바로 읽어야 할 때 쓴다.
+    public Sql usePrimary() {
+        this.executor = primaryExecutor();
+
+        return this;
+    }
+
+    // 이 Sql 의 select* 결과를 ttl 동안 캐시한다. 트랜잭션 안에서는 캐시를 거치지 않는다.
+    // 호출자마다 결과의 사본을 받으므로 받은 행이나 엔티티를 고쳐도 캐시에는 번지지 않는다.
+    // 필드 값만으로 다시 만들 수 없는 엔티티처럼 복사할 수 없는 결과는 캐시하지 않는다.
+    public Sql cached(Duration ttl) {
+        this.cacheTtl = ttl;
+
+        return this;
+    }
+
+    // append 로 넣은 파라미터 뒤에 이어 붙일 한 행 분량의 파라미터
+    public Sql addBatch(Object... values) {
+        batchParameters.add(values);
+
+        return this;
+    }
+
+    public BatchResult executeBatch() {
+        BatchResult result = executor.executeBatch(query(), parameters, batchParameters);
+        batchParameters.clear();
+        return result;
+    }
+
+    // 엔티티 목록을 다중 행 INSERT 로 넣고 생성된 id 를 순서대로 돌려준다. append 로 쌓은 내용은 쓰지 않는다.
+    // 컬럼은 필드 이름 그대로이고, 모든 엔티티의 id 가 비어 있으면 id 는 DB 가 만들어 엔티티에도 채워 준다.
+    // 행이 많으면 여러 문장으로 나뉘므로, 전부 아니면 전무여야 하면 트랜잭션 안에서 호출한다.
+    public <T> List<Long> bulkInsert(String table, List<T> entities) {
+        if (entities.isEmpty()) return List.of();
+
+        BulkInsert.Entities<T> rows = new BulkInsert.Entities<>(table, entities);
+        List<Long> ids = executor.executeBulkInsert(rows.getBulkInsert());
+        rows.assignIds(ids);
+        return ids;
+    }
+
+    public List<Long> bulkInsert(String table, List<String> columns, List<Object[]> rows) {
+        if (rows.isEmpty()) return List.of();
+
+        return executor.executeBulkInsert(new BulkInsert(table, columns, rows));
+    }
+
     public long insert() {
-        return executor.executeUpdate(sqlQuery.toString(), parameters, true);
+        return executor.executeUpdate(query(), parameters, true);
     }
 
     public int update() {
-        return (int) executor.executeUpdate(sqlQuery.toString(), parameters, false);
+        return (int) executor.executeUpdate(query(), parameters, false);
     }
 
     public int delete() {
-        return (int) executor.executeUpdate(sqlQuery.toString(), parameters, false);
+        return (int) executor.executeUpdate(query(), parameters, false);
     }
 
     public List<Map<String, Object>> selectRows() {
-        return executor.executeSelectList(sqlQuery.toString(), parameters, rs -> new MapRowMapper(rs.getMetaData()).mapRow(rs));
+        return cached("rows", executor -> executor.executeMappedList(query(), parameters, MapRowMapper::new));
     }
 
     public Map<String, Object> selectRow() {
-        return executor.executeSelectOne(sqlQuery.toString(), parameters, rs -> new MapRowMapper(rs.getMetaData()).mapRow(rs));
+        return cached("row", executor -> executor.executeMappedOne(query(), parameters, MapRowMapper::new));
     }
 
     public <T> List<T> selectRows(Class<T> clazz) {
-        return executor.executeSelectList(sqlQuery.toString(), parameters, rs -> new ObjectRowMapper<>(clazz, rs.getMetaData()).mapRow(rs));
+        return cached("rows:" + clazz.getName(), executor -> executor.executeMappedList(query(), parameters, RowMappers.factoryFor(clazz)));
     }
 
+    // 엔티티 캐시가 켜져 있으면 SELECT * FROM 테이블 WHERE id = ? 는 엔티티 캐시를 거친다. cached(ttl) 을 지정했으면 그쪽을 따른다.
     public <T> T selectRow(Class<T> clazz) {
-        return executor.executeSelectOne(sqlQuery.toString(), parameters, rs -> new ObjectRowMapper<>(clazz, rs.getMetaData()).mapRow(rs));
+        if (cacheTtl == null && simpleDb.getEntityCache() != null && parameters.size() == 1) {
+            Object id = parameters.get(0);
+            String table = id instanceof Long || id instanceof Integer ? SqlAnalyzer.tableOfIdLookup(query()) : null;
+            if (table != null) {
+                return simpleDb.selectEntity(clazz, table, ((Number) id).longValue(),
+                        recentlyInvalidated -> (recentlyInvalidated ? primaryExecutor() : executor)
+                                .executeMappedOne(query(), parameters, RowMappers.factoryFor(clazz)));
+            }
+        }
+
+        return cached("row:" + clazz.getName(), executor -> executor.executeMappedOne(query(), parameters, RowMappers.factoryFor(clazz)));
+    }
+
+    // 스트림은 반드시 닫아야 커넥션이 반납된다. (try-with-resources 권장)
+    public Stream<Map<String, Object>> selectStream() {
+        return executor.executeSelectStream(query(), parameters, MapRowMapper::new);
+    }
+
+    public <T> Stream<T> selectStream(Class<T> clazz) {
+        return executor.executeSelectStream(query(), parameters, RowMappers.factoryFor(clazz));
+    }
+
+    public void forEachRow(RowHandler handler) {
+        executor.executeForEachRow(query(), parameters, handler);
+    }
+
+    // 키 순서대로 pageSize 행씩 나눠 읽는다. 페이지마다 "키 > 이전 페이지의 마지막 키" 로 조회하므로
+    // OFFSET 과 달리 건너뛴 행을 다시 읽지 않는다. 키 컬럼은 조회 결과에 포함되어야 하고, 유일해야 빠짐없이 읽힌다.
+    // 다음 페이지는 스트림이 요청할 때 조회하며, 페이지 사이에는 커넥션을 붙잡지 않는다.
+    public Stream<List<Map<String, Object>>> paginateByKey(String keyColumn, int pageSize) {
+        return paginate(MapRowMapper::new, List.of(keyColumn), pageSize);
+    }
+
+    public <T> Stream<List<T>> paginateByKey(Class<T> clazz, String keyColumn, int pageSize) {
+        return paginate(RowMappers.factoryFor(clazz), List.of(keyColumn), pageSize);
+    }
+
+    // 복합 키는 앞의 컬럼부터 정렬 순서가 된다.
+    public <T> Stream<List<T>> paginateByKey(Class<T> clazz, List<String> keyColumns, int pageSize) {
+        return paginate(RowMappers.factoryFor(clazz), keyColumns, pageSize);
     }
 
     public LocalDateTime selectDatetime() {
-        return executor.executeSelectOne(sqlQuery.toString(), parameters, rs -> {
+        return cached("datetime", executor -> executor.executeSelectOne(query(), parameters, rs -> {
             Timestamp ts = rs.getTimestamp(1);
             return ts != null ? ts.toLocalDateTime() : null;
-        });
+        }));
     }
 
     public Long selectLong() {
-        return executor.executeSelectOne(sqlQuery.toString(), parameters, rs -> rs.getLong(1));
+        return cached("long", executor -> executor.executeSelectOne(query(), parameters, rs -> rs.getLong(1)));
     }
 
     public String selectString() {
-        return executor.executeSelectOne(sqlQuery.toString(), parameters, rs -> rs.getString(1));
+        return cached("string", executor -> executor.executeSelectOne(query(), parameters, rs -> rs.getString(1)));
     }
 
     public Boolean selectBoolean() {
-        return executor.executeSelectOne(sqlQuery.toString(), parameters, rs -> rs.getBoolean(1));
+        return cached("boolean", executor -> executor.executeSelectOne(query(), parameters, rs -> rs.getBoolean(1)));
     }
 
     public List<Long> selectLongs() {
-        return executor.executeSelectList(sqlQuery.toString(), parameters, rs -> rs.getLong(1));
+        return cached("longs", executor -> executor.executeSelectList(query(), parameters, rs -> rs.getLong(1)));
+    }
+
+    // 아래 원시 타입 조회는 값마다 박싱하지 않는다. NULL 은 0 으로 읽히고, 결과 캐시(cached)는 거치지 않는다.
+    public long[] selectLongArray() {
+        return executor.executeSelectLongArray(query(), parameters);
+    }
+
+    public int[] selectIntArray() {
+        return executor.executeSelectIntArray(query(), parameters);
+    }
+
+    // selectStream 처럼 서버에서 한 행씩 받아오므로 반드시 닫아야 커넥션이 반납된다.
+    public LongStream selectLongStream() {
+        return executor.executeSelectLongStream(query(), parameters);
+    }
+
+    // 두 컬럼 조회 결과를 첫 번째 컬럼 -> 두 번째 컬럼 맵으로 모은다.
+    public LongLongMap selectLongToLongMap() {
+        return executor.executeSelectLongToLongMap(query(), parameters);
+    }
+
+    // 결과를 행 객체 없이 파일로 바로 내보내고 내보낸 행 수를 돌려준다. 서버에서 한 행씩 받아오므로 결과가 커도 힙은 일정하다.
+    public long exportTo(Path path, ExportFormat format) {
+        return executor.executeStreamingScan(query(), parameters, rs -> ResultExporter.export(rs, path, format));
+    }
+
+    // 비동기 실행은 호출 시점의 쿼리와 파라미터를 복사해 SimpleDb 의 비동기 실행기에서 돌린다.
+    // 작업마다 풀에서 커넥션을 빌리므로, 가상 스레드가 많아도 커넥션 수는 maxPoolSize 를 넘지 않는다.
+    public CompletableFuture<List<Map<String, Object>>> selectRowsAsync() {
+        Sql snapshot = snapshot();
+        return simpleDb.supplyAsync(snapshot::selectRows);
+    }
+
+    public <T> CompletableFuture<List<T>> selectRowsAsync(Class<T> clazz) {
+        Sql snapshot = snapshot();
+        return simpleDb.supplyAsync(() -> snapshot.selectRows(clazz));
+    }
+
+    public <T> CompletableFuture<T> selectRowAsync(Class<T> clazz) {
+        Sql snapshot = snapshot();
+        return simpleDb.supplyAsync(() -> snapshot.selectRow(clazz));
+    }
+
+    public CompletableFuture<Long> selectLongAsync() {
+        Sql snapshot = snapshot();
+        return simpleDb.supplyAsync(snapshot::selectLong);
+    }
+
+    public CompletableFuture<Long> insertAsync() {
+        Sql snapshot = snapshot();
+        return simpleDb.supplyAsync(snapshot::insert);
+    }
+
+    public CompletableFuture<Integer> updateAsync() {
+        Sql snapshot = snapshot();
+        return simpleDb.supplyAsync(snapshot::update);
+    }
+
+    public CompletableFuture<Integer> deleteAsync() {
+        Sql snapshot = snapshot();
+        return simpleDb.supplyAsync(snapshot::delete);
+    }
+
+    // 키 범위를 partitions 개로 나눠 조각마다 다른 커넥션에서 동시에 조회하고, 키 순서대로 이어 붙인다.
+    // 조각 결과는 모두 메모리에 올라오므로 결과가 크면 조각마다 처리하는 아래 메서드를 쓴다.
+    public <T> Stream<T> selectRowsParallel(Class<T> clazz, String keyColumn, int partitions) {
+        return runPartitions(RowMappers.factoryFor(clazz), keyColumn, partitions, rows -> rows).stream()
+                .flatMap(List::stream);
+    }
+
+    // 조각 하나를 조회한 스레드에서 바로 consumer 를 부른다. consumer 는 여러 스레드에서 동시에 불릴 수 있다.
+    public <T> void selectRowsParallel(Class<T> clazz, String keyColumn, int partitions, Consumer<List<T>> consumer) {
+        runPartitions(RowMappers.factoryFor(clazz), keyColumn, partitions, rows -> {
+            consumer.accept(rows);
+            return rows.size();
+        });
+    }
+
+    private <T, R> List<R> runPartitions(RowMapperFactory<T> mapperFactory, String keyColumn, int partitions, Function<List<T>, R> handler) {
+        if (partitions <= 0) throw new RuntimeException("파티션 수는 1 이상이어야 합니다: " + partitions);
+
+        PartitionedQuery partitionedQuery = new PartitionedQuery(query(), keyColumn);
+        List<Object> baseParams = new ArrayList<>(parameters);
+        QueryExecutor partitionExecutor = executor;
+
+        long[] keyRange = partitionExecutor.executeSelectOne(partitionedQuery.rangeQuery(), baseParams, rs -> {
+            long min = rs.getLong(1);
+            return rs.wasNull() ? null : new long[]{min, rs.getLong(2)};
+        });
+        if (keyRange == null) return List.of();
+
+        List<CompletableFuture<R>> futures = new ArrayList<>();
+        for (PartitionedQuery.Range range : PartitionedQuery.split(keyRange[0], keyRange[1], partitions)) {
+            futures.add(simpleDb.supplyAsync(() -> handler.apply(partitionExecutor.executeMappedList(
+                    partitionedQuery.query(range), PartitionedQuery.params(baseParams, range), mapperFactory))));
+        }
+        return joinAll(futures);
+    }
+
+    // 모든 조각이 끝날 때까지 기다린 뒤 결과를 모은다. 실패한 조각이 있으면 그 예외를 그대로 던진다.
+    private static <R> List<R> joinAll(List<CompletableFuture<R>> futures) {
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    private <T> Stream<List<T>> paginate(RowMapperFactory<T> mapperFactory, List<String> keyColumns, int pageSize) {
+        if (pageSize <= 0) throw new RuntimeException("페이지 크기는 1 이상이어야 합니다: " + pageSize);
+
+        KeysetQuery keysetQuery = new KeysetQuery(query(), keyColumns);
+        List<String> keyLabels = keysetQuery.keyLabels();
+        List<Object> baseParams = List.copyOf(parameters);
+
+        Spliterator<List<T>> pages = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            private Object[] lastKey;
+            private boolean done;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super List<T>> action) {
+                if (done) return false;
+
+                KeysetQuery.Page<T> page = executor.executeKeysetPage(keysetQuery.query(lastKey),
+                        keysetQuery.params(baseParams, lastKey, pageSize), mapperFactory, keyLabels);
+                if (page.rows().isEmpty()) {
+                    done = true;
+                    return false;
+                }
+
+                lastKey = page.lastKey();
+                done = page.rows().size() < pageSize;
+                action.accept(page.rows());
+                return true;
+            }
+        };
+        return StreamSupport.stream(pages, false);
+    }
+
+    private String query() {
+        if (renderedQuery == null) renderedQuery = sqlQuery.toString();
+        return renderedQuery;
+    }
+
+    // 캐시를 채울 때 읽는 테이블이 방금 무효화됐으면 복제본이 뒤처져 있을 수 있으므로 주 DB 에서 읽는다.
+    private <R> R cached(String kind, Function<QueryExecutor, R> query) {
+        if (cacheTtl == null || simpleDb.isInTransaction()) return query.apply(executor);
+
+        return simpleDb.getResultCache().get(query(), parameters, kind, cacheTtl,
+                recentlyInvalidated -> query.apply(recentlyInvalidated ? primaryExecutor() : executor));
+    }
+
+    private QueryExecutor primaryExecutor() {
+        QueryExecutor primary = simpleDb.getPrimaryExecutor();
+        return devMode ? primary.withDevMode() : primary;
+    }
+
+    private Sql snapshot() {
+        Sql copy = new Sql(simpleDb);
+        copy.sqlQuery.append(sqlQuery);
+        copy.renderedQuery = renderedQuery;
+        copy.parameters.addAll(parameters);
+        copy.cacheTtl = cacheTtl;
+        copy.executor = executor;
+        copy.devMode = devMode;
+        return copy;
     }
 }
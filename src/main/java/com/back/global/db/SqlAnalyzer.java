@@ -0,0 +1,158 @@
+package com.back.global.db;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// 캐시 키, 무효화 대상 테이블 판별, 메트릭 fingerprint 에 쓰는 가벼운 SQL 문자열 분석기.
+// 파서가 아니므로 Sql 이 만드는 정도의 단순한 문장만 정확히 다룬다.
+public final class SqlAnalyzer {
+    private static final Pattern TABLE_REFERENCE = Pattern.compile(
+            "\\b(?:FROM|JOIN|INTO|UPDATE|TABLE|TRUNCATE)\\s+(?:TABLE\\s+)?(?:IF\\s+(?:NOT\\s+)?EXISTS\\s+)?"
+                    + "([`\\w.]+(?:\\s+(?:AS\\s+)?\\w+)?(?:\\s*,\\s*[`\\w.]+(?:\\s+(?:AS\\s+)?\\w+)?)*)",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern ID_LOOKUP = Pattern.compile(
+            "\\s*SELECT\\s+\\*\\s+FROM\\s+([`\\w.]+)\\s+WHERE\\s+`?id`?\\s*=\\s*\\?\\s*;?\\s*",
+            Pattern.CASE_INSENSITIVE);
+
+    private SqlAnalyzer() {
+    }
+
+    // 문자열 리터럴 밖의 연속 공백을 한 칸으로 줄인다.
+    public static String normalize(String sql) {
+        StringBuilder sb = new StringBuilder(sql.length());
+        char quote = 0;
+        boolean pendingSpace = false;
+
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (quote == 0 && Character.isWhitespace(c)) {
+                pendingSpace = !sb.isEmpty();
+                continue;
+            }
+            if (pendingSpace) {
+                sb.append(' ');
+                pendingSpace = false;
+            }
+            sb.append(c);
+
+            if (quote == 0 && (c == '\'' || c == '"' || c == '`')) quote = c;
+            else if (c == quote) quote = 0;
+        }
+        return sb.toString();
+    }
+
+    // 문장이 읽거나 쓰는 테이블 이름(소문자, 스키마 접두사 제외). 알아내지 못하면 빈 집합이다.
+    public static Set<String> tablesOf(String sql) {
+        Set<String> tables = new LinkedHashSet<>();
+        Matcher matcher = TABLE_REFERENCE.matcher(sql);
+        while (matcher.find()) {
+            for (String reference : matcher.group(1).split(",")) {
+                String name = reference.trim().split("\\s+")[0].replace("`", "");
+                name = name.substring(name.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+                if (!name.isEmpty() && !name.equals("dual")) tables.add(name);
+            }
+        }
+        return tables;
+    }
+
+    // SELECT * FROM 테이블 WHERE id = ? 꼴이면 그 테이블 이름(소문자, 스키마 접두사 제외), 아니면 null
+    public static String tableOfIdLookup(String sql) {
+        Matcher matcher = ID_LOOKUP.matcher(sql);
+        if (!matcher.matches()) return null;
+
+        String name = matcher.group(1).replace("`", "");
+        return name.substring(name.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+    }
+
+    // 메트릭을 묶는 기준. 공백을 정리하고 문자열/숫자 리터럴을 ? 로 바꾸며 IN 목록 길이를 지운다.
+    public static String fingerprint(String sql) {
+        String normalized = normalize(sql);
+        StringBuilder sb = new StringBuilder(normalized.length());
+        int length = normalized.length();
+
+        for (int i = 0; i < length; i++) {
+            char c = normalized.charAt(i);
+            if (c == '\'' || c == '"') {
+                i = endOfQuoted(normalized, i, c);
+                sb.append('?');
+            } else if (c == '`') {
+                int end = endOfQuoted(normalized, i, c);
+                sb.append(normalized, i, Math.min(end + 1, length));
+                i = end;
+            } else if (Character.isDigit(c) && (i == 0 || !isIdentifierPart(normalized.charAt(i - 1)))) {
+                while (i + 1 < length && (isIdentifierPart(normalized.charAt(i + 1)) || normalized.charAt(i + 1) == '.')) i++;
+                sb.append('?');
+            } else {
+                sb.append(c);
+            }
+        }
+
+        return collapsePlaceholderLists(sb);
+    }
+
+    // (?, ?, ...) 는 길이와 상관없이 (?+), 다중 행 VALUES 는 첫 행만 남긴다.
+    // 정규식 반복은 항목마다 재귀해 수천 행짜리 INSERT 에서 스택이 넘치므로 직접 훑는다.
+    private static String collapsePlaceholderLists(CharSequence sql) {
+        StringBuilder sb = new StringBuilder(Math.min(sql.length(), 1024));
+        int i = 0;
+        while (i < sql.length()) {
+            int end = placeholderListEnd(sql, i);
+            if (end < 0) {
+                sb.append(sql.charAt(i++));
+                continue;
+            }
+
+            sb.append("(?+)");
+            i = end;
+            boolean repeated = false;
+            while (true) {
+                int comma = skipSpaces(sql, i);
+                if (comma >= sql.length() || sql.charAt(comma) != ',') break;
+                int next = placeholderListEnd(sql, skipSpaces(sql, comma + 1));
+                if (next < 0) break;
+                repeated = true;
+                i = next;
+            }
+            if (repeated) sb.append(", ...");
+        }
+        return sb.toString();
+    }
+
+    // start 에서 (?, ?, ...) 가 시작하면 닫는 괄호 다음 위치, 아니면 -1
+    private static int placeholderListEnd(CharSequence sql, int start) {
+        if (start >= sql.length() || sql.charAt(start) != '(') return -1;
+        int i = skipSpaces(sql, start + 1);
+        while (true) {
+            if (i >= sql.length() || sql.charAt(i) != '?') return -1;
+            i = skipSpaces(sql, i + 1);
+            if (i >= sql.length()) return -1;
+            if (sql.charAt(i) == ')') return i + 1;
+            if (sql.charAt(i) != ',') return -1;
+            i = skipSpaces(sql, i + 1);
+        }
+    }
+
+    private static int skipSpaces(CharSequence sql, int i) {
+        while (i < sql.length() && Character.isWhitespace(sql.charAt(i))) i++;
+        return i;
+    }
+
+    private static int endOfQuoted(String sql, int start, char quote) {
+        for (int i = start + 1; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '\\' && quote != '`') i++;
+            else if (c == quote) {
+                if (i + 1 < sql.length() && sql.charAt(i + 1) == quote) i++;
+                else return i;
+            }
+        }
+        return sql.length();
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+    }
+}
@@ -0,0 +1,286 @@
+package com.back.global.db;
+
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.temporal.Temporal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// 실행 SQL 로그와 느린 쿼리 로그.
+// 파라미터를 채운 SQL 은 로그 레벨이 켜져 있을 때만 만들고, ? 위치는 SQL 문마다 한 번만 찾아 둔다.
+@Slf4j
+public class SqlLogger {
+    private static final Logger slowQueryLog = LoggerFactory.getLogger("com.back.global.db.SlowQuery");
+    private static final int MAX_CACHED_INDEXES = 1024;
+    private static final String REDACTED = "'****'";
+    // 컬럼 목록 없는 "INSERT INTO t VALUES (?, ?)" 처럼 컬럼 값 자리지만 이름을 알 수 없는 ?. 항상 가린다.
+    private static final String UNKNOWN_COLUMN = "";
+
+    // ? 의 위치와, 그 ? 에 들어갈 값의 컬럼 이름(모르면 null)
+    record PlaceholderIndex(int[] positions, String[] columns) {
+    }
+
+    // 어느 컬럼 값인지 모르는 ? 는 문장에 가릴 컬럼 이름이 나오면 모두 가린다.
+    private record LoggedQuery(PlaceholderIndex index, boolean redactUnattributed) {
+    }
+
+    private final Map<String, LoggedQuery> indexes = new ConcurrentHashMap<>();
+    private final long slowQueryThresholdNanos;
+    private final Set<String> redactedColumns;
+    private final int maxValueLength;
+
+    public SqlLogger(SimpleDbConfig config) {
+        Duration threshold = config.getSlowQueryThreshold();
+        this.slowQueryThresholdNanos = threshold != null ? threshold.toNanos() : Long.MAX_VALUE;
+        this.redactedColumns = config.getRedactedColumns();
+        this.maxValueLength = config.getLogMaxValueLength();
+    }
+
+    public void logStatement(boolean devMode, String label, String query, List<Object> params) {
+        if (!devMode || !log.isDebugEnabled()) return;
+
+        log.debug("{}: {}", label, render(query, params));
+    }
+
+    public boolean isSlow(long elapsedNanos) {
+        return elapsedNanos >= slowQueryThresholdNanos;
+    }
+
+    public void logSlowQuery(String query, List<Object> params, long elapsedNanos, long rows) {
+        if (!isSlow(elapsedNanos) || !slowQueryLog.isWarnEnabled()) return;
+
+        slowQueryLog.warn("slow query: elapsedMs={} rows={} sql=\"{}\" binds={}",
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), rows, SqlAnalyzer.normalize(query), renderBinds(query, params));
+    }
+
+    // 파라미터를 채워 넣은 SQL. 민감한 컬럼 값은 가리고, 긴 값은 잘라낸다.
+    public String render(String query, List<Object> params) {
+        if (params == null || params.isEmpty()) return query;
+
+        LoggedQuery loggedQuery = indexOf(query);
+        int[] positions = loggedQuery.index().positions();
+        StringBuilder sb = new StringBuilder(query.length() + params.size() * 16);
+
+        int last = 0;
+        for (int i = 0; i < positions.length; i++) {
+            sb.append(query, last, positions[i]);
+            if (i < params.size()) appendValue(sb, params.get(i), loggedQuery, i);
+            else sb.append('?');
+            last = positions[i] + 1;
+        }
+        sb.append(query, last, query.length());
+        return sb.toString();
+    }
+
+    private String renderBinds(String query, List<Object> params) {
+        if (params == null || params.isEmpty()) return "[]";
+
+        LoggedQuery loggedQuery = indexOf(query);
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < params.size(); i++) {
+            if (i > 0) sb.append(", ");
+            appendValue(sb, params.get(i), loggedQuery, i);
+        }
+        return sb.append(']').toString();
+    }
+
+    private void appendValue(StringBuilder sb, Object value, LoggedQuery loggedQuery, int placeholder) {
+        String[] columns = loggedQuery.index().columns();
+        String column = placeholder < columns.length ? columns[placeholder] : null;
+        boolean redacted = column == null ? loggedQuery.redactUnattributed()
+                : column.isEmpty() || redactedColumns.contains(column);
+        if (redacted) {
+            sb.append(REDACTED);
+            return;
+        }
+
+        switch (value) {
+            case null -> sb.append("NULL");
+            case Number n -> sb.append(n);
+            case Boolean b -> sb.append(b);
+            case byte[] bytes -> sb.append("<binary ").append(bytes.length).append(" bytes>");
+            case CharSequence s -> appendQuoted(sb, s.toString());
+            case Temporal t -> sb.append('\'').append(t).append('\'');
+            default -> appendQuoted(sb, value.toString());
+        }
+    }
+
+    private void appendQuoted(StringBuilder sb, String s) {
+        sb.append('\'');
+        int length = Math.min(s.length(), maxValueLength);
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (c == '\'') sb.append('\'');
+            sb.append(c);
+        }
+        if (s.length() > maxValueLength) sb.append("...(").append(s.length()).append(" chars)");
+        sb.append('\'');
+    }
+
+    private LoggedQuery indexOf(String query) {
+        LoggedQuery loggedQuery = indexes.get(query);
+        if (loggedQuery != null) return loggedQuery;
+
+        if (indexes.size() >= MAX_CACHED_INDEXES) indexes.clear();
+        loggedQuery = new LoggedQuery(buildIndex(query), mentionsRedactedColumn(query));
+        indexes.put(query, loggedQuery);
+        return loggedQuery;
+    }
+
+    private boolean mentionsRedactedColumn(String query) {
+        int length = query.length();
+        int start = -1;
+        for (int i = 0; i <= length; i++) {
+            boolean part = i < length && isIdentifierPart(query.charAt(i));
+            if (part && start < 0) start = i;
+            if (!part && start >= 0) {
+                if (redactedColumns.contains(query.substring(start, i).toLowerCase(Locale.ROOT))) return true;
+                start = -1;
+            }
+        }
+        return false;
+    }
+
+    // 문자열 리터럴과 주석 안의 ? 는 건너뛴다.
+    // ? 마다 값이 들어갈 컬럼을 찾는다. "col = ?" 꼴의 비교, "col IN (?, ?)" 목록, "INSERT ... (a, b) VALUES (?, ?), (?, ?)" 의 자리 순서를 본다.
+    static PlaceholderIndex buildIndex(String query) {
+        int[] positions = new int[8];
+        String[] columns = new String[8];
+        int count = 0;
+        int length = query.length();
+
+        // 괄호 깊이별로 그 괄호가 IN 목록이면 비교 대상 컬럼
+        String[] inListColumns = new String[8];
+        int depth = 0;
+        // VALUES 가 나온 깊이와 그 앞의 컬럼 목록, 지금 행에서 몇 번째 값인지
+        int valuesDepth = -1;
+        String[] insertColumns = null;
+        int valueOrdinal = 0;
+
+        for (int i = 0; i < length; i++) {
+            char c = query.charAt(i);
+            if (c == '\'' || c == '"' || c == '`') {
+                i = skipQuoted(query, i, c);
+            } else if (c == '-' && i + 1 < length && query.charAt(i + 1) == '-' || c == '#') {
+                int end = query.indexOf('\n', i);
+                i = end < 0 ? length : end;
+            } else if (c == '/' && i + 1 < length && query.charAt(i + 1) == '*') {
+                int end = query.indexOf("*/", i + 2);
+                i = end < 0 ? length : end + 1;
+            } else if (c == '(') {
+                if (depth == valuesDepth) valueOrdinal = 0;
+                depth++;
+                if (depth == inListColumns.length) inListColumns = Arrays.copyOf(inListColumns, depth * 2);
+                inListColumns[depth] = inListColumn(query, i);
+            } else if (c == ')') {
+                if (depth > 0) depth--;
+            } else if (c == ',') {
+                if (depth == valuesDepth + 1) valueOrdinal++;
+            } else if (valuesDepth < 0 && (c == 'V' || c == 'v') && isKeywordAt(query, i, "VALUES", "VALUE")) {
+                valuesDepth = depth;
+                insertColumns = insertColumnsBefore(query, i);
+            } else if (c == '?') {
+                if (count == positions.length) {
+                    positions = Arrays.copyOf(positions, count * 2);
+                    columns = Arrays.copyOf(columns, count * 2);
+                }
+                String column = comparedColumn(query, i);
+                if (column == null && depth > 0) column = inListColumns[depth];
+                if (column == null && valuesDepth >= 0 && depth > valuesDepth) {
+                    column = insertColumns != null && valueOrdinal < insertColumns.length ? insertColumns[valueOrdinal] : UNKNOWN_COLUMN;
+                }
+                positions[count] = i;
+                columns[count] = column;
+                count++;
+            }
+        }
+        return new PlaceholderIndex(Arrays.copyOf(positions, count), Arrays.copyOf(columns, count));
+    }
+
+    private static int skipQuoted(String query, int start, char quote) {
+        for (int i = start + 1; i < query.length(); i++) {
+            char c = query.charAt(i);
+            if (c == '\\' && quote != '`') i++;
+            else if (c == quote) return i;
+        }
+        return query.length();
+    }
+
+    // 단어 경계에 있는 키워드 중 하나면 true
+    private static boolean isKeywordAt(String query, int start, String... keywords) {
+        if (start > 0 && isIdentifierPart(query.charAt(start - 1))) return false;
+        for (String keyword : keywords) {
+            int end = start + keyword.length();
+            if (query.regionMatches(true, start, keyword, 0, keyword.length())
+                    && (end >= query.length() || !isIdentifierPart(query.charAt(end)))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // "col IN (" 나 "col NOT IN (" 의 여는 괄호면 col, 아니면 null
+    private static String inListColumn(String query, int open) {
+        int i = skipSpacesBackward(query, open - 1);
+        if (i < 1 || !isKeywordAt(query, i - 1, "IN")) return null;
+
+        i = skipSpacesBackward(query, i - 2);
+        if (i >= 2 && isKeywordAt(query, i - 2, "NOT")) i = skipSpacesBackward(query, i - 3);
+        return identifierEndingAt(query, i);
+    }
+
+    // "INSERT INTO t (a, b) VALUES" 의 VALUES 앞 컬럼 목록. 목록이 없으면 null
+    private static String[] insertColumnsBefore(String query, int values) {
+        int close = skipSpacesBackward(query, values - 1);
+        if (close < 0 || query.charAt(close) != ')') return null;
+        int open = query.lastIndexOf('(', close);
+        if (open < 0) return null;
+
+        String[] names = query.substring(open + 1, close).split(",");
+        for (int i = 0; i < names.length; i++) {
+            names[i] = names[i].trim().replace("`", "").toLowerCase(Locale.ROOT);
+        }
+        return names;
+    }
+
+    private static int skipSpacesBackward(String query, int i) {
+        while (i >= 0 && Character.isWhitespace(query.charAt(i))) i--;
+        return i;
+    }
+
+    // end 에서 끝나는 식별자(백틱 포함). 없으면 null
+    private static String identifierEndingAt(String query, int end) {
+        int i = end;
+        while (i >= 0 && (isIdentifierPart(query.charAt(i)) || query.charAt(i) == '`')) i--;
+        if (i == end) return null;
+
+        return query.substring(i + 1, end + 1).replace("`", "").toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+    }
+
+    // "password = ?" 처럼 ? 바로 앞의 비교 대상 컬럼 이름을 찾는다.
+    private static String comparedColumn(String query, int placeholder) {
+        int i = placeholder - 1;
+        while (i >= 0 && Character.isWhitespace(query.charAt(i))) i--;
+        if (i < 0 || "=<>!".indexOf(query.charAt(i)) < 0) return null;
+        while (i >= 0 && "=<>!".indexOf(query.charAt(i)) >= 0) i--;
+        while (i >= 0 && Character.isWhitespace(query.charAt(i))) i--;
+
+        int end = i + 1;
+        while (i >= 0 && (Character.isLetterOrDigit(query.charAt(i)) || query.charAt(i) == '_' || query.charAt(i) == '`')) i--;
+        if (end - (i + 1) == 0) return null;
+
+        return query.substring(i + 1, end).replace("`", "").toLowerCase(Locale.ROOT);
+    }
+}
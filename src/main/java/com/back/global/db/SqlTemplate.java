@@ -0,0 +1,170 @@
+package com.back.global.db;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 한 번 분석해 두고 계속 재사용하는 SQL 문. SimpleDb.template(sql) 로 만든다.
+// "IN (?)" 자리에는 컬렉션이나 배열을 넘기고, 목록 길이는 2의 거듭제곱으로 올려 문장 모양의 가짓수를 줄인다.
+// 늘어난 자리는 마지막 값을 반복해 채우므로 IN 의 결과는 같고, 같은 모양끼리 prepared statement 캐시를 나눠 쓴다.
+public class SqlTemplate {
+    // 이 길이까지는 2의 거듭제곱, 넘으면 이 값의 배수로 올린다.
+    private static final int POWER_OF_TWO_LIMIT = 1024;
+    // 모양 키에 IN 자리마다 7비트를 쓴다.
+    private static final int MAX_KEYED_IN_LISTS = 9;
+
+    private final SimpleDb simpleDb;
+    private final String sql;
+    // 플레이스홀더 사이의 조각. 길이는 플레이스홀더 수 + 1
+    private final String[] fragments;
+    private final boolean[] inLists;
+    // "NOT IN (?)" 자리. 빈 목록을 NULL 로 채우면 모든 행이 빠지므로 빈 목록을 받지 않는다.
+    private final boolean[] notInLists;
+    private final int inListCount;
+    private final Map<Long, String> renderedByShape = new ConcurrentHashMap<>();
+
+    SqlTemplate(SimpleDb simpleDb, String sql) {
+        this.simpleDb = simpleDb;
+        this.sql = sql;
+
+        int[] positions = SqlLogger.buildIndex(sql).positions();
+        this.fragments = new String[positions.length + 1];
+        this.inLists = new boolean[positions.length];
+        this.notInLists = new boolean[positions.length];
+
+        int last = 0;
+        int count = 0;
+        for (int i = 0; i < positions.length; i++) {
+            fragments[i] = sql.substring(last, positions[i]);
+            int keyword = inKeywordStart(sql, positions[i]);
+            inLists[i] = keyword >= 0;
+            notInLists[i] = keyword >= 0 && isPrecededByNot(sql, keyword);
+            if (inLists[i]) count++;
+            last = positions[i] + 1;
+        }
+        fragments[positions.length] = sql.substring(last);
+        this.inListCount = count;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public int getParameterCount() {
+        return inLists.length;
+    }
+
+    // 플레이스홀더 순서대로 값을 채운 Sql. IN 자리에는 컬렉션이나 배열을 넘긴다.
+    public Sql bind(Object... args) {
+        if (args.length != inLists.length) {
+            throw new RuntimeException("템플릿 파라미터 개수가 맞지 않습니다: 필요 " + inLists.length + "개, 전달 " + args.length + "개");
+        }
+        if (inListCount == 0) return new Sql(simpleDb, sql, Arrays.asList(args));
+
+        List<Object> params = new ArrayList<>(args.length + 8);
+        int[] paddedSizes = new int[args.length];
+        long shape = 0;
+        for (int i = 0; i < args.length; i++) {
+            if (!inLists[i]) {
+                params.add(args[i]);
+                continue;
+            }
+
+            int size = addInList(params, args[i], notInLists[i]);
+            paddedSizes[i] = size;
+            shape = (shape << 7) | shapeCode(size);
+        }
+
+        String query = inListCount <= MAX_KEYED_IN_LISTS
+                ? renderedByShape.computeIfAbsent(shape, key -> render(paddedSizes))
+                : render(paddedSizes);
+        return new Sql(simpleDb, query, params);
+    }
+
+    // 값을 펼쳐 넣고 늘린 길이를 돌려준다. 빈 목록은 NULL 하나로 바꿔 어떤 행과도 같지 않게 한다.
+    // NOT IN 의 빈 목록은 모든 행이 맞아야 하는데 NULL 로는 그렇게 만들 수 없으므로 예외를 던진다.
+    private static int addInList(List<Object> params, Object values, boolean notIn) {
+        int size;
+        Object lastValue;
+        if (values instanceof Collection<?> collection) {
+            size = collection.size();
+            lastValue = null;
+            for (Object value : collection) {
+                params.add(value);
+                lastValue = value;
+            }
+        } else if (values != null && values.getClass().isArray()) {
+            size = Array.getLength(values);
+            lastValue = null;
+            for (int i = 0; i < size; i++) {
+                lastValue = Array.get(values, i);
+                params.add(lastValue);
+            }
+        } else {
+            throw new RuntimeException("IN (?) 자리에는 컬렉션이나 배열을 넘겨야 합니다: " + values);
+        }
+        if (size == 0 && notIn) {
+            throw new RuntimeException("NOT IN (?) 자리에는 빈 목록을 넘길 수 없습니다. 조건을 빼고 호출하세요.");
+        }
+
+        int padded = paddedSize(size);
+        for (int i = size; i < padded; i++) {
+            params.add(lastValue);
+        }
+        return padded;
+    }
+
+    private String render(int[] paddedSizes) {
+        StringBuilder sb = new StringBuilder(sql.length() + 64);
+        for (int i = 0; i < inLists.length; i++) {
+            sb.append(fragments[i]);
+            sb.append(inLists[i] ? Placeholders.list(paddedSizes[i]) : "?");
+        }
+        return sb.append(fragments[inLists.length]).toString();
+    }
+
+    static int paddedSize(int size) {
+        if (size <= 1) return 1;
+        if (size <= POWER_OF_TWO_LIMIT) return Integer.highestOneBit(size - 1) << 1;
+        return (size + POWER_OF_TWO_LIMIT - 1) / POWER_OF_TWO_LIMIT * POWER_OF_TWO_LIMIT;
+    }
+
+    private static long shapeCode(int paddedSize) {
+        if (paddedSize <= POWER_OF_TWO_LIMIT) return Integer.numberOfTrailingZeros(paddedSize);
+        return 10 + paddedSize / POWER_OF_TWO_LIMIT;
+    }
+
+    // "IN (?)" 처럼 괄호 안에 ? 하나만 있고 괄호 앞이 IN 인 자리면 IN 의 시작 위치, 아니면 -1
+    private static int inKeywordStart(String sql, int placeholder) {
+        int after = placeholder + 1;
+        while (after < sql.length() && Character.isWhitespace(sql.charAt(after))) after++;
+        if (after >= sql.length() || sql.charAt(after) != ')') return -1;
+
+        int before = placeholder - 1;
+        while (before >= 0 && Character.isWhitespace(sql.charAt(before))) before--;
+        if (before < 0 || sql.charAt(before) != '(') return -1;
+        before--;
+        while (before >= 0 && Character.isWhitespace(sql.charAt(before))) before--;
+
+        if (before < 1) return -1;
+        return isWord(sql, before - 1, "IN") ? before - 1 : -1;
+    }
+
+    private static boolean isPrecededByNot(String sql, int keywordStart) {
+        int before = keywordStart - 1;
+        if (before < 0 || !Character.isWhitespace(sql.charAt(before))) return false;
+        while (before >= 0 && Character.isWhitespace(sql.charAt(before))) before--;
+
+        return before >= 2 && isWord(sql, before - 2, "NOT");
+    }
+
+    // sql 의 start 위치부터 word 가 한 단어로 있는지. 뒤쪽 경계는 호출하는 쪽이 이미 확인했다.
+    private static boolean isWord(String sql, int start, String word) {
+        if (!sql.regionMatches(true, start, word, 0, word.length())) return false;
+        return start == 0 || !Character.isLetterOrDigit(sql.charAt(start - 1)) && sql.charAt(start - 1) != '_';
+    }
+}
@@ -0,0 +1,23 @@
+package com.back.global.db;
+
+import java.sql.Connection;
+
+// SimpleDb.inTransaction 에 넘기는 격리 수준. DEFAULT 는 커넥션의 현재 설정을 그대로 쓴다.
+public enum TransactionIsolation {
+    DEFAULT(-1),
+    READ_UNCOMMITTED(Connection.TRANSACTION_READ_UNCOMMITTED),
+    READ_COMMITTED(Connection.TRANSACTION_READ_COMMITTED),
+    REPEATABLE_READ(Connection.TRANSACTION_REPEATABLE_READ),
+    SERIALIZABLE(Connection.TRANSACTION_SERIALIZABLE);
+
+    private final int level;
+
+    TransactionIsolation(int level) {
+        this.level = level;
+    }
+
+    // java.sql.Connection 의 TRANSACTION_* 값. DEFAULT 는 -1
+    public int getLevel() {
+        return level;
+    }
+}
@@ -0,0 +1,220 @@
+package com.back.global.db.cache;
+
+import com.back.global.db.mapper.EntityMetadata;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+// (엔티티 클래스, 테이블, id) 를 키로 하는 selectRow(Class) 결과 캐시.
+// 값은 EntityCodec 으로 직렬화한 byte[] 하나로 보관하고, 꺼낼 때마다 새 엔티티로 풀어 호출자끼리 객체를 공유하지 않는다.
+// 잠금 경합을 줄이려고 키 해시로 나눈 구간마다 따로 LRU 를 둔다.
+// 테이블 무효화는 테이블별 세대 번호만 올리고, 세대가 지난 항목은 읽을 때나 LRU 로 밀려날 때 지운다.
+public class EntityCache {
+    private static final int SEGMENT_COUNT = 16;
+
+    record Key(Class<?> type, String table, long id) {
+    }
+
+    private final long ttlNanos;
+    private final long staleReadWindowNanos;
+    private final Segment[] segments = new Segment[SEGMENT_COUNT];
+    private final Map<String, AtomicLong> tableGenerations = new ConcurrentHashMap<>();
+    private final AtomicLong globalGeneration = new AtomicLong();
+    // 테이블별, 전체 마지막 무효화 시각(System.nanoTime)
+    private final Map<String, Long> invalidatedAt = new ConcurrentHashMap<>();
+    private volatile long allInvalidatedAt;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public EntityCache(int maxEntries, Duration ttl) {
+        this(maxEntries, ttl, Duration.ZERO);
+    }
+
+    // staleReadWindow: 무효화된 테이블을 이 시간 동안은 주 DB 에서 읽어 채운다. 복제 지연보다 길게 잡는다.
+    public EntityCache(int maxEntries, Duration ttl, Duration staleReadWindow) {
+        this.ttlNanos = ttl.toNanos();
+        this.staleReadWindowNanos = staleReadWindow.toNanos();
+        this.allInvalidatedAt = System.nanoTime() - staleReadWindowNanos;
+        int segmentMaxEntries = Math.max(1, (maxEntries + SEGMENT_COUNT - 1) / SEGMENT_COUNT);
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment(segmentMaxEntries);
+        }
+    }
+
+    // 캐시에 없으면 loader 로 읽어 담는다. 행이 없으면(null) 담지 않는다.
+    // 테이블이 방금 무효화됐으면 loader 에 알려 뒤처진 복제본 대신 주 DB 에서 읽게 한다. 그렇지 않으면 옛 행이 새 세대로 담긴다.
+    // 필드 값만으로 다시 만들 수 없는 클래스나 담을 수 없는 타입의 필드가 있으면 캐시를 거치지 않는다.
+    public <T> T get(Class<T> type, String table, long id, QueryResultCache.Loader<T> loader) {
+        EntityMetadata<T> metadata = EntityMetadata.of(type);
+        if (!metadata.isCopyable()) return loader.load(isRecentlyInvalidated(table, System.nanoTime()));
+
+        Key key = new Key(type, table, id);
+        Segment segment = segmentOf(key);
+        // 읽는 도중 무효화가 일어나면 세대가 달라져 담은 항목이 바로 버려진다.
+        long generation = generationOf(table);
+        long now = System.nanoTime();
+
+        byte[] data = segment.get(key);
+        if (data != null) {
+            if (EntityCodec.generation(data) != generation) {
+                invalidations.increment();
+                segment.remove(key, data);
+            } else if (EntityCodec.expiresAt(data) - now <= 0) {
+                expirations.increment();
+                segment.remove(key, data);
+            } else {
+                hits.increment();
+                return EntityCodec.decode(data, metadata);
+            }
+        }
+
+        misses.increment();
+        T entity = loader.load(isRecentlyInvalidated(table, now));
+        if (entity == null) return null;
+
+        byte[] encoded = EntityCodec.encode(entity, metadata, now + ttlNanos, generation);
+        if (encoded != null) segment.put(key, encoded);
+        return entity;
+    }
+
+    // 빈 집합이면 어떤 테이블인지 모르는 쓰기이므로 전부 비운다.
+    public void invalidate(Set<String> tables) {
+        if (tables.isEmpty()) {
+            invalidateAll();
+            return;
+        }
+
+        long now = System.nanoTime();
+        for (String table : tables) {
+            tableGenerations.computeIfAbsent(table, t -> new AtomicLong()).incrementAndGet();
+            invalidatedAt.put(table, now);
+        }
+    }
+
+    public void invalidateAll() {
+        globalGeneration.incrementAndGet();
+        allInvalidatedAt = System.nanoTime();
+        for (Segment segment : segments) {
+            invalidations.add(segment.clear());
+        }
+    }
+
+    // 무효화됐지만 아직 지워지지 않은 항목도 센다.
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public long getExpirationCount() {
+        return expirations.sum();
+    }
+
+    public long getInvalidationCount() {
+        return invalidations.sum();
+    }
+
+    private boolean isRecentlyInvalidated(String table, long now) {
+        if (now - allInvalidatedAt < staleReadWindowNanos) return true;
+
+        Long at = invalidatedAt.get(table);
+        return at != null && now - at < staleReadWindowNanos;
+    }
+
+    private Segment segmentOf(Key key) {
+        int h = key.hashCode();
+        return segments[(h ^ (h >>> 16)) & (SEGMENT_COUNT - 1)];
+    }
+
+    private long generationOf(String table) {
+        return globalGeneration.get() + tableGenerations.computeIfAbsent(table, t -> new AtomicLong()).get();
+    }
+
+    private final class Segment {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<Key, byte[]> entries;
+
+        Segment(int maxEntries) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Key, byte[]> eldest) {
+                    if (size() <= maxEntries) return false;
+
+                    evictions.increment();
+                    return true;
+                }
+            };
+        }
+
+        byte[] get(Key key) {
+            lock.lock();
+            try {
+                return entries.get(key);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void put(Key key, byte[] data) {
+            lock.lock();
+            try {
+                entries.put(key, data);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void remove(Key key, byte[] data) {
+            lock.lock();
+            try {
+                entries.remove(key, data);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int clear() {
+            lock.lock();
+            try {
+                int size = entries.size();
+                entries.clear();
+                return size;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int size() {
+            lock.lock();
+            try {
+                return entries.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.back.global.db.cache;
+
+import com.back.global.db.mapper.EntityMetadata;
+import com.back.global.db.mapper.FieldAccessor;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+
+// 엔티티의 필드 값을 byte[] 하나에 담고 다시 새 엔티티로 풀어낸다.
+// 문자열, 날짜, 박싱된 숫자를 항목마다 객체로 들고 있지 않으므로 캐시 항목 하나가 객체 하나로 끝난다.
+// 앞 16바이트는 만료 시각과 세대 번호이고, 그 뒤로 필드 선언 순서대로 [종류 1바이트][값] 이 이어진다.
+// 정수는 지그재그 가변 길이로 적어 작은 id 나 개수는 1~2바이트만 쓴다.
+final class EntityCodec {
+    static final int HEADER_SIZE = 16;
+
+    private static final byte NULL = 0;
+    private static final byte LONG = 1;
+    private static final byte INT = 2;
+    private static final byte SHORT = 3;
+    private static final byte BYTE = 4;
+    private static final byte TRUE = 5;
+    private static final byte FALSE = 6;
+    private static final byte DOUBLE = 7;
+    private static final byte FLOAT = 8;
+    private static final byte STRING = 9;
+    private static final byte DATETIME = 10;
+    private static final byte DATE = 11;
+    private static final byte TIME = 12;
+    private static final byte DECIMAL = 13;
+    private static final byte BYTES = 14;
+
+    private EntityCodec() {
+    }
+
+    // 담을 수 없는 타입의 값이 있으면 null
+    static byte[] encode(Object entity, EntityMetadata<?> metadata, long expiresAt, long generation) {
+        Output out = new Output();
+        out.putFixedLong(expiresAt);
+        out.putFixedLong(generation);
+
+        for (FieldAccessor field : metadata.getFields()) {
+            if (!put(out, field.get(entity))) return null;
+        }
+        return out.toByteArray();
+    }
+
+    static <T> T decode(byte[] data, EntityMetadata<T> metadata) {
+        Input in = new Input(data, HEADER_SIZE);
+        T entity = metadata.newInstance();
+
+        for (FieldAccessor field : metadata.getFields()) {
+            field.set(entity, in.nextValue());
+        }
+        return entity;
+    }
+
+    static long expiresAt(byte[] data) {
+        return new Input(data, 0).getFixedLong();
+    }
+
+    static long generation(byte[] data) {
+        return new Input(data, Long.BYTES).getFixedLong();
+    }
+
+    private static boolean put(Output out, Object value) {
+        switch (value) {
+            case null -> out.putByte(NULL);
+            case Long v -> out.putTag(LONG).putVarLong(v);
+            case Integer v -> out.putTag(INT).putVarLong(v);
+            case Short v -> out.putTag(SHORT).putVarLong(v);
+            case Byte v -> out.putTag(BYTE).putVarLong(v);
+            case Boolean v -> out.putByte(v ? TRUE : FALSE);
+            case Double v -> out.putTag(DOUBLE).putFixedLong(Double.doubleToRawLongBits(v));
+            case Float v -> out.putTag(FLOAT).putVarLong(Float.floatToRawIntBits(v));
+            case String v -> out.putTag(STRING).putBytes(v.getBytes(StandardCharsets.UTF_8));
+            case LocalDateTime v -> out.putTag(DATETIME).putVarLong(v.toLocalDate().toEpochDay()).putVarLong(v.toLocalTime().toNanoOfDay());
+            case LocalDate v -> out.putTag(DATE).putVarLong(v.toEpochDay());
+            case LocalTime v -> out.putTag(TIME).putVarLong(v.toNanoOfDay());
+            case BigDecimal v -> out.putTag(DECIMAL).putVarLong(v.scale()).putBytes(v.unscaledValue().toByteArray());
+            case byte[] v -> out.putTag(BYTES).putBytes(v);
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class Output {
+        private byte[] buffer = new byte[64];
+        private int position;
+
+        Output putTag(byte tag) {
+            putByte(tag);
+            return this;
+        }
+
+        void putByte(byte value) {
+            ensure(1);
+            buffer[position++] = value;
+        }
+
+        Output putFixedLong(long value) {
+            ensure(Long.BYTES);
+            for (int i = 0; i < Long.BYTES; i++) {
+                buffer[position++] = (byte) (value >>> (i * 8));
+            }
+            return this;
+        }
+
+        Output putVarLong(long value) {
+            long zigzag = (value << 1) ^ (value >> 63);
+            ensure(10);
+            while ((zigzag & ~0x7FL) != 0) {
+                buffer[position++] = (byte) (zigzag & 0x7F | 0x80);
+                zigzag >>>= 7;
+            }
+            buffer[position++] = (byte) zigzag;
+            return this;
+        }
+
+        Output putBytes(byte[] bytes) {
+            putVarLong(bytes.length);
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+            return this;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+
+        private void ensure(int bytes) {
+            if (position + bytes > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + bytes));
+            }
+        }
+    }
+
+    private static final class Input {
+        private final byte[] data;
+        private int position;
+
+        Input(byte[] data, int position) {
+            this.data = data;
+            this.position = position;
+        }
+
+        Object nextValue() {
+            byte tag = data[position++];
+            return switch (tag) {
+                case NULL -> null;
+                case LONG -> getVarLong();
+                case INT -> (int) getVarLong();
+                case SHORT -> (short) getVarLong();
+                case BYTE -> (byte) getVarLong();
+                case TRUE -> Boolean.TRUE;
+                case FALSE -> Boolean.FALSE;
+                case DOUBLE -> Double.longBitsToDouble(getFixedLong());
+                case FLOAT -> Float.intBitsToFloat((int) getVarLong());
+                case STRING -> {
+                    int length = (int) getVarLong();
+                    String value = new String(data, position, length, StandardCharsets.UTF_8);
+                    position += length;
+                    yield value;
+                }
+                case DATETIME -> LocalDateTime.of(LocalDate.ofEpochDay(getVarLong()), LocalTime.ofNanoOfDay(getVarLong()));
+                case DATE -> LocalDate.ofEpochDay(getVarLong());
+                case TIME -> LocalTime.ofNanoOfDay(getVarLong());
+                case DECIMAL -> {
+                    int scale = (int) getVarLong();
+                    yield new BigDecimal(new BigInteger(getBytes()), scale);
+                }
+                case BYTES -> getBytes();
+                default -> throw new IllegalStateException("알 수 없는 엔티티 캐시 값 종류: " + tag);
+            };
+        }
+
+        long getFixedLong() {
+            long value = 0;
+            for (int i = 0; i < Long.BYTES; i++) {
+                value |= (data[position++] & 0xFFL) << (i * 8);
+            }
+            return value;
+        }
+
+        long getVarLong() {
+            long zigzag = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                zigzag |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return (zigzag >>> 1) ^ -(zigzag & 1);
+        }
+
+        byte[] getBytes() {
+            int length = (int) getVarLong();
+            byte[] bytes = Arrays.copyOfRange(data, position, position + length);
+            position += length;
+            return bytes;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.back.global.db.cache;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+// 트랜잭션 하나 동안 (엔티티 클래스, 테이블, id) 로 읽은 엔티티를 기억해 두고 같은 객체를 그대로 돌려준다.
+// 트랜잭션을 연 스레드에서만 쓰고, 트랜잭션이 끝나면 버린다.
+public class IdentityMap {
+    private final Map<EntityCache.Key, Object> entities = new HashMap<>();
+
+    // 행이 없으면(null) 기억하지 않는다.
+    @SuppressWarnings("unchecked")
+    public <T> T get(Class<T> type, String table, long id, Supplier<T> loader) {
+        EntityCache.Key key = new EntityCache.Key(type, table, id);
+        Object entity = entities.get(key);
+        if (entity != null) return (T) entity;
+
+        T loaded = loader.get();
+        if (loaded != null) entities.put(key, loaded);
+        return loaded;
+    }
+
+    // 빈 집합이면 어떤 테이블인지 모르는 쓰기이므로 전부 잊는다.
+    public void invalidate(Set<String> tables) {
+        if (tables.isEmpty()) entities.clear();
+        else entities.keySet().removeIf(key -> tables.contains(key.table()));
+    }
+}
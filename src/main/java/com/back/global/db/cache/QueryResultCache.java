@@ -0,0 +1,302 @@
+package com.back.global.db.cache;
+
+import com.back.global.db.SqlAnalyzer;
+import com.back.global.db.mapper.ArrayRowMap;
+import com.back.global.db.mapper.EntityMetadata;
+import com.back.global.db.mapper.FieldAccessor;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.temporal.Temporal;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 정규화한 SQL + 파라미터 + 결과 형태를 키로 하는 조회 결과 LRU 캐시.
+// 쓰기 문장이 건드린 테이블을 읽은 항목은 바로 지워진다.
+// 결과는 복사해 담고 꺼낼 때마다 다시 복사하므로, 호출자가 받은 행이나 엔티티를 고쳐도 다른 호출자에게 번지지 않는다.
+public class QueryResultCache {
+    private static final Object UNCOPYABLE = new Object();
+    // 읽는 테이블을 알 수 없는 항목을 묶는 자리. 어떤 테이블에 쓰든 함께 지운다.
+    private static final String ANY_TABLE = "*";
+
+    // 캐시에 없을 때 결과를 읽는다. recentlyInvalidated 면 읽는 테이블이 방금 쓰기로 무효화됐으므로
+    // 뒤처진 복제본의 옛 값을 다시 담지 않도록 주 DB 에서 읽어야 한다.
+    @FunctionalInterface
+    public interface Loader<R> {
+        R load(boolean recentlyInvalidated);
+    }
+
+    private record Key(String sql, List<Object> params, String kind) {
+    }
+
+    private record Entry(Object value, long expiresAt, Set<String> tables) {
+    }
+
+    private final int maxEntries;
+    private final long staleReadWindowNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<Key, Entry> entries;
+    private final Map<String, Set<Key>> keysByTable = new HashMap<>();
+    // 조회 도중 무효화가 일어났는지 알아보기 위한 테이블별 버전. 바뀌었으면 결과를 캐시하지 않는다.
+    private final Map<String, AtomicLong> tableVersions = new ConcurrentHashMap<>();
+    private final AtomicLong globalVersion = new AtomicLong();
+    // 테이블별, 전체 마지막 무효화 시각(System.nanoTime)
+    private final Map<String, Long> invalidatedAt = new ConcurrentHashMap<>();
+    private volatile long allInvalidatedAt;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public QueryResultCache(int maxEntries) {
+        this(maxEntries, Duration.ZERO);
+    }
+
+    // staleReadWindow: 무효화된 테이블을 이 시간 동안은 주 DB 에서 읽어 채운다. 복제 지연보다 길게 잡는다.
+    public QueryResultCache(int maxEntries, Duration staleReadWindow) {
+        this.maxEntries = maxEntries;
+        this.staleReadWindowNanos = staleReadWindow.toNanos();
+        this.allInvalidatedAt = System.nanoTime() - staleReadWindowNanos;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() <= QueryResultCache.this.maxEntries) return false;
+
+                evictions.increment();
+                unindex(eldest.getKey(), eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    public <R> R get(String sql, List<Object> params, String kind, Duration ttl, Loader<R> loader) {
+        String normalizedSql = SqlAnalyzer.normalize(sql);
+        Key key = new Key(normalizedSql, Collections.unmodifiableList(new ArrayList<>(params)), kind);
+        long now = System.nanoTime();
+
+        lock.lock();
+        try {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (entry.expiresAt() - now > 0) {
+                    hits.increment();
+                    return (R) copyOf(entry.value());
+                }
+                expirations.increment();
+                entries.remove(key);
+                unindex(key, entry);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        misses.increment();
+        Set<String> tables = SqlAnalyzer.tablesOf(normalizedSql);
+        Set<String> indexedTables = tables.isEmpty() ? Set.of(ANY_TABLE) : tables;
+        long versionBefore = versionOf(indexedTables);
+
+        R value = loader.load(isRecentlyInvalidated(tables, now));
+        // 복사할 수 없는 객체가 섞여 있으면 공유되지 않도록 담지 않는다.
+        Object copy = copyOf(value);
+        if (copy == UNCOPYABLE) return value;
+
+        lock.lock();
+        try {
+            if (versionOf(indexedTables) == versionBefore) {
+                Entry entry = new Entry(copy, System.nanoTime() + ttl.toNanos(), indexedTables);
+                Entry previous = entries.put(key, entry);
+                if (previous != null) unindex(key, previous);
+                for (String table : indexedTables) {
+                    keysByTable.computeIfAbsent(table, t -> new HashSet<>()).add(key);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        return value;
+    }
+
+    // 빈 집합이면 어떤 테이블인지 모르는 쓰기이므로 전부 비운다.
+    public void invalidate(Set<String> tables) {
+        if (tables.isEmpty()) {
+            invalidateAll();
+            return;
+        }
+
+        long now = System.nanoTime();
+        for (String table : tables) {
+            tableVersions.computeIfAbsent(table, t -> new AtomicLong()).incrementAndGet();
+            invalidatedAt.put(table, now);
+        }
+        tableVersions.computeIfAbsent(ANY_TABLE, t -> new AtomicLong()).incrementAndGet();
+
+        List<String> affected = new ArrayList<>(tables);
+        affected.add(ANY_TABLE);
+        lock.lock();
+        try {
+            for (String table : affected) {
+                Set<Key> keys = keysByTable.remove(table);
+                if (keys == null) continue;
+
+                for (Key key : keys) {
+                    Entry entry = entries.remove(key);
+                    if (entry == null) continue;
+
+                    invalidations.increment();
+                    unindex(key, entry);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidateAll() {
+        globalVersion.incrementAndGet();
+        allInvalidatedAt = System.nanoTime();
+
+        lock.lock();
+        try {
+            invalidations.add(entries.size());
+            entries.clear();
+            keysByTable.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public long getExpirationCount() {
+        return expirations.sum();
+    }
+
+    public long getInvalidationCount() {
+        return invalidations.sum();
+    }
+
+    private boolean isRecentlyInvalidated(Set<String> tables, long now) {
+        if (now - allInvalidatedAt < staleReadWindowNanos) return true;
+        // 어떤 테이블을 읽는지 모르면 아무 쓰기나 최근에 있었는지 본다.
+        Collection<String> candidates = tables.isEmpty() ? invalidatedAt.keySet() : tables;
+        for (String table : candidates) {
+            Long at = invalidatedAt.get(table);
+            if (at != null && now - at < staleReadWindowNanos) return true;
+        }
+        return false;
+    }
+
+    // 호출자가 고쳐도 캐시에 번지지 않는 사본. 불변 값은 그대로 쓰고, 복사할 수 없는 객체가 있으면 UNCOPYABLE
+    private static Object copyOf(Object value) {
+        return switch (value) {
+            case null -> null;
+            case String s -> s;
+            case Long n -> n;
+            case Integer n -> n;
+            case Short n -> n;
+            case Byte n -> n;
+            case Double n -> n;
+            case Float n -> n;
+            case BigDecimal n -> n;
+            case BigInteger n -> n;
+            case Boolean b -> b;
+            case Character c -> c;
+            case Enum<?> e -> e;
+            case Temporal t -> t;
+            case java.util.Date d -> d.clone();
+            case byte[] bytes -> bytes.clone();
+            case ArrayRowMap row -> copyValues(row.copy());
+            case Map<?, ?> map -> copyValues(new LinkedHashMap<>(map));
+            case List<?> list -> copyElements(list);
+            default -> copyEntity(value);
+        };
+    }
+
+    private static Object copyValues(Map<?, ?> map) {
+        @SuppressWarnings("unchecked")
+        Map<Object, Object> copy = (Map<Object, Object>) map;
+        for (Map.Entry<Object, Object> entry : copy.entrySet()) {
+            Object value = copyOf(entry.getValue());
+            if (value == UNCOPYABLE) return UNCOPYABLE;
+            if (value != entry.getValue()) entry.setValue(value);
+        }
+        return copy;
+    }
+
+    private static Object copyElements(List<?> list) {
+        List<Object> copy = new ArrayList<>(list.size());
+        for (Object element : list) {
+            Object value = copyOf(element);
+            if (value == UNCOPYABLE) return UNCOPYABLE;
+            copy.add(value);
+        }
+        return copy;
+    }
+
+    // JDK 처럼 이름 있는 모듈의 클래스나 필드에 접근할 수 없는 클래스는 복사하지 않는다.
+    private static Object copyEntity(Object entity) {
+        Class<?> type = entity.getClass();
+        if (type.getModule().isNamed() || type.isArray()) return UNCOPYABLE;
+
+        EntityMetadata<?> metadata;
+        try {
+            metadata = EntityMetadata.of(type);
+        } catch (RuntimeException e) {
+            return UNCOPYABLE;
+        }
+        if (!metadata.isCopyable()) return UNCOPYABLE;
+
+        Object copy = metadata.newInstance();
+        for (FieldAccessor field : metadata.getFields()) {
+            Object value = copyOf(field.get(entity));
+            if (value == UNCOPYABLE) return UNCOPYABLE;
+            field.set(copy, value);
+        }
+        return copy;
+    }
+
+    private long versionOf(Set<String> tables) {
+        long version = globalVersion.get();
+        for (String table : tables) {
+            version += tableVersions.computeIfAbsent(table, t -> new AtomicLong()).get();
+        }
+        return version;
+    }
+
+    // lock 을 잡은 상태에서만 호출한다.
+    private void unindex(Key key, Entry entry) {
+        for (String table : entry.tables()) {
+            Set<Key> keys = keysByTable.get(table);
+            if (keys == null) continue;
+
+            keys.remove(key);
+            if (keys.isEmpty()) keysByTable.remove(table);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.back.global.db.embedded;
+
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Locale;
+
+// 내장 엔진이 저장하는 값의 종류. CREATE TABLE 의 MySQL 타입 이름을 이 중 하나로 줄여 저장한다.
+// 값은 Long, Double, Boolean, String, LocalDateTime, LocalDate, byte[] 로 들고 다닌다.
+enum ColumnKind {
+    LONG(Types.BIGINT, "BIGINT"),
+    DOUBLE(Types.DOUBLE, "DOUBLE"),
+    BOOLEAN(Types.BIT, "BIT"),
+    STRING(Types.VARCHAR, "VARCHAR"),
+    DATETIME(Types.TIMESTAMP, "DATETIME"),
+    DATE(Types.DATE, "DATE"),
+    BYTES(Types.VARBINARY, "VARBINARY");
+
+    final int sqlType;
+    final String typeName;
+
+    ColumnKind(int sqlType, String typeName) {
+        this.sqlType = sqlType;
+        this.typeName = typeName;
+    }
+
+    // "INT UNSIGNED", "VARCHAR(100)", "BIT(1)" 처럼 괄호와 수식어가 붙은 이름도 받는다.
+    static ColumnKind ofTypeName(String name, int length) throws SQLException {
+        return switch (name.toUpperCase(Locale.ROOT)) {
+            case "TINYINT", "SMALLINT", "MEDIUMINT", "INT", "INTEGER", "BIGINT" -> LONG;
+            case "DOUBLE", "FLOAT", "REAL", "DECIMAL", "NUMERIC" -> DOUBLE;
+            case "BOOL", "BOOLEAN" -> BOOLEAN;
+            case "BIT" -> length <= 1 ? BOOLEAN : LONG;
+            case "CHAR", "VARCHAR", "TINYTEXT", "TEXT", "MEDIUMTEXT", "LONGTEXT", "ENUM", "JSON" -> STRING;
+            case "DATETIME", "TIMESTAMP" -> DATETIME;
+            case "DATE" -> DATE;
+            case "BINARY", "VARBINARY", "TINYBLOB", "BLOB", "MEDIUMBLOB", "LONGBLOB" -> BYTES;
+            default -> throw new SQLException("지원하지 않는 컬럼 타입입니다: " + name, "42000", 1064);
+        };
+    }
+
+    // 저장할 값을 이 종류로 바꾼다. 바꿀 수 없으면 MySQL 과 같은 1366 오류를 던진다.
+    Object coerce(Object value) throws SQLException {
+        if (value == null) return null;
+        try {
+            return switch (this) {
+                case LONG -> value instanceof Long ? value : Values.toLong(value);
+                case DOUBLE -> value instanceof Double ? value : Values.toDouble(value);
+                case BOOLEAN -> value instanceof Boolean ? value : Values.isTrue(value);
+                case STRING -> value instanceof String ? value : Values.toText(value);
+                case DATETIME -> Values.toDateTime(value);
+                case DATE -> Values.toDateTime(value).toLocalDate();
+                case BYTES -> Values.toBytes(value);
+            };
+        } catch (RuntimeException e) {
+            throw new SQLException("값을 " + typeName + " 로 바꿀 수 없습니다: " + value, "HY000", 1366, e);
+        }
+    }
+}
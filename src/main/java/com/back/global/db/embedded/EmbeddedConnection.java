@@ -0,0 +1,170 @@
+package com.back.global.db.embedded;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+// 내장 DB 의 커넥션. 쓰기 문장을 실행하면 쓰기 권한을 잡고, 자동 커밋이면 문장이 끝날 때, 아니면 커밋이나 롤백할 때 놓는다.
+final class EmbeddedConnection extends UnsupportedConnection {
+    private final EmbeddedDatabase database;
+    // 이번 트랜잭션에서 바꾼 행의 이전 모습
+    private final List<Engine.Undo> undo = new ArrayList<>();
+    private boolean autoCommit = true;
+    private boolean readOnly;
+    private int isolation = Connection.TRANSACTION_REPEATABLE_READ;
+    private boolean holdsWritePermit;
+    private volatile boolean closed;
+
+    EmbeddedConnection(EmbeddedDatabase database) {
+        this.database = database;
+    }
+
+    Engine.Result execute(SqlStatement statement, Object[] params) throws SQLException {
+        checkOpen();
+        if (!statement.isWrite()) {
+            database.lock.readLock().lock();
+            try {
+                return database.engine.execute(statement, params, undo);
+            } finally {
+                database.lock.readLock().unlock();
+            }
+        }
+
+        if (readOnly && !(statement instanceof SqlStatement.Select)) {
+            throw new SQLException("Cannot execute statement in a READ ONLY transaction.", "25006", 1792);
+        }
+        // DDL 은 MySQL 처럼 진행 중인 트랜잭션을 먼저 커밋한다.
+        if (statement.isDdl()) commit();
+        if (!holdsWritePermit) {
+            database.acquireWritePermit();
+            holdsWritePermit = true;
+        }
+
+        Engine.Result result;
+        int mark = undo.size();
+        database.lock.writeLock().lock();
+        try {
+            result = database.engine.execute(statement, params, undo);
+        } catch (SQLException | RuntimeException e) {
+            // 실패한 문장이 바꾼 것만 되돌리고 트랜잭션은 이어 간다.
+            Engine.rollback(undo, mark);
+            if (autoCommit) releaseWritePermit();
+            throw e;
+        } finally {
+            database.lock.writeLock().unlock();
+        }
+        if (autoCommit || statement.isDdl()) commit();
+        return result;
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql) throws SQLException {
+        return prepareStatement(sql, Statement.NO_GENERATED_KEYS);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
+        checkOpen();
+        return new EmbeddedPreparedStatement(this, database.parse(sql), autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS);
+    }
+
+    // 결과는 항상 한 번에 모두 만들어 두므로 커서 종류는 따지지 않는다.
+    @Override
+    public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
+        return prepareStatement(sql, Statement.NO_GENERATED_KEYS);
+    }
+
+    @Override
+    public boolean getAutoCommit() throws SQLException {
+        checkOpen();
+        return autoCommit;
+    }
+
+    // 트랜잭션 중에 자동 커밋을 켜면 JDBC 규약대로 지금까지를 커밋한다.
+    @Override
+    public void setAutoCommit(boolean autoCommit) throws SQLException {
+        checkOpen();
+        if (autoCommit && !this.autoCommit) commit();
+        this.autoCommit = autoCommit;
+    }
+
+    @Override
+    public void commit() throws SQLException {
+        checkOpen();
+        undo.clear();
+        releaseWritePermit();
+    }
+
+    @Override
+    public void rollback() throws SQLException {
+        checkOpen();
+        if (!undo.isEmpty()) {
+            database.lock.writeLock().lock();
+            try {
+                Engine.rollback(undo, 0);
+            } finally {
+                database.lock.writeLock().unlock();
+            }
+        }
+        releaseWritePermit();
+    }
+
+    // 커밋하지 않은 변경은 버린다.
+    @Override
+    public void close() throws SQLException {
+        if (closed) return;
+        try {
+            rollback();
+        } finally {
+            closed = true;
+        }
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public boolean isValid(int timeout) {
+        return !closed;
+    }
+
+    @Override
+    public boolean isReadOnly() throws SQLException {
+        checkOpen();
+        return readOnly;
+    }
+
+    @Override
+    public void setReadOnly(boolean readOnly) throws SQLException {
+        checkOpen();
+        this.readOnly = readOnly;
+    }
+
+    // 격리 수준은 기억만 한다. 실제로는 쓰기 트랜잭션을 하나씩 돌리고 조회는 커밋 전 변경도 본다.
+    @Override
+    public int getTransactionIsolation() throws SQLException {
+        checkOpen();
+        return isolation;
+    }
+
+    @Override
+    public void setTransactionIsolation(int level) throws SQLException {
+        checkOpen();
+        this.isolation = level;
+    }
+
+    private void releaseWritePermit() {
+        if (!holdsWritePermit) return;
+        holdsWritePermit = false;
+        database.releaseWritePermit();
+    }
+
+    private void checkOpen() throws SQLException {
+        if (closed) throw new SQLException("No operations allowed after connection closed.", "08003");
+    }
+}
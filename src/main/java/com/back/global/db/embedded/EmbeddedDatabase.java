@@ -0,0 +1,190 @@
+package com.back.global.db.embedded;
+
+import com.back.global.db.pool.ConnectionPool;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// MySQL 서버 없이 같은 프로세스 안에서 도는 DB. new SimpleDb(EmbeddedDatabase.inMemory(), config) 처럼 커넥션 공급원으로 쓴다.
+// 테이블마다 행 기록 파일(<이름>.tbl)을 메모리에 매핑해 덧붙이고, 기본 키 B+tree 는 열 때 기록을 다시 읽어 만든다.
+// 테이블 정의는 catalog.sql 에 한 줄씩 둔다.
+//
+// 쓰기 트랜잭션은 한 번에 하나만 돈다. 쓰기를 시작한 커넥션이 커밋이나 롤백할 때까지 쓰기 권한을 쥐고,
+// 다른 커넥션은 최대 50초 기다린 뒤 1205 (락 대기 시간 초과) 로 실패한다. 조회는 권한 없이 커밋 전 변경도 본다 (READ UNCOMMITTED).
+public final class EmbeddedDatabase implements ConnectionPool.ConnectionFactory, AutoCloseable {
+    private static final String CATALOG_FILE = "catalog.sql";
+    private static final String TABLE_FILE_SUFFIX = ".tbl";
+    private static final int MEMORY_SEGMENT_SIZE = 4 * 1024 * 1024;
+    private static final int FILE_SEGMENT_SIZE = 16 * 1024 * 1024;
+    private static final int MAX_CACHED_STATEMENTS = 1024;
+    private static final long LOCK_WAIT_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(50);
+
+    // 메모리 전용이면 null
+    private final Path directory;
+    // 소문자 이름 -> 테이블. lock 으로 보호한다.
+    private final Map<String, Table> tables = new LinkedHashMap<>();
+    private final Map<String, SqlStatement> statements = new ConcurrentHashMap<>();
+    final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    final Engine engine = new Engine(this);
+    private final Semaphore writePermit = new Semaphore(1, true);
+    private volatile boolean closed;
+
+    private EmbeddedDatabase(Path directory) {
+        this.directory = directory;
+    }
+
+    public static EmbeddedDatabase inMemory() {
+        return new EmbeddedDatabase(null);
+    }
+
+    // 디렉터리가 없으면 만들고, 있으면 그 안의 테이블을 다시 연다.
+    public static EmbeddedDatabase open(Path directory) {
+        EmbeddedDatabase database = new EmbeddedDatabase(directory);
+        try {
+            Files.createDirectories(directory);
+            Path catalog = directory.resolve(CATALOG_FILE);
+            if (Files.exists(catalog)) {
+                for (String line : Files.readAllLines(catalog, StandardCharsets.UTF_8)) {
+                    if (line.isBlank()) continue;
+                    SqlStatement.CreateTable create = (SqlStatement.CreateTable) SqlParser.parse(line);
+                    database.tables.put(key(create.schema().name), database.openTable(create.schema()));
+                }
+            }
+        } catch (IOException | SQLException e) {
+            database.close();
+            throw new RuntimeException("내장 DB 를 열 수 없습니다: " + directory, e);
+        }
+        return database;
+    }
+
+    @Override
+    public Connection create() throws SQLException {
+        if (closed) throw new SQLException("내장 DB 가 닫혔습니다.", "08003");
+        return new EmbeddedConnection(this);
+    }
+
+    // 같은 SQL 은 한 번만 파싱한다.
+    SqlStatement parse(String sql) throws SQLException {
+        SqlStatement statement = statements.get(sql);
+        if (statement != null) return statement;
+
+        statement = SqlParser.parse(sql);
+        if (statements.size() >= MAX_CACHED_STATEMENTS) statements.clear();
+        statements.put(sql, statement);
+        return statement;
+    }
+
+    Table table(String name) throws SQLException {
+        Table table = tables.get(key(name));
+        if (table == null) throw new SQLException("Table '" + name + "' doesn't exist", "42S02", 1146);
+        return table;
+    }
+
+    void createTable(TableSchema schema, boolean ifNotExists) throws SQLException {
+        if (tables.containsKey(key(schema.name))) {
+            if (ifNotExists) return;
+            throw new SQLException("Table '" + schema.name + "' already exists", "42S01", 1050);
+        }
+
+        tables.put(key(schema.name), openTable(schema));
+        saveCatalog();
+    }
+
+    void dropTable(String name, boolean ifExists) throws SQLException {
+        Table table = tables.remove(key(name));
+        if (table == null) {
+            if (ifExists) return;
+            throw new SQLException("Unknown table '" + name + "'", "42S02", 1051);
+        }
+
+        try {
+            table.close();
+            if (directory != null) Files.deleteIfExists(tableFile(table.schema.name));
+        } catch (IOException e) {
+            throw new SQLException("테이블 파일 삭제 실패: " + name, "HY000", 1030, e);
+        }
+        saveCatalog();
+    }
+
+    // 쓰기 권한을 얻는다. 다른 커넥션이 쥐고 있으면 풀어 줄 때까지 기다린다.
+    void acquireWritePermit() throws SQLException {
+        try {
+            if (!writePermit.tryAcquire(LOCK_WAIT_TIMEOUT_NANOS, TimeUnit.NANOSECONDS)) {
+                throw new SQLException("Lock wait timeout exceeded; try restarting transaction", "HY000", 1205);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("쓰기 권한을 기다리다 인터럽트되었습니다.", "HY000", 1317, e);
+        }
+    }
+
+    void releaseWritePermit() {
+        writePermit.release();
+    }
+
+    // 행 기록은 닫을 때 디스크에 내려 쓴다.
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            if (closed) return;
+            closed = true;
+            for (Table table : tables.values()) {
+                try {
+                    table.close();
+                } catch (IOException ignored) {
+                }
+            }
+            tables.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Table openTable(TableSchema schema) throws SQLException {
+        if (directory == null) return new Table(schema, RowLog.inMemory(MEMORY_SEGMENT_SIZE));
+        try {
+            return new Table(schema, RowLog.open(tableFile(schema.name), FILE_SEGMENT_SIZE));
+        } catch (IOException e) {
+            throw new SQLException("테이블 파일 열기 실패: " + schema.name, "HY000", 1030, e);
+        }
+    }
+
+    // 임시 파일에 쓴 뒤 바꿔 넣어, 도중에 죽어도 이전 카탈로그나 새 카탈로그 중 하나가 남게 한다.
+    private void saveCatalog() throws SQLException {
+        if (directory == null) return;
+
+        List<String> lines = new ArrayList<>();
+        for (Table table : tables.values()) lines.add(table.schema.toDdl());
+        Path catalog = directory.resolve(CATALOG_FILE);
+        Path temp = directory.resolve(CATALOG_FILE + ".tmp");
+        try {
+            Files.write(temp, lines, StandardCharsets.UTF_8);
+            Files.move(temp, catalog, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new SQLException("카탈로그 저장 실패", "HY000", 1030, e);
+        }
+    }
+
+    private Path tableFile(String name) {
+        return directory.resolve(key(name) + TABLE_FILE_SUFFIX);
+    }
+
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,314 @@
+package com.back.global.db.embedded;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// 파싱은 prepare 때 한 번 하고, 실행마다 파라미터만 바꿔 넣는다. 스트림 파라미터는 바인딩할 때 끝까지 읽는다.
+final class EmbeddedPreparedStatement extends UnsupportedPreparedStatement {
+    // 아직 값을 넣지 않은 파라미터
+    private static final Object UNSET = new Object();
+
+    private final EmbeddedConnection connection;
+    private final SqlStatement statement;
+    private final boolean returnGeneratedKeys;
+    private final Object[] params;
+    private final List<Object[]> batch = new ArrayList<>();
+    private ResultSet resultSet;
+    private int updateCount = -1;
+    private List<Long> generatedKeys = List.of();
+    private int fetchSize;
+    private boolean closed;
+
+    EmbeddedPreparedStatement(EmbeddedConnection connection, SqlStatement statement, boolean returnGeneratedKeys) {
+        this.connection = connection;
+        this.statement = statement;
+        this.returnGeneratedKeys = returnGeneratedKeys;
+        this.params = new Object[statement.parameterCount()];
+        Arrays.fill(params, UNSET);
+    }
+
+    @Override
+    public ResultSet executeQuery() throws SQLException {
+        Engine.Result result = run(params);
+        if (!result.isQuery()) {
+            throw new SQLException("Statement.executeQuery() cannot issue statements that do not produce result sets.", "S1009");
+        }
+        return resultSet;
+    }
+
+    @Override
+    public int executeUpdate() throws SQLException {
+        Engine.Result result = run(params);
+        if (result.isQuery()) {
+            throw new SQLException("Statement.executeUpdate() cannot issue statements that produce result sets.", "S1009");
+        }
+        return updateCount;
+    }
+
+    @Override
+    public int getUpdateCount() {
+        return updateCount;
+    }
+
+    // 자동 증가로 만들어진 키를 GENERATED_KEY 컬럼 하나로 돌려준다.
+    @Override
+    public ResultSet getGeneratedKeys() throws SQLException {
+        checkOpen();
+        List<Object[]> rows = new ArrayList<>(generatedKeys.size());
+        for (long key : generatedKeys) rows.add(new Object[]{key});
+        return new EmbeddedResultSet(List.of("GENERATED_KEY"), List.of(ColumnKind.LONG), rows);
+    }
+
+    @Override
+    public void addBatch() throws SQLException {
+        checkParams();
+        batch.add(params.clone());
+    }
+
+    @Override
+    public void clearBatch() {
+        batch.clear();
+    }
+
+    // 행마다 따로 실행하고, 생성 키는 배치 전체의 것을 순서대로 모은다.
+    @Override
+    public int[] executeBatch() throws SQLException {
+        checkOpen();
+        int[] counts = new int[batch.size()];
+        List<Long> keys = new ArrayList<>();
+        int done = 0;
+        try {
+            for (; done < counts.length; done++) {
+                run(batch.get(done));
+                counts[done] = updateCount;
+                keys.addAll(generatedKeys);
+            }
+        } catch (SQLException e) {
+            throw new BatchUpdateException(e.getMessage(), e.getSQLState(), e.getErrorCode(), Arrays.copyOf(counts, done), e);
+        } finally {
+            batch.clear();
+        }
+        generatedKeys = keys;
+        return counts;
+    }
+
+    @Override
+    public void clearParameters() throws SQLException {
+        checkOpen();
+        Arrays.fill(params, UNSET);
+    }
+
+    @Override
+    public void setObject(int parameterIndex, Object x) throws SQLException {
+        set(parameterIndex, Values.normalize(x));
+    }
+
+    @Override
+    public void setObject(int parameterIndex, Object x, int targetSqlType) throws SQLException {
+        setObject(parameterIndex, x);
+    }
+
+    @Override
+    public void setNull(int parameterIndex, int sqlType) throws SQLException {
+        set(parameterIndex, null);
+    }
+
+    @Override
+    public void setNull(int parameterIndex, int sqlType, String typeName) throws SQLException {
+        set(parameterIndex, null);
+    }
+
+    @Override
+    public void setLong(int parameterIndex, long x) throws SQLException {
+        set(parameterIndex, x);
+    }
+
+    @Override
+    public void setInt(int parameterIndex, int x) throws SQLException {
+        set(parameterIndex, (long) x);
+    }
+
+    @Override
+    public void setShort(int parameterIndex, short x) throws SQLException {
+        set(parameterIndex, (long) x);
+    }
+
+    @Override
+    public void setByte(int parameterIndex, byte x) throws SQLException {
+        set(parameterIndex, (long) x);
+    }
+
+    @Override
+    public void setBoolean(int parameterIndex, boolean x) throws SQLException {
+        set(parameterIndex, x);
+    }
+
+    @Override
+    public void setDouble(int parameterIndex, double x) throws SQLException {
+        set(parameterIndex, x);
+    }
+
+    @Override
+    public void setFloat(int parameterIndex, float x) throws SQLException {
+        set(parameterIndex, (double) x);
+    }
+
+    @Override
+    public void setBigDecimal(int parameterIndex, BigDecimal x) throws SQLException {
+        setObject(parameterIndex, x);
+    }
+
+    @Override
+    public void setString(int parameterIndex, String x) throws SQLException {
+        set(parameterIndex, x);
+    }
+
+    @Override
+    public void setBytes(int parameterIndex, byte[] x) throws SQLException {
+        set(parameterIndex, x);
+    }
+
+    @Override
+    public void setTimestamp(int parameterIndex, Timestamp x) throws SQLException {
+        setObject(parameterIndex, x);
+    }
+
+    @Override
+    public void setDate(int parameterIndex, Date x) throws SQLException {
+        setObject(parameterIndex, x);
+    }
+
+    @Override
+    public void setTime(int parameterIndex, Time x) throws SQLException {
+        set(parameterIndex, x == null ? null : x.toString());
+    }
+
+    @Override
+    public void setCharacterStream(int parameterIndex, Reader reader) throws SQLException {
+        if (reader == null) {
+            set(parameterIndex, null);
+            return;
+        }
+        StringWriter writer = new StringWriter();
+        try {
+            reader.transferTo(writer);
+        } catch (IOException e) {
+            throw new SQLException("문자 스트림 읽기 실패", "HY000", e);
+        }
+        set(parameterIndex, writer.toString());
+    }
+
+    @Override
+    public void setCharacterStream(int parameterIndex, Reader reader, int length) throws SQLException {
+        setCharacterStream(parameterIndex, reader);
+    }
+
+    @Override
+    public void setCharacterStream(int parameterIndex, Reader reader, long length) throws SQLException {
+        setCharacterStream(parameterIndex, reader);
+    }
+
+    @Override
+    public void setBinaryStream(int parameterIndex, InputStream x) throws SQLException {
+        if (x == null) {
+            set(parameterIndex, null);
+            return;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            x.transferTo(out);
+        } catch (IOException e) {
+            throw new SQLException("바이너리 스트림 읽기 실패", "HY000", e);
+        }
+        set(parameterIndex, out.toByteArray());
+    }
+
+    @Override
+    public void setBinaryStream(int parameterIndex, InputStream x, int length) throws SQLException {
+        setBinaryStream(parameterIndex, x);
+    }
+
+    @Override
+    public void setBinaryStream(int parameterIndex, InputStream x, long length) throws SQLException {
+        setBinaryStream(parameterIndex, x);
+    }
+
+    // 결과를 한 번에 만들어 두므로 가져오는 단위는 기억만 한다.
+    @Override
+    public void setFetchSize(int rows) throws SQLException {
+        checkOpen();
+        this.fetchSize = rows;
+    }
+
+    @Override
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    @Override
+    public Connection getConnection() {
+        return connection;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        resultSet = null;
+        batch.clear();
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    private Engine.Result run(Object[] values) throws SQLException {
+        checkOpen();
+        if (values == params) checkParams();
+        resultSet = null;
+        updateCount = -1;
+        generatedKeys = List.of();
+
+        Engine.Result result = connection.execute(statement, values);
+        if (result.isQuery()) {
+            resultSet = new EmbeddedResultSet(result.labels(), result.kinds(), result.rows());
+        } else {
+            updateCount = result.updateCount();
+            if (returnGeneratedKeys) generatedKeys = result.generatedKeys();
+        }
+        return result;
+    }
+
+    private void set(int parameterIndex, Object value) throws SQLException {
+        checkOpen();
+        if (parameterIndex < 1 || parameterIndex > params.length) {
+            throw new SQLException("Parameter index out of range (" + parameterIndex + " > number of parameters, which is "
+                    + params.length + ").", "S1009");
+        }
+        params[parameterIndex - 1] = value;
+    }
+
+    private void checkParams() throws SQLException {
+        for (int i = 0; i < params.length; i++) {
+            if (params[i] == UNSET) throw new SQLException("No value specified for parameter " + (i + 1), "07001");
+        }
+    }
+
+    private void checkOpen() throws SQLException {
+        if (closed) throw new SQLException("No operations allowed after statement closed.", "S1009");
+    }
+}
@@ -0,0 +1,262 @@
+package com.back.global.db.embedded;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// 실행 때 모두 만들어 둔 행을 앞에서부터 읽는다. 값 변환은 Connector/J 의 동작을 따른다.
+final class EmbeddedResultSet extends UnsupportedResultSet {
+    private final List<String> labels;
+    private final List<ColumnKind> kinds;
+    private final List<Object[]> rows;
+    private int cursor = -1;
+    private boolean wasNull;
+    private boolean closed;
+
+    EmbeddedResultSet(List<String> labels, List<ColumnKind> kinds, List<Object[]> rows) {
+        this.labels = labels;
+        this.kinds = kinds;
+        this.rows = rows;
+    }
+
+    @Override
+    public boolean next() throws SQLException {
+        checkOpen();
+        if (cursor < rows.size()) cursor++;
+        return cursor < rows.size();
+    }
+
+    @Override
+    public boolean wasNull() {
+        return wasNull;
+    }
+
+    @Override
+    public ResultSetMetaData getMetaData() throws SQLException {
+        checkOpen();
+        return new EmbeddedResultSetMetaData(labels, kinds);
+    }
+
+    @Override
+    public int findColumn(String columnLabel) throws SQLException {
+        for (int i = 0; i < labels.size(); i++) {
+            if (labels.get(i).equalsIgnoreCase(columnLabel)) return i + 1;
+        }
+        throw new SQLException("Column '" + columnLabel + "' not found.", "S0022");
+    }
+
+    @Override
+    public Object getObject(int columnIndex) throws SQLException {
+        Object value = value(columnIndex);
+        return value instanceof LocalDate date ? Date.valueOf(date) : value;
+    }
+
+    @Override
+    public <T> T getObject(int columnIndex, Class<T> type) throws SQLException {
+        Object value = value(columnIndex);
+        if (value == null) return null;
+        try {
+            Object converted;
+            if (type == Long.class) converted = Values.toLong(value);
+            else if (type == Integer.class) converted = (int) Values.toLong(value);
+            else if (type == Short.class) converted = (short) Values.toLong(value);
+            else if (type == Byte.class) converted = (byte) Values.toLong(value);
+            else if (type == Double.class) converted = Values.toDouble(value);
+            else if (type == Float.class) converted = (float) Values.toDouble(value);
+            else if (type == BigDecimal.class) converted = toBigDecimal(value);
+            else if (type == Boolean.class) converted = toBoolean(value);
+            else if (type == String.class) converted = Values.toText(value);
+            else if (type == LocalDateTime.class) converted = Values.toDateTime(value);
+            else if (type == LocalDate.class) converted = Values.toDateTime(value).toLocalDate();
+            else if (type == Timestamp.class) converted = Timestamp.valueOf(Values.toDateTime(value));
+            else if (type == Date.class) converted = Date.valueOf(Values.toDateTime(value).toLocalDate());
+            else if (type == byte[].class) converted = Values.toBytes(value);
+            else if (type.isEnum()) converted = enumValue(type, Values.toText(value));
+            else if (type.isInstance(value)) converted = value;
+            else throw new SQLException("Conversion not supported for type " + type.getName(), "S1009");
+            return type.cast(converted);
+        } catch (RuntimeException e) {
+            throw new SQLException("값을 " + type.getSimpleName() + " 로 바꿀 수 없습니다: " + value, "S1009", e);
+        }
+    }
+
+    @Override
+    public long getLong(int columnIndex) throws SQLException {
+        Object value = value(columnIndex);
+        return value == null ? 0 : convert(value, () -> Values.toLong(value));
+    }
+
+    @Override
+    public int getInt(int columnIndex) throws SQLException {
+        return (int) getLong(columnIndex);
+    }
+
+    @Override
+    public short getShort(int columnIndex) throws SQLException {
+        return (short) getLong(columnIndex);
+    }
+
+    @Override
+    public byte getByte(int columnIndex) throws SQLException {
+        return (byte) getLong(columnIndex);
+    }
+
+    @Override
+    public double getDouble(int columnIndex) throws SQLException {
+        Object value = value(columnIndex);
+        return value == null ? 0 : convert(value, () -> Values.toDouble(value));
+    }
+
+    @Override
+    public float getFloat(int columnIndex) throws SQLException {
+        return (float) getDouble(columnIndex);
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(int columnIndex) throws SQLException {
+        Object value = value(columnIndex);
+        return value == null ? null : convert(value, () -> toBigDecimal(value));
+    }
+
+    @Override
+    public boolean getBoolean(int columnIndex) throws SQLException {
+        Object value = value(columnIndex);
+        return value != null && toBoolean(value);
+    }
+
+    @Override
+    public String getString(int columnIndex) throws SQLException {
+        Object value = value(columnIndex);
+        return value == null ? null : Values.toText(value);
+    }
+
+    @Override
+    public byte[] getBytes(int columnIndex) throws SQLException {
+        Object value = value(columnIndex);
+        return value == null ? null : Values.toBytes(value);
+    }
+
+    @Override
+    public Timestamp getTimestamp(int columnIndex) throws SQLException {
+        Object value = value(columnIndex);
+        return value == null ? null : convert(value, () -> Timestamp.valueOf(Values.toDateTime(value)));
+    }
+
+    @Override
+    public Date getDate(int columnIndex) throws SQLException {
+        Object value = value(columnIndex);
+        return value == null ? null : convert(value, () -> Date.valueOf(Values.toDateTime(value).toLocalDate()));
+    }
+
+    @Override
+    public Object getObject(String columnLabel) throws SQLException {
+        return getObject(findColumn(columnLabel));
+    }
+
+    @Override
+    public <T> T getObject(String columnLabel, Class<T> type) throws SQLException {
+        return getObject(findColumn(columnLabel), type);
+    }
+
+    @Override
+    public long getLong(String columnLabel) throws SQLException {
+        return getLong(findColumn(columnLabel));
+    }
+
+    @Override
+    public int getInt(String columnLabel) throws SQLException {
+        return getInt(findColumn(columnLabel));
+    }
+
+    @Override
+    public double getDouble(String columnLabel) throws SQLException {
+        return getDouble(findColumn(columnLabel));
+    }
+
+    @Override
+    public boolean getBoolean(String columnLabel) throws SQLException {
+        return getBoolean(findColumn(columnLabel));
+    }
+
+    @Override
+    public String getString(String columnLabel) throws SQLException {
+        return getString(findColumn(columnLabel));
+    }
+
+    @Override
+    public byte[] getBytes(String columnLabel) throws SQLException {
+        return getBytes(findColumn(columnLabel));
+    }
+
+    @Override
+    public Timestamp getTimestamp(String columnLabel) throws SQLException {
+        return getTimestamp(findColumn(columnLabel));
+    }
+
+    @Override
+    public int getFetchSize() {
+        return 0;
+    }
+
+    @Override
+    public void setFetchSize(int rows) {
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    private Object value(int columnIndex) throws SQLException {
+        checkOpen();
+        if (cursor < 0 || cursor >= rows.size()) throw new SQLException("Illegal operation on empty result set.", "S1000");
+        if (columnIndex < 1 || columnIndex > labels.size()) {
+            throw new SQLException("Column Index out of range, " + columnIndex + " > " + labels.size() + ".", "S1009");
+        }
+        Object value = rows.get(cursor)[columnIndex - 1];
+        wasNull = value == null;
+        return value;
+    }
+
+    private static boolean toBoolean(Object value) {
+        if (value instanceof String s && (s.equalsIgnoreCase("true") || s.equalsIgnoreCase("y"))) return true;
+        return Values.isTrue(value);
+    }
+
+    private static BigDecimal toBigDecimal(Object value) {
+        if (value instanceof Long l) return BigDecimal.valueOf(l);
+        if (value instanceof String s) return new BigDecimal(s.strip());
+        return BigDecimal.valueOf(Values.toDouble(value));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object enumValue(Class<?> type, String name) {
+        return Enum.valueOf((Class) type, name);
+    }
+
+    private interface Conversion<T> {
+        T get();
+    }
+
+    private static <T> T convert(Object value, Conversion<T> conversion) throws SQLException {
+        try {
+            return conversion.get();
+        } catch (RuntimeException e) {
+            throw new SQLException("값을 바꿀 수 없습니다: " + value, "S1009", e);
+        }
+    }
+
+    private void checkOpen() throws SQLException {
+        if (closed) throw new SQLException("Operation not allowed after ResultSet closed", "S1000");
+    }
+}
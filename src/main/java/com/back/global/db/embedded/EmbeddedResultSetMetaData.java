@@ -0,0 +1,42 @@
+package com.back.global.db.embedded;
+
+import java.sql.SQLException;
+import java.util.List;
+
+final class EmbeddedResultSetMetaData extends UnsupportedResultSetMetaData {
+    private final List<String> labels;
+    private final List<ColumnKind> kinds;
+
+    EmbeddedResultSetMetaData(List<String> labels, List<ColumnKind> kinds) {
+        this.labels = labels;
+        this.kinds = kinds;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return labels.size();
+    }
+
+    @Override
+    public String getColumnLabel(int column) throws SQLException {
+        return labels.get(check(column));
+    }
+
+    @Override
+    public int getColumnType(int column) throws SQLException {
+        return kinds.get(check(column)).sqlType;
+    }
+
+    // BIT(1) 처럼 참/거짓 컬럼은 1, 나머지는 정하지 않는다.
+    @Override
+    public int getPrecision(int column) throws SQLException {
+        return kinds.get(check(column)) == ColumnKind.BOOLEAN ? 1 : 0;
+    }
+
+    private int check(int column) throws SQLException {
+        if (column < 1 || column > labels.size()) {
+            throw new SQLException("Column Index out of range, " + column + " > " + labels.size() + ".", "S1009");
+        }
+        return column - 1;
+    }
+}
@@ -0,0 +1,536 @@
+package com.back.global.db.embedded;
+
+import com.back.global.db.embedded.ExprCompiler.Context;
+import com.back.global.db.embedded.ExprCompiler.Eval;
+import com.back.global.db.embedded.ExprCompiler.Scope;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+
+// 파싱한 문장을 테이블에 실행한다. 잠금은 EmbeddedConnection 이 잡고 들어온다.
+// 바꾼 행의 이전 모습은 undo 에 쌓아 두고, 롤백할 때 거꾸로 되돌린다.
+final class Engine {
+    // before 가 null 이면 새로 넣은 행이므로 지운다.
+    record Undo(Table table, long key, Object[] before) {
+    }
+
+    // 조회면 rows 가, 쓰기면 updateCount 와 generatedKeys 가 채워진다.
+    record Result(List<String> labels, List<ColumnKind> kinds, List<Object[]> rows, int updateCount, List<Long> generatedKeys) {
+        static Result ofUpdate(int updateCount, List<Long> generatedKeys) {
+            return new Result(null, null, null, updateCount, generatedKeys);
+        }
+
+        boolean isQuery() {
+            return rows != null;
+        }
+    }
+
+    // column 은 정렬 기준이 원본 컬럼 그대로일 때 그 위치, 아니면 -1
+    private record SortKey(Eval eval, int column, boolean descending) {
+    }
+
+    private record Match(long key, Object[] row, Object[] sortValues) {
+    }
+
+    // 기본 키 조건에서 뽑은 탐색 범위. points 가 있으면 그 키들만 찾는다.
+    private record KeyRange(long[] points, long from, boolean fromInclusive, long to, boolean toInclusive) {
+        static final KeyRange ALL = new KeyRange(null, Long.MIN_VALUE, true, Long.MAX_VALUE, true);
+    }
+
+    private static final Object[] NO_COLUMNS = new Object[0];
+
+    private final EmbeddedDatabase database;
+
+    Engine(EmbeddedDatabase database) {
+        this.database = database;
+    }
+
+    Result execute(SqlStatement statement, Object[] params, List<Undo> undo) throws SQLException {
+        // MySQL 의 NOW() 처럼 초 단위로 자르고, 문장 안에서는 같은 값을 쓴다.
+        Context ctx = new Context(params, LocalDateTime.now().withNano(0));
+        try {
+            return switch (statement) {
+                case SqlStatement.Select select -> select(select, ctx);
+                case SqlStatement.Insert insert -> insert(insert, ctx, undo);
+                case SqlStatement.Update update -> update(update, ctx, undo);
+                case SqlStatement.Delete delete -> delete(delete, ctx, undo);
+                case SqlStatement.Truncate truncate -> {
+                    database.table(truncate.table()).truncate();
+                    yield Result.ofUpdate(0, List.of());
+                }
+                case SqlStatement.CreateTable create -> {
+                    database.createTable(create.schema(), create.ifNotExists());
+                    yield Result.ofUpdate(0, List.of());
+                }
+                case SqlStatement.DropTable drop -> {
+                    database.dropTable(drop.table(), drop.ifExists());
+                    yield Result.ofUpdate(0, List.of());
+                }
+            };
+        } catch (ArithmeticException e) {
+            throw new SQLException("Value is out of range", "22003", 1690, e);
+        } catch (RuntimeException e) {
+            throw new SQLException(e.getMessage(), "HY000", 1105, e);
+        }
+    }
+
+    // mark 이후에 쌓인 변경을 거꾸로 되돌린다.
+    static void rollback(List<Undo> undo, int mark) throws SQLException {
+        for (int i = undo.size() - 1; i >= mark; i--) {
+            Undo entry = undo.get(i);
+            if (entry.before() == null) entry.table().delete(entry.key());
+            else entry.table().put(entry.key(), entry.before());
+        }
+        undo.subList(mark, undo.size()).clear();
+    }
+
+    private Result select(SqlStatement.Select select, Context ctx) throws SQLException {
+        if (!select.groupBy().isEmpty()) {
+            throw new SQLException("This version of the embedded engine doesn't yet support 'GROUP BY'", "42000", 1235);
+        }
+
+        Table table = null;
+        List<Object[]> rows = null;
+        Scope scope;
+        SqlStatement.From from = select.from();
+        if (from == null) {
+            rows = List.<Object[]>of(NO_COLUMNS);
+            scope = Scope.EMPTY;
+        } else if (from.subquery() != null) {
+            Result derived = select(from.subquery(), ctx);
+            rows = derived.rows();
+            scope = new Scope(from.alias(), derived.labels(), derived.kinds());
+        } else {
+            table = database.table(from.table());
+            scope = Scope.of(table.schema, from.alias());
+        }
+
+        ExprCompiler compiler = new ExprCompiler(scope);
+        Eval where = select.where() == null ? null : compiler.compile(select.where());
+
+        List<String> labels = new ArrayList<>();
+        List<ColumnKind> kinds = new ArrayList<>();
+        List<Eval> items = new ArrayList<>();
+        List<Integer> itemColumns = new ArrayList<>();
+        for (SqlStatement.SelectItem item : select.items()) {
+            if (item.star()) {
+                if (item.qualifier() != null && !item.qualifier().equalsIgnoreCase(scope.alias())) {
+                    throw new SQLException("Unknown table '" + item.qualifier() + "'", "42S02", 1051);
+                }
+                for (int i = 0; i < scope.names().size(); i++) {
+                    int column = i;
+                    labels.add(scope.names().get(i));
+                    kinds.add(scope.kinds().get(i));
+                    items.add((row, c) -> row[column]);
+                    itemColumns.add(column);
+                }
+            } else {
+                labels.add(item.label());
+                kinds.add(compiler.kindOf(item.expr()));
+                items.add(compiler.compileWithAggregates(item.expr()));
+                itemColumns.add(item.expr() instanceof Expr.Column column ? scope.indexOf(column) : -1);
+            }
+        }
+        boolean aggregate = !compiler.aggregates().isEmpty();
+
+        List<SortKey> sortKeys = new ArrayList<>();
+        for (SqlStatement.OrderItem order : select.orderBy()) {
+            int item = selectItemOf(order.expr(), labels);
+            if (item >= 0) sortKeys.add(new SortKey(items.get(item), itemColumns.get(item), order.descending()));
+            else sortKeys.add(sortKey(order, compiler, scope));
+        }
+
+        long offset = select.offset() == null ? 0 : rowCount(select.offset(), ctx);
+        long limit = select.limit() == null ? -1 : rowCount(select.limit(), ctx);
+        List<Object[]> output = new ArrayList<>();
+
+        if (aggregate) {
+            List<ExprCompiler.Accumulator> accumulators = new ArrayList<>();
+            for (ExprCompiler.Aggregate function : compiler.aggregates()) accumulators.add(function.newAccumulator());
+            Object[][] first = new Object[1][];
+            forEachMatch(table, rows, scope, select.where(), where, List.of(), 0, -1, ctx, (key, row) -> {
+                for (ExprCompiler.Accumulator accumulator : accumulators) accumulator.add(row, ctx);
+                if (first[0] == null) first[0] = row;
+                return true;
+            });
+
+            ctx.aggregates = new Object[accumulators.size()];
+            for (int i = 0; i < accumulators.size(); i++) ctx.aggregates[i] = accumulators.get(i).result();
+            // 맞는 행이 없으면 집계가 아닌 컬럼은 NULL 이 된다.
+            Object[] row = first[0] != null ? first[0] : new Object[scope.names().size()];
+            if (offset == 0 && limit != 0) output.add(project(items, row, ctx));
+        } else {
+            forEachMatch(table, rows, scope, select.where(), where, sortKeys, offset, limit, ctx, (key, row) -> {
+                output.add(project(items, row, ctx));
+                return true;
+            });
+        }
+
+        // 파라미터처럼 미리 알 수 없는 컬럼은 첫 번째 NULL 아닌 값으로 정한다.
+        for (int i = 0; i < kinds.size(); i++) {
+            if (kinds.get(i) != null) continue;
+            ColumnKind kind = null;
+            for (int r = 0; r < output.size() && kind == null; r++) kind = ExprCompiler.kindOfValue(output.get(r)[i]);
+            kinds.set(i, kind == null ? ColumnKind.STRING : kind);
+        }
+        return new Result(labels, kinds, output, -1, List.of());
+    }
+
+    // ORDER BY 가 SELECT 목록의 별칭이나 순번(ORDER BY 2)을 가리키면 그 위치, 아니면 -1
+    private static int selectItemOf(Expr expr, List<String> labels) throws SQLException {
+        if (expr instanceof Expr.Literal literal && literal.value() instanceof Long ordinal) {
+            if (ordinal < 1 || ordinal > labels.size()) {
+                throw new SQLException("Unknown column '" + ordinal + "' in 'order clause'", "42S22", 1054);
+            }
+            return (int) (ordinal - 1);
+        }
+        if (expr instanceof Expr.Column column && column.qualifier() == null) {
+            for (int i = 0; i < labels.size(); i++) {
+                if (labels.get(i).equalsIgnoreCase(column.name())) return i;
+            }
+        }
+        return -1;
+    }
+
+    private static SortKey sortKey(SqlStatement.OrderItem order, ExprCompiler compiler, Scope scope) throws SQLException {
+        int column = order.expr() instanceof Expr.Column c ? scope.indexOf(c) : -1;
+        return new SortKey(compiler.compile(order.expr()), column, order.descending());
+    }
+
+    private static Object[] project(List<Eval> items, Object[] row, Context ctx) throws SQLException {
+        Object[] projected = new Object[items.size()];
+        for (int i = 0; i < projected.length; i++) projected[i] = items.get(i).eval(row, ctx);
+        return projected;
+    }
+
+    private static long rowCount(Expr expr, Context ctx) throws SQLException {
+        Object value = new ExprCompiler(Scope.EMPTY).compile(expr).eval(NO_COLUMNS, ctx);
+        if (!Values.isIntegral(value) || Values.toLong(value) < 0) {
+            throw new SQLException("Incorrect arguments to LIMIT", "HY000", 1210);
+        }
+        return Values.toLong(value);
+    }
+
+    private Result insert(SqlStatement.Insert insert, Context ctx, List<Undo> undo) throws SQLException {
+        Table table = database.table(insert.table());
+        TableSchema schema = table.schema;
+
+        int[] targets = new int[insert.columns().isEmpty() ? schema.columnCount() : insert.columns().size()];
+        if (insert.columns().isEmpty()) {
+            for (int i = 0; i < targets.length; i++) targets[i] = i;
+        } else {
+            boolean[] seen = new boolean[schema.columnCount()];
+            for (int i = 0; i < targets.length; i++) {
+                String name = insert.columns().get(i);
+                targets[i] = columnIndex(schema, name);
+                if (seen[targets[i]]) throw new SQLException("Column '" + name + "' specified twice", "42000", 1110);
+                seen[targets[i]] = true;
+            }
+        }
+
+        ExprCompiler compiler = new ExprCompiler(Scope.EMPTY);
+        List<Long> generatedKeys = new ArrayList<>();
+        for (int r = 0; r < insert.rows().size(); r++) {
+            List<Expr> values = insert.rows().get(r);
+            if (values.size() != targets.length) {
+                throw new SQLException("Column count doesn't match value count at row " + (r + 1), "21S01", 1136);
+            }
+
+            Object[] row = new Object[schema.columnCount()];
+            boolean[] given = new boolean[row.length];
+            for (int i = 0; i < row.length; i++) {
+                TableSchema.Column column = schema.columns.get(i);
+                row[i] = column.defaultNow() ? column.kind().coerce(ctx.now) : column.defaultValue();
+            }
+            for (int i = 0; i < targets.length; i++) {
+                row[targets[i]] = schema.kinds[targets[i]].coerce(compiler.compile(values.get(i)).eval(NO_COLUMNS, ctx));
+                given[targets[i]] = true;
+            }
+
+            // 자동 증가 컬럼에 0 을 넣으면 MySQL 처럼 새 값을 만든다.
+            if (schema.hasAutoIncrementKey() && Long.valueOf(0).equals(row[schema.primaryKey])) row[schema.primaryKey] = null;
+            for (int i = 0; i < row.length; i++) {
+                TableSchema.Column column = schema.columns.get(i);
+                if (row[i] != null || !column.notNull() || column.autoIncrement()) continue;
+                if (given[i]) throw new SQLException("Column '" + column.name() + "' cannot be null", "23000", 1048);
+                throw new SQLException("Field '" + column.name() + "' doesn't have a default value", "HY000", 1364);
+            }
+
+            boolean generated = schema.primaryKey >= 0 && row[schema.primaryKey] == null;
+            long key = table.insert(row);
+            undo.add(new Undo(table, key, null));
+            if (generated) generatedKeys.add(key);
+        }
+        return Result.ofUpdate(insert.rows().size(), generatedKeys);
+    }
+
+    private Result update(SqlStatement.Update update, Context ctx, List<Undo> undo) throws SQLException {
+        Table table = database.table(update.table());
+        TableSchema schema = table.schema;
+        Scope scope = Scope.of(schema, schema.name);
+        ExprCompiler compiler = new ExprCompiler(scope);
+
+        int[] targets = new int[update.assignments().size()];
+        Eval[] values = new Eval[targets.length];
+        for (int i = 0; i < targets.length; i++) {
+            SqlStatement.Assignment assignment = update.assignments().get(i);
+            targets[i] = columnIndex(schema, assignment.column());
+            values[i] = compiler.compile(assignment.value());
+        }
+
+        List<Match> matches = matches(table, scope, compiler, update.where(), update.orderBy(), update.limit(), ctx);
+        for (Match match : matches) {
+            // 한 행 안에서는 앞의 대입 결과를 뒤의 대입이 본다 (SET a = a + 1, b = a).
+            Object[] row = match.row().clone();
+            for (int i = 0; i < targets.length; i++) {
+                int column = targets[i];
+                row[column] = schema.kinds[column].coerce(values[i].eval(row, ctx));
+                if (row[column] == null && schema.columns.get(column).notNull()) {
+                    throw new SQLException("Column '" + schema.columns.get(column).name() + "' cannot be null", "23000", 1048);
+                }
+            }
+            if (Arrays.deepEquals(row, match.row())) continue;
+
+            long newKey = schema.primaryKey < 0 ? match.key() : (Long) row[schema.primaryKey];
+            table.update(match.key(), row);
+            undo.add(new Undo(table, match.key(), match.row()));
+            if (newKey != match.key()) undo.add(new Undo(table, newKey, null));
+        }
+        return Result.ofUpdate(matches.size(), List.of());
+    }
+
+    private Result delete(SqlStatement.Delete delete, Context ctx, List<Undo> undo) throws SQLException {
+        Table table = database.table(delete.table());
+        Scope scope = Scope.of(table.schema, table.schema.name);
+        ExprCompiler compiler = new ExprCompiler(scope);
+
+        List<Match> matches = matches(table, scope, compiler, delete.where(), delete.orderBy(), delete.limit(), ctx);
+        for (Match match : matches) {
+            table.delete(match.key());
+            undo.add(new Undo(table, match.key(), match.row()));
+        }
+        return Result.ofUpdate(matches.size(), List.of());
+    }
+
+    // UPDATE, DELETE 가 바꿀 행. 훑는 동안 테이블을 고치지 않도록 먼저 모은다.
+    private List<Match> matches(Table table, Scope scope, ExprCompiler compiler, Expr whereExpr,
+                                List<SqlStatement.OrderItem> orderBy, Expr limitExpr, Context ctx) throws SQLException {
+        Eval where = whereExpr == null ? null : compiler.compile(whereExpr);
+        List<SortKey> sortKeys = new ArrayList<>();
+        for (SqlStatement.OrderItem order : orderBy) sortKeys.add(sortKey(order, compiler, scope));
+        long limit = limitExpr == null ? -1 : rowCount(limitExpr, ctx);
+
+        List<Match> matches = new ArrayList<>();
+        forEachMatch(table, null, scope, whereExpr, where, sortKeys, 0, limit, ctx, (key, row) -> {
+            matches.add(new Match(key, row, null));
+            return true;
+        });
+        return matches;
+    }
+
+    // WHERE 에 맞는 행을 정렬 순서대로 offset 만큼 건너뛰고 limit 개까지 sink 에 넘긴다.
+    // 정렬이 없거나 기본 키 순서면 색인 순서대로 읽다가 limit 에서 멈추고, 아니면 모두 모아 정렬한다.
+    private void forEachMatch(Table table, List<Object[]> rows, Scope scope, Expr whereExpr, Eval where, List<SortKey> sortKeys,
+                              long offset, long limit, Context ctx, Table.RowVisitor sink) throws SQLException {
+        if (limit == 0) return;
+
+        int primaryKey = table == null ? -1 : table.schema.primaryKey;
+        boolean keyOrder = sortKeys.isEmpty() || sortKeys.size() == 1 && primaryKey >= 0 && sortKeys.get(0).column() == primaryKey;
+        boolean descending = keyOrder && !sortKeys.isEmpty() && sortKeys.get(0).descending();
+        List<Match> sorted = keyOrder ? null : new ArrayList<>();
+        long[] counts = new long[2];
+
+        Table.RowVisitor filter = (key, row) -> {
+            if (where != null && !Values.isTrue(where.eval(row, ctx))) return true;
+            if (sorted != null) {
+                Object[] sortValues = new Object[sortKeys.size()];
+                for (int i = 0; i < sortValues.length; i++) sortValues[i] = sortKeys.get(i).eval().eval(row, ctx);
+                sorted.add(new Match(key, row, sortValues));
+                return true;
+            }
+            if (counts[0] < offset) {
+                counts[0]++;
+                return true;
+            }
+            counts[1]++;
+            return sink.visit(key, row) && (limit < 0 || counts[1] < limit);
+        };
+
+        if (table == null) {
+            for (int i = 0; i < rows.size(); i++) {
+                if (!filter.visit(i, rows.get(i))) break;
+            }
+        } else {
+            scanTable(table, keyRange(whereExpr, scope, primaryKey, ctx), descending, filter);
+        }
+        if (sorted == null) return;
+
+        sorted.sort(comparator(sortKeys));
+        long end = limit < 0 ? sorted.size() : Math.min(sorted.size(), offset + limit);
+        for (long i = offset; i < end; i++) {
+            Match match = sorted.get((int) i);
+            if (!sink.visit(match.key(), match.row())) break;
+        }
+    }
+
+    private static void scanTable(Table table, KeyRange range, boolean descending, Table.RowVisitor visitor) throws SQLException {
+        if (range.points() == null) {
+            table.scan(range.from(), range.fromInclusive(), range.to(), range.toInclusive(), descending, visitor);
+            return;
+        }
+        long[] points = range.points();
+        for (int i = 0; i < points.length; i++) {
+            long key = points[descending ? points.length - 1 - i : i];
+            Object[] row = table.get(key);
+            if (row != null && !visitor.visit(key, row)) return;
+        }
+    }
+
+    // MySQL 처럼 NULL 은 오름차순에서 맨 앞, 내림차순에서 맨 뒤에 온다.
+    private static Comparator<Match> comparator(List<SortKey> sortKeys) {
+        return (a, b) -> {
+            for (int i = 0; i < sortKeys.size(); i++) {
+                Object x = a.sortValues()[i];
+                Object y = b.sortValues()[i];
+                int c = x == null ? (y == null ? 0 : -1) : y == null ? 1 : Values.compare(x, y);
+                if (c != 0) return sortKeys.get(i).descending() ? -c : c;
+            }
+            return 0;
+        };
+    }
+
+    // WHERE 의 AND 조건 중 기본 키와 상수를 비교하는 것만 골라 탐색 범위를 좁힌다.
+    // 범위는 후보를 줄일 뿐이고 WHERE 전체는 행마다 다시 검사한다.
+    private static KeyRange keyRange(Expr where, Scope scope, int primaryKey, Context ctx) throws SQLException {
+        if (where == null || primaryKey < 0) return KeyRange.ALL;
+
+        List<Expr> conjuncts = new ArrayList<>();
+        flattenAnd(where, conjuncts);
+
+        TreeSet<Long> points = null;
+        long from = Long.MIN_VALUE;
+        long to = Long.MAX_VALUE;
+        boolean fromInclusive = true;
+        boolean toInclusive = true;
+        for (Expr conjunct : conjuncts) {
+            if (conjunct instanceof Expr.Binary binary) {
+                String op = binary.op();
+                Long value;
+                if (isColumn(binary.left(), scope, primaryKey) && (value = keyConstant(binary.right(), ctx)) != null) {
+                    // 그대로
+                } else if (isColumn(binary.right(), scope, primaryKey) && (value = keyConstant(binary.left(), ctx)) != null) {
+                    op = switch (op) {
+                        case "<" -> ">";
+                        case "<=" -> ">=";
+                        case ">" -> "<";
+                        case ">=" -> "<=";
+                        default -> op;
+                    };
+                } else {
+                    continue;
+                }
+
+                switch (op) {
+                    case "=", "<=>" -> points = intersect(points, new TreeSet<>(List.of(value)));
+                    case "<", "<=" -> {
+                        boolean inclusive = op.equals("<=");
+                        if (value < to || value == to && !inclusive) {
+                            to = value;
+                            toInclusive = inclusive;
+                        }
+                    }
+                    case ">", ">=" -> {
+                        boolean inclusive = op.equals(">=");
+                        if (value > from || value == from && !inclusive) {
+                            from = value;
+                            fromInclusive = inclusive;
+                        }
+                    }
+                    default -> {
+                    }
+                }
+            } else if (conjunct instanceof Expr.In in && !in.negated() && isColumn(in.operand(), scope, primaryKey)) {
+                TreeSet<Long> values = new TreeSet<>();
+                for (Expr candidate : in.values()) {
+                    Long value = keyConstant(candidate, ctx);
+                    if (value == null) {
+                        values = null;
+                        break;
+                    }
+                    values.add(value);
+                }
+                if (values != null) points = intersect(points, values);
+            } else if (conjunct instanceof Expr.Between between && !between.negated() && isColumn(between.operand(), scope, primaryKey)) {
+                Long low = keyConstant(between.low(), ctx);
+                Long high = keyConstant(between.high(), ctx);
+                if (low != null && low > from) {
+                    from = low;
+                    fromInclusive = true;
+                }
+                if (high != null && high < to) {
+                    to = high;
+                    toInclusive = true;
+                }
+            }
+        }
+
+        if (points == null) return new KeyRange(null, from, fromInclusive, to, toInclusive);
+        long[] keys = new long[points.size()];
+        int size = 0;
+        for (long key : points) {
+            boolean afterFrom = fromInclusive ? key >= from : key > from;
+            boolean beforeTo = toInclusive ? key <= to : key < to;
+            if (afterFrom && beforeTo) keys[size++] = key;
+        }
+        return new KeyRange(Arrays.copyOf(keys, size), from, fromInclusive, to, toInclusive);
+    }
+
+    private static void flattenAnd(Expr expr, List<Expr> conjuncts) {
+        if (expr instanceof Expr.Binary binary && binary.op().equals("AND")) {
+            flattenAnd(binary.left(), conjuncts);
+            flattenAnd(binary.right(), conjuncts);
+        } else {
+            conjuncts.add(expr);
+        }
+    }
+
+    private static TreeSet<Long> intersect(TreeSet<Long> current, TreeSet<Long> values) {
+        if (current == null) return values;
+        current.retainAll(values);
+        return current;
+    }
+
+    private static boolean isColumn(Expr expr, Scope scope, int column) throws SQLException {
+        return expr instanceof Expr.Column c && scope.indexOf(c) == column;
+    }
+
+    // 정수로 정확히 바뀌는 상수만 범위에 쓴다. 그 밖의 값(NULL, 1.5, 'abc')은 범위를 좁히지 않는다.
+    private static Long keyConstant(Expr expr, Context ctx) {
+        Object value;
+        if (expr instanceof Expr.Literal literal) value = literal.value();
+        else if (expr instanceof Expr.Param param) value = ctx.params[param.index()];
+        else return null;
+
+        if (Values.isIntegral(value)) return Values.toLong(value);
+        if (value instanceof Double d && d == Math.rint(d) && !Double.isInfinite(d)) return d.longValue();
+        if (value instanceof String s) {
+            try {
+                return Long.parseLong(s.strip());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static int columnIndex(TableSchema schema, String name) throws SQLException {
+        int index = schema.indexOf(name);
+        if (index < 0) throw new SQLException("Unknown column '" + name + "' in 'field list'", "42S22", 1054);
+        return index;
+    }
+}
@@ -0,0 +1,50 @@
+package com.back.global.db.embedded;
+
+import java.util.List;
+
+// 파싱한 식. ExprCompiler 가 컬럼 위치를 풀어 실행할 수 있는 형태로 바꾼다.
+sealed interface Expr {
+    record Literal(Object value) implements Expr {
+    }
+
+    // index 는 0부터 센 ? 의 순서
+    record Param(int index) implements Expr {
+    }
+
+    // qualifier 는 "a.id" 의 "a". 없으면 null
+    record Column(String qualifier, String name) implements Expr {
+    }
+
+    // op: NOT, NEG
+    record Unary(String op, Expr operand) implements Expr {
+    }
+
+    // op: OR, AND, XOR, =, <=>, <>, <, <=, >, >=, +, -, *, /, %, DIV
+    record Binary(String op, Expr left, Expr right) implements Expr {
+    }
+
+    record In(Expr operand, List<Expr> values, boolean negated) implements Expr {
+    }
+
+    record Between(Expr operand, Expr low, Expr high, boolean negated) implements Expr {
+    }
+
+    record Like(Expr operand, Expr pattern, boolean negated) implements Expr {
+    }
+
+    record IsNull(Expr operand, boolean negated) implements Expr {
+    }
+
+    // name 은 대문자. star 는 COUNT(*)
+    record Call(String name, List<Expr> args, boolean star, boolean distinct) implements Expr {
+        boolean isAggregate() {
+            return switch (name) {
+                case "COUNT", "SUM", "MIN", "MAX", "AVG" -> true;
+                default -> false;
+            };
+        }
+    }
+
+    record Case(Expr operand, List<Expr> conditions, List<Expr> results, Expr otherwise) implements Expr {
+    }
+}
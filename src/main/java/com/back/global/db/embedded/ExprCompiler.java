@@ -0,0 +1,511 @@
+package com.back.global.db.embedded;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+// Expr 를 컬럼 위치가 정해진 Eval 로 바꾼다. 한 번 컴파일한 식을 행마다 다시 쓴다.
+// 비교와 논리 연산은 MySQL 처럼 1, 0, NULL 을 돌려준다.
+final class ExprCompiler {
+    @FunctionalInterface
+    interface Eval {
+        Object eval(Object[] row, Context ctx) throws SQLException;
+    }
+
+    // 문장 하나를 실행하는 동안 바뀌지 않는 값. NOW() 는 문장 안에서 모두 같은 시각을 돌려준다.
+    static final class Context {
+        final Object[] params;
+        final LocalDateTime now;
+        Object[] aggregates;
+
+        Context(Object[] params, LocalDateTime now) {
+            this.params = params;
+            this.now = now;
+        }
+    }
+
+    // FROM 이 만드는 컬럼 목록. alias 는 테이블 별칭이다.
+    record Scope(String alias, List<String> names, List<ColumnKind> kinds) {
+        static final Scope EMPTY = new Scope(null, List.of(), List.of());
+
+        static Scope of(TableSchema schema, String alias) {
+            List<String> names = new ArrayList<>();
+            for (TableSchema.Column column : schema.columns) names.add(column.name());
+            return new Scope(alias, names, List.of(schema.kinds));
+        }
+
+        int indexOf(Expr.Column column) throws SQLException {
+            if (column.qualifier() == null || column.qualifier().equalsIgnoreCase(alias)) {
+                for (int i = 0; i < names.size(); i++) {
+                    if (names.get(i).equalsIgnoreCase(column.name())) return i;
+                }
+            }
+            String name = column.qualifier() == null ? column.name() : column.qualifier() + "." + column.name();
+            throw new SQLException("Unknown column '" + name + "' in 'field list'", "42S22", 1054);
+        }
+    }
+
+    // 집계 함수 하나. 행마다 add 하고 마지막에 result 를 Context.aggregates 에 넣는다.
+    record Aggregate(String function, Eval argument, boolean star, boolean distinct) {
+        Accumulator newAccumulator() {
+            return new Accumulator(this);
+        }
+    }
+
+    static final class Accumulator {
+        private final Aggregate aggregate;
+        private final TreeSet<Object> seen;
+        private long count;
+        private long longSum;
+        private double doubleSum;
+        private boolean integral = true;
+        private Object extreme;
+
+        private Accumulator(Aggregate aggregate) {
+            this.aggregate = aggregate;
+            this.seen = aggregate.distinct() ? new TreeSet<>(Values::compare) : null;
+        }
+
+        void add(Object[] row, Context ctx) throws SQLException {
+            if (aggregate.star()) {
+                count++;
+                return;
+            }
+            Object value = aggregate.argument().eval(row, ctx);
+            if (value == null || seen != null && !seen.add(value)) return;
+
+            count++;
+            switch (aggregate.function()) {
+                case "SUM", "AVG" -> {
+                    if (integral && Values.isIntegral(value)) {
+                        longSum += Values.toLong(value);
+                    } else {
+                        if (integral) doubleSum = longSum;
+                        integral = false;
+                        doubleSum += Values.toDouble(value);
+                    }
+                }
+                case "MIN" -> {
+                    if (extreme == null || Values.compare(value, extreme) < 0) extreme = value;
+                }
+                case "MAX" -> {
+                    if (extreme == null || Values.compare(value, extreme) > 0) extreme = value;
+                }
+                default -> {
+                }
+            }
+        }
+
+        Object result() {
+            return switch (aggregate.function()) {
+                case "COUNT" -> count;
+                case "SUM" -> count == 0 ? null : integral ? (Object) longSum : (Object) doubleSum;
+                case "AVG" -> count == 0 ? null : (integral ? (double) longSum : doubleSum) / count;
+                default -> extreme;
+            };
+        }
+    }
+
+    private final Scope scope;
+    private final List<Aggregate> aggregates = new ArrayList<>();
+    private boolean allowAggregates;
+
+    ExprCompiler(Scope scope) {
+        this.scope = scope;
+    }
+
+    List<Aggregate> aggregates() {
+        return aggregates;
+    }
+
+    // 집계 함수는 SELECT 목록에서만 쓸 수 있다.
+    Eval compileWithAggregates(Expr expr) throws SQLException {
+        allowAggregates = true;
+        try {
+            return compile(expr);
+        } finally {
+            allowAggregates = false;
+        }
+    }
+
+    static boolean containsAggregate(Expr expr) {
+        return switch (expr) {
+            case Expr.Call call -> call.isAggregate() || call.args().stream().anyMatch(ExprCompiler::containsAggregate);
+            case Expr.Unary unary -> containsAggregate(unary.operand());
+            case Expr.Binary binary -> containsAggregate(binary.left()) || containsAggregate(binary.right());
+            case Expr.In in -> containsAggregate(in.operand()) || in.values().stream().anyMatch(ExprCompiler::containsAggregate);
+            case Expr.Between between -> containsAggregate(between.operand()) || containsAggregate(between.low()) || containsAggregate(between.high());
+            case Expr.Like like -> containsAggregate(like.operand()) || containsAggregate(like.pattern());
+            case Expr.IsNull isNull -> containsAggregate(isNull.operand());
+            case Expr.Case c -> c.operand() != null && containsAggregate(c.operand())
+                    || c.conditions().stream().anyMatch(ExprCompiler::containsAggregate)
+                    || c.results().stream().anyMatch(ExprCompiler::containsAggregate)
+                    || c.otherwise() != null && containsAggregate(c.otherwise());
+            default -> false;
+        };
+    }
+
+    Eval compile(Expr expr) throws SQLException {
+        return switch (expr) {
+            case Expr.Literal literal -> {
+                Object value = literal.value();
+                yield (row, ctx) -> value;
+            }
+            case Expr.Param param -> {
+                int index = param.index();
+                yield (row, ctx) -> ctx.params[index];
+            }
+            case Expr.Column column -> {
+                int index = scope.indexOf(column);
+                yield (row, ctx) -> row[index];
+            }
+            case Expr.Unary unary -> unary(unary);
+            case Expr.Binary binary -> binary(binary);
+            case Expr.In in -> in(in);
+            case Expr.Between between -> between(between);
+            case Expr.Like like -> like(like);
+            case Expr.IsNull isNull -> {
+                Eval operand = compile(isNull.operand());
+                boolean negated = isNull.negated();
+                yield (row, ctx) -> bool((operand.eval(row, ctx) == null) != negated);
+            }
+            case Expr.Call call -> call(call);
+            case Expr.Case c -> caseWhen(c);
+        };
+    }
+
+    private Eval unary(Expr.Unary unary) throws SQLException {
+        Eval operand = compile(unary.operand());
+        if (unary.op().equals("NOT")) {
+            return (row, ctx) -> {
+                Object value = operand.eval(row, ctx);
+                return value == null ? null : bool(!Values.isTrue(value));
+            };
+        }
+        return (row, ctx) -> {
+            Object value = operand.eval(row, ctx);
+            if (value == null) return null;
+            if (Values.isIntegral(value)) return -Values.toLong(value);
+            return -Values.toDouble(value);
+        };
+    }
+
+    private Eval binary(Expr.Binary binary) throws SQLException {
+        Eval left = compile(binary.left());
+        Eval right = compile(binary.right());
+        return switch (binary.op()) {
+            case "AND" -> (row, ctx) -> {
+                Object a = left.eval(row, ctx);
+                if (a != null && !Values.isTrue(a)) return 0L;
+                Object b = right.eval(row, ctx);
+                if (b != null && !Values.isTrue(b)) return 0L;
+                return a == null || b == null ? null : 1L;
+            };
+            case "OR" -> (row, ctx) -> {
+                Object a = left.eval(row, ctx);
+                if (a != null && Values.isTrue(a)) return 1L;
+                Object b = right.eval(row, ctx);
+                if (b != null && Values.isTrue(b)) return 1L;
+                return a == null || b == null ? null : 0L;
+            };
+            case "XOR" -> (row, ctx) -> {
+                Object a = left.eval(row, ctx);
+                Object b = right.eval(row, ctx);
+                return a == null || b == null ? null : bool(Values.isTrue(a) != Values.isTrue(b));
+            };
+            case "<=>" -> (row, ctx) -> {
+                Object a = left.eval(row, ctx);
+                Object b = right.eval(row, ctx);
+                if (a == null || b == null) return bool(a == b);
+                return bool(Values.compare(a, b) == 0);
+            };
+            case "=", "<>", "<", "<=", ">", ">=" -> comparison(binary.op(), left, right);
+            default -> arithmetic(binary.op(), left, right);
+        };
+    }
+
+    private static Eval comparison(String op, Eval left, Eval right) {
+        return (row, ctx) -> {
+            Object a = left.eval(row, ctx);
+            if (a == null) return null;
+            Object b = right.eval(row, ctx);
+            if (b == null) return null;
+            int c = Values.compare(a, b);
+            return bool(switch (op) {
+                case "=" -> c == 0;
+                case "<>" -> c != 0;
+                case "<" -> c < 0;
+                case "<=" -> c <= 0;
+                case ">" -> c > 0;
+                default -> c >= 0;
+            });
+        };
+    }
+
+    private static Eval arithmetic(String op, Eval left, Eval right) {
+        return (row, ctx) -> {
+            Object a = left.eval(row, ctx);
+            if (a == null) return null;
+            Object b = right.eval(row, ctx);
+            if (b == null) return null;
+
+            if (Values.isIntegral(a) && Values.isIntegral(b) && !op.equals("/")) {
+                long x = Values.toLong(a);
+                long y = Values.toLong(b);
+                return switch (op) {
+                    case "+" -> Math.addExact(x, y);
+                    case "-" -> Math.subtractExact(x, y);
+                    case "*" -> Math.multiplyExact(x, y);
+                    // 0 으로 나누면 NULL
+                    case "%" -> y == 0 ? null : (Object) (x % y);
+                    default -> y == 0 ? null : (Object) (x / y);
+                };
+            }
+            double x = Values.toDouble(a);
+            double y = Values.toDouble(b);
+            return switch (op) {
+                case "+" -> x + y;
+                case "-" -> x - y;
+                case "*" -> x * y;
+                case "%" -> y == 0 ? null : (Object) (x % y);
+                case "DIV" -> y == 0 ? null : (Object) (long) (x / y);
+                default -> y == 0 ? null : (Object) (x / y);
+            };
+        };
+    }
+
+    private Eval in(Expr.In in) throws SQLException {
+        Eval operand = compile(in.operand());
+        List<Eval> values = new ArrayList<>();
+        for (Expr value : in.values()) values.add(compile(value));
+        boolean negated = in.negated();
+        return (row, ctx) -> {
+            Object value = operand.eval(row, ctx);
+            if (value == null) return null;
+            boolean sawNull = false;
+            for (Eval candidate : values) {
+                Object other = candidate.eval(row, ctx);
+                if (other == null) sawNull = true;
+                else if (Values.compare(value, other) == 0) return bool(!negated);
+            }
+            return sawNull ? null : bool(negated);
+        };
+    }
+
+    private Eval between(Expr.Between between) throws SQLException {
+        Eval operand = compile(between.operand());
+        Eval low = compile(between.low());
+        Eval high = compile(between.high());
+        boolean negated = between.negated();
+        return (row, ctx) -> {
+            Object value = operand.eval(row, ctx);
+            Object from = low.eval(row, ctx);
+            Object to = high.eval(row, ctx);
+            if (value == null || from == null || to == null) return null;
+            return bool((Values.compare(value, from) >= 0 && Values.compare(value, to) <= 0) != negated);
+        };
+    }
+
+    private Eval like(Expr.Like like) throws SQLException {
+        Eval operand = compile(like.operand());
+        boolean negated = like.negated();
+        if (like.pattern() instanceof Expr.Literal literal && literal.value() != null) {
+            Pattern pattern = likePattern(Values.toText(literal.value()));
+            return (row, ctx) -> {
+                Object value = operand.eval(row, ctx);
+                return value == null ? null : bool(pattern.matcher(Values.toText(value)).matches() != negated);
+            };
+        }
+
+        Eval patternEval = compile(like.pattern());
+        return (row, ctx) -> {
+            Object value = operand.eval(row, ctx);
+            Object pattern = patternEval.eval(row, ctx);
+            if (value == null || pattern == null) return null;
+            return bool(likePattern(Values.toText(pattern)).matcher(Values.toText(value)).matches() != negated);
+        };
+    }
+
+    // % 는 임의의 문자열, _ 는 한 글자, \ 는 다음 글자를 그대로. 대소문자는 가리지 않는다.
+    static Pattern likePattern(String like) {
+        StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < like.length(); i++) {
+            char c = like.charAt(i);
+            if (c == '\\' && i + 1 < like.length()) {
+                regex.append(Pattern.quote(String.valueOf(like.charAt(++i))));
+            } else if (c == '%') {
+                regex.append(".*");
+            } else if (c == '_') {
+                regex.append('.');
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return Pattern.compile(regex.toString(), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE | Pattern.DOTALL);
+    }
+
+    private Eval call(Expr.Call call) throws SQLException {
+        if (call.isAggregate()) return aggregate(call);
+
+        List<Eval> args = new ArrayList<>();
+        for (Expr arg : call.args()) args.add(compile(arg));
+        String name = call.name();
+        return switch (name) {
+            case "NOW" -> (row, ctx) -> ctx.now;
+            case "CURDATE" -> (row, ctx) -> ctx.now.toLocalDate();
+            case "CONCAT" -> (row, ctx) -> {
+                StringBuilder sb = new StringBuilder();
+                for (Eval arg : args) {
+                    Object value = arg.eval(row, ctx);
+                    if (value == null) return null;
+                    sb.append(Values.toText(value));
+                }
+                return sb.toString();
+            };
+            case "IFNULL", "COALESCE" -> {
+                if (name.equals("IFNULL")) requireArgs(call, 2);
+                yield (row, ctx) -> {
+                    for (Eval arg : args) {
+                        Object value = arg.eval(row, ctx);
+                        if (value != null) return value;
+                    }
+                    return null;
+                };
+            }
+            case "IF" -> {
+                requireArgs(call, 3);
+                yield (row, ctx) -> Values.isTrue(args.get(0).eval(row, ctx)) ? args.get(1).eval(row, ctx) : args.get(2).eval(row, ctx);
+            }
+            case "NULLIF" -> {
+                requireArgs(call, 2);
+                yield (row, ctx) -> {
+                    Object a = args.get(0).eval(row, ctx);
+                    Object b = args.get(1).eval(row, ctx);
+                    return a != null && b != null && Values.compare(a, b) == 0 ? null : a;
+                };
+            }
+            // 첫 인자가 나머지 인자 중 몇 번째와 같은지 (1부터). 없거나 NULL 이면 0. ORDER BY FIELD(id, ...) 에 쓴다.
+            case "FIELD" -> {
+                if (args.size() < 2) {
+                    throw new SQLException("Incorrect parameter count in the call to native function 'FIELD'", "42000", 1582);
+                }
+                yield (row, ctx) -> {
+                    Object value = args.get(0).eval(row, ctx);
+                    if (value == null) return 0L;
+                    for (int i = 1; i < args.size(); i++) {
+                        Object candidate = args.get(i).eval(row, ctx);
+                        if (candidate != null && Values.compare(value, candidate) == 0) return (long) i;
+                    }
+                    return 0L;
+                };
+            }
+            case "LOWER", "LCASE", "UPPER", "UCASE", "LENGTH", "CHAR_LENGTH", "ABS" -> {
+                requireArgs(call, 1);
+                Eval arg = args.get(0);
+                yield (row, ctx) -> {
+                    Object value = arg.eval(row, ctx);
+                    if (value == null) return null;
+                    return switch (name) {
+                        case "LOWER", "LCASE" -> Values.toText(value).toLowerCase(Locale.ROOT);
+                        case "UPPER", "UCASE" -> Values.toText(value).toUpperCase(Locale.ROOT);
+                        case "LENGTH" -> (long) Values.toBytes(value).length;
+                        case "CHAR_LENGTH" -> (long) Values.toText(value).codePointCount(0, Values.toText(value).length());
+                        default -> Values.isIntegral(value) ? (Object) Math.abs(Values.toLong(value)) : (Object) Math.abs(Values.toDouble(value));
+                    };
+                };
+            }
+            default -> throw new SQLException("FUNCTION " + name + " does not exist", "42000", 1305);
+        };
+    }
+
+    private Eval aggregate(Expr.Call call) throws SQLException {
+        if (!allowAggregates) throw new SQLException("Invalid use of group function", "HY000", 1111);
+        if (!call.star()) requireArgs(call, 1);
+
+        allowAggregates = false;
+        Eval argument;
+        try {
+            argument = call.star() ? null : compile(call.args().get(0));
+        } finally {
+            allowAggregates = true;
+        }
+
+        int slot = aggregates.size();
+        aggregates.add(new Aggregate(call.name(), argument, call.star(), call.distinct()));
+        return (row, ctx) -> ctx.aggregates[slot];
+    }
+
+    private Eval caseWhen(Expr.Case c) throws SQLException {
+        Eval operand = c.operand() == null ? null : compile(c.operand());
+        List<Eval> conditions = new ArrayList<>();
+        List<Eval> results = new ArrayList<>();
+        for (Expr condition : c.conditions()) conditions.add(compile(condition));
+        for (Expr result : c.results()) results.add(compile(result));
+        Eval otherwise = c.otherwise() == null ? (row, ctx) -> null : compile(c.otherwise());
+        return (row, ctx) -> {
+            Object value = operand == null ? null : operand.eval(row, ctx);
+            for (int i = 0; i < conditions.size(); i++) {
+                Object condition = conditions.get(i).eval(row, ctx);
+                boolean matched = operand == null ? Values.isTrue(condition)
+                        : value != null && condition != null && Values.compare(value, condition) == 0;
+                if (matched) return results.get(i).eval(row, ctx);
+            }
+            return otherwise.eval(row, ctx);
+        };
+    }
+
+    private static void requireArgs(Expr.Call call, int count) throws SQLException {
+        if (call.args().size() != count) {
+            throw new SQLException("Incorrect parameter count in the call to native function '" + call.name() + "'", "42000", 1582);
+        }
+    }
+
+    // 결과 컬럼의 종류. 실행 전에 알 수 없으면 (파라미터 등) null
+    ColumnKind kindOf(Expr expr) throws SQLException {
+        return switch (expr) {
+            case Expr.Literal literal -> kindOfValue(literal.value());
+            case Expr.Column column -> scope.kinds().get(scope.indexOf(column));
+            case Expr.Unary unary -> unary.op().equals("NOT") ? ColumnKind.LONG : kindOf(unary.operand());
+            case Expr.Binary binary -> switch (binary.op()) {
+                case "+", "-", "*", "%" -> kindOf(binary.left()) == ColumnKind.LONG && kindOf(binary.right()) == ColumnKind.LONG
+                        ? ColumnKind.LONG : ColumnKind.DOUBLE;
+                case "/" -> ColumnKind.DOUBLE;
+                default -> ColumnKind.LONG;
+            };
+            case Expr.Call call -> switch (call.name()) {
+                case "NOW" -> ColumnKind.DATETIME;
+                case "CURDATE" -> ColumnKind.DATE;
+                case "COUNT", "LENGTH", "CHAR_LENGTH", "FIELD" -> ColumnKind.LONG;
+                case "AVG" -> ColumnKind.DOUBLE;
+                case "CONCAT", "LOWER", "LCASE", "UPPER", "UCASE" -> ColumnKind.STRING;
+                case "IF" -> call.args().size() == 3 ? kindOf(call.args().get(1)) : null;
+                default -> call.args().isEmpty() ? null : kindOf(call.args().get(0));
+            };
+            case Expr.Case c -> kindOf(c.results().get(0));
+            case Expr.Param param -> null;
+            default -> ColumnKind.LONG;
+        };
+    }
+
+    static ColumnKind kindOfValue(Object value) {
+        return switch (value) {
+            case null -> null;
+            case Long l -> ColumnKind.LONG;
+            case Double d -> ColumnKind.DOUBLE;
+            case Boolean b -> ColumnKind.BOOLEAN;
+            case LocalDateTime dateTime -> ColumnKind.DATETIME;
+            case LocalDate date -> ColumnKind.DATE;
+            case byte[] bytes -> ColumnKind.BYTES;
+            default -> ColumnKind.STRING;
+        };
+    }
+
+    private static Long bool(boolean value) {
+        return value ? 1L : 0L;
+    }
+}
@@ -0,0 +1,214 @@
+package com.back.global.db.embedded;
+
+import java.util.Arrays;
+
+// long 키 -> long 값(행 기록 위치) B+tree. 잎 노드는 앞뒤로 이어져 있어 범위를 양방향으로 훑을 수 있다.
+// 지울 때 노드를 합치지 않는다. 비거나 덜 찬 잎은 그대로 두고 훑을 때 건너뛴다.
+final class LongBTree {
+    static final long ABSENT = -1;
+    private static final int MAX_KEYS = 64;
+
+    @FunctionalInterface
+    interface Visitor {
+        // false 를 돌려주면 훑기를 멈춘다.
+        boolean visit(long key, long value);
+    }
+
+    private abstract static class Node {
+        final long[] keys = new long[MAX_KEYS + 1];
+        int size;
+    }
+
+    private static final class Leaf extends Node {
+        final long[] values = new long[MAX_KEYS + 1];
+        Leaf prev;
+        Leaf next;
+    }
+
+    // children[i] 는 keys[i] 보다 작은 키, children[i + 1] 은 keys[i] 이상인 키를 가진다.
+    private static final class Inner extends Node {
+        final Node[] children = new Node[MAX_KEYS + 2];
+    }
+
+    // 나뉜 오른쪽 노드와, 부모에 올릴 구분 키
+    private record Split(Node right, long separator) {
+    }
+
+    private Node root = new Leaf();
+    private long size;
+
+    long size() {
+        return size;
+    }
+
+    long get(long key) {
+        Leaf leaf = findLeaf(key);
+        int index = Arrays.binarySearch(leaf.keys, 0, leaf.size, key);
+        return index >= 0 ? leaf.values[index] : ABSENT;
+    }
+
+    // 가장 큰 키. 비어 있으면 Long.MIN_VALUE
+    long maxKey() {
+        Node node = root;
+        while (node instanceof Inner inner) node = inner.children[inner.size];
+        for (Leaf leaf = (Leaf) node; leaf != null; leaf = leaf.prev) {
+            if (leaf.size > 0) return leaf.keys[leaf.size - 1];
+        }
+        return Long.MIN_VALUE;
+    }
+
+    // 새 키면 넣고, 있던 키면 값을 바꾼다. 있던 값을 돌려주고, 없었으면 ABSENT
+    long put(long key, long value) {
+        long[] previous = {ABSENT};
+        Split split = insert(root, key, value, previous);
+        if (split != null) {
+            Inner newRoot = new Inner();
+            newRoot.keys[0] = split.separator();
+            newRoot.children[0] = root;
+            newRoot.children[1] = split.right();
+            newRoot.size = 1;
+            root = newRoot;
+        }
+        if (previous[0] == ABSENT) size++;
+        return previous[0];
+    }
+
+    // 지운 값을 돌려주고, 없었으면 ABSENT
+    long remove(long key) {
+        Leaf leaf = findLeaf(key);
+        int index = Arrays.binarySearch(leaf.keys, 0, leaf.size, key);
+        if (index < 0) return ABSENT;
+
+        long value = leaf.values[index];
+        System.arraycopy(leaf.keys, index + 1, leaf.keys, index, leaf.size - index - 1);
+        System.arraycopy(leaf.values, index + 1, leaf.values, index, leaf.size - index - 1);
+        leaf.size--;
+        size--;
+        return value;
+    }
+
+    void clear() {
+        root = new Leaf();
+        size = 0;
+    }
+
+    // [from, to] 를 오름차순으로 훑는다. 끝점 포함 여부는 인자로 정한다.
+    void scan(long from, boolean fromInclusive, long to, boolean toInclusive, Visitor visitor) {
+        Leaf leaf = findLeaf(from);
+        int index = lowerBound(leaf, from);
+        if (!fromInclusive && index < leaf.size && leaf.keys[index] == from) index++;
+
+        for (; leaf != null; leaf = leaf.next, index = 0) {
+            for (; index < leaf.size; index++) {
+                long key = leaf.keys[index];
+                if (key > to || key == to && !toInclusive) return;
+                if (!visitor.visit(key, leaf.values[index])) return;
+            }
+        }
+    }
+
+    // [from, to] 를 내림차순으로 훑는다.
+    void scanDescending(long from, boolean fromInclusive, long to, boolean toInclusive, Visitor visitor) {
+        Leaf leaf = findLeaf(to);
+        int index = lowerBound(leaf, to) - 1;
+        if (toInclusive && index + 1 < leaf.size && leaf.keys[index + 1] == to) index++;
+
+        while (leaf != null) {
+            for (; index >= 0; index--) {
+                long key = leaf.keys[index];
+                if (key < from || key == from && !fromInclusive) return;
+                if (!visitor.visit(key, leaf.values[index])) return;
+            }
+            leaf = leaf.prev;
+            if (leaf != null) index = leaf.size - 1;
+        }
+    }
+
+    private Leaf findLeaf(long key) {
+        Node node = root;
+        while (node instanceof Inner inner) {
+            node = inner.children[upperBound(inner, key)];
+        }
+        return (Leaf) node;
+    }
+
+    // 넘쳐서 나눴으면 그 결과를 돌려준다.
+    private Split insert(Node node, long key, long value, long[] previous) {
+        if (node instanceof Leaf leaf) {
+            int index = lowerBound(leaf, key);
+            if (index < leaf.size && leaf.keys[index] == key) {
+                previous[0] = leaf.values[index];
+                leaf.values[index] = value;
+                return null;
+            }
+            System.arraycopy(leaf.keys, index, leaf.keys, index + 1, leaf.size - index);
+            System.arraycopy(leaf.values, index, leaf.values, index + 1, leaf.size - index);
+            leaf.keys[index] = key;
+            leaf.values[index] = value;
+            leaf.size++;
+            return leaf.size > MAX_KEYS ? splitLeaf(leaf) : null;
+        }
+
+        Inner inner = (Inner) node;
+        int childIndex = upperBound(inner, key);
+        Split split = insert(inner.children[childIndex], key, value, previous);
+        if (split == null) return null;
+
+        System.arraycopy(inner.keys, childIndex, inner.keys, childIndex + 1, inner.size - childIndex);
+        System.arraycopy(inner.children, childIndex + 1, inner.children, childIndex + 2, inner.size - childIndex);
+        inner.keys[childIndex] = split.separator();
+        inner.children[childIndex + 1] = split.right();
+        inner.size++;
+        return inner.size > MAX_KEYS ? splitInner(inner) : null;
+    }
+
+    private static Split splitLeaf(Leaf leaf) {
+        Leaf right = new Leaf();
+        int half = leaf.size / 2;
+        right.size = leaf.size - half;
+        System.arraycopy(leaf.keys, half, right.keys, 0, right.size);
+        System.arraycopy(leaf.values, half, right.values, 0, right.size);
+        leaf.size = half;
+
+        right.next = leaf.next;
+        right.prev = leaf;
+        if (leaf.next != null) leaf.next.prev = right;
+        leaf.next = right;
+        return new Split(right, right.keys[0]);
+    }
+
+    // 가운데 키는 부모로 올라가므로 양쪽 어디에도 남기지 않는다.
+    private static Split splitInner(Inner inner) {
+        Inner right = new Inner();
+        int middle = inner.size / 2;
+        right.size = inner.size - middle - 1;
+        System.arraycopy(inner.keys, middle + 1, right.keys, 0, right.size);
+        System.arraycopy(inner.children, middle + 1, right.children, 0, right.size + 1);
+        inner.size = middle;
+        return new Split(right, inner.keys[middle]);
+    }
+
+    // key 이상인 첫 위치
+    private static int lowerBound(Node node, long key) {
+        int low = 0;
+        int high = node.size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (node.keys[mid] < key) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    // key 보다 큰 첫 위치
+    private static int upperBound(Node node, long key) {
+        int low = 0;
+        int high = node.size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (node.keys[mid] <= key) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+}
@@ -0,0 +1,101 @@
+package com.back.global.db.embedded;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+// 행 하나를 바이트 배열로 바꾼다. NULL 비트맵 다음에 NULL 이 아닌 값만 컬럼 순서대로 이어 붙인다.
+// LONG, DOUBLE, DATE 는 8바이트, BOOLEAN 은 1바이트, DATETIME 은 초 8바이트 + 나노초 4바이트,
+// STRING, BYTES 는 길이 4바이트 + 내용이다.
+final class RowCodec {
+    private RowCodec() {
+    }
+
+    static byte[] encode(Object[] row, ColumnKind[] kinds) {
+        int bitmapSize = (kinds.length + 7) / 8;
+        int size = bitmapSize;
+        byte[][] variable = new byte[kinds.length][];
+        for (int i = 0; i < kinds.length; i++) {
+            Object value = row[i];
+            if (value == null) continue;
+            size += switch (kinds[i]) {
+                case LONG, DOUBLE, DATE -> 8;
+                case BOOLEAN -> 1;
+                case DATETIME -> 12;
+                case STRING -> 4 + (variable[i] = ((String) value).getBytes(StandardCharsets.UTF_8)).length;
+                case BYTES -> 4 + (variable[i] = (byte[]) value).length;
+            };
+        }
+
+        byte[] bytes = new byte[size];
+        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.position(bitmapSize);
+        for (int i = 0; i < kinds.length; i++) {
+            Object value = row[i];
+            if (value == null) {
+                bytes[i >> 3] |= (byte) (1 << (i & 7));
+                continue;
+            }
+            switch (kinds[i]) {
+                case LONG -> buffer.putLong((Long) value);
+                case DOUBLE -> buffer.putDouble((Double) value);
+                case DATE -> buffer.putLong(((LocalDate) value).toEpochDay());
+                case BOOLEAN -> buffer.put((Boolean) value ? (byte) 1 : 0);
+                case DATETIME -> {
+                    LocalDateTime dateTime = (LocalDateTime) value;
+                    buffer.putLong(dateTime.toEpochSecond(ZoneOffset.UTC));
+                    buffer.putInt(dateTime.getNano());
+                }
+                case STRING, BYTES -> {
+                    buffer.putInt(variable[i].length);
+                    buffer.put(variable[i]);
+                }
+            }
+        }
+        return bytes;
+    }
+
+    // buffer 의 현재 위치부터 읽는다. buffer 는 LITTLE_ENDIAN 이어야 한다.
+    static Object[] decode(ByteBuffer buffer, ColumnKind[] kinds) {
+        int base = buffer.position();
+        int bitmapSize = (kinds.length + 7) / 8;
+        Object[] row = new Object[kinds.length];
+        int position = base + bitmapSize;
+        for (int i = 0; i < kinds.length; i++) {
+            if ((buffer.get(base + (i >> 3)) & (1 << (i & 7))) != 0) continue;
+            switch (kinds[i]) {
+                case LONG -> {
+                    row[i] = buffer.getLong(position);
+                    position += 8;
+                }
+                case DOUBLE -> {
+                    row[i] = buffer.getDouble(position);
+                    position += 8;
+                }
+                case DATE -> {
+                    row[i] = LocalDate.ofEpochDay(buffer.getLong(position));
+                    position += 8;
+                }
+                case BOOLEAN -> {
+                    row[i] = buffer.get(position) != 0;
+                    position += 1;
+                }
+                case DATETIME -> {
+                    row[i] = LocalDateTime.ofEpochSecond(buffer.getLong(position), buffer.getInt(position + 8), ZoneOffset.UTC);
+                    position += 12;
+                }
+                case STRING, BYTES -> {
+                    int length = buffer.getInt(position);
+                    byte[] bytes = new byte[length];
+                    buffer.get(position + 4, bytes);
+                    row[i] = kinds[i] == ColumnKind.STRING ? new String(bytes, StandardCharsets.UTF_8) : bytes;
+                    position += 4 + length;
+                }
+            }
+        }
+        return row;
+    }
+}
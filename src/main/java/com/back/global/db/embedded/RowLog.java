@@ -0,0 +1,149 @@
+package com.back.global.db.embedded;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+// 테이블 하나의 행 기록을 뒤에 덧붙이기만 하는 저장소. 파일이면 segmentSize 씩 메모리에 매핑하고, 메모리 전용이면 힙 버퍼를 쓴다.
+// 기록: length:int | kind:byte | key:long | 행 바이트. length 는 kind 부터의 길이다.
+// 세그먼트 끝에 기록이 들어가지 않으면 -1 을 남기고 다음 세그먼트 처음부터 쓴다. length 0 은 기록의 끝이다.
+// 고치거나 지운 행의 이전 기록은 TRUNCATE 전까지 남는다.
+final class RowLog implements AutoCloseable {
+    static final byte PUT = 1;
+    static final byte DELETE = 2;
+    private static final int HEADER_SIZE = 4 + 1 + 8;
+
+    @FunctionalInterface
+    interface Visitor {
+        void visit(byte kind, long key, long offset);
+    }
+
+    // 메모리 전용이면 null
+    private final FileChannel channel;
+    private final int segmentSize;
+    private final List<ByteBuffer> segments = new ArrayList<>();
+    private long end;
+
+    private RowLog(FileChannel channel, int segmentSize) {
+        this.channel = channel;
+        this.segmentSize = segmentSize;
+    }
+
+    static RowLog inMemory(int segmentSize) {
+        return new RowLog(null, segmentSize);
+    }
+
+    static RowLog open(Path path, int segmentSize) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new RowLog(channel, segmentSize);
+    }
+
+    // 기록을 덧붙이고 그 위치를 돌려준다.
+    long append(byte kind, long key, byte[] row) throws SQLException {
+        int total = HEADER_SIZE + row.length;
+        if (total > segmentSize) {
+            throw new SQLException("행이 너무 큽니다: " + row.length + " bytes (최대 " + (segmentSize - HEADER_SIZE) + ")", "HY000", 1118);
+        }
+
+        int offset = (int) (end % segmentSize);
+        if (segmentSize - offset < total) {
+            if (segmentSize - offset >= 4) segment(end).putInt(offset, -1);
+            end += segmentSize - offset;
+            offset = 0;
+        }
+
+        ByteBuffer segment = segment(end);
+        segment.putInt(offset, total - 4);
+        segment.put(offset + 4, kind);
+        segment.putLong(offset + 5, key);
+        segment.put(offset + HEADER_SIZE, row);
+
+        long position = end;
+        end += total;
+        return position;
+    }
+
+    // position 에 있는 기록의 행 바이트를 가리키는 버퍼
+    ByteBuffer rowAt(long position) throws SQLException {
+        ByteBuffer buffer = segment(position).duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        buffer.position((int) (position % segmentSize) + HEADER_SIZE);
+        return buffer;
+    }
+
+    // 처음부터 끝까지 기록을 차례로 읽어 색인을 다시 만들 때 쓴다.
+    void replay(Visitor visitor) throws SQLException {
+        long size = channel == null ? (long) segments.size() * segmentSize : size();
+        long position = 0;
+        while (position < size) {
+            int offset = (int) (position % segmentSize);
+            int length = segmentSize - offset < 4 ? -1 : segment(position).getInt(offset);
+            if (length == 0) break;
+            if (length < 0) {
+                position += segmentSize - offset;
+                continue;
+            }
+
+            ByteBuffer segment = segment(position);
+            visitor.visit(segment.get(offset + 4), segment.getLong(offset + 5), position);
+            position += 4 + length;
+        }
+        end = position;
+    }
+
+    void clear() throws SQLException {
+        segments.clear();
+        end = 0;
+        if (channel == null) return;
+        try {
+            channel.truncate(0);
+        } catch (IOException e) {
+            throw new SQLException("테이블 파일 비우기 실패", "HY000", 1030, e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel == null) return;
+        for (ByteBuffer segment : segments) {
+            if (segment != null) ((MappedByteBuffer) segment).force();
+        }
+        segments.clear();
+        channel.close();
+    }
+
+    private long size() throws SQLException {
+        try {
+            return channel.size();
+        } catch (IOException e) {
+            throw new SQLException("테이블 파일 읽기 실패", "HY000", 1030, e);
+        }
+    }
+
+    private ByteBuffer segment(long position) throws SQLException {
+        int index = (int) (position / segmentSize);
+        while (segments.size() <= index) segments.add(null);
+
+        ByteBuffer segment = segments.get(index);
+        if (segment != null) return segment;
+
+        if (channel == null) {
+            segment = ByteBuffer.allocate(segmentSize);
+        } else {
+            try {
+                segment = channel.map(FileChannel.MapMode.READ_WRITE, (long) index * segmentSize, segmentSize);
+            } catch (IOException e) {
+                throw new SQLException("테이블 파일 매핑 실패", "HY000", 1030, e);
+            }
+        }
+        segment.order(ByteOrder.LITTLE_ENDIAN);
+        segments.set(index, segment);
+        return segment;
+    }
+}
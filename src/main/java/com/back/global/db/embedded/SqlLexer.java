@@ -0,0 +1,137 @@
+package com.back.global.db.embedded;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+// SQL 문자열을 토큰으로 자른다. 주석(--, #, /* */)은 버리고, 문자열 안의 이스케이프는 MySQL 규칙대로 푼다.
+final class SqlLexer {
+    enum Type {IDENT, QUOTED_IDENT, NUMBER, STRING, PARAM, SYMBOL, EOF}
+
+    // start, end 는 원래 SQL 에서의 위치. SELECT 목록의 컬럼 라벨을 원문 그대로 만들 때 쓴다.
+    record Token(Type type, String text, int start, int end) {
+        boolean is(String keyword) {
+            return type == Type.IDENT && text.equalsIgnoreCase(keyword);
+        }
+
+        boolean isSymbol(String symbol) {
+            return type == Type.SYMBOL && text.equals(symbol);
+        }
+
+        boolean isIdentifier() {
+            return type == Type.IDENT || type == Type.QUOTED_IDENT;
+        }
+    }
+
+    private static final String[] SYMBOLS = {"<=>", "<=", ">=", "<>", "!=", "||", "&&", "(", ")", ",", ".", "*", "=", "<", ">", "+", "-", "/", "%", ";", "!"};
+
+    private SqlLexer() {
+    }
+
+    static List<Token> tokenize(String sql) throws SQLException {
+        List<Token> tokens = new ArrayList<>();
+        int i = 0;
+        while (i < sql.length()) {
+            char c = sql.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '#' || c == '-' && sql.startsWith("--", i)) {
+                while (i < sql.length() && sql.charAt(i) != '\n') i++;
+            } else if (c == '/' && sql.startsWith("/*", i)) {
+                int close = sql.indexOf("*/", i + 2);
+                if (close < 0) throw syntaxError(sql, i);
+                i = close + 2;
+            } else if (c == '\'' || c == '"') {
+                i = readString(sql, i, tokens);
+            } else if (c == '`') {
+                int close = sql.indexOf('`', i + 1);
+                if (close < 0) throw syntaxError(sql, i);
+                tokens.add(new Token(Type.QUOTED_IDENT, sql.substring(i + 1, close), i, close + 1));
+                i = close + 1;
+            } else if (c == '?') {
+                tokens.add(new Token(Type.PARAM, "?", i, i + 1));
+                i++;
+            } else if (Character.isDigit(c) || c == '.' && i + 1 < sql.length() && Character.isDigit(sql.charAt(i + 1))) {
+                i = readNumber(sql, i, tokens);
+            } else if (Character.isLetter(c) || c == '_' || c == '$') {
+                int start = i;
+                while (i < sql.length() && (Character.isLetterOrDigit(sql.charAt(i)) || sql.charAt(i) == '_' || sql.charAt(i) == '$')) i++;
+                tokens.add(new Token(Type.IDENT, sql.substring(start, i), start, i));
+            } else {
+                i = readSymbol(sql, i, tokens);
+            }
+        }
+        tokens.add(new Token(Type.EOF, "", sql.length(), sql.length()));
+        return tokens;
+    }
+
+    private static int readString(String sql, int start, List<Token> tokens) throws SQLException {
+        char quote = sql.charAt(start);
+        StringBuilder sb = new StringBuilder();
+        int i = start + 1;
+        while (i < sql.length()) {
+            char c = sql.charAt(i);
+            if (c == '\\' && i + 1 < sql.length()) {
+                char next = sql.charAt(i + 1);
+                switch (next) {
+                    case 'n' -> sb.append('\n');
+                    case 't' -> sb.append('\t');
+                    case 'r' -> sb.append('\r');
+                    case '0' -> sb.append('\0');
+                    case 'b' -> sb.append('\b');
+                    case 'Z' -> sb.append('\u001A');
+                    // LIKE 패턴에서 쓰는 \% 와 \_ 는 역슬래시를 남긴다.
+                    case '%', '_' -> sb.append('\\').append(next);
+                    default -> sb.append(next);
+                }
+                i += 2;
+            } else if (c == quote) {
+                if (i + 1 < sql.length() && sql.charAt(i + 1) == quote) {
+                    sb.append(quote);
+                    i += 2;
+                } else {
+                    tokens.add(new Token(Type.STRING, sb.toString(), start, i + 1));
+                    return i + 1;
+                }
+            } else {
+                sb.append(c);
+                i++;
+            }
+        }
+        throw syntaxError(sql, start);
+    }
+
+    private static int readNumber(String sql, int start, List<Token> tokens) {
+        int i = start;
+        while (i < sql.length() && Character.isDigit(sql.charAt(i))) i++;
+        if (i < sql.length() && sql.charAt(i) == '.') {
+            i++;
+            while (i < sql.length() && Character.isDigit(sql.charAt(i))) i++;
+        }
+        if (i < sql.length() && (sql.charAt(i) == 'e' || sql.charAt(i) == 'E')) {
+            int exponent = i + 1;
+            if (exponent < sql.length() && (sql.charAt(exponent) == '+' || sql.charAt(exponent) == '-')) exponent++;
+            if (exponent < sql.length() && Character.isDigit(sql.charAt(exponent))) {
+                i = exponent;
+                while (i < sql.length() && Character.isDigit(sql.charAt(i))) i++;
+            }
+        }
+        tokens.add(new Token(Type.NUMBER, sql.substring(start, i), start, i));
+        return i;
+    }
+
+    private static int readSymbol(String sql, int start, List<Token> tokens) throws SQLException {
+        for (String symbol : SYMBOLS) {
+            if (sql.startsWith(symbol, start)) {
+                tokens.add(new Token(Type.SYMBOL, symbol, start, start + symbol.length()));
+                return start + symbol.length();
+            }
+        }
+        throw syntaxError(sql, start);
+    }
+
+    static SQLException syntaxError(String sql, int position) {
+        String near = sql.substring(position, Math.min(sql.length(), position + 30));
+        return new SQLException("You have an error in your SQL syntax near '" + near + "'", "42000", 1064);
+    }
+}
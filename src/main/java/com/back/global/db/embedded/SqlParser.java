@@ -0,0 +1,723 @@
+package com.back.global.db.embedded;
+
+import com.back.global.db.embedded.SqlLexer.Token;
+import com.back.global.db.embedded.SqlLexer.Type;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+// 내장 엔진이 지원하는 SQL 을 SqlStatement 로 바꾼다.
+// SELECT (단일 테이블 또는 파생 테이블, WHERE, 집계, ORDER BY, LIMIT), INSERT (VALUES, SET), UPDATE, DELETE,
+// TRUNCATE, CREATE TABLE, DROP TABLE 을 읽는다. JOIN, GROUP BY, UNION 등은 1235 오류로 거절한다.
+final class SqlParser {
+    // 별칭으로 쓸 수 없는 키워드
+    private static final Set<String> RESERVED = Set.of("FROM", "WHERE", "GROUP", "HAVING", "ORDER", "LIMIT", "OFFSET",
+            "FOR", "UNION", "JOIN", "INNER", "LEFT", "RIGHT", "CROSS", "ON", "USING", "AND", "OR", "NOT", "SET", "VALUES",
+            "LOCK", "INTO", "AS");
+
+    private final String sql;
+    private final List<Token> tokens;
+    private int pos;
+    private int parameterCount;
+
+    private SqlParser(String sql) throws SQLException {
+        this.sql = sql;
+        this.tokens = SqlLexer.tokenize(sql);
+    }
+
+    static SqlStatement parse(String sql) throws SQLException {
+        SqlParser parser = new SqlParser(sql);
+        SqlStatement statement = parser.statement();
+        parser.acceptSymbol(";");
+        if (parser.peek().type() != Type.EOF) throw parser.syntaxError();
+        return statement;
+    }
+
+    private SqlStatement statement() throws SQLException {
+        Token token = peek();
+        if (token.is("SELECT")) return select();
+        if (accept("INSERT")) return insert();
+        if (accept("UPDATE")) return update();
+        if (accept("DELETE")) return delete();
+        if (accept("TRUNCATE")) {
+            accept("TABLE");
+            return new SqlStatement.Truncate(tableName());
+        }
+        if (accept("CREATE")) return createTable();
+        if (accept("DROP")) {
+            expect("TABLE");
+            boolean ifExists = acceptIfExists();
+            return new SqlStatement.DropTable(tableName(), ifExists);
+        }
+        throw syntaxError();
+    }
+
+    private SqlStatement.Select select() throws SQLException {
+        expect("SELECT");
+        accept("ALL");
+        if (peek().is("DISTINCT")) throw unsupported("SELECT DISTINCT");
+
+        List<SqlStatement.SelectItem> items = new ArrayList<>();
+        do {
+            items.add(selectItem());
+        } while (acceptSymbol(","));
+
+        SqlStatement.From from = null;
+        if (accept("FROM")) from = from();
+
+        Expr where = accept("WHERE") ? expression() : null;
+
+        List<Expr> groupBy = new ArrayList<>();
+        if (accept("GROUP")) {
+            expect("BY");
+            do {
+                groupBy.add(expression());
+            } while (acceptSymbol(","));
+        }
+        if (peek().is("HAVING")) throw unsupported("HAVING");
+
+        List<SqlStatement.OrderItem> orderBy = orderBy();
+
+        Expr limit = null;
+        Expr offset = null;
+        if (accept("LIMIT")) {
+            limit = limitValue();
+            if (acceptSymbol(",")) {
+                offset = limit;
+                limit = limitValue();
+            } else if (accept("OFFSET")) {
+                offset = limitValue();
+            }
+        }
+
+        boolean forUpdate = false;
+        if (accept("FOR")) {
+            if (accept("UPDATE")) {
+                forUpdate = true;
+            } else {
+                expect("SHARE");
+            }
+        } else if (accept("LOCK")) {
+            expect("IN");
+            expect("SHARE");
+            expect("MODE");
+        }
+        if (peek().is("UNION")) throw unsupported("UNION");
+
+        return new SqlStatement.Select(items, from, where, groupBy, orderBy, limit, offset, forUpdate, parameterCount);
+    }
+
+    private SqlStatement.SelectItem selectItem() throws SQLException {
+        if (acceptSymbol("*")) return new SqlStatement.SelectItem(null, "*", true, null);
+        if (peek().isIdentifier() && peek(1).isSymbol(".") && peek(2).isSymbol("*")) {
+            String qualifier = next().text();
+            pos += 2;
+            return new SqlStatement.SelectItem(null, "*", true, qualifier);
+        }
+
+        int start = peek().start();
+        Expr expr = expression();
+        int end = tokens.get(pos - 1).end();
+
+        String label;
+        if (accept("AS")) {
+            Token alias = next();
+            if (!alias.isIdentifier() && alias.type() != Type.STRING) throw syntaxError();
+            label = alias.text();
+        } else if (peek().isIdentifier() && !isReserved(peek()) || peek().type() == Type.STRING) {
+            label = next().text();
+        } else if (expr instanceof Expr.Column column) {
+            label = column.name();
+        } else {
+            label = sql.substring(start, end);
+        }
+        return new SqlStatement.SelectItem(expr, label, false, null);
+    }
+
+    private SqlStatement.From from() throws SQLException {
+        SqlStatement.From from;
+        if (acceptSymbol("(")) {
+            SqlStatement.Select subquery = select();
+            expectSymbol(")");
+            accept("AS");
+            Token alias = next();
+            if (!alias.isIdentifier()) throw new SQLException("Every derived table must have its own alias", "42000", 1248);
+            from = new SqlStatement.From(null, subquery, alias.text());
+        } else {
+            String table = tableName();
+            String alias = table;
+            if (accept("AS") || peek().isIdentifier() && !isReserved(peek())) alias = identifier();
+            from = new SqlStatement.From(table, null, alias);
+        }
+
+        if (acceptSymbol(",") || isReserved(peek()) && switch (peek().text().toUpperCase(Locale.ROOT)) {
+            case "JOIN", "INNER", "LEFT", "RIGHT", "CROSS" -> true;
+            default -> false;
+        }) {
+            throw unsupported("JOIN");
+        }
+        return from;
+    }
+
+    private List<SqlStatement.OrderItem> orderBy() throws SQLException {
+        List<SqlStatement.OrderItem> orderBy = new ArrayList<>();
+        if (!accept("ORDER")) return orderBy;
+
+        expect("BY");
+        do {
+            Expr expr = expression();
+            boolean descending = accept("DESC");
+            if (!descending) accept("ASC");
+            orderBy.add(new SqlStatement.OrderItem(expr, descending));
+        } while (acceptSymbol(","));
+        return orderBy;
+    }
+
+    private Expr limitValue() throws SQLException {
+        Token token = next();
+        if (token.type() == Type.PARAM) return new Expr.Param(parameterCount++);
+        if (token.type() == Type.NUMBER) return new Expr.Literal(number(token));
+        throw syntaxError();
+    }
+
+    private SqlStatement.Insert insert() throws SQLException {
+        if (peek().is("IGNORE")) throw unsupported("INSERT IGNORE");
+        accept("INTO");
+        String table = tableName();
+
+        List<String> columns = new ArrayList<>();
+        List<List<Expr>> rows = new ArrayList<>();
+        if (accept("SET")) {
+            List<Expr> values = new ArrayList<>();
+            do {
+                columns.add(columnName());
+                expectSymbol("=");
+                values.add(expression());
+            } while (acceptSymbol(","));
+            rows.add(values);
+        } else {
+            if (acceptSymbol("(")) {
+                do {
+                    columns.add(columnName());
+                } while (acceptSymbol(","));
+                expectSymbol(")");
+            }
+            if (peek().is("SELECT")) throw unsupported("INSERT ... SELECT");
+            if (!accept("VALUES")) expect("VALUE");
+            do {
+                expectSymbol("(");
+                List<Expr> values = new ArrayList<>();
+                if (!peek().isSymbol(")")) {
+                    do {
+                        values.add(expression());
+                    } while (acceptSymbol(","));
+                }
+                expectSymbol(")");
+                rows.add(values);
+            } while (acceptSymbol(","));
+        }
+        if (peek().is("ON")) throw unsupported("ON DUPLICATE KEY UPDATE");
+        return new SqlStatement.Insert(table, columns, rows, parameterCount);
+    }
+
+    private SqlStatement.Update update() throws SQLException {
+        String table = tableName();
+        expect("SET");
+
+        List<SqlStatement.Assignment> assignments = new ArrayList<>();
+        do {
+            String column = columnName();
+            expectSymbol("=");
+            assignments.add(new SqlStatement.Assignment(column, expression()));
+        } while (acceptSymbol(","));
+
+        Expr where = accept("WHERE") ? expression() : null;
+        List<SqlStatement.OrderItem> orderBy = orderBy();
+        Expr limit = accept("LIMIT") ? limitValue() : null;
+        return new SqlStatement.Update(table, assignments, where, orderBy, limit, parameterCount);
+    }
+
+    private SqlStatement.Delete delete() throws SQLException {
+        expect("FROM");
+        String table = tableName();
+        Expr where = accept("WHERE") ? expression() : null;
+        List<SqlStatement.OrderItem> orderBy = orderBy();
+        Expr limit = accept("LIMIT") ? limitValue() : null;
+        return new SqlStatement.Delete(table, where, orderBy, limit, parameterCount);
+    }
+
+    private SqlStatement.CreateTable createTable() throws SQLException {
+        if (peek().is("TEMPORARY")) throw unsupported("CREATE TEMPORARY TABLE");
+        expect("TABLE");
+        boolean ifNotExists = false;
+        if (accept("IF")) {
+            expect("NOT");
+            expect("EXISTS");
+            ifNotExists = true;
+        }
+        String name = tableName();
+        expectSymbol("(");
+
+        List<TableSchema.Column> columns = new ArrayList<>();
+        List<String> primaryKey = new ArrayList<>();
+        do {
+            if (accept("PRIMARY")) {
+                expect("KEY");
+                primaryKey.addAll(keyColumns());
+            } else if (accept("CONSTRAINT")) {
+                if (!peek().is("PRIMARY") && !peek().is("UNIQUE") && !peek().is("FOREIGN") && !peek().is("CHECK")) identifier();
+                if (accept("PRIMARY")) {
+                    expect("KEY");
+                    primaryKey.addAll(keyColumns());
+                } else {
+                    skipDefinition();
+                }
+            } else if (peek().is("KEY") || peek().is("INDEX") || peek().is("UNIQUE") || peek().is("FULLTEXT")
+                    || peek().is("SPATIAL") || peek().is("FOREIGN") || peek().is("CHECK")) {
+                // 보조 색인과 제약 조건은 받아들이기만 하고 쓰지 않는다.
+                skipDefinition();
+            } else {
+                columns.add(columnDefinition(primaryKey));
+            }
+        } while (acceptSymbol(","));
+        expectSymbol(")");
+        // ENGINE, CHARSET 같은 테이블 옵션은 무시한다.
+        while (peek().type() != Type.EOF && !peek().isSymbol(";")) pos++;
+
+        if (columns.isEmpty()) throw new SQLException("A table must have at least 1 column", "42000", 1113);
+        int keyIndex = -1;
+        if (primaryKey.size() == 1) {
+            for (int i = 0; i < columns.size(); i++) {
+                if (columns.get(i).name().equalsIgnoreCase(primaryKey.get(0)) && columns.get(i).kind() == ColumnKind.LONG) keyIndex = i;
+            }
+        }
+        for (int i = 0; i < columns.size(); i++) {
+            TableSchema.Column column = columns.get(i);
+            boolean isKey = primaryKey.stream().anyMatch(column.name()::equalsIgnoreCase);
+            if (column.autoIncrement() && i != keyIndex) {
+                throw new SQLException("Incorrect table definition; there can be only one auto column and it must be defined as a key", "42000", 1075);
+            }
+            // 기본 키 컬럼은 MySQL 처럼 NOT NULL 이 된다.
+            if (isKey && !column.notNull()) {
+                columns.set(i, new TableSchema.Column(column.name(), column.kind(), column.typeName(), true,
+                        column.autoIncrement(), column.defaultValue(), column.defaultNow()));
+            }
+        }
+        return new SqlStatement.CreateTable(new TableSchema(name, columns, keyIndex), ifNotExists);
+    }
+
+    private TableSchema.Column columnDefinition(List<String> primaryKey) throws SQLException {
+        String name = identifier();
+
+        Token typeToken = next();
+        if (typeToken.type() != Type.IDENT) throw syntaxError();
+        int length = -1;
+        if (acceptSymbol("(")) {
+            if (peek().type() == Type.NUMBER) length = (int) Values.toLong(number(peek()));
+            skipUntilClose();
+        }
+        while (peek().is("UNSIGNED") || peek().is("SIGNED") || peek().is("ZEROFILL")) pos++;
+        String typeName = sql.substring(typeToken.start(), tokens.get(pos - 1).end());
+        ColumnKind kind = ColumnKind.ofTypeName(typeToken.text(), length);
+
+        boolean notNull = false;
+        boolean autoIncrement = false;
+        boolean defaultNow = false;
+        Object defaultValue = null;
+        while (true) {
+            if (accept("NOT")) {
+                expect("NULL");
+                notNull = true;
+            } else if (accept("NULL")) {
+                notNull = false;
+            } else if (accept("AUTO_INCREMENT")) {
+                autoIncrement = true;
+            } else if (accept("DEFAULT")) {
+                Expr value = primary();
+                if (value instanceof Expr.Call call && isNowFunction(call.name())) {
+                    defaultNow = true;
+                } else {
+                    defaultValue = kind.coerce(constant(value));
+                }
+            } else if (accept("PRIMARY")) {
+                expect("KEY");
+                primaryKey.add(name);
+            } else if (accept("UNIQUE")) {
+                accept("KEY");
+            } else if (accept("KEY")) {
+                primaryKey.add(name);
+            } else if (accept("COMMENT")) {
+                next();
+            } else if (accept("ON")) {
+                expect("UPDATE");
+                primary();
+            } else if (accept("CHARACTER")) {
+                expect("SET");
+                next();
+            } else if (accept("CHARSET") || accept("COLLATE")) {
+                next();
+            } else {
+                break;
+            }
+        }
+        return new TableSchema.Column(name, kind, typeName, notNull, autoIncrement, defaultValue, defaultNow);
+    }
+
+    private List<String> keyColumns() throws SQLException {
+        List<String> columns = new ArrayList<>();
+        expectSymbol("(");
+        do {
+            columns.add(identifier());
+            if (acceptSymbol("(")) skipUntilClose();
+            if (!accept("ASC")) accept("DESC");
+        } while (acceptSymbol(","));
+        expectSymbol(")");
+        return columns;
+    }
+
+    // 다음 "," 또는 정의 목록을 닫는 ")" 앞까지 건너뛴다.
+    private void skipDefinition() throws SQLException {
+        while (!peek().isSymbol(",") && !peek().isSymbol(")")) {
+            if (peek().type() == Type.EOF) throw syntaxError();
+            if (next().isSymbol("(")) skipUntilClose();
+        }
+    }
+
+    // "(" 바로 다음에서 불러, 짝이 맞는 ")" 까지 건너뛴다.
+    private void skipUntilClose() throws SQLException {
+        int depth = 1;
+        while (depth > 0) {
+            Token token = next();
+            if (token.type() == Type.EOF) throw syntaxError();
+            if (token.isSymbol("(")) depth++;
+            else if (token.isSymbol(")")) depth--;
+        }
+    }
+
+    private Object constant(Expr expr) throws SQLException {
+        if (expr instanceof Expr.Literal literal) return literal.value();
+        if (expr instanceof Expr.Unary unary && unary.op().equals("NEG") && unary.operand() instanceof Expr.Literal literal) {
+            Object value = literal.value();
+            return value instanceof Long l ? (Object) (-l) : (Object) (-Values.toDouble(value));
+        }
+        throw syntaxError();
+    }
+
+    // 식: OR < XOR < AND < NOT < 비교 < 덧셈 < 곱셈 < 단항
+    Expr expression() throws SQLException {
+        Expr left = xor();
+        while (accept("OR") || acceptSymbol("||")) left = new Expr.Binary("OR", left, xor());
+        return left;
+    }
+
+    private Expr xor() throws SQLException {
+        Expr left = and();
+        while (accept("XOR")) left = new Expr.Binary("XOR", left, and());
+        return left;
+    }
+
+    private Expr and() throws SQLException {
+        Expr left = not();
+        while (accept("AND") || acceptSymbol("&&")) left = new Expr.Binary("AND", left, not());
+        return left;
+    }
+
+    private Expr not() throws SQLException {
+        if (accept("NOT")) return new Expr.Unary("NOT", not());
+        return comparison();
+    }
+
+    private Expr comparison() throws SQLException {
+        Expr left = additive();
+        while (true) {
+            Token token = peek();
+            if (accept("IS")) {
+                boolean negated = accept("NOT");
+                if (accept("NULL")) {
+                    left = new Expr.IsNull(left, negated);
+                } else if (accept("TRUE")) {
+                    left = truth(left, true, negated);
+                } else if (accept("FALSE")) {
+                    left = truth(left, false, negated);
+                } else {
+                    throw syntaxError();
+                }
+                continue;
+            }
+
+            boolean negated = false;
+            if (token.is("NOT") && (peek(1).is("IN") || peek(1).is("BETWEEN") || peek(1).is("LIKE"))) {
+                pos++;
+                negated = true;
+            }
+            if (accept("IN")) {
+                expectSymbol("(");
+                if (peek().is("SELECT")) throw unsupported("IN (SELECT ...)");
+                List<Expr> values = new ArrayList<>();
+                do {
+                    values.add(expression());
+                } while (acceptSymbol(","));
+                expectSymbol(")");
+                left = new Expr.In(left, values, negated);
+            } else if (accept("BETWEEN")) {
+                Expr low = additive();
+                expect("AND");
+                left = new Expr.Between(left, low, additive(), negated);
+            } else if (accept("LIKE")) {
+                left = new Expr.Like(left, additive(), negated);
+            } else if (token.type() == Type.SYMBOL && switch (token.text()) {
+                case "=", "<=>", "<>", "!=", "<", "<=", ">", ">=" -> true;
+                default -> false;
+            }) {
+                pos++;
+                String op = token.text().equals("!=") ? "<>" : token.text();
+                left = new Expr.Binary(op, left, additive());
+            } else {
+                return left;
+            }
+        }
+    }
+
+    // x IS TRUE 는 NULL 이면 거짓인 참 판정
+    private static Expr truth(Expr operand, boolean expected, boolean negated) {
+        Expr test = new Expr.Binary("AND", new Expr.IsNull(operand, true),
+                expected ? operand : new Expr.Unary("NOT", operand));
+        return negated ? new Expr.Unary("NOT", new Expr.Call("IFNULL", List.of(test, new Expr.Literal(0L)), false, false)) : test;
+    }
+
+    private Expr additive() throws SQLException {
+        Expr left = multiplicative();
+        while (true) {
+            if (acceptSymbol("+")) left = new Expr.Binary("+", left, multiplicative());
+            else if (acceptSymbol("-")) left = new Expr.Binary("-", left, multiplicative());
+            else return left;
+        }
+    }
+
+    private Expr multiplicative() throws SQLException {
+        Expr left = unary();
+        while (true) {
+            if (acceptSymbol("*")) left = new Expr.Binary("*", left, unary());
+            else if (acceptSymbol("/")) left = new Expr.Binary("/", left, unary());
+            else if (acceptSymbol("%") || accept("MOD")) left = new Expr.Binary("%", left, unary());
+            else if (accept("DIV")) left = new Expr.Binary("DIV", left, unary());
+            else return left;
+        }
+    }
+
+    private Expr unary() throws SQLException {
+        if (acceptSymbol("-")) return new Expr.Unary("NEG", unary());
+        if (acceptSymbol("+")) return unary();
+        if (acceptSymbol("!")) return new Expr.Unary("NOT", unary());
+        return primary();
+    }
+
+    private Expr primary() throws SQLException {
+        Token token = next();
+        switch (token.type()) {
+            case NUMBER:
+                return new Expr.Literal(number(token));
+            case STRING, PARAM:
+                return adjacentStrings(token);
+            case SYMBOL:
+                if (token.isSymbol("(")) {
+                    if (peek().is("SELECT")) throw unsupported("subquery");
+                    Expr expr = expression();
+                    expectSymbol(")");
+                    return expr;
+                }
+                throw syntaxError(token);
+            case QUOTED_IDENT:
+                return columnRef(token.text());
+            case IDENT:
+                break;
+            default:
+                throw syntaxError(token);
+        }
+
+        String word = token.text().toUpperCase(Locale.ROOT);
+        if (peek().isSymbol("(")) return call(word);
+        switch (word) {
+            case "NULL":
+                return new Expr.Literal(null);
+            case "TRUE":
+                return new Expr.Literal(1L);
+            case "FALSE":
+                return new Expr.Literal(0L);
+            case "CURRENT_TIMESTAMP", "LOCALTIME", "LOCALTIMESTAMP":
+                return new Expr.Call("NOW", List.of(), false, false);
+            case "CURRENT_DATE":
+                return new Expr.Call("CURDATE", List.of(), false, false);
+            case "CASE":
+                return caseExpression();
+            default:
+                if (isReserved(token)) throw syntaxError(token);
+                return columnRef(token.text());
+        }
+    }
+
+    // 'a' 'b' 처럼 붙어 있는 문자열은 하나로 합친다. 클라이언트 측 prepare 에서는 ? 도 문자열로 바뀌어 붙으므로
+    // CONCAT('%', ? '%') 같은 식도 같은 뜻으로 읽는다.
+    private Expr adjacentStrings(Token first) {
+        List<Expr> parts = new ArrayList<>();
+        StringBuilder literal = null;
+        Token token = first;
+        while (true) {
+            if (token.type() == Type.PARAM) {
+                if (literal != null) parts.add(new Expr.Literal(literal.toString()));
+                literal = null;
+                parts.add(new Expr.Param(parameterCount++));
+            } else if (literal == null) {
+                literal = new StringBuilder(token.text());
+            } else {
+                literal.append(token.text());
+            }
+            Type nextType = peek().type();
+            if (nextType != Type.STRING && nextType != Type.PARAM || token.type() == Type.PARAM && nextType == Type.PARAM) break;
+            token = next();
+        }
+        if (literal != null) parts.add(new Expr.Literal(literal.toString()));
+        return parts.size() == 1 ? parts.get(0) : new Expr.Call("CONCAT", parts, false, false);
+    }
+
+    private Expr columnRef(String first) throws SQLException {
+        if (!acceptSymbol(".")) return new Expr.Column(null, first);
+        String second = identifier();
+        if (!acceptSymbol(".")) return new Expr.Column(first, second);
+        // db.table.column
+        return new Expr.Column(second, identifier());
+    }
+
+    private Expr call(String name) throws SQLException {
+        expectSymbol("(");
+        if (isNowFunction(name)) name = "NOW";
+        if (name.equals("CURRENT_DATE")) name = "CURDATE";
+
+        if (acceptSymbol("*")) {
+            expectSymbol(")");
+            if (!name.equals("COUNT")) throw syntaxError();
+            return new Expr.Call(name, List.of(), true, false);
+        }
+        boolean distinct = accept("DISTINCT");
+        List<Expr> args = new ArrayList<>();
+        if (!peek().isSymbol(")")) {
+            do {
+                args.add(expression());
+            } while (acceptSymbol(","));
+        }
+        expectSymbol(")");
+        return new Expr.Call(name, args, false, distinct);
+    }
+
+    private Expr caseExpression() throws SQLException {
+        Expr operand = peek().is("WHEN") ? null : expression();
+        List<Expr> conditions = new ArrayList<>();
+        List<Expr> results = new ArrayList<>();
+        while (accept("WHEN")) {
+            conditions.add(expression());
+            expect("THEN");
+            results.add(expression());
+        }
+        if (conditions.isEmpty()) throw syntaxError();
+        Expr otherwise = accept("ELSE") ? expression() : null;
+        expect("END");
+        return new Expr.Case(operand, conditions, results, otherwise);
+    }
+
+    private static boolean isNowFunction(String name) {
+        return switch (name) {
+            case "NOW", "CURRENT_TIMESTAMP", "LOCALTIME", "LOCALTIMESTAMP", "SYSDATE" -> true;
+            default -> false;
+        };
+    }
+
+    private static Object number(Token token) {
+        String text = token.text();
+        if (text.indexOf('.') < 0 && text.indexOf('e') < 0 && text.indexOf('E') < 0) {
+            try {
+                return Long.parseLong(text);
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        return Double.parseDouble(text);
+    }
+
+    // db.table 이면 table 만 쓴다.
+    private String tableName() throws SQLException {
+        String name = identifier();
+        if (acceptSymbol(".")) name = identifier();
+        return name;
+    }
+
+    // UPDATE ... SET t.col = ? 처럼 한정된 이름이면 마지막 부분만 쓴다.
+    private String columnName() throws SQLException {
+        String name = identifier();
+        while (acceptSymbol(".")) name = identifier();
+        return name;
+    }
+
+    private String identifier() throws SQLException {
+        Token token = next();
+        if (!token.isIdentifier()) throw syntaxError(token);
+        return token.text();
+    }
+
+    private boolean acceptIfExists() throws SQLException {
+        if (!accept("IF")) return false;
+        expect("EXISTS");
+        return true;
+    }
+
+    private static boolean isReserved(Token token) {
+        return token.type() == Type.IDENT && RESERVED.contains(token.text().toUpperCase(Locale.ROOT));
+    }
+
+    private Token peek() {
+        return peek(0);
+    }
+
+    private Token peek(int ahead) {
+        return tokens.get(Math.min(pos + ahead, tokens.size() - 1));
+    }
+
+    private Token next() {
+        Token token = peek();
+        if (token.type() != Type.EOF) pos++;
+        return token;
+    }
+
+    private boolean accept(String keyword) {
+        if (!peek().is(keyword)) return false;
+        pos++;
+        return true;
+    }
+
+    private boolean acceptSymbol(String symbol) {
+        if (!peek().isSymbol(symbol)) return false;
+        pos++;
+        return true;
+    }
+
+    private void expect(String keyword) throws SQLException {
+        if (!accept(keyword)) throw syntaxError();
+    }
+
+    private void expectSymbol(String symbol) throws SQLException {
+        if (!acceptSymbol(symbol)) throw syntaxError();
+    }
+
+    private SQLException syntaxError() {
+        return syntaxError(peek());
+    }
+
+    private SQLException syntaxError(Token token) {
+        return SqlLexer.syntaxError(sql, token.start());
+    }
+
+    private static SQLException unsupported(String feature) {
+        return new SQLException("This version of the embedded engine doesn't yet support '" + feature + "'", "42000", 1235);
+    }
+}
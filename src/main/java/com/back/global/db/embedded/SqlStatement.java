@@ -0,0 +1,72 @@
+package com.back.global.db.embedded;
+
+import java.util.List;
+
+// 내장 엔진이 실행하는 문장. SqlParser 가 만든다.
+sealed interface SqlStatement {
+    // 문장의 ? 개수
+    int parameterCount();
+
+    // 데이터를 바꾸는 문장은 쓰기 권한을 잡고 실행한다.
+    default boolean isWrite() {
+        return true;
+    }
+
+    // label 은 결과 컬럼 이름. star 면 expr 대신 qualifier(없으면 null) 의 모든 컬럼을 펼친다.
+    record SelectItem(Expr expr, String label, boolean star, String qualifier) {
+    }
+
+    record OrderItem(Expr expr, boolean descending) {
+    }
+
+    // 테이블이나 파생 테이블(subquery) 중 하나. alias 가 없으면 테이블 이름을 쓴다.
+    record From(String table, Select subquery, String alias) {
+    }
+
+    record Select(List<SelectItem> items, From from, Expr where, List<Expr> groupBy, List<OrderItem> orderBy,
+                  Expr limit, Expr offset, boolean forUpdate, int parameterCount) implements SqlStatement {
+        @Override
+        public boolean isWrite() {
+            return forUpdate;
+        }
+    }
+
+    record Insert(String table, List<String> columns, List<List<Expr>> rows, int parameterCount) implements SqlStatement {
+    }
+
+    record Assignment(String column, Expr value) {
+    }
+
+    record Update(String table, List<Assignment> assignments, Expr where, List<OrderItem> orderBy, Expr limit,
+                  int parameterCount) implements SqlStatement {
+    }
+
+    record Delete(String table, Expr where, List<OrderItem> orderBy, Expr limit, int parameterCount) implements SqlStatement {
+    }
+
+    // 아래 DDL 은 MySQL 처럼 진행 중인 트랜잭션을 먼저 커밋한다.
+    record Truncate(String table) implements SqlStatement {
+        @Override
+        public int parameterCount() {
+            return 0;
+        }
+    }
+
+    record CreateTable(TableSchema schema, boolean ifNotExists) implements SqlStatement {
+        @Override
+        public int parameterCount() {
+            return 0;
+        }
+    }
+
+    record DropTable(String table, boolean ifExists) implements SqlStatement {
+        @Override
+        public int parameterCount() {
+            return 0;
+        }
+    }
+
+    default boolean isDdl() {
+        return this instanceof Truncate || this instanceof CreateTable || this instanceof DropTable;
+    }
+}
@@ -0,0 +1,122 @@
+package com.back.global.db.embedded;
+
+import java.io.IOException;
+import java.sql.SQLException;
+
+// 테이블 하나. 행은 RowLog 에 덧붙이고, 기본 키 -> 기록 위치를 B+tree 로 찾는다.
+// 동시 접근은 EmbeddedDatabase 의 잠금이 막아 주므로 여기서는 따로 동기화하지 않는다.
+final class Table implements AutoCloseable {
+    @FunctionalInterface
+    interface RowVisitor {
+        // false 를 돌려주면 훑기를 멈춘다. 훑는 동안 테이블을 고치면 안 된다.
+        boolean visit(long key, Object[] row) throws SQLException;
+    }
+
+    final TableSchema schema;
+    private final RowLog log;
+    private final LongBTree index = new LongBTree();
+    private long nextKey = 1;
+
+    Table(TableSchema schema, RowLog log) throws SQLException {
+        this.schema = schema;
+        this.log = log;
+        log.replay((kind, key, position) -> {
+            if (kind == RowLog.PUT) index.put(key, position);
+            else index.remove(key);
+        });
+        if (index.size() > 0) nextKey = Math.max(1, index.maxKey() + 1);
+    }
+
+    long size() {
+        return index.size();
+    }
+
+    Object[] get(long key) throws SQLException {
+        long position = index.get(key);
+        return position == LongBTree.ABSENT ? null : read(position);
+    }
+
+    // 자동 증가 키가 비어 있으면 채운다. 정수 기본 키가 없는 테이블은 숨은 행 번호를 키로 쓴다.
+    long insert(Object[] row) throws SQLException {
+        long key;
+        int primaryKey = schema.primaryKey;
+        if (primaryKey < 0) {
+            key = nextKey;
+        } else if (row[primaryKey] == null) {
+            if (!schema.hasAutoIncrementKey()) {
+                throw new SQLException("Field '" + schema.columns.get(primaryKey).name() + "' doesn't have a default value", "HY000", 1364);
+            }
+            key = nextKey;
+            row[primaryKey] = key;
+        } else {
+            key = (Long) row[primaryKey];
+            if (index.get(key) != LongBTree.ABSENT) {
+                throw new SQLException("Duplicate entry '" + key + "' for key '" + schema.name + ".PRIMARY'", "23000", 1062);
+            }
+        }
+
+        put(key, row);
+        nextKey = Math.max(nextKey, key + 1);
+        return key;
+    }
+
+    // 키가 같으면 같은 자리에, 다르면 옛 키를 지우고 새 키로 넣는다.
+    void update(long key, Object[] row) throws SQLException {
+        long newKey = schema.primaryKey < 0 ? key : (Long) row[schema.primaryKey];
+        if (newKey != key) {
+            if (index.get(newKey) != LongBTree.ABSENT) {
+                throw new SQLException("Duplicate entry '" + newKey + "' for key '" + schema.name + ".PRIMARY'", "23000", 1062);
+            }
+            delete(key);
+            nextKey = Math.max(nextKey, newKey + 1);
+        }
+        put(newKey, row);
+    }
+
+    // 롤백할 때 이전 모습을 그대로 되돌린다.
+    void put(long key, Object[] row) throws SQLException {
+        long position = log.append(RowLog.PUT, key, RowCodec.encode(row, schema.kinds));
+        index.put(key, position);
+    }
+
+    boolean delete(long key) throws SQLException {
+        if (index.get(key) == LongBTree.ABSENT) return false;
+
+        log.append(RowLog.DELETE, key, new byte[0]);
+        index.remove(key);
+        return true;
+    }
+
+    // 자동 증가 값도 처음으로 되돌린다.
+    void truncate() throws SQLException {
+        log.clear();
+        index.clear();
+        nextKey = 1;
+    }
+
+    // 키 범위 [from, to] 의 행을 키 순서로 훑는다.
+    void scan(long from, boolean fromInclusive, long to, boolean toInclusive, boolean descending, RowVisitor visitor) throws SQLException {
+        SQLException[] failure = new SQLException[1];
+        LongBTree.Visitor reader = (key, position) -> {
+            try {
+                return visitor.visit(key, read(position));
+            } catch (SQLException e) {
+                failure[0] = e;
+                return false;
+            }
+        };
+
+        if (descending) index.scanDescending(from, fromInclusive, to, toInclusive, reader);
+        else index.scan(from, fromInclusive, to, toInclusive, reader);
+        if (failure[0] != null) throw failure[0];
+    }
+
+    private Object[] read(long position) throws SQLException {
+        return RowCodec.decode(log.rowAt(position), schema.kinds);
+    }
+
+    @Override
+    public void close() throws IOException {
+        log.close();
+    }
+}
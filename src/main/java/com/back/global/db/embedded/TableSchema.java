@@ -0,0 +1,67 @@
+package com.back.global.db.embedded;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// 테이블 정의. 정수 기본 키가 있으면 그 값을 B+tree 키로 쓰고, 없으면 숨은 행 번호를 키로 쓴다.
+final class TableSchema {
+    // defaultNow 는 DEFAULT CURRENT_TIMESTAMP (NOW())
+    record Column(String name, ColumnKind kind, String typeName, boolean notNull, boolean autoIncrement,
+                  Object defaultValue, boolean defaultNow) {
+    }
+
+    final String name;
+    final List<Column> columns;
+    // 정수 기본 키 컬럼의 위치. 없으면 -1
+    final int primaryKey;
+    final ColumnKind[] kinds;
+    private final Map<String, Integer> indexByName = new HashMap<>();
+
+    TableSchema(String name, List<Column> columns, int primaryKey) {
+        this.name = name;
+        this.columns = List.copyOf(columns);
+        this.primaryKey = primaryKey;
+        this.kinds = new ColumnKind[columns.size()];
+        for (int i = 0; i < columns.size(); i++) {
+            kinds[i] = columns.get(i).kind();
+            indexByName.putIfAbsent(columns.get(i).name().toLowerCase(Locale.ROOT), i);
+        }
+    }
+
+    // 컬럼 이름은 대소문자를 가리지 않는다. 없으면 -1
+    int indexOf(String column) {
+        return indexByName.getOrDefault(column.toLowerCase(Locale.ROOT), -1);
+    }
+
+    int columnCount() {
+        return columns.size();
+    }
+
+    boolean hasAutoIncrementKey() {
+        return primaryKey >= 0 && columns.get(primaryKey).autoIncrement();
+    }
+
+    // 카탈로그 파일에 한 줄로 저장하는 정의. SqlParser 로 다시 읽을 수 있다.
+    String toDdl() {
+        StringBuilder sb = new StringBuilder("CREATE TABLE `").append(name).append("` (");
+        for (int i = 0; i < columns.size(); i++) {
+            Column column = columns.get(i);
+            if (i > 0) sb.append(", ");
+            sb.append('`').append(column.name()).append("` ").append(column.typeName());
+            if (column.notNull()) sb.append(" NOT NULL");
+            if (column.autoIncrement()) sb.append(" AUTO_INCREMENT");
+            if (column.defaultNow()) sb.append(" DEFAULT CURRENT_TIMESTAMP");
+            else if (column.defaultValue() != null) sb.append(" DEFAULT ").append(literal(column.defaultValue()));
+        }
+        if (primaryKey >= 0) sb.append(", PRIMARY KEY (`").append(columns.get(primaryKey).name()).append("`)");
+        return sb.append(')').toString();
+    }
+
+    private static String literal(Object value) {
+        if (value instanceof Long || value instanceof Double) return value.toString();
+        if (value instanceof Boolean b) return b ? "1" : "0";
+        return "'" + Values.toText(value).replace("\\", "\\\\").replace("'", "''") + "'";
+    }
+}
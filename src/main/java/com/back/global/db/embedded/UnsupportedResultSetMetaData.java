@@ -0,0 +1,122 @@
+package com.back.global.db.embedded;
+
+import java.sql.*;
+
+// 내장 결과 셋 메타데이터의 바탕 클래스. 쓰지 않는 메서드는 예외를 던진다.
+abstract class UnsupportedResultSetMetaData implements ResultSetMetaData {
+    @Override
+    public String getCatalogName(int column) throws SQLException {
+        throw new SQLFeatureNotSupportedException("getCatalogName");
+    }
+
+    @Override
+    public String getColumnClassName(int column) throws SQLException {
+        throw new SQLFeatureNotSupportedException("getColumnClassName");
+    }
+
+    @Override
+    public int getColumnCount() throws SQLException {
+        throw new SQLFeatureNotSupportedException("getColumnCount");
+    }
+
+    @Override
+    public int getColumnDisplaySize(int column) throws SQLException {
+        throw new SQLFeatureNotSupportedException("getColumnDisplaySize");
+    }
+
+    @Override
+    public String getColumnLabel(int column) throws SQLException {
+        throw new SQLFeatureNotSupportedException("getColumnLabel");
+    }
+
+    @Override
+    public String getColumnName(int column) throws SQLException {
+        throw new SQLFeatureNotSupportedException("getColumnName");
+    }
+
+    @Override
+    public int getColumnType(int column) throws SQLException {
+        throw new SQLFeatureNotSupportedException("getColumnType");
+    }
+
+    @Override
+    public String getColumnTypeName(int column) throws SQLException {
+        throw new SQLFeatureNotSupportedException("getColumnTypeName");
+    }
+
+    @Override
+    public int getPrecision(int column) throws SQLException {
+        throw new SQLFeatureNotSupportedException("getPrecision");
+    }
+
+    @Override
+    public int getScale(int column) throws SQLException {
+        throw new SQLFeatureNotSupportedException("getScale");
+    }
+
+    @Override
+    public String getSchemaName(int column) throws SQLException {
+        throw new SQLFeatureNotSupportedException("getSchemaName");
+    }
+
+    @Override
+    public String getTableName(int column) throws SQLException {
+        throw new SQLFeatureNotSupportedException("getTableName");
+    }
+
+    @Override
+    public boolean isAutoIncrement(int column) throws SQLException {
+        throw new SQLFeatureNotSupportedException("isAutoIncrement");
+    }
+
+    @Override
+    public boolean isCaseSensitive(int column) throws SQLException {
+        throw new SQLFeatureNotSupportedException("isCaseSensitive");
+    }
+
+    @Override
+    public boolean isCurrency(int column) throws SQLException {
+        throw new SQLFeatureNotSupportedException("isCurrency");
+    }
+
+    @Override
+    public boolean isDefinitelyWritable(int column) throws SQLException {
+        throw new SQLFeatureNotSupportedException("isDefinitelyWritable");
+    }
+
+    @Override
+    public int isNullable(int column) throws SQLException {
+        throw new SQLFeatureNotSupportedException("isNullable");
+    }
+
+    @Override
+    public boolean isReadOnly(int column) throws SQLException {
+        throw new SQLFeatureNotSupportedException("isReadOnly");
+    }
+
+    @Override
+    public boolean isSearchable(int column) throws SQLException {
+        throw new SQLFeatureNotSupportedException("isSearchable");
+    }
+
+    @Override
+    public boolean isSigned(int column) throws SQLException {
+        throw new SQLFeatureNotSupportedException("isSigned");
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this);
+    }
+
+    @Override
+    public boolean isWritable(int column) throws SQLException {
+        throw new SQLFeatureNotSupportedException("isWritable");
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) return iface.cast(this);
+        throw new SQLException("Not a wrapper for " + iface.getName());
+    }
+}
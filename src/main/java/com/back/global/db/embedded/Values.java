@@ -0,0 +1,132 @@
+package com.back.global.db.embedded;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+
+// 내장 엔진의 값 비교, 변환 규칙. 가능한 한 MySQL 의 암묵적 변환을 따른다.
+final class Values {
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("uuuu-MM-dd HH:mm:ss");
+
+    private Values() {
+    }
+
+    // 바인딩된 파라미터를 엔진이 쓰는 타입으로 맞춘다.
+    static Object normalize(Object value) {
+        if (value == null || value instanceof Long || value instanceof String || value instanceof Boolean) return value;
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte) return ((Number) value).longValue();
+        if (value instanceof Float || value instanceof BigDecimal) return ((Number) value).doubleValue();
+        if (value instanceof Timestamp timestamp) return timestamp.toLocalDateTime();
+        if (value instanceof java.sql.Date date) return date.toLocalDate();
+        if (value instanceof Character c) return String.valueOf(c);
+        if (value instanceof Enum<?> e) return e.name();
+        return value;
+    }
+
+    // WHERE 에서 참으로 보는 값. NULL 과 0 은 거짓이다.
+    static boolean isTrue(Object value) {
+        if (value == null) return false;
+        if (value instanceof Boolean b) return b;
+        if (value instanceof Long l) return l != 0;
+        if (value instanceof Number n) return n.doubleValue() != 0;
+        if (value instanceof String s) return toDouble(s) != 0;
+        return true;
+    }
+
+    // 둘 다 NULL 이 아니어야 한다. 숫자가 하나라도 있으면 숫자로, 날짜가 있으면 날짜로, 나머지는 대소문자 없이 문자열로 비교한다.
+    static int compare(Object a, Object b) {
+        if (isNumeric(a) || isNumeric(b)) {
+            if (isIntegral(a) && isIntegral(b)) return Long.compare(toLong(a), toLong(b));
+            return Double.compare(toDouble(a), toDouble(b));
+        }
+        if (a instanceof LocalDateTime || b instanceof LocalDateTime || a instanceof LocalDate || b instanceof LocalDate) {
+            return toDateTime(a).compareTo(toDateTime(b));
+        }
+        if (a instanceof byte[] x && b instanceof byte[] y) return Arrays.compare(x, y);
+        return toText(a).compareToIgnoreCase(toText(b));
+    }
+
+    static boolean isIntegral(Object value) {
+        return value instanceof Long || value instanceof Boolean;
+    }
+
+    private static boolean isNumeric(Object value) {
+        return value instanceof Number || value instanceof Boolean;
+    }
+
+    static long toLong(Object value) {
+        if (value instanceof Long l) return l;
+        if (value instanceof Boolean b) return b ? 1 : 0;
+        if (value instanceof Double d) return Math.round(d);
+        if (value instanceof Number n) return n.longValue();
+        if (value instanceof String s) {
+            String trimmed = s.strip();
+            try {
+                return Long.parseLong(trimmed);
+            } catch (NumberFormatException e) {
+                return Math.round(toDouble(trimmed));
+            }
+        }
+        if (value instanceof byte[] bytes && bytes.length <= 8) {
+            long result = 0;
+            for (byte b : bytes) result = result << 8 | (b & 0xFF);
+            return result;
+        }
+        throw new RuntimeException("값을 바꿀 수 없습니다: " + value);
+    }
+
+    static double toDouble(Object value) {
+        if (value instanceof Number n) return n.doubleValue();
+        if (value instanceof Boolean b) return b ? 1 : 0;
+        if (value instanceof String s) {
+            // MySQL 처럼 앞쪽의 숫자 부분만 읽고, 숫자가 없으면 0 으로 본다.
+            String trimmed = s.strip();
+            int end = 0;
+            while (end < trimmed.length() && "+-0123456789.eE".indexOf(trimmed.charAt(end)) >= 0) end++;
+            while (end > 0) {
+                try {
+                    return Double.parseDouble(trimmed.substring(0, end));
+                } catch (NumberFormatException e) {
+                    end--;
+                }
+            }
+            return 0;
+        }
+        throw new RuntimeException("값을 바꿀 수 없습니다: " + value);
+    }
+
+    static String toText(Object value) {
+        if (value instanceof String s) return s;
+        if (value instanceof Boolean b) return b ? "1" : "0";
+        if (value instanceof LocalDateTime dateTime) {
+            String text = dateTime.format(DATE_TIME);
+            if (dateTime.getNano() == 0) return text;
+            return text + "." + String.format("%06d", dateTime.getNano() / 1000);
+        }
+        if (value instanceof byte[] bytes) return new String(bytes, StandardCharsets.UTF_8);
+        return String.valueOf(value);
+    }
+
+    static LocalDateTime toDateTime(Object value) {
+        if (value instanceof LocalDateTime dateTime) return dateTime;
+        if (value instanceof LocalDate date) return date.atStartOfDay();
+        if (value instanceof Timestamp timestamp) return timestamp.toLocalDateTime();
+        if (value instanceof String s) {
+            String text = s.strip().replace('T', ' ');
+            if (text.length() <= 10) return LocalDate.parse(text).atStartOfDay();
+            int space = text.indexOf(' ');
+            return LocalDateTime.of(LocalDate.parse(text.substring(0, space)), LocalTime.parse(text.substring(space + 1)));
+        }
+        throw new RuntimeException("값을 바꿀 수 없습니다: " + value);
+    }
+
+    static byte[] toBytes(Object value) {
+        if (value instanceof byte[] bytes) return bytes;
+        return toText(value).getBytes(StandardCharsets.UTF_8);
+    }
+}
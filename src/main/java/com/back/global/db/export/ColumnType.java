@@ -0,0 +1,35 @@
+package com.back.global.db.export;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+
+// 내보내기 파일에 기록하는 값의 종류. code 는 COLUMNAR 헤더에 들어가는 값이다.
+enum ColumnType {
+    LONG(1),
+    DOUBLE(2),
+    BOOLEAN(3),
+    TIMESTAMP(4),
+    STRING(5),
+    BYTES(6);
+
+    final byte code;
+
+    ColumnType(int code) {
+        this.code = (byte) code;
+    }
+
+    static ColumnType of(ResultSetMetaData metaData, int column) throws SQLException {
+        return switch (metaData.getColumnType(column)) {
+            case Types.TINYINT, Types.SMALLINT, Types.INTEGER, Types.BIGINT -> LONG;
+            case Types.FLOAT, Types.REAL, Types.DOUBLE -> DOUBLE;
+            // BIT(1) 만 참/거짓이고, 더 긴 BIT 는 바이트로 둔다.
+            case Types.BIT -> metaData.getPrecision(column) <= 1 ? BOOLEAN : BYTES;
+            case Types.BOOLEAN -> BOOLEAN;
+            case Types.DATE, Types.TIMESTAMP, Types.TIMESTAMP_WITH_TIMEZONE -> TIMESTAMP;
+            case Types.BINARY, Types.VARBINARY, Types.LONGVARBINARY, Types.BLOB -> BYTES;
+            // DECIMAL 은 정밀도를 잃지 않도록 문자열로 둔다.
+            default -> STRING;
+        };
+    }
+}
@@ -0,0 +1,256 @@
+package com.back.global.db.export;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+// 행을 컬럼별 원시 배열에 ROW_GROUP_SIZE 개씩 모았다가 컬럼 단위로 이어 쓴다. 형식은 ExportFormat.COLUMNAR 참고.
+// 버퍼는 처음 한 번만 만들고 묶음마다 재사용하므로 행 수와 상관없이 힙 사용량이 일정하다.
+final class ColumnarExporter {
+    static final byte[] MAGIC = {'S', 'D', 'B', 'C'};
+    static final int VERSION = 1;
+    static final int ROW_GROUP_SIZE = 65536;
+
+    private final MappedFileWriter writer;
+
+    ColumnarExporter(MappedFileWriter writer) {
+        this.writer = writer;
+    }
+
+    long export(ResultSet rs) throws SQLException, IOException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        int columnCount = metaData.getColumnCount();
+        Column[] columns = new Column[columnCount];
+
+        writer.putBytes(MAGIC, 0, MAGIC.length);
+        writer.putInt(VERSION);
+        writer.putInt(columnCount);
+        for (int i = 0; i < columnCount; i++) {
+            ColumnType type = ColumnType.of(metaData, i + 1);
+            byte[] name = metaData.getColumnLabel(i + 1).getBytes(StandardCharsets.UTF_8);
+            writer.putInt(name.length);
+            writer.putBytes(name, 0, name.length);
+            writer.putByte(type.code);
+            columns[i] = Column.of(type, i + 1);
+        }
+
+        long totalRows = 0;
+        int rows = 0;
+        while (rs.next()) {
+            for (Column column : columns) {
+                column.read(rs, rows);
+            }
+            if (++rows == ROW_GROUP_SIZE) {
+                writeRowGroup(columns, rows);
+                totalRows += rows;
+                rows = 0;
+            }
+        }
+        if (rows > 0) {
+            writeRowGroup(columns, rows);
+            totalRows += rows;
+        }
+
+        writer.putInt(0);
+        writer.putLong(totalRows);
+        return totalRows;
+    }
+
+    private void writeRowGroup(Column[] columns, int rows) throws IOException {
+        writer.putInt(rows);
+        for (Column column : columns) {
+            writer.putBytes(column.nulls, 0, (rows + 7) / 8);
+            column.write(writer, rows);
+            Arrays.fill(column.nulls, (byte) 0);
+        }
+    }
+
+    private abstract static class Column {
+        final int index;
+        final byte[] nulls = new byte[(ROW_GROUP_SIZE + 7) / 8];
+
+        Column(int index) {
+            this.index = index;
+        }
+
+        static Column of(ColumnType type, int index) {
+            return switch (type) {
+                case LONG -> new LongColumn(index);
+                case DOUBLE -> new DoubleColumn(index);
+                case BOOLEAN -> new BooleanColumn(index);
+                case TIMESTAMP -> new TimestampColumn(index);
+                case STRING -> new StringColumn(index);
+                case BYTES -> new BytesColumn(index);
+            };
+        }
+
+        void markNull(int row) {
+            nulls[row >> 3] |= (byte) (1 << (row & 7));
+        }
+
+        abstract void read(ResultSet rs, int row) throws SQLException;
+
+        abstract void write(MappedFileWriter writer, int rows) throws IOException;
+    }
+
+    private static class LongColumn extends Column {
+        final long[] values = new long[ROW_GROUP_SIZE];
+
+        LongColumn(int index) {
+            super(index);
+        }
+
+        @Override
+        void read(ResultSet rs, int row) throws SQLException {
+            values[row] = rs.getLong(index);
+            if (rs.wasNull()) markNull(row);
+        }
+
+        @Override
+        void write(MappedFileWriter writer, int rows) throws IOException {
+            for (int i = 0; i < rows; i++) writer.putLong(values[i]);
+        }
+    }
+
+    private static class DoubleColumn extends Column {
+        final double[] values = new double[ROW_GROUP_SIZE];
+
+        DoubleColumn(int index) {
+            super(index);
+        }
+
+        @Override
+        void read(ResultSet rs, int row) throws SQLException {
+            values[row] = rs.getDouble(index);
+            if (rs.wasNull()) markNull(row);
+        }
+
+        @Override
+        void write(MappedFileWriter writer, int rows) throws IOException {
+            for (int i = 0; i < rows; i++) writer.putDouble(values[i]);
+        }
+    }
+
+    private static class BooleanColumn extends Column {
+        final byte[] values = new byte[ROW_GROUP_SIZE];
+
+        BooleanColumn(int index) {
+            super(index);
+        }
+
+        @Override
+        void read(ResultSet rs, int row) throws SQLException {
+            values[row] = rs.getBoolean(index) ? (byte) 1 : 0;
+            if (rs.wasNull()) markNull(row);
+        }
+
+        @Override
+        void write(MappedFileWriter writer, int rows) throws IOException {
+            writer.putBytes(values, 0, rows);
+        }
+    }
+
+    private static class TimestampColumn extends LongColumn {
+        TimestampColumn(int index) {
+            super(index);
+        }
+
+        @Override
+        void read(ResultSet rs, int row) throws SQLException {
+            LocalDateTime value = rs.getObject(index, LocalDateTime.class);
+            if (value == null) {
+                values[row] = 0;
+                markNull(row);
+                return;
+            }
+            values[row] = value.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + value.getNano() / 1_000;
+        }
+    }
+
+    // 가변 길이 값은 한 바이트 배열에 이어 붙이고 시작 위치만 따로 둔다.
+    private abstract static class VariableColumn extends Column {
+        final int[] offsets = new int[ROW_GROUP_SIZE + 1];
+        byte[] bytes = new byte[ROW_GROUP_SIZE * 16];
+        int length;
+
+        VariableColumn(int index) {
+            super(index);
+        }
+
+        void ensureCapacity(int extra) {
+            if (length + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+            }
+        }
+
+        @Override
+        void write(MappedFileWriter writer, int rows) throws IOException {
+            for (int i = 0; i <= rows; i++) writer.putInt(offsets[i]);
+            writer.putBytes(bytes, 0, length);
+            length = 0;
+        }
+    }
+
+    private static class StringColumn extends VariableColumn {
+        StringColumn(int index) {
+            super(index);
+        }
+
+        @Override
+        void read(ResultSet rs, int row) throws SQLException {
+            offsets[row] = length;
+            String value = rs.getString(index);
+            if (value == null) markNull(row);
+            else appendUtf8(value);
+            offsets[row + 1] = length;
+        }
+
+        private void appendUtf8(String value) {
+            ensureCapacity(value.length() * 3);
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c < 0x80) {
+                    bytes[length++] = (byte) c;
+                } else if (c < 0x800) {
+                    bytes[length++] = (byte) (0xC0 | c >> 6);
+                    bytes[length++] = (byte) (0x80 | c & 0x3F);
+                } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    bytes[length++] = (byte) (0xF0 | codePoint >> 18);
+                    bytes[length++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                    bytes[length++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                    bytes[length++] = (byte) (0x80 | codePoint & 0x3F);
+                } else {
+                    bytes[length++] = (byte) (0xE0 | c >> 12);
+                    bytes[length++] = (byte) (0x80 | c >> 6 & 0x3F);
+                    bytes[length++] = (byte) (0x80 | c & 0x3F);
+                }
+            }
+        }
+    }
+
+    private static class BytesColumn extends VariableColumn {
+        BytesColumn(int index) {
+            super(index);
+        }
+
+        @Override
+        void read(ResultSet rs, int row) throws SQLException {
+            offsets[row] = length;
+            byte[] value = rs.getBytes(index);
+            if (value == null) {
+                markNull(row);
+            } else {
+                ensureCapacity(value.length);
+                System.arraycopy(value, 0, bytes, length, value.length);
+                length += value.length;
+            }
+            offsets[row + 1] = length;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.back.global.db.export;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+// 결과 셋을 한 행씩 읽어 CSV 로 쓴다. 정수 컬럼은 문자열을 거치지 않고 바로 숫자로 쓴다.
+final class CsvExporter {
+    private static final byte[] HEX = "0123456789abcdef".getBytes();
+
+    private final MappedFileWriter writer;
+
+    CsvExporter(MappedFileWriter writer) {
+        this.writer = writer;
+    }
+
+    long export(ResultSet rs) throws SQLException, IOException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        int columnCount = metaData.getColumnCount();
+        ColumnType[] types = new ColumnType[columnCount + 1];
+
+        for (int i = 1; i <= columnCount; i++) {
+            types[i] = ColumnType.of(metaData, i);
+            if (i > 1) writer.putByte((byte) ',');
+            putText(metaData.getColumnLabel(i));
+        }
+        writer.putByte((byte) '\n');
+
+        long rows = 0;
+        while (rs.next()) {
+            for (int i = 1; i <= columnCount; i++) {
+                if (i > 1) writer.putByte((byte) ',');
+                putValue(rs, i, types[i]);
+            }
+            writer.putByte((byte) '\n');
+            rows++;
+        }
+        return rows;
+    }
+
+    private void putValue(ResultSet rs, int column, ColumnType type) throws SQLException, IOException {
+        switch (type) {
+            case LONG -> {
+                long value = rs.getLong(column);
+                if (!rs.wasNull()) writer.putAsciiLong(value);
+            }
+            case DOUBLE -> {
+                double value = rs.getDouble(column);
+                if (!rs.wasNull()) putAscii(Double.toString(value));
+            }
+            case BOOLEAN -> {
+                boolean value = rs.getBoolean(column);
+                if (!rs.wasNull()) putAscii(value ? "true" : "false");
+            }
+            case TIMESTAMP -> {
+                LocalDateTime value = rs.getObject(column, LocalDateTime.class);
+                if (value != null) putAscii(value.toString());
+            }
+            case STRING -> {
+                String value = rs.getString(column);
+                if (value != null) putText(value);
+            }
+            case BYTES -> {
+                byte[] value = rs.getBytes(column);
+                if (value != null) putHex(value);
+            }
+        }
+    }
+
+    // 구분자, 따옴표, 줄바꿈이 있거나 빈 문자열이면 따옴표로 감싸고 안의 따옴표는 두 번 쓴다.
+    private void putText(String value) throws IOException {
+        if (!needsQuote(value)) {
+            writer.putUtf8(value, 0, value.length());
+            return;
+        }
+
+        writer.putByte((byte) '"');
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == '"') {
+                writer.putUtf8(value, start, i + 1);
+                writer.putByte((byte) '"');
+                start = i + 1;
+            }
+        }
+        writer.putUtf8(value, start, value.length());
+        writer.putByte((byte) '"');
+    }
+
+    private void putAscii(String value) throws IOException {
+        writer.putUtf8(value, 0, value.length());
+    }
+
+    private void putHex(byte[] value) throws IOException {
+        for (byte b : value) {
+            writer.putByte(HEX[(b >> 4) & 0xF]);
+            writer.putByte(HEX[b & 0xF]);
+        }
+    }
+
+    private static boolean needsQuote(String value) {
+        if (value.isEmpty()) return true;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') return true;
+        }
+        return false;
+    }
+}
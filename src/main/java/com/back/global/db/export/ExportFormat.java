@@ -0,0 +1,15 @@
+package com.back.global.db.export;
+
+public enum ExportFormat {
+    // 첫 줄은 컬럼 라벨. NULL 은 빈 칸, 빈 문자열은 "" 로 구분한다.
+    CSV,
+
+    // 행 묶음(row group) 단위로 컬럼마다 값을 이어 붙인 리틀 엔디언 바이너리.
+    //
+    // 헤더:   "SDBC" | version:int | columnCount:int | (nameLength:int, name:utf8, type:byte) * columnCount
+    // 묶음:   rowCount:int | 컬럼마다 (nullBitmap: ceil(rowCount / 8) 바이트, 값들)
+    //         LONG, DOUBLE, TIMESTAMP(UTC 기준 epoch 마이크로초) 는 8바이트씩, BOOLEAN 은 1바이트씩,
+    //         STRING, BYTES 는 offsets:int * (rowCount + 1) 뒤에 바이트들. NULL 자리의 값은 0 이나 길이 0 이다.
+    // 끝:     rowCount 0 인 묶음 | totalRows:long
+    COLUMNAR
+}
@@ -0,0 +1,131 @@
+package com.back.global.db.export;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// 파일을 일정 크기 창(window)씩 메모리에 매핑해 순서대로 써 나간다.
+// 창이 차면 현재 위치부터 다음 창을 매핑하므로 파일 크기와 상관없이 힙은 일정하게 쓰고, 닫을 때 실제 쓴 길이로 자른다.
+final class MappedFileWriter implements AutoCloseable {
+    private static final long DEFAULT_WINDOW_SIZE = 64L * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final long windowSize;
+    private final byte[] digits = new byte[20];
+    private MappedByteBuffer window;
+    private long windowStart;
+
+    MappedFileWriter(Path path) throws IOException {
+        this(path, DEFAULT_WINDOW_SIZE);
+    }
+
+    MappedFileWriter(Path path, long windowSize) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.windowSize = windowSize;
+        map(0);
+    }
+
+    long position() {
+        return windowStart + window.position();
+    }
+
+    void putByte(byte value) throws IOException {
+        ensure(1);
+        window.put(value);
+    }
+
+    void putInt(int value) throws IOException {
+        ensure(Integer.BYTES);
+        window.putInt(value);
+    }
+
+    void putLong(long value) throws IOException {
+        ensure(Long.BYTES);
+        window.putLong(value);
+    }
+
+    void putDouble(double value) throws IOException {
+        ensure(Double.BYTES);
+        window.putDouble(value);
+    }
+
+    void putBytes(byte[] bytes, int offset, int length) throws IOException {
+        while (length > 0) {
+            ensure(1);
+            int chunk = Math.min(length, window.remaining());
+            window.put(bytes, offset, chunk);
+            offset += chunk;
+            length -= chunk;
+        }
+    }
+
+    // 문자열 객체를 새로 만들지 않고 UTF-8 로 바로 쓴다.
+    void putUtf8(CharSequence s, int from, int to) throws IOException {
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                putByte((byte) c);
+            } else if (c < 0x800) {
+                ensure(2);
+                window.put((byte) (0xC0 | c >> 6));
+                window.put((byte) (0x80 | c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < to && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, s.charAt(++i));
+                ensure(4);
+                window.put((byte) (0xF0 | codePoint >> 18));
+                window.put((byte) (0x80 | codePoint >> 12 & 0x3F));
+                window.put((byte) (0x80 | codePoint >> 6 & 0x3F));
+                window.put((byte) (0x80 | codePoint & 0x3F));
+            } else {
+                ensure(3);
+                window.put((byte) (0xE0 | c >> 12));
+                window.put((byte) (0x80 | c >> 6 & 0x3F));
+                window.put((byte) (0x80 | c & 0x3F));
+            }
+        }
+    }
+
+    // Long.toString 없이 10진수 ASCII 로 쓴다.
+    void putAsciiLong(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            putUtf8("-9223372036854775808", 0, 20);
+            return;
+        }
+        if (value < 0) {
+            putByte((byte) '-');
+            value = -value;
+        }
+
+        int start = digits.length;
+        do {
+            digits[--start] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value > 0);
+        putBytes(digits, start, digits.length - start);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            long size = position();
+            window = null;
+            channel.truncate(size);
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (window.remaining() < bytes) map(position());
+    }
+
+    private void map(long position) throws IOException {
+        window = channel.map(FileChannel.MapMode.READ_WRITE, position, windowSize);
+        window.order(ByteOrder.LITTLE_ENDIAN);
+        windowStart = position;
+    }
+}
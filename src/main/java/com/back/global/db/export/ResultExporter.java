@@ -0,0 +1,24 @@
+package com.back.global.db.export;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+// Sql.exportTo 가 스트리밍 결과 셋을 넘겨 호출한다. 행 객체를 만들지 않고 결과 셋에서 파일로 바로 옮긴다.
+public final class ResultExporter {
+    private ResultExporter() {
+    }
+
+    // 내보낸 행 수를 돌려준다. 기존 파일은 덮어쓴다.
+    public static long export(ResultSet rs, Path path, ExportFormat format) throws SQLException {
+        try (MappedFileWriter writer = new MappedFileWriter(path)) {
+            return switch (format) {
+                case CSV -> new CsvExporter(writer).export(rs);
+                case COLUMNAR -> new ColumnarExporter(writer).export(rs);
+            };
+        } catch (IOException e) {
+            throw new RuntimeException("파일 내보내기 실패: " + path, e);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.back.global.db.mapper;
+
+import java.util.*;
+
+// 라벨은 RowSchema 와 공유하고 값만 배열에 담는 행 표현.
+// HashMap 처럼 자유롭게 고칠 수 있다. 결과 셋에 없던 키는 따로 둔 맵에 담고, 지운 컬럼은 배열에 ABSENT 로 표시한다.
+public class ArrayRowMap extends AbstractMap<String, Object> {
+    private static final Object ABSENT = new Object();
+
+    private final RowSchema schema;
+    private final Object[] values;
+    private int removed;
+    // 결과 셋에 없던 키. 처음 추가할 때 만든다.
+    private Map<String, Object> extra;
+
+    ArrayRowMap(RowSchema schema, Object[] values) {
+        this.schema = schema;
+        this.values = values;
+    }
+
+    // 같은 스키마를 쓰는 독립된 사본. 값 객체 자체는 복사하지 않는다.
+    public ArrayRowMap copy() {
+        ArrayRowMap copy = new ArrayRowMap(schema, values.clone());
+        copy.removed = removed;
+        if (extra != null) copy.extra = new LinkedHashMap<>(extra);
+        return copy;
+    }
+
+    @Override
+    public int size() {
+        return values.length - removed + (extra != null ? extra.size() : 0);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        int position = schema.indexOf(key);
+        if (position >= 0) return values[position] != ABSENT;
+        return extra != null && extra.containsKey(key);
+    }
+
+    @Override
+    public Object get(Object key) {
+        int position = schema.indexOf(key);
+        if (position >= 0) return values[position] != ABSENT ? values[position] : null;
+        return extra != null ? extra.get(key) : null;
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        int position = schema.indexOf(key);
+        if (position < 0) {
+            if (extra == null) extra = new LinkedHashMap<>();
+            return extra.put(key, value);
+        }
+
+        Object old = values[position];
+        values[position] = value;
+        if (old != ABSENT) return old;
+
+        removed--;
+        return null;
+    }
+
+    @Override
+    public Object remove(Object key) {
+        int position = schema.indexOf(key);
+        if (position < 0) return extra != null ? extra.remove(key) : null;
+
+        Object old = values[position];
+        if (old == ABSENT) return null;
+
+        values[position] = ABSENT;
+        removed++;
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(values, ABSENT);
+        removed = values.length;
+        extra = null;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public int size() {
+                return ArrayRowMap.this.size();
+            }
+
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new Iterator<>() {
+                    private int position = nextPresent(0);
+                    private int current = -1;
+                    private Iterator<Entry<String, Object>> extraIterator;
+
+                    @Override
+                    public boolean hasNext() {
+                        if (position < values.length) return true;
+                        if (extraIterator == null) {
+                            if (extra == null) return false;
+                            extraIterator = extra.entrySet().iterator();
+                        }
+                        return extraIterator.hasNext();
+                    }
+
+                    @Override
+                    public Entry<String, Object> next() {
+                        if (!hasNext()) throw new NoSuchElementException();
+                        if (extraIterator != null) {
+                            current = -1;
+                            return extraIterator.next();
+                        }
+
+                        int index = current = position;
+                        position = nextPresent(position + 1);
+                        return new SimpleEntry<>(schema.getLabel(index), values[index]) {
+                            @Override
+                            public Object setValue(Object value) {
+                                values[index] = value;
+                                return super.setValue(value);
+                            }
+                        };
+                    }
+
+                    @Override
+                    public void remove() {
+                        if (extraIterator != null && current < 0) {
+                            extraIterator.remove();
+                            return;
+                        }
+                        if (current < 0 || values[current] == ABSENT) throw new IllegalStateException();
+
+                        values[current] = ABSENT;
+                        removed++;
+                    }
+                };
+            }
+        };
+    }
+
+    private int nextPresent(int position) {
+        while (position < values.length && values[position] == ABSENT) position++;
+        return position;
+    }
+}
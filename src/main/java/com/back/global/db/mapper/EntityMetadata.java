@@ -0,0 +1,105 @@
+package com.back.global.db.mapper;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class EntityMetadata<T> {
+    private static final ClassValue<EntityMetadata<?>> CACHE = new ClassValue<>() {
+        @Override
+        protected EntityMetadata<?> computeValue(Class<?> type) {
+            return new EntityMetadata<>(type);
+        }
+    };
+
+    private final Class<T> type;
+    private final MethodHandle constructor;
+    private final Map<String, FieldAccessor> fields;
+    // 기본 생성자가 있고 final 인스턴스 필드가 없어, 매핑 대상 필드 값만으로 같은 객체를 다시 만들 수 있는지
+    private final boolean copyable;
+    // 컬럼 라벨 -> 필드. 매칭되지 않는 라벨도 SKIP 으로 기억해 둔다.
+    private final Map<String, FieldAccessor> columnCache = new ConcurrentHashMap<>();
+
+    private EntityMetadata(Class<T> type) {
+        this.type = type;
+
+        MethodHandles.Lookup lookup;
+        try {
+            lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException("객체 매핑 정보 생성 실패: " + type.getName(), e);
+        }
+
+        this.constructor = findConstructor(lookup, type);
+
+        Map<String, FieldAccessor> accessors = new LinkedHashMap<>();
+        boolean hasFinalFields = false;
+        for (Field field : type.getDeclaredFields()) {
+            int modifiers = field.getModifiers();
+            if (Modifier.isStatic(modifiers) || field.isSynthetic()) continue;
+            if (Modifier.isFinal(modifiers)) {
+                hasFinalFields = true;
+                continue;
+            }
+
+            try {
+                accessors.put(field.getName(), new FieldAccessor(field.getName(), field.getType(),
+                        lookup.unreflectSetter(field), lookup.unreflectGetter(field)));
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException("객체 매핑 정보 생성 실패: " + type.getName() + "." + field.getName(), e);
+            }
+        }
+        this.fields = Collections.unmodifiableMap(accessors);
+        this.copyable = constructor != null && !hasFinalFields;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> EntityMetadata<T> of(Class<T> type) {
+        return (EntityMetadata<T>) CACHE.get(type);
+    }
+
+    public Class<T> getType() {
+        return type;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T newInstance() {
+        if (constructor == null) throw new RuntimeException("객체 매핑 실패: 기본 생성자가 없습니다. " + type.getName());
+
+        try {
+            return (T) constructor.invokeExact();
+        } catch (Throwable e) {
+            throw new RuntimeException("객체 매핑 실패: " + type.getName(), e);
+        }
+    }
+
+    public boolean isCopyable() {
+        return copyable;
+    }
+
+    public FieldAccessor resolveColumn(String columnLabel) {
+        return columnCache.computeIfAbsent(columnLabel, label -> fields.getOrDefault(label, FieldAccessor.SKIP));
+    }
+
+    // 선언 순서대로 정렬된 매핑 대상 필드
+    public Collection<FieldAccessor> getFields() {
+        return fields.values();
+    }
+
+    public FieldAccessor getField(String name) {
+        return fields.get(name);
+    }
+
+    private static MethodHandle findConstructor(MethodHandles.Lookup lookup, Class<?> type) {
+        try {
+            return lookup.findConstructor(type, MethodType.methodType(void.class))
+                    .asType(MethodType.methodType(Object.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+}
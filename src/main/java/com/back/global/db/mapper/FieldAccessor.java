@@ -0,0 +1,75 @@
+package com.back.global.db.mapper;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+public class FieldAccessor {
+    // 엔티티에 대응하는 필드가 없는 컬럼. 한 번 판정된 뒤에는 예외 없이 건너뛴다.
+    static final FieldAccessor SKIP = new FieldAccessor(null, null, null, null);
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private final String name;
+    private final Class<?> type;
+    private final MethodHandle setter;
+    private final MethodHandle getter;
+    private final Function<Object, Object> converter;
+
+    FieldAccessor(String name, Class<?> type, MethodHandle setter, MethodHandle getter) {
+        this.name = name;
+        this.type = type;
+        this.setter = setter != null ? setter.asType(SETTER_TYPE) : null;
+        this.getter = getter != null ? getter.asType(GETTER_TYPE) : null;
+        this.converter = type != null ? converterFor(type) : Function.identity();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    public boolean isSkip() {
+        return setter == null;
+    }
+
+    public void set(Object target, Object value) {
+        if (setter == null) return;
+        // 원시 타입 필드에 NULL 이 오면 기본값을 유지한다.
+        if (value == null && type.isPrimitive()) return;
+
+        try {
+            setter.invokeExact(target, converter.apply(value));
+        } catch (Throwable e) {
+            throw new RuntimeException("필드 값 설정 실패: " + type.getName() + " " + name, e);
+        }
+    }
+
+    public Object get(Object target) {
+        try {
+            return getter.invokeExact(target);
+        } catch (Throwable e) {
+            throw new RuntimeException("필드 값 조회 실패: " + name, e);
+        }
+    }
+
+    private static Function<Object, Object> converterFor(Class<?> type) {
+        if (type == long.class || type == Long.class) return v -> v instanceof Number n ? n.longValue() : v;
+        if (type == int.class || type == Integer.class) return v -> v instanceof Number n ? n.intValue() : v;
+        if (type == short.class || type == Short.class) return v -> v instanceof Number n ? n.shortValue() : v;
+        if (type == byte.class || type == Byte.class) return v -> v instanceof Number n ? n.byteValue() : v;
+        if (type == double.class || type == Double.class) return v -> v instanceof Number n ? n.doubleValue() : v;
+        if (type == float.class || type == Float.class) return v -> v instanceof Number n ? n.floatValue() : v;
+        if (type == boolean.class || type == Boolean.class) return v -> v instanceof Number n ? n.intValue() != 0 : v;
+        if (type == LocalDateTime.class) return v -> v instanceof Timestamp ts ? ts.toLocalDateTime() : v;
+        if (type == LocalDate.class) return v -> v instanceof java.sql.Date d ? d.toLocalDate() : v;
+        return Function.identity();
+    }
+}
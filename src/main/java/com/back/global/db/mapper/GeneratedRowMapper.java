@@ -0,0 +1,43 @@
+package com.back.global.db.mapper;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+public class GeneratedRowMapper<T> implements BaseRowMapper<T> {
+    private final Supplier<T> constructor;
+    // 결과 셋 컬럼 인덱스(1부터)와 그 컬럼을 쓰는 setter. 엔티티에 없는 컬럼은 빠진다.
+    private final int[] indexes;
+    private final RowMapperGenerator.PropertyWriter[] writers;
+
+    GeneratedRowMapper(RowMapperGenerator.GeneratedEntity<T> entity, ResultSetMetaData metaData) throws SQLException {
+        this.constructor = entity.constructor();
+
+        int columnCount = metaData.getColumnCount();
+        int[] indexes = new int[columnCount];
+        RowMapperGenerator.PropertyWriter[] writers = new RowMapperGenerator.PropertyWriter[columnCount];
+        int size = 0;
+        for (int i = 1; i <= columnCount; i++) {
+            RowMapperGenerator.PropertyWriter writer = entity.writers().get(metaData.getColumnLabel(i));
+            if (writer == null) continue;
+
+            indexes[size] = i;
+            writers[size] = writer;
+            size++;
+        }
+
+        this.indexes = Arrays.copyOf(indexes, size);
+        this.writers = Arrays.copyOf(writers, size);
+    }
+
+    @Override
+    public T mapRow(ResultSet rs) throws SQLException {
+        T obj = constructor.get();
+        for (int i = 0; i < writers.length; i++) {
+            writers[i].write(rs, indexes[i], obj);
+        }
+        return obj;
+    }
+}
@@ -1,50 +1,34 @@
 package com.back.global.db.mapper;
 
-import java.lang.reflect.Field;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
-import java.sql.Timestamp;
-import java.time.LocalDateTime;
 
 public class ObjectRowMapper<T> implements BaseRowMapper<T> {
-    private final Class<T> clazz;
-    private final ResultSetMetaData metaData;
-    private final int columnCount;
+    private final EntityMetadata<T> entityMetadata;
+    // 결과 셋의 컬럼 순서대로 대응하는 필드. 컬럼 라벨 해석은 생성 시 한 번만 한다.
+    private final FieldAccessor[] columns;
 
     public ObjectRowMapper(Class<T> clazz, ResultSetMetaData metaData) throws SQLException {
-        this.clazz = clazz;
-        this.metaData = metaData;
-        this.columnCount = metaData.getColumnCount();
+        this.entityMetadata = EntityMetadata.of(clazz);
+
+        int columnCount = metaData.getColumnCount();
+        this.columns = new FieldAccessor[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            columns[i] = entityMetadata.resolveColumn(metaData.getColumnLabel(i + 1));
+        }
     }
 
     @Override
     public T mapRow(ResultSet rs) throws SQLException {
-        try {
-            T obj = clazz.getDeclaredConstructor().newInstance();
-
-            for (int i = 1; i <= columnCount; i++) {
-                String columnName = metaData.getColumnLabel(i);
-                Object value = rs.getObject(i);
+        T obj = entityMetadata.newInstance();
 
-                Field field;
-                try {
-                    field = clazz.getDeclaredField(columnName);
-                } catch (NoSuchFieldException e) {
-                    continue;
-                }
-                field.setAccessible(true);
+        for (int i = 0; i < columns.length; i++) {
+            FieldAccessor column = columns[i];
+            if (column.isSkip()) continue;
 
-                switch (value) {
-                    case Timestamp ts when field.getType().equals(LocalDateTime.class) ->
-                            field.set(obj, ts.toLocalDateTime());
-                    case Boolean b when field.getType().equals(boolean.class) -> field.set(obj, b);
-                    default -> field.set(obj, value);
-                }
-            }
-            return obj;
-        } catch (ReflectiveOperationException e) {
-            throw new RuntimeException("객체 매핑 실패: " + clazz.getName(), e);
+            column.set(obj, rs.getObject(i + 1));
         }
+        return obj;
     }
 }
@@ -0,0 +1,9 @@
+package com.back.global.db.mapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+@FunctionalInterface
+public interface RowHandler {
+    void handleRow(ResultSet rs) throws SQLException;
+}
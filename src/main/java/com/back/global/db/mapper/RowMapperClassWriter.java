@@ -0,0 +1,384 @@
+package com.back.global.db.mapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.sql.ResultSet;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 엔티티와 컬럼 배치 하나에 맞춘 BaseRowMapper 구현 클래스의 바이트코드를 만든다.
+// mapRow 는 "new 엔티티 -> setXxx(rs.getXxx(컬럼 인덱스)) 반복 -> return" 만 하고, 컬럼 인덱스와 setter 가
+// 상수로 박혀 JIT 가 호출을 모두 인라인할 수 있다. 원시 타입은 리플렉션 매퍼처럼 wasNull() 이면 setter 를 건너뛰어
+// 필드 초기값을 지키고, 그 분기 도착점마다 StackMapTable 프레임을 하나씩 적는다.
+final class RowMapperClassWriter {
+    // 컬럼 인덱스(1부터)와 그 값을 넣을 공개 setter
+    record Property(int columnIndex, Method setter) {
+    }
+
+    private static final int CLASS_VERSION = 61;
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+    private static final int ACC_SYNTHETIC = 0x1000;
+
+    private static final int ALOAD_0 = 0x2A;
+    private static final int ALOAD_1 = 0x2B;
+    private static final int ALOAD_2 = 0x2C;
+    private static final int ASTORE_2 = 0x4D;
+    private static final int ISTORE_3 = 0x3E;
+    private static final int LSTORE_3 = 0x42;
+    private static final int FSTORE_3 = 0x46;
+    private static final int DSTORE_3 = 0x4A;
+    private static final int ILOAD_3 = 0x1D;
+    private static final int LLOAD_3 = 0x21;
+    private static final int FLOAD_3 = 0x25;
+    private static final int DLOAD_3 = 0x29;
+    private static final int IFNE = 0x9A;
+    private static final int ICONST_0 = 0x03;
+    private static final int BIPUSH = 0x10;
+    private static final int SIPUSH = 0x11;
+    private static final int LDC_W = 0x13;
+    private static final int DUP = 0x59;
+    private static final int ARETURN = 0xB0;
+    private static final int RETURN = 0xB1;
+    private static final int INVOKEVIRTUAL = 0xB6;
+    private static final int INVOKESPECIAL = 0xB7;
+    private static final int INVOKEINTERFACE = 0xB9;
+    private static final int NEW = 0xBB;
+    private static final int CHECKCAST = 0xC0;
+
+    private static final int FULL_FRAME = 255;
+    private static final int ITEM_OBJECT = 7;
+
+    private static final String RESULT_SET = "java/sql/ResultSet";
+
+    private final ConstantPool pool = new ConstantPool();
+
+    private RowMapperClassWriter() {
+    }
+
+    // 지원하지 않는 필드 타입이 있으면 IllegalArgumentException
+    static byte[] write(String className, Class<?> entityType, List<Property> properties) {
+        return new RowMapperClassWriter().writeClass(className, entityType, properties);
+    }
+
+    // 값을 꺼낼 ResultSet getter 가 있는 타입인지
+    static boolean isSupported(Class<?> type) {
+        return getterFor(type) != null;
+    }
+
+    private byte[] writeClass(String className, Class<?> entityType, List<Property> properties) {
+        // 상수 풀을 먼저 다 채운 뒤에 써야 하므로 메서드 이름과 서술자도 미리 넣어 둔다.
+        int thisClass = pool.classRef(className);
+        int superClass = pool.classRef("java/lang/Object");
+        int baseRowMapper = pool.classRef(internalName(BaseRowMapper.class));
+        int codeAttribute = pool.utf8("Code");
+        int constructorName = pool.utf8("<init>");
+        int constructorDescriptor = pool.utf8("()V");
+        int mapRowName = pool.utf8("mapRow");
+        int mapRowDescriptor = pool.utf8("(L" + RESULT_SET + ";)Ljava/lang/Object;");
+        int stackMapAttribute = pool.utf8("StackMapTable");
+        byte[] constructor = constructorCode(superClass);
+        Code mapRow = mapRowCode(thisClass, entityType, properties);
+
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(CLASS_VERSION);
+            pool.writeTo(out);
+            out.writeShort(ACC_FINAL | ACC_SUPER | ACC_SYNTHETIC);
+            out.writeShort(thisClass);
+            out.writeShort(superClass);
+            out.writeShort(1);
+            out.writeShort(baseRowMapper);
+            out.writeShort(0);
+
+            out.writeShort(2);
+            writeMethod(out, constructorName, constructorDescriptor, codeAttribute, 1, 1, constructor, 0, null);
+            // 스택 최대: 엔티티, ResultSet, 컬럼 인덱스, Class 상수. 지역 변수: this, ResultSet, 엔티티, 원시 값(long/double 은 2칸)
+            writeMethod(out, mapRowName, mapRowDescriptor, codeAttribute, 4, 5, mapRow.toByteArray(),
+                    stackMapAttribute, mapRow.frames());
+
+            out.writeShort(0);
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private byte[] constructorCode(int superClass) {
+        Code code = new Code();
+        code.op(ALOAD_0);
+        code.op(INVOKESPECIAL).u2(pool.methodRef(superClass, "<init>", "()V", false));
+        code.op(RETURN);
+        return code.toByteArray();
+    }
+
+    private Code mapRowCode(int thisClass, Class<?> entityType, List<Property> properties) {
+        int entityClass = pool.classRef(internalName(entityType));
+        Code code = new Code();
+        code.op(NEW).u2(entityClass);
+        code.op(DUP);
+        code.op(INVOKESPECIAL).u2(pool.methodRef(entityClass, "<init>", "()V", false));
+        code.op(ASTORE_2);
+
+        int resultSet = pool.classRef(RESULT_SET);
+        int wasNull = pool.methodRef(resultSet, "wasNull", "()Z", true);
+        for (Property property : properties) {
+            Class<?> type = property.setter().getParameterTypes()[0];
+            Getter getter = getterFor(type);
+            if (getter == null) throw new IllegalArgumentException("지원하지 않는 필드 타입: " + type.getName());
+            Method setter = property.setter();
+            int setterRef = pool.methodRef(entityClass, setter.getName(),
+                    MethodType.methodType(void.class, type).toMethodDescriptorString(), false);
+
+            if (type.isPrimitive()) {
+                // v = rs.getXxx(i); if (!rs.wasNull()) entity.setXxx(v);
+                code.op(ALOAD_1);
+                pushInt(code, property.columnIndex());
+                code.op(INVOKEINTERFACE).u2(pool.methodRef(resultSet, getter.name(), getter.descriptor(), true)).u1(2).u1(0);
+                code.op(storeOpcode(type));
+                code.op(ALOAD_1);
+                code.op(INVOKEINTERFACE).u2(wasNull).u1(1).u1(0);
+                int branch = code.position();
+                code.op(IFNE).u2(0);
+                code.op(ALOAD_2);
+                code.op(loadOpcode(type));
+                code.op(INVOKEVIRTUAL).u2(setterRef);
+                code.patchU2(branch + 1, code.position() - branch);
+                code.frame(new int[]{thisClass, resultSet, entityClass});
+                continue;
+            }
+
+            code.op(ALOAD_2);
+            code.op(ALOAD_1);
+            pushInt(code, property.columnIndex());
+            if (getter.typed()) {
+                code.op(LDC_W).u2(pool.classRef(internalName(type)));
+                code.op(INVOKEINTERFACE).u2(pool.methodRef(resultSet, getter.name(), getter.descriptor(), true)).u1(3).u1(0);
+                code.op(CHECKCAST).u2(pool.classRef(internalName(type)));
+            } else {
+                code.op(INVOKEINTERFACE).u2(pool.methodRef(resultSet, getter.name(), getter.descriptor(), true)).u1(2).u1(0);
+            }
+            code.op(INVOKEVIRTUAL).u2(setterRef);
+        }
+
+        code.op(ALOAD_2);
+        code.op(ARETURN);
+        return code;
+    }
+
+    private static int storeOpcode(Class<?> type) {
+        if (type == long.class) return LSTORE_3;
+        if (type == double.class) return DSTORE_3;
+        if (type == float.class) return FSTORE_3;
+        return ISTORE_3;
+    }
+
+    private static int loadOpcode(Class<?> type) {
+        if (type == long.class) return LLOAD_3;
+        if (type == double.class) return DLOAD_3;
+        if (type == float.class) return FLOAD_3;
+        return ILOAD_3;
+    }
+
+    private static void pushInt(Code code, int value) {
+        if (value <= 5) code.op(ICONST_0 + value);
+        else if (value <= Byte.MAX_VALUE) code.op(BIPUSH).u1(value);
+        else code.op(SIPUSH).u2(value);
+    }
+
+    // stackMap 이 비어 있지 않으면 Code 속성 안에 StackMapTable 속성을 붙인다.
+    private static void writeMethod(DataOutputStream out, int name, int descriptor, int codeAttribute,
+                                    int maxStack, int maxLocals, byte[] code,
+                                    int stackMapAttribute, byte[] stackMap) throws IOException {
+        boolean hasStackMap = stackMap != null && stackMap.length > 0;
+        out.writeShort(ACC_PUBLIC);
+        out.writeShort(name);
+        out.writeShort(descriptor);
+        out.writeShort(1);
+
+        out.writeShort(codeAttribute);
+        out.writeInt(2 + 2 + 4 + code.length + 2 + 2 + (hasStackMap ? 2 + 4 + stackMap.length : 0));
+        out.writeShort(maxStack);
+        out.writeShort(maxLocals);
+        out.writeInt(code.length);
+        out.write(code);
+        out.writeShort(0);
+        if (hasStackMap) {
+            out.writeShort(1);
+            out.writeShort(stackMapAttribute);
+            out.writeInt(stackMap.length);
+            out.write(stackMap);
+        } else {
+            out.writeShort(0);
+        }
+    }
+
+    // typed 면 getObject(int, Class) 로 읽고 그 타입으로 캐스트한다.
+    private record Getter(String name, String descriptor, boolean typed) {
+    }
+
+    private static Getter getterFor(Class<?> type) {
+        if (type == long.class) return new Getter("getLong", "(I)J", false);
+        if (type == int.class) return new Getter("getInt", "(I)I", false);
+        if (type == short.class) return new Getter("getShort", "(I)S", false);
+        if (type == byte.class) return new Getter("getByte", "(I)B", false);
+        if (type == double.class) return new Getter("getDouble", "(I)D", false);
+        if (type == float.class) return new Getter("getFloat", "(I)F", false);
+        if (type == boolean.class) return new Getter("getBoolean", "(I)Z", false);
+        if (type == String.class) return new Getter("getString", "(I)Ljava/lang/String;", false);
+        if (type == Long.class || type == Integer.class || type == Boolean.class
+                || type == java.time.LocalDateTime.class || type == java.time.LocalDate.class) {
+            return new Getter("getObject", "(ILjava/lang/Class;)Ljava/lang/Object;", true);
+        }
+        return null;
+    }
+
+    private static String internalName(Class<?> type) {
+        return type.getName().replace('.', '/');
+    }
+
+    private static final class Code {
+        private byte[] bytes = new byte[128];
+        private int length;
+        // StackMapTable 엔트리들. 프레임은 현재 위치에 대해 순서대로 쌓인다.
+        private final ByteArrayOutputStream frames = new ByteArrayOutputStream();
+        private int frameCount;
+        private int lastFrame = -1;
+
+        Code op(int opcode) {
+            return u1(opcode);
+        }
+
+        Code u1(int value) {
+            if (length == bytes.length) bytes = Arrays.copyOf(bytes, length * 2);
+            bytes[length++] = (byte) value;
+            return this;
+        }
+
+        Code u2(int value) {
+            return u1(value >>> 8).u1(value);
+        }
+
+        int position() {
+            return length;
+        }
+
+        void patchU2(int at, int value) {
+            bytes[at] = (byte) (value >>> 8);
+            bytes[at + 1] = (byte) value;
+        }
+
+        // 현재 위치에 스택이 비고 지역 변수가 locals(모두 클래스 타입)인 full_frame
+        void frame(int[] locals) {
+            int position = length;
+            if (position == lastFrame) return;
+            DataOutputStream out = new DataOutputStream(frames);
+            try {
+                out.writeByte(FULL_FRAME);
+                out.writeShort(lastFrame < 0 ? position : position - lastFrame - 1);
+                out.writeShort(locals.length);
+                for (int local : locals) {
+                    out.writeByte(ITEM_OBJECT);
+                    out.writeShort(local);
+                }
+                out.writeShort(0);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            frameCount++;
+            lastFrame = position;
+        }
+
+        // number_of_entries 를 앞에 붙인 StackMapTable 본문, 프레임이 없으면 빈 배열
+        byte[] frames() {
+            if (frameCount == 0) return new byte[0];
+            byte[] entries = frames.toByteArray();
+            byte[] table = new byte[2 + entries.length];
+            table[0] = (byte) (frameCount >>> 8);
+            table[1] = (byte) frameCount;
+            System.arraycopy(entries, 0, table, 2, entries.length);
+            return table;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, length);
+        }
+    }
+
+    // 같은 상수는 한 번만 넣는다.
+    private static final class ConstantPool {
+        private static final int UTF8 = 1;
+        private static final int CLASS = 7;
+        private static final int METHOD_REF = 10;
+        private static final int INTERFACE_METHOD_REF = 11;
+        private static final int NAME_AND_TYPE = 12;
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        private final DataOutputStream out = new DataOutputStream(bytes);
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private int count = 1;
+
+        int utf8(String value) {
+            return indexes.computeIfAbsent("U" + value, key -> add(o -> {
+                o.writeByte(UTF8);
+                o.writeUTF(value);
+            }));
+        }
+
+        int classRef(String internalName) {
+            int name = utf8(internalName);
+            return indexes.computeIfAbsent("C" + internalName, key -> add(o -> {
+                o.writeByte(CLASS);
+                o.writeShort(name);
+            }));
+        }
+
+        int methodRef(int owner, String name, String descriptor, boolean isInterface) {
+            int nameAndType = nameAndType(name, descriptor);
+            return indexes.computeIfAbsent((isInterface ? "I" : "M") + owner + "." + nameAndType, key -> add(o -> {
+                o.writeByte(isInterface ? INTERFACE_METHOD_REF : METHOD_REF);
+                o.writeShort(owner);
+                o.writeShort(nameAndType);
+            }));
+        }
+
+        private int nameAndType(String name, String descriptor) {
+            int nameIndex = utf8(name);
+            int descriptorIndex = utf8(descriptor);
+            return indexes.computeIfAbsent("N" + name + ":" + descriptor, key -> add(o -> {
+                o.writeByte(NAME_AND_TYPE);
+                o.writeShort(nameIndex);
+                o.writeShort(descriptorIndex);
+            }));
+        }
+
+        void writeTo(DataOutputStream target) throws IOException {
+            target.writeShort(count);
+            bytes.writeTo(target);
+        }
+
+        private int add(Entry entry) {
+            try {
+                entry.write(out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return count++;
+        }
+
+        @FunctionalInterface
+        private interface Entry {
+            void write(DataOutputStream out) throws IOException;
+        }
+    }
+}
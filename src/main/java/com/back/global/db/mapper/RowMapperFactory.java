@@ -0,0 +1,10 @@
+package com.back.global.db.mapper;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+// 결과 셋마다 한 번 호출돼 그 결과 셋의 모든 행에 쓸 매퍼를 만든다.
+@FunctionalInterface
+public interface RowMapperFactory<T> {
+    BaseRowMapper<T> create(ResultSetMetaData metaData) throws SQLException;
+}
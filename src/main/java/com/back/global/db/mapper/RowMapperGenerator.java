@@ -0,0 +1,221 @@
+package com.back.global.db.mapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.invoke.*;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+// 엔티티와 결과 셋 컬럼 배치마다 BaseRowMapper 구현 클래스를 히든 클래스로 만들어 준다.
+// 생성된 mapRow 는 컬럼 인덱스와 setter 가 상수로 박힌 직선 코드라 컬럼마다 인터페이스 호출을 거치지 않는다.
+// 히든 클래스를 만들 수 없는 엔티티나 배치는 LambdaMetafactory 로 만든 setter 람다를 도는 GeneratedRowMapper 로 대체한다.
+@Slf4j
+class RowMapperGenerator {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    // 엔티티 하나가 만들 수 있는 컬럼 배치별 클래스 수. 넘으면 새 배치는 GeneratedRowMapper 로 처리한다.
+    private static final int MAX_LAYOUTS_PER_ENTITY = 64;
+
+    @FunctionalInterface
+    interface PropertyWriter {
+        void write(ResultSet rs, int index, Object target) throws SQLException;
+    }
+
+    @FunctionalInterface
+    interface LongSetter {
+        void set(Object target, long value);
+    }
+
+    @FunctionalInterface
+    interface IntSetter {
+        void set(Object target, int value);
+    }
+
+    @FunctionalInterface
+    interface DoubleSetter {
+        void set(Object target, double value);
+    }
+
+    @FunctionalInterface
+    interface BooleanSetter {
+        void set(Object target, boolean value);
+    }
+
+    // setters 는 히든 클래스가 직접 호출할 공개 setter, layouts 는 컬럼 배치별로 만든 매퍼다.
+    record GeneratedEntity<T>(Class<T> type, Supplier<T> constructor, Map<String, PropertyWriter> writers,
+                              Map<String, Method> setters, Map<String, BaseRowMapper<T>> layouts) {
+    }
+
+    // 공개 기본 생성자가 없으면 생성하지 않는다. 이 경우 리플렉션 매퍼로 대체된다.
+    @SuppressWarnings("unchecked")
+    static <T> Optional<GeneratedEntity<T>> generate(Class<T> type) {
+        if (!Modifier.isPublic(type.getModifiers())) return Optional.empty();
+
+        Supplier<T> constructor;
+        try {
+            MethodHandle ctor = LOOKUP.findConstructor(type, MethodType.methodType(void.class));
+            constructor = (Supplier<T>) LambdaMetafactory.metafactory(LOOKUP, "get",
+                    MethodType.methodType(Supplier.class), MethodType.methodType(Object.class),
+                    ctor, MethodType.methodType(type)).getTarget().invokeExact();
+        } catch (Throwable e) {
+            log.debug("{} 의 생성자를 묶지 못해 리플렉션 매퍼를 씁니다.", type.getName(), e);
+            return Optional.empty();
+        }
+
+        EntityMetadata<T> entityMetadata = EntityMetadata.of(type);
+        Map<String, PropertyWriter> writers = new HashMap<>();
+        Map<String, Method> setters = new HashMap<>();
+        for (FieldAccessor field : entityMetadata.getFields()) {
+            Method setter = findSetter(type, field);
+            writers.put(field.getName(), writerFor(type, field, setter));
+            if (setter != null) setters.put(field.getName(), setter);
+        }
+        return Optional.of(new GeneratedEntity<>(type, constructor, Map.copyOf(writers), Map.copyOf(setters),
+                new ConcurrentHashMap<>()));
+    }
+
+    // 같은 컬럼 배치면 앞서 만든 매퍼를 그대로 쓴다.
+    static <T> BaseRowMapper<T> mapperFor(GeneratedEntity<T> entity, ResultSetMetaData metaData) throws SQLException {
+        int columnCount = metaData.getColumnCount();
+        StringBuilder layoutKey = new StringBuilder();
+        List<RowMapperClassWriter.Property> properties = new ArrayList<>(columnCount);
+        boolean generatable = true;
+        for (int i = 1; i <= columnCount; i++) {
+            String label = metaData.getColumnLabel(i);
+            layoutKey.append(label).append(',');
+            if (!entity.writers().containsKey(label)) continue;
+
+            Method setter = entity.setters().get(label);
+            if (setter == null || !RowMapperClassWriter.isSupported(setter.getParameterTypes()[0])) {
+                generatable = false;
+                continue;
+            }
+            properties.add(new RowMapperClassWriter.Property(i, setter));
+        }
+
+        if (!generatable) return new GeneratedRowMapper<>(entity, metaData);
+
+        String key = layoutKey.toString();
+        BaseRowMapper<T> mapper = entity.layouts().get(key);
+        if (mapper != null) return mapper;
+        if (entity.layouts().size() >= MAX_LAYOUTS_PER_ENTITY) return new GeneratedRowMapper<>(entity, metaData);
+
+        mapper = defineMapper(entity.type(), properties);
+        if (mapper == null) return new GeneratedRowMapper<>(entity, metaData);
+
+        BaseRowMapper<T> existing = entity.layouts().putIfAbsent(key, mapper);
+        return existing != null ? existing : mapper;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> BaseRowMapper<T> defineMapper(Class<T> type, List<RowMapperClassWriter.Property> properties) {
+        try {
+            // 히든 클래스는 이 클래스의 로더로 엔티티를 찾으므로 같은 클래스로 풀리는지 먼저 본다.
+            if (Class.forName(type.getName(), false, RowMapperGenerator.class.getClassLoader()) != type) {
+                log.debug("{} 를 매퍼 생성 클래스 로더에서 찾을 수 없어 생성 매퍼를 만들지 않습니다.", type.getName());
+                return null;
+            }
+
+            String className = RowMapperGenerator.class.getPackageName().replace('.', '/') + "/" + type.getSimpleName() + "RowMapper";
+            byte[] bytes = RowMapperClassWriter.write(className, type, properties);
+            MethodHandles.Lookup mapperLookup = LOOKUP.defineHiddenClass(bytes, true);
+            return (BaseRowMapper<T>) mapperLookup.findConstructor(mapperLookup.lookupClass(), MethodType.methodType(void.class)).invoke();
+        } catch (Throwable e) {
+            log.debug("{} 의 매퍼 클래스를 만들지 못해 setter 람다 매퍼를 씁니다.", type.getName(), e);
+            return null;
+        }
+    }
+
+    // 원시 타입 필드는 컬럼이 NULL 이면 setter 를 부르지 않아 필드 초기값을 유지한다. 리플렉션 매퍼(FieldAccessor.set)와 같다.
+    private static PropertyWriter writerFor(Class<?> type, FieldAccessor field, Method setterMethod) {
+        Class<?> fieldType = field.getType();
+        MethodHandle setter = unreflect(setterMethod);
+
+        try {
+            if (setter != null) {
+                if (fieldType == long.class) {
+                    LongSetter s = bind(LongSetter.class, setter, long.class);
+                    return (rs, i, target) -> {
+                        long value = rs.getLong(i);
+                        if (!rs.wasNull()) s.set(target, value);
+                    };
+                }
+                if (fieldType == int.class) {
+                    IntSetter s = bind(IntSetter.class, setter, int.class);
+                    return (rs, i, target) -> {
+                        int value = rs.getInt(i);
+                        if (!rs.wasNull()) s.set(target, value);
+                    };
+                }
+                if (fieldType == double.class) {
+                    DoubleSetter s = bind(DoubleSetter.class, setter, double.class);
+                    return (rs, i, target) -> {
+                        double value = rs.getDouble(i);
+                        if (!rs.wasNull()) s.set(target, value);
+                    };
+                }
+                if (fieldType == boolean.class) {
+                    BooleanSetter s = bind(BooleanSetter.class, setter, boolean.class);
+                    return (rs, i, target) -> {
+                        boolean value = rs.getBoolean(i);
+                        if (!rs.wasNull()) s.set(target, value);
+                    };
+                }
+                if (fieldType == String.class || fieldType == LocalDateTime.class || fieldType == LocalDate.class
+                        || fieldType == Long.class || fieldType == Integer.class || fieldType == Boolean.class) {
+                    BiConsumer<Object, Object> s = bind(BiConsumer.class, setter, Object.class);
+                    return (rs, i, target) -> s.accept(target, rs.getObject(i, fieldType));
+                }
+            }
+        } catch (Throwable e) {
+            log.debug("{}.{} 의 setter 람다를 만들지 못해 리플렉션으로 넣습니다.", type.getName(), field.getName(), e);
+        }
+
+        return (rs, i, target) -> field.set(target, rs.getObject(i));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <S> S bind(Class<?> setterInterface, MethodHandle setter, Class<?> valueType) throws Throwable {
+        MethodType samType = MethodType.methodType(void.class, Object.class, valueType);
+        return (S) LambdaMetafactory.metafactory(LOOKUP, setterInterface == BiConsumer.class ? "accept" : "set",
+                MethodType.methodType(setterInterface), samType, setter, setter.type()).getTarget().invoke();
+    }
+
+    // Lombok 규칙의 공개 setter 를 찾는다. boolean isXxx 필드는 setXxx 로 생성된다.
+    private static Method findSetter(Class<?> type, FieldAccessor field) {
+        String name = field.getName();
+        String setterName = "set" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        if (field.getType() == boolean.class && name.length() > 2 && name.startsWith("is") && Character.isUpperCase(name.charAt(2))) {
+            setterName = "set" + name.substring(2);
+        }
+
+        try {
+            Method method = type.getMethod(setterName, field.getType());
+            return method.getReturnType() == void.class ? method : null;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static MethodHandle unreflect(Method method) {
+        if (method == null) return null;
+
+        try {
+            return LOOKUP.unreflect(method);
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+}
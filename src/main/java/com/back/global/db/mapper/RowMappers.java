@@ -0,0 +1,44 @@
+package com.back.global.db.mapper;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// 엔티티 클래스에 맞는 매퍼를 고른다.
+// 직접 등록한 매퍼 -> 생성된 매퍼 -> 리플렉션 매퍼(ObjectRowMapper) 순서로 찾는다.
+public class RowMappers {
+    private static final ConcurrentMap<Class<?>, RowMapperFactory<?>> registered = new ConcurrentHashMap<>();
+
+    private static final ClassValue<Optional<RowMapperGenerator.GeneratedEntity<?>>> generated = new ClassValue<>() {
+        @Override
+        protected Optional<RowMapperGenerator.GeneratedEntity<?>> computeValue(Class<?> type) {
+            return RowMapperGenerator.generate(type).map(entity -> entity);
+        }
+    };
+
+    private RowMappers() {
+    }
+
+    public static <T> void register(Class<T> clazz, RowMapperFactory<T> factory) {
+        registered.put(clazz, factory);
+    }
+
+    public static <T> RowMapperFactory<T> factoryFor(Class<T> clazz) {
+        return metaData -> forClass(clazz, metaData);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> BaseRowMapper<T> forClass(Class<T> clazz, ResultSetMetaData metaData) throws SQLException {
+        RowMapperFactory<T> factory = (RowMapperFactory<T>) registered.get(clazz);
+        if (factory != null) return factory.create(metaData);
+
+        Optional<RowMapperGenerator.GeneratedEntity<?>> entity = generated.get(clazz);
+        if (entity.isPresent()) {
+            return RowMapperGenerator.mapperFor((RowMapperGenerator.GeneratedEntity<T>) entity.get(), metaData);
+        }
+
+        return new ObjectRowMapper<>(clazz, metaData);
+    }
+}
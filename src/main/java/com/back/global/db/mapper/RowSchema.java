@@ -0,0 +1,51 @@
+package com.back.global.db.mapper;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// 결과 셋 하나의 컬럼 라벨 정보. 모든 행이 같은 인스턴스를 공유한다.
+public class RowSchema {
+    private final String[] labels;
+    // labels[i] 의 값을 읽어올 결과 셋 컬럼 인덱스(1부터)
+    private final int[] columnIndexes;
+    private final Map<String, Integer> positions;
+
+    public RowSchema(ResultSetMetaData metaData) throws SQLException {
+        int columnCount = metaData.getColumnCount();
+
+        // 라벨이 겹치면 HashMap.put 처럼 뒤의 컬럼 값이 남는다.
+        Map<String, Integer> lastColumnIndex = new LinkedHashMap<>();
+        for (int i = 1; i <= columnCount; i++) {
+            lastColumnIndex.put(metaData.getColumnLabel(i), i);
+        }
+
+        this.labels = lastColumnIndex.keySet().toArray(new String[0]);
+        this.columnIndexes = new int[labels.length];
+        this.positions = new HashMap<>(labels.length * 2);
+        for (int i = 0; i < labels.length; i++) {
+            columnIndexes[i] = lastColumnIndex.get(labels[i]);
+            positions.put(labels[i], i);
+        }
+    }
+
+    public int size() {
+        return labels.length;
+    }
+
+    public String getLabel(int position) {
+        return labels[position];
+    }
+
+    int getColumnIndex(int position) {
+        return columnIndexes[position];
+    }
+
+    // 없는 라벨이면 -1
+    public int indexOf(Object label) {
+        Integer position = positions.get(label);
+        return position != null ? position : -1;
+    }
+}
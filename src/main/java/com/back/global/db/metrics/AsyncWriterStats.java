@@ -0,0 +1,86 @@
+package com.back.global.db.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// SimpleDb.asyncWriter 하나의 누적 통계. flushLatency 는 큐에서 꺼낸 묶음을 INSERT 로 보내는 데 걸린 시간이다.
+public class AsyncWriterStats {
+    private final LatencyHistogram flushLatency = new LatencyHistogram();
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder backpressureWaits = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAccumulator maxQueueDepth = new LongAccumulator(Math::max, 0);
+
+    public void recordEnqueue(long queueDepth) {
+        enqueued.increment();
+        maxQueueDepth.accumulate(queueDepth);
+    }
+
+    // 큐가 가득 차 기다린 쓰기
+    public void recordBackpressure() {
+        backpressureWaits.increment();
+    }
+
+    // 기다려도 자리가 나지 않았거나 닫힌 뒤에 들어온 쓰기
+    public void recordRejected() {
+        rejected.increment();
+    }
+
+    public void recordFlush(long nanos, int rows, boolean succeeded) {
+        flushes.increment();
+        flushLatency.record(nanos);
+        if (succeeded) written.add(rows);
+        else failed.add(rows);
+    }
+
+    public LatencyHistogram getFlushLatency() {
+        return flushLatency;
+    }
+
+    public long getEnqueuedCount() {
+        return enqueued.sum();
+    }
+
+    public long getWrittenCount() {
+        return written.sum();
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    public long getFlushCount() {
+        return flushes.sum();
+    }
+
+    public long getBackpressureCount() {
+        return backpressureWaits.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public long getMaxQueueDepth() {
+        return maxQueueDepth.get();
+    }
+
+    @Override
+    public String toString() {
+        return "AsyncWriterStats{enqueued=" + getEnqueuedCount() + ", written=" + getWrittenCount()
+                + ", failed=" + getFailedCount()
+                + ", flushes=" + getFlushCount()
+                + ", backpressureWaits=" + getBackpressureCount()
+                + ", rejected=" + getRejectedCount()
+                + ", maxQueueDepth=" + getMaxQueueDepth()
+                + ", flushP99Ms=" + millis(flushLatency.getPercentileNanos(99)) + "}";
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,68 @@
+package com.back.global.db.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// SimpleDb 가 항상 켜 두는 기본 수집기. fingerprint 가 maxFingerprints 를 넘으면 나머지는 OTHER 로 합친다.
+public class InMemoryMetricsSink implements MetricsSink {
+    public static final String OTHER = "<other>";
+
+    private final int maxFingerprints;
+    private final Map<String, StatementStats> statements = new ConcurrentHashMap<>();
+    private final LatencyHistogram connectionAcquire = new LatencyHistogram();
+
+    public InMemoryMetricsSink(int maxFingerprints) {
+        this.maxFingerprints = maxFingerprints;
+    }
+
+    @Override
+    public void recordAcquire(long nanos) {
+        connectionAcquire.record(nanos);
+    }
+
+    @Override
+    public void recordStatement(String fingerprint, long prepareNanos, long executeNanos, long mapNanos, long rows) {
+        statsOf(fingerprint).record(prepareNanos, executeNanos, mapNanos, rows);
+    }
+
+    @Override
+    public void recordError(String fingerprint) {
+        statsOf(fingerprint).recordError();
+    }
+
+    public LatencyHistogram getConnectionAcquire() {
+        return connectionAcquire;
+    }
+
+    public StatementStats getStatementStats(String fingerprint) {
+        return statements.get(fingerprint);
+    }
+
+    public List<StatementStats> getAllStatementStats() {
+        return new ArrayList<>(statements.values());
+    }
+
+    // p99 가 큰 순서로 n 개
+    public List<StatementStats> topSlowest(int n) {
+        return statements.values().stream()
+                .filter(stats -> stats.getCount() > 0)
+                .sorted(Comparator.comparingLong((StatementStats stats) -> stats.getLatency().getPercentileNanos(99)).reversed())
+                .limit(n)
+                .toList();
+    }
+
+    public void reset() {
+        statements.clear();
+    }
+
+    private StatementStats statsOf(String fingerprint) {
+        StatementStats stats = statements.get(fingerprint);
+        if (stats != null) return stats;
+
+        String key = statements.size() < maxFingerprints ? fingerprint : OTHER;
+        return statements.computeIfAbsent(key, StatementStats::new);
+    }
+}
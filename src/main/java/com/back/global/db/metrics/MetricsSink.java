@@ -0,0 +1,36 @@
+package com.back.global.db.metrics;
+
+// QueryExecutor 가 문장마다 측정한 값을 받는 곳. 시간은 모두 나노초.
+// fingerprint 는 리터럴과 IN 목록 길이를 지운 SQL 이라 같은 모양의 문장끼리 묶인다.
+public interface MetricsSink {
+    // 풀에서 커넥션을 빌리는 데 걸린 시간 (트랜잭션에 묶인 커넥션은 재지 않는다)
+    void recordAcquire(long nanos);
+
+    // prepare 는 구문 준비와 파라미터 바인딩, execute 는 서버 실행, map 은 결과 행 매핑 시간이다.
+    void recordStatement(String fingerprint, long prepareNanos, long executeNanos, long mapNanos, long rows);
+
+    void recordError(String fingerprint);
+
+    default MetricsSink andThen(MetricsSink next) {
+        MetricsSink first = this;
+        return new MetricsSink() {
+            @Override
+            public void recordAcquire(long nanos) {
+                first.recordAcquire(nanos);
+                next.recordAcquire(nanos);
+            }
+
+            @Override
+            public void recordStatement(String fingerprint, long prepareNanos, long executeNanos, long mapNanos, long rows) {
+                first.recordStatement(fingerprint, prepareNanos, executeNanos, mapNanos, rows);
+                next.recordStatement(fingerprint, prepareNanos, executeNanos, mapNanos, rows);
+            }
+
+            @Override
+            public void recordError(String fingerprint) {
+                first.recordError(fingerprint);
+                next.recordError(fingerprint);
+            }
+        };
+    }
+}
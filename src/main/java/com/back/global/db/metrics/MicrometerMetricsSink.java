@@ -0,0 +1,81 @@
+package com.back.global.db.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Spring Boot 의 MeterRegistry 로 내보내는 수집기. SimpleDbConfig.metricsSink 로 넘기면 기본 수집기와 함께 기록된다.
+// micrometer-core 는 compileOnly 라서 이 클래스를 쓰는 애플리케이션이 직접 의존성을 가져야 한다.
+public class MicrometerMetricsSink implements MetricsSink {
+    private static final int DEFAULT_MAX_FINGERPRINTS = 200;
+
+    private record Meters(Timer prepare, Timer execute, Timer map, DistributionSummary rows, Counter errors) {
+    }
+
+    private final MeterRegistry registry;
+    private final int maxFingerprints;
+    private final Timer connectionAcquire;
+    private final Map<String, Meters> meters = new ConcurrentHashMap<>();
+
+    public MicrometerMetricsSink(MeterRegistry registry) {
+        this(registry, DEFAULT_MAX_FINGERPRINTS);
+    }
+
+    // statement 태그의 카디널리티를 maxFingerprints 로 제한한다.
+    public MicrometerMetricsSink(MeterRegistry registry, int maxFingerprints) {
+        this.registry = registry;
+        this.maxFingerprints = maxFingerprints;
+        this.connectionAcquire = Timer.builder("simpledb.connection.acquire")
+                .description("커넥션 풀에서 커넥션을 빌리는 데 걸린 시간")
+                .register(registry);
+    }
+
+    @Override
+    public void recordAcquire(long nanos) {
+        connectionAcquire.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordStatement(String fingerprint, long prepareNanos, long executeNanos, long mapNanos, long rows) {
+        Meters m = metersOf(fingerprint);
+        m.prepare().record(prepareNanos, TimeUnit.NANOSECONDS);
+        m.execute().record(executeNanos, TimeUnit.NANOSECONDS);
+        m.map().record(mapNanos, TimeUnit.NANOSECONDS);
+        m.rows().record(rows);
+    }
+
+    @Override
+    public void recordError(String fingerprint) {
+        metersOf(fingerprint).errors().increment();
+    }
+
+    private Meters metersOf(String fingerprint) {
+        Meters m = meters.get(fingerprint);
+        if (m != null) return m;
+
+        String key = meters.size() < maxFingerprints ? fingerprint : InMemoryMetricsSink.OTHER;
+        return meters.computeIfAbsent(key, this::register);
+    }
+
+    private Meters register(String fingerprint) {
+        return new Meters(
+                phaseTimer(fingerprint, "prepare"),
+                phaseTimer(fingerprint, "execute"),
+                phaseTimer(fingerprint, "map"),
+                DistributionSummary.builder("simpledb.statement.rows").tag("statement", fingerprint).register(registry),
+                Counter.builder("simpledb.statement.errors").tag("statement", fingerprint).register(registry)
+        );
+    }
+
+    private Timer phaseTimer(String fingerprint, String phase) {
+        return Timer.builder("simpledb.statement.duration")
+                .tag("statement", fingerprint)
+                .tag("phase", phase)
+                .register(registry);
+    }
+}
@@ -0,0 +1,80 @@
+package com.back.global.db.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// fingerprint 하나의 누적 통계. latency 는 prepare + execute + map 을 합친 문장 전체 시간이다.
+public class StatementStats {
+    private final String fingerprint;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder prepareNanos = new LongAdder();
+    private final LongAdder executeNanos = new LongAdder();
+    private final LongAdder mapNanos = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    StatementStats(String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    void record(long prepare, long execute, long map, long rowCount) {
+        latency.record(prepare + execute + map);
+        prepareNanos.add(prepare);
+        executeNanos.add(execute);
+        mapNanos.add(map);
+        rows.add(rowCount);
+    }
+
+    void recordError() {
+        errors.increment();
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    public long getCount() {
+        return latency.getCount();
+    }
+
+    public long getErrorCount() {
+        return errors.sum();
+    }
+
+    public long getRowCount() {
+        return rows.sum();
+    }
+
+    public long getTotalPrepareNanos() {
+        return prepareNanos.sum();
+    }
+
+    public long getTotalExecuteNanos() {
+        return executeNanos.sum();
+    }
+
+    public long getTotalMapNanos() {
+        return mapNanos.sum();
+    }
+
+    @Override
+    public String toString() {
+        long count = getCount();
+        return "StatementStats{fingerprint=\"" + fingerprint + "\", count=" + count + ", errors=" + getErrorCount()
+                + ", rows=" + getRowCount()
+                + ", p50Ms=" + millis(latency.getPercentileNanos(50))
+                + ", p99Ms=" + millis(latency.getPercentileNanos(99))
+                + ", maxMs=" + millis(latency.getMaxNanos())
+                + ", avgPrepareMs=" + millis(count == 0 ? 0 : getTotalPrepareNanos() / count)
+                + ", avgExecuteMs=" + millis(count == 0 ? 0 : getTotalExecuteNanos() / count)
+                + ", avgMapMs=" + millis(count == 0 ? 0 : getTotalMapNanos() / count) + "}";
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
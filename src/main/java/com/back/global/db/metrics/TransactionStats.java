@@ -0,0 +1,106 @@
+package com.back.global.db.metrics;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// SimpleDb.inTransaction 의 누적 통계. duration 은 재시도와 대기 시간을 포함한 호출 한 번의 전체 시간이다.
+public class TransactionStats {
+    // 다시 실행하면 성공할 수 있는 실패
+    public enum RetryReason {
+        // MySQL 1213 ER_LOCK_DEADLOCK
+        DEADLOCK,
+        // MySQL 1205 ER_LOCK_WAIT_TIMEOUT
+        LOCK_WAIT_TIMEOUT,
+        // SQLState 40001 (다른 DB 의 직렬화 실패 포함)
+        SERIALIZATION_FAILURE;
+
+        // 예외의 원인을 따라가며 재시도할 수 있는 SQLException 을 찾는다. 없으면 null
+        public static RetryReason of(Throwable e) {
+            for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+                if (!(cause instanceof SQLException sqlException)) continue;
+
+                if (sqlException.getErrorCode() == 1213) return DEADLOCK;
+                if (sqlException.getErrorCode() == 1205) return LOCK_WAIT_TIMEOUT;
+                if ("40001".equals(sqlException.getSQLState())) return SERIALIZATION_FAILURE;
+            }
+            return null;
+        }
+    }
+
+    private final LatencyHistogram duration = new LatencyHistogram();
+    private final LatencyHistogram backoff = new LatencyHistogram();
+    private final LongAdder commits = new LongAdder();
+    private final LongAdder rollbacks = new LongAdder();
+    private final LongAdder exhausted = new LongAdder();
+    private final LongAdder[] retries = new LongAdder[RetryReason.values().length];
+
+    public TransactionStats() {
+        for (int i = 0; i < retries.length; i++) {
+            retries[i] = new LongAdder();
+        }
+    }
+
+    public void recordCommit(long nanos) {
+        commits.increment();
+        duration.record(nanos);
+    }
+
+    // 재시도하지 않는 오류나 재시도를 모두 쓴 뒤의 실패
+    public void recordRollback(long nanos, boolean retriesExhausted) {
+        rollbacks.increment();
+        if (retriesExhausted) exhausted.increment();
+        duration.record(nanos);
+    }
+
+    public void recordRetry(RetryReason reason, long backoffNanos) {
+        retries[reason.ordinal()].increment();
+        backoff.record(backoffNanos);
+    }
+
+    public LatencyHistogram getDuration() {
+        return duration;
+    }
+
+    public LatencyHistogram getBackoff() {
+        return backoff;
+    }
+
+    public long getCommitCount() {
+        return commits.sum();
+    }
+
+    public long getRollbackCount() {
+        return rollbacks.sum();
+    }
+
+    public long getExhaustedCount() {
+        return exhausted.sum();
+    }
+
+    public long getRetryCount() {
+        long sum = 0;
+        for (LongAdder adder : retries) sum += adder.sum();
+        return sum;
+    }
+
+    public long getRetryCount(RetryReason reason) {
+        return retries[reason.ordinal()].sum();
+    }
+
+    @Override
+    public String toString() {
+        return "TransactionStats{commits=" + getCommitCount() + ", rollbacks=" + getRollbackCount()
+                + ", retries=" + getRetryCount()
+                + ", deadlocks=" + getRetryCount(RetryReason.DEADLOCK)
+                + ", lockWaitTimeouts=" + getRetryCount(RetryReason.LOCK_WAIT_TIMEOUT)
+                + ", serializationFailures=" + getRetryCount(RetryReason.SERIALIZATION_FAILURE)
+                + ", exhausted=" + getExhaustedCount()
+                + ", p99Ms=" + millis(duration.getPercentileNanos(99))
+                + ", totalBackoffMs=" + millis(backoff.getTotalNanos()) + "}";
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
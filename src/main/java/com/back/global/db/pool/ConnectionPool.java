@@ -0,0 +1,193 @@
+package com.back.global.db.pool;
+
+import com.back.global.db.SimpleDbConfig;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+public class ConnectionPool {
+    // 최근에 쓰인 커넥션은 살아있다고 보고 isValid 왕복을 생략한다.
+    private static final long VALIDATION_BYPASS_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        Connection create() throws SQLException;
+    }
+
+    private final ConnectionFactory connectionFactory;
+    private final SimpleDbConfig config;
+    // 대여 중인 커넥션 수를 maxPoolSize 로 제한하고, 대기자는 FIFO 순서로 깨운다.
+    private final Semaphore permits;
+    // 최근 반납된 커넥션을 먼저 꺼내 쓰도록 앞쪽에 넣고 앞쪽에서 꺼낸다.
+    private final LinkedBlockingDeque<PooledConnection> idleConnections = new LinkedBlockingDeque<>();
+    private final AtomicInteger totalCount = new AtomicInteger();
+    private final StatementCacheStats statementCacheStats = new StatementCacheStats();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed = false;
+
+    public ConnectionPool(ConnectionFactory connectionFactory, SimpleDbConfig config) {
+        this.connectionFactory = connectionFactory;
+        this.config = config;
+        this.permits = new Semaphore(config.getMaxPoolSize(), true);
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "simpledb-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long period = config.getHousekeepingPeriod().toMillis();
+        housekeeper.scheduleWithFixedDelay(this::houseKeep, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    public PooledConnection borrow() {
+        if (closed) throw new RuntimeException("커넥션 풀이 종료되었습니다.");
+
+        acquirePermit();
+        try {
+            PooledConnection pooled;
+            while ((pooled = idleConnections.pollFirst()) != null) {
+                if (isUsable(pooled)) break;
+                discard(pooled);
+            }
+            if (pooled == null) pooled = create();
+
+            pooled.touch();
+            return pooled;
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public void release(PooledConnection pooled) {
+        try {
+            if (closed || !resetState(pooled) || isExpired(pooled, System.nanoTime())
+                    || totalCount.get() > config.getMaxPoolSize()) {
+                discard(pooled);
+                return;
+            }
+            pooled.touch();
+            idleConnections.offerFirst(pooled);
+        } finally {
+            permits.release();
+        }
+    }
+
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+
+        PooledConnection pooled;
+        while ((pooled = idleConnections.pollFirst()) != null) {
+            discard(pooled);
+        }
+    }
+
+    public int getTotalCount() {
+        return totalCount.get();
+    }
+
+    public int getIdleCount() {
+        return idleConnections.size();
+    }
+
+    public int getActiveCount() {
+        return config.getMaxPoolSize() - permits.availablePermits();
+    }
+
+    public int getPendingCount() {
+        return permits.getQueueLength();
+    }
+
+    public StatementCacheStats getStatementCacheStats() {
+        return statementCacheStats;
+    }
+
+    private void acquirePermit() {
+        long timeoutMillis = config.getConnectionTimeout().toMillis();
+        try {
+            if (!permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new RuntimeException("커넥션 대여 시간 초과: " + timeoutMillis + "ms (active=" + getActiveCount()
+                        + ", idle=" + getIdleCount() + ", pending=" + getPendingCount() + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("커넥션 대여 대기 중 인터럽트 발생", e);
+        }
+    }
+
+    private PooledConnection create() {
+        try {
+            PooledConnection pooled = new PooledConnection(this, connectionFactory.create(),
+                    config.getStatementCacheSize(), statementCacheStats);
+            totalCount.incrementAndGet();
+            return pooled;
+        } catch (SQLException e) {
+            throw new RuntimeException("DB 연결 실패", e);
+        }
+    }
+
+    private void discard(PooledConnection pooled) {
+        totalCount.decrementAndGet();
+        pooled.closeQuietly();
+    }
+
+    private boolean isExpired(PooledConnection pooled, long now) {
+        return pooled.ageNanos(now) >= config.getMaxLifetime().toNanos();
+    }
+
+    private boolean isUsable(PooledConnection pooled) {
+        long now = System.nanoTime();
+        if (isExpired(pooled, now)) return false;
+        if (pooled.idleNanos(now) < VALIDATION_BYPASS_NANOS) return true;
+
+        try {
+            return pooled.getConnection().isValid((int) Math.max(1, config.getValidationTimeout().toSeconds()));
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    // 다음 대여자가 이전 사용자의 트랜잭션 상태를 물려받지 않도록 되돌린다.
+    private boolean resetState(PooledConnection pooled) {
+        Connection conn = pooled.getConnection();
+        try {
+            if (conn.isClosed()) return false;
+            if (!conn.getAutoCommit()) {
+                conn.rollback();
+                conn.setAutoCommit(true);
+            }
+            pooled.restoreTransactionOptions();
+            return true;
+        } catch (SQLException e) {
+            log.warn("반납된 커넥션 초기화 실패, 폐기합니다.", e);
+            return false;
+        }
+    }
+
+    private void houseKeep() {
+        long now = System.nanoTime();
+        long idleTimeout = config.getIdleTimeout().toNanos();
+
+        for (PooledConnection pooled : idleConnections) {
+            boolean expired = isExpired(pooled, now);
+            boolean idleTooLong = pooled.idleNanos(now) >= idleTimeout && totalCount.get() > config.getMinIdle();
+            // 동시에 대여된 커넥션은 remove 가 false 를 돌려주므로 건드리지 않는다.
+            if ((expired || idleTooLong) && idleConnections.remove(pooled)) {
+                discard(pooled);
+            }
+        }
+
+        try {
+            while (!closed && idleConnections.size() < config.getMinIdle() && totalCount.get() < config.getMaxPoolSize()) {
+                idleConnections.offerLast(create());
+            }
+        } catch (RuntimeException e) {
+            log.warn("최소 유휴 커넥션 보충 실패", e);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.back.global.db.pool;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+public class PooledConnection {
+    private final ConnectionPool pool;
+    private final Connection connection;
+    private final StatementCache statementCache;
+    private final long createdAt;
+    private volatile long lastAccessedAt;
+    // 커넥션의 원래 격리 수준. 처음 바꿀 때 한 번 읽어 둔다.
+    private int originalIsolation = -1;
+    private boolean isolationChanged;
+    private boolean readOnlyChanged;
+
+    PooledConnection(ConnectionPool pool, Connection connection, int statementCacheSize, StatementCacheStats statementCacheStats) {
+        this.pool = pool;
+        this.connection = connection;
+        this.statementCache = new StatementCache(connection, statementCacheSize, statementCacheStats);
+        this.createdAt = System.nanoTime();
+        this.lastAccessedAt = createdAt;
+    }
+
+    // 이 커넥션을 빌려준 풀. 반납은 반드시 이 풀로 한다.
+    public ConnectionPool getPool() {
+        return pool;
+    }
+
+    public Connection getConnection() {
+        return connection;
+    }
+
+    // 캐시된 구문이 있으면 재사용한다. 다 쓴 구문은 close 대신 returnStatement 로 돌려준다.
+    public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
+        return statementCache.prepare(sql, autoGeneratedKeys);
+    }
+
+    public void returnStatement(String sql, int autoGeneratedKeys, PreparedStatement pstmt) throws SQLException {
+        statementCache.giveBack(sql, autoGeneratedKeys, pstmt);
+    }
+
+    // 다음 트랜잭션의 격리 수준(-1 이면 그대로)과 읽기 전용 여부. 반납할 때 풀이 원래대로 되돌린다.
+    // 트랜잭션이 시작되기 전, 즉 autoCommit 을 끄기 전에 불러야 한다.
+    public void setTransactionOptions(int isolation, boolean readOnly) throws SQLException {
+        if (isolation >= 0) {
+            if (originalIsolation < 0) originalIsolation = connection.getTransactionIsolation();
+            if (isolation != originalIsolation) {
+                connection.setTransactionIsolation(isolation);
+                isolationChanged = true;
+            }
+        }
+        if (readOnly) {
+            connection.setReadOnly(true);
+            readOnlyChanged = true;
+        }
+    }
+
+    void restoreTransactionOptions() throws SQLException {
+        if (isolationChanged) {
+            connection.setTransactionIsolation(originalIsolation);
+            isolationChanged = false;
+        }
+        if (readOnlyChanged) {
+            connection.setReadOnly(false);
+            readOnlyChanged = false;
+        }
+    }
+
+    long idleNanos(long now) {
+        return now - lastAccessedAt;
+    }
+
+    long ageNanos(long now) {
+        return now - createdAt;
+    }
+
+    void touch() {
+        lastAccessedAt = System.nanoTime();
+    }
+
+    void closeQuietly() {
+        try {
+            // 커넥션을 닫으면 캐시된 구문도 함께 닫힌다.
+            connection.close();
+        } catch (SQLException ignored) {
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.back.global.db.pool;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 읽기 전용 조회를 복제본 풀들에 나눠 준다.
+// 연결에 실패한 복제본은 downTime 동안 후보에서 빠지고, 그 뒤 첫 요청이 다시 시도해 본다.
+@Slf4j
+public class ReplicaRouter {
+    public enum Strategy {
+        // 복제본을 차례로 돌아가며 고른다.
+        ROUND_ROBIN,
+        // 대여 중인 커넥션이 가장 적은 복제본을 고른다.
+        LEAST_OUTSTANDING
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final ConnectionPool pool;
+        // 0 이면 정상, 아니면 다시 시도해 볼 시각 (System.nanoTime 기준)
+        private volatile long downUntil;
+
+        private Replica(String name, ConnectionPool pool) {
+            this.name = name;
+            this.pool = pool;
+        }
+
+        private boolean isAvailable(long now) {
+            long until = downUntil;
+            return until == 0 || now - until >= 0;
+        }
+    }
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final Strategy strategy;
+    private final long downTimeNanos;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRouter(Strategy strategy, long downTimeNanos) {
+        this.strategy = strategy;
+        this.downTimeNanos = downTimeNanos;
+    }
+
+    public void addReplica(String name, ConnectionPool pool) {
+        replicas.add(new Replica(name, pool));
+    }
+
+    // 쓸 수 있는 복제본이 하나도 없으면 null 을 돌려준다. 호출자는 주 DB 로 보낸다.
+    public PooledConnection borrow() {
+        int size = replicas.size();
+        int start = firstCandidate();
+
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.isAvailable(System.nanoTime())) continue;
+
+            try {
+                PooledConnection conn = replica.pool.borrow();
+                replica.downUntil = 0;
+                return conn;
+            } catch (RuntimeException e) {
+                // 대여 시간 초과는 바쁜 것이지 죽은 것이 아니므로 내리지 않고 다음 복제본을 본다.
+                if (e.getCause() instanceof SQLException) markDown(replica, e);
+            }
+        }
+        return null;
+    }
+
+    // 복제본 커넥션에서 연결 계열 오류(SQLState 08xxx)가 나면 그 복제본을 내린다.
+    public void reportFailure(PooledConnection conn, SQLException e) {
+        String sqlState = e.getSQLState();
+        if (sqlState == null || !sqlState.startsWith("08")) return;
+
+        for (Replica replica : replicas) {
+            if (replica.pool == conn.getPool()) markDown(replica, e);
+        }
+    }
+
+    public boolean isReplica(PooledConnection conn) {
+        for (Replica replica : replicas) {
+            if (replica.pool == conn.getPool()) return true;
+        }
+        return false;
+    }
+
+    public int getReplicaCount() {
+        return replicas.size();
+    }
+
+    public int getAvailableCount() {
+        long now = System.nanoTime();
+        int count = 0;
+        for (Replica replica : replicas) {
+            if (replica.isAvailable(now)) count++;
+        }
+        return count;
+    }
+
+    public void close() {
+        for (Replica replica : replicas) {
+            replica.pool.close();
+        }
+    }
+
+    private int firstCandidate() {
+        if (strategy == Strategy.ROUND_ROBIN) return Math.floorMod(next.getAndIncrement(), replicas.size());
+
+        long now = System.nanoTime();
+        int best = 0;
+        int bestActive = Integer.MAX_VALUE;
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(i);
+            int active = replica.pool.getActiveCount();
+            if (replica.isAvailable(now) && active < bestActive) {
+                best = i;
+                bestActive = active;
+            }
+        }
+        return best;
+    }
+
+    private void markDown(Replica replica, Exception e) {
+        boolean wasUp = replica.downUntil == 0;
+        // 0 은 정상 표시라 피한다.
+        replica.downUntil = (System.nanoTime() + downTimeNanos) | 1;
+        if (wasUp) log.warn("복제본 {} 을(를) {}ms 동안 제외합니다.", replica.name, downTimeNanos / 1_000_000, e);
+    }
+}
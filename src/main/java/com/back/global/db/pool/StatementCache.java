@@ -0,0 +1,66 @@
+package com.back.global.db.pool;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// 커넥션 하나에 묶인 PreparedStatement LRU 캐시.
+// 대여 중인 구문은 캐시에서 빠져 있으므로, 같은 SQL 이 중첩 실행돼도 구문을 공유하지 않는다.
+class StatementCache {
+    private record Key(String sql, int autoGeneratedKeys) {
+    }
+
+    private final Connection connection;
+    private final int maxSize;
+    private final StatementCacheStats stats;
+    private final LinkedHashMap<Key, PreparedStatement> statements;
+
+    StatementCache(Connection connection, int maxSize, StatementCacheStats stats) {
+        this.connection = connection;
+        this.maxSize = maxSize;
+        this.stats = stats;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, PreparedStatement> eldest) {
+                if (size() <= StatementCache.this.maxSize) return false;
+
+                stats.recordEviction();
+                closeQuietly(eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    PreparedStatement prepare(String sql, int autoGeneratedKeys) throws SQLException {
+        if (maxSize <= 0) return connection.prepareStatement(sql, autoGeneratedKeys);
+
+        PreparedStatement pstmt = statements.remove(new Key(sql, autoGeneratedKeys));
+        if (pstmt != null && !pstmt.isClosed()) {
+            stats.recordHit();
+            return pstmt;
+        }
+
+        stats.recordMiss();
+        return connection.prepareStatement(sql, autoGeneratedKeys);
+    }
+
+    void giveBack(String sql, int autoGeneratedKeys, PreparedStatement pstmt) throws SQLException {
+        if (maxSize <= 0) {
+            pstmt.close();
+            return;
+        }
+
+        pstmt.clearParameters();
+        PreparedStatement previous = statements.put(new Key(sql, autoGeneratedKeys), pstmt);
+        if (previous != null && previous != pstmt) closeQuietly(previous);
+    }
+
+    private static void closeQuietly(PreparedStatement pstmt) {
+        try {
+            pstmt.close();
+        } catch (SQLException ignored) {
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.back.global.db.primitive;
+
+// long -> long 오픈 어드레싱 해시 맵. 키와 값을 원시 배열에 그대로 담아 항목마다 객체를 만들지 않는다.
+// 선형 탐사를 쓰고, 빈 칸 표시로 쓰는 0 키는 따로 보관한다.
+public class LongLongMap {
+    private static final long EMPTY = 0L;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(long key, long value);
+    }
+
+    private long[] keys;
+    private long[] values;
+    private int mask;
+    private int size;
+    private int resizeAt;
+    private boolean hasZeroKey;
+    private long zeroValue;
+
+    public LongLongMap() {
+        this(16);
+    }
+
+    public LongLongMap(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    public void put(long key, long value) {
+        if (key == EMPTY) {
+            if (!hasZeroKey) size++;
+            hasZeroKey = true;
+            zeroValue = value;
+            return;
+        }
+
+        int slot = slotOf(key);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size >= resizeAt) resize();
+    }
+
+    public long get(long key, long defaultValue) {
+        if (key == EMPTY) return hasZeroKey ? zeroValue : defaultValue;
+
+        int slot = slotOf(key);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) return values[slot];
+            slot = (slot + 1) & mask;
+        }
+        return defaultValue;
+    }
+
+    public boolean containsKey(long key) {
+        if (key == EMPTY) return hasZeroKey;
+
+        int slot = slotOf(key);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) return true;
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void forEach(EntryConsumer consumer) {
+        if (hasZeroKey) consumer.accept(EMPTY, zeroValue);
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) consumer.accept(keys[i], values[i]);
+        }
+    }
+
+    public long[] keys() {
+        long[] result = new long[size];
+        int index = 0;
+        if (hasZeroKey) result[index++] = EMPTY;
+        for (long key : keys) {
+            if (key != EMPTY) result[index++] = key;
+        }
+        return result;
+    }
+
+    private int slotOf(long key) {
+        // 연속된 id 가 이웃 칸에 몰리지 않도록 섞는다.
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(oldKeys.length * 2);
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key == EMPTY) continue;
+
+            int slot = slotOf(key);
+            while (keys[slot] != EMPTY) slot = (slot + 1) & mask;
+            keys[slot] = key;
+            values[slot] = oldValues[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int capacityFor(int expectedSize) {
+        long needed = (long) Math.ceil(Math.max(expectedSize, 4) / LOAD_FACTOR) + 1;
+        if (needed > 1 << 30) throw new RuntimeException("맵 크기가 너무 큽니다: " + expectedSize);
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+
+    @Override
+    public String toString() {
+        return "LongLongMap{size=" + size + ", capacity=" + keys.length + "}";
+    }
+}
@@ -0,0 +1,92 @@
+package com.back.global.db.primitive;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// 여러 스레드가 넣고 한 스레드만 꺼내는 크기 고정 큐. 락 없이 칸마다 순번을 두고, 생산자끼리는 꼬리 위치를 CAS 로 나눠 갖는다.
+// 칸의 순번이 pos 면 pos 번째 생산자가 쓸 수 있고, pos + 1 이면 소비자가 읽을 수 있다. 읽고 나면 pos + capacity 로 넘겨 다음 바퀴를 연다.
+// (Vyukov 의 bounded MPMC 큐에서 소비자를 하나로 줄인 형태)
+public class MpscArrayQueue<E> {
+    private final Object[] buffer;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    // 소비자만 바꾼다. size() 가 다른 스레드에서도 읽으므로 volatile
+    private volatile long head;
+
+    // capacity 는 2의 거듭제곱으로 올린다.
+    public MpscArrayQueue(int capacity) {
+        int size = 2;
+        while (size < capacity) size <<= 1;
+        this.buffer = new Object[size];
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) sequences.set(i, i);
+    }
+
+    // 가득 차 있으면 false
+    public boolean offer(E element) {
+        Objects.requireNonNull(element);
+        long pos = tail.get();
+        while (true) {
+            int index = (int) (pos & mask);
+            long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    buffer[index] = element;
+                    sequences.set(index, pos + 1);
+                    return true;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                // 한 바퀴 앞의 칸을 소비자가 아직 읽지 않았다.
+                return false;
+            } else {
+                // 다른 생산자가 먼저 가져갔다.
+                pos = tail.get();
+            }
+        }
+    }
+
+    // 소비자 스레드에서만 부른다. 비어 있으면 null
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        long pos = head;
+        int index = (int) (pos & mask);
+        if (sequences.get(index) != pos + 1) return null;
+
+        E element = (E) buffer[index];
+        buffer[index] = null;
+        sequences.set(index, pos + mask + 1);
+        head = pos + 1;
+        return element;
+    }
+
+    // 소비자 스레드에서만 부른다. 최대 max 개를 옮기고 옮긴 수를 돌려준다.
+    public int drainTo(Collection<? super E> target, int max) {
+        int count = 0;
+        while (count < max) {
+            E element = poll();
+            if (element == null) break;
+            target.add(element);
+            count++;
+        }
+        return count;
+    }
+
+    // 자리를 차지했지만 아직 값을 다 쓰지 않은 칸도 센다.
+    public int size() {
+        long size = tail.get() - head;
+        return (int) Math.max(0, Math.min(size, buffer.length));
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int capacity() {
+        return buffer.length;
+    }
+}
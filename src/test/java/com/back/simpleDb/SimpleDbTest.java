@@ -1,31 +1,72 @@
 package com.back.simpleDb;
 
 import com.back.domain.article.article.entity.Article;
+import com.back.global.db.AsyncWriter;
+import com.back.global.db.BatchResult;
 import com.back.global.db.SimpleDb;
+import com.back.global.db.SimpleDbConfig;
 import com.back.global.db.Sql;
+import com.back.global.db.SqlAnalyzer;
+import com.back.global.db.SqlLogger;
+import com.back.global.db.SqlTemplate;
+import com.back.global.db.TransactionIsolation;
+import com.back.global.db.cache.EntityCache;
+import com.back.global.db.cache.QueryResultCache;
+import com.back.global.db.embedded.EmbeddedDatabase;
+import com.back.global.db.export.ExportFormat;
+import com.back.global.db.mapper.BaseRowMapper;
+import com.back.global.db.mapper.RowMappers;
+import com.back.global.db.metrics.AsyncWriterStats;
+import com.back.global.db.metrics.StatementStats;
+import com.back.global.db.metrics.TransactionStats;
+import com.back.global.db.pool.ConnectionPool;
+import com.back.global.db.pool.PooledConnection;
+import com.back.global.db.pool.StatementCacheStats;
+import com.back.global.db.primitive.LongLongMap;
 import org.junit.jupiter.api.*;
-
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @TestMethodOrder(MethodOrderer.MethodName.class)
 public class SimpleDbTest {
+    // MySQL 서버 없이 돌도록 모든 테스트가 같은 메모리 내장 DB 를 쓴다.
+    private static EmbeddedDatabase database;
     private static SimpleDb simpleDb;
 
     @BeforeAll
     public static void beforeAll() {
-        simpleDb = new SimpleDb("localhost", "root", "root123414", "simpleDb__test");
+        database = EmbeddedDatabase.inMemory();
+        simpleDb = new SimpleDb(database, SimpleDbConfig.defaults());
         simpleDb.setDevMode(true);
 
         createArticleTable();
@@ -536,4 +577,1032 @@ public class SimpleDbTest {
 
         assertThat(newCount).isEqualTo(oldCount + 1);
     }
+
+    @Test
+    @DisplayName("connection pool, 구문마다 커넥션을 빌리고 반납")
+    public void t020() {
+        ConnectionPool pool = simpleDb.getConnectionPool();
+
+        for (int i = 0; i < 20; i++) {
+            simpleDb.genSql()
+                    .append("SELECT COUNT(*)")
+                    .append("FROM article")
+                    .selectLong();
+        }
+
+        // 트랜잭션 밖의 구문은 끝나는 즉시 커넥션을 반납한다.
+        assertThat(pool.getActiveCount()).isEqualTo(0);
+        assertThat(pool.getIdleCount()).isGreaterThan(0);
+
+        simpleDb.startTransaction();
+        assertThat(pool.getActiveCount()).isEqualTo(1);
+        simpleDb.rollback();
+
+        assertThat(pool.getActiveCount()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("prepared statement cache")
+    public void t021() {
+        StatementCacheStats stats = simpleDb.getStatementCacheStats();
+        long oldHitCount = stats.getHitCount();
+
+        for (int i = 1; i <= 3; i++) {
+            simpleDb.genSql()
+                    .append("SELECT title")
+                    .append("FROM article")
+                    .append("WHERE id = ?", i)
+                    .selectString();
+        }
+
+        // 같은 SQL 문은 커넥션에 캐시된 구문을 재사용한다.
+        assertThat(stats.getHitCount()).isGreaterThan(oldHitCount);
+    }
+
+    @Test
+    @DisplayName("batch insert")
+    public void t022() {
+        Sql sql = simpleDb.genSql();
+        /*
+        == rawSql ==
+        INSERT INTO article
+        SET createdDate = NOW(),
+        modifiedDate = NOW(),
+        title = ?,
+        body = ?
+        */
+        sql.append("INSERT INTO article")
+                .append("SET createdDate = NOW()")
+                .append(", modifiedDate = NOW()")
+                .append(", title = ?")
+                .append(", body = ?");
+
+        IntStream.rangeClosed(1, 3).forEach(no -> sql.addBatch("배치 제목%d".formatted(no), "배치 내용%d".formatted(no)));
+
+        BatchResult result = sql.executeBatch();
+
+        // 모든 행의 AUTO_INCREMENT 키가 순서대로 돌아온다.
+        assertThat(result.getGeneratedKeys()).containsExactly(7L, 8L, 9L);
+
+        long count = simpleDb.genSql()
+                .append("SELECT COUNT(*)")
+                .append("FROM article")
+                .selectLong();
+
+        assertThat(count).isEqualTo(9);
+    }
+
+    @Test
+    @DisplayName("selectStream")
+    public void t023() {
+        Sql sql = simpleDb.genSql();
+        /*
+        == rawSql ==
+        SELECT *
+        FROM article
+        ORDER BY id ASC
+        */
+        sql.append("SELECT * FROM article ORDER BY id ASC");
+
+        List<Long> ids;
+        try (Stream<Article> articles = sql.selectStream(Article.class)) {
+            ids = articles.map(Article::getId).toList();
+        }
+
+        assertThat(ids).containsExactly(1L, 2L, 3L, 4L, 5L, 6L);
+        // 스트림을 닫으면 커넥션이 풀로 돌아간다.
+        assertThat(simpleDb.getConnectionPool().getActiveCount()).isEqualTo(0);
+
+        AtomicInteger blindCount = new AtomicInteger();
+        simpleDb.genSql()
+                .append("SELECT isBlind FROM article")
+                .forEachRow(rs -> {
+                    if (rs.getBoolean(1)) blindCount.incrementAndGet();
+                });
+
+        assertThat(blindCount.get()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("async query")
+    public void t024() {
+        // 풀 크기보다 많은 작업을 동시에 던져도 커넥션은 풀 안에서만 빌려 쓴다.
+        List<CompletableFuture<Article>> futures = IntStream.rangeClosed(1, 50)
+                .mapToObj(i -> simpleDb.genSql()
+                        .append("SELECT * FROM article WHERE id = ?", i % 6 + 1)
+                        .selectRowAsync(Article.class))
+                .toList();
+
+        List<Article> articles = futures.stream().map(CompletableFuture::join).toList();
+
+        for (int i = 0; i < articles.size(); i++) {
+            assertThat(articles.get(i).getId()).isEqualTo((i + 1) % 6 + 1);
+        }
+
+        long newId = simpleDb.genSql()
+                .append("INSERT INTO article")
+                .append("SET createdDate = NOW()")
+                .append(", modifiedDate = NOW()")
+                .append(", title = ?", "비동기 제목")
+                .append(", body = ?", "비동기 내용")
+                .insertAsync()
+                .join();
+
+        assertThat(newId).isEqualTo(7);
+        assertThat(simpleDb.getConnectionPool().getTotalCount()).isLessThanOrEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("query result cache")
+    public void t025() {
+        QueryResultCache cache = simpleDb.getResultCache();
+        cache.invalidateAll();
+        long oldHitCount = cache.getHitCount();
+
+        for (int i = 0; i < 3; i++) {
+            long count = simpleDb.genSql()
+                    .append("SELECT COUNT(*)")
+                    .append("FROM article")
+                    .cached(Duration.ofMinutes(1))
+                    .selectLong();
+
+            assertThat(count).isEqualTo(6);
+        }
+
+        assertThat(cache.getHitCount() - oldHitCount).isEqualTo(2);
+
+        // article 에 쓰면 article 을 읽은 캐시 항목이 지워진다.
+        simpleDb.genSql()
+                .append("DELETE FROM article WHERE id = ?", 1)
+                .delete();
+
+        long count = simpleDb.genSql()
+                .append("SELECT COUNT(*)")
+                .append("FROM article")
+                .cached(Duration.ofMinutes(1))
+                .selectLong();
+
+        assertThat(count).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("sql log rendering")
+    public void t026() {
+        SqlLogger sqlLogger = new SqlLogger(SimpleDbConfig.defaults());
+
+        String rendered = sqlLogger.render(
+                "SELECT * FROM member WHERE username = ? AND password = ? AND memo = '?'",
+                List.of("user1", "1234")
+        );
+
+        assertThat(rendered).isEqualTo("SELECT * FROM member WHERE username = 'user1' AND password = '****' AND memo = '?'");
+    }
+
+    @Test
+    @DisplayName("statement metrics")
+    public void t027() {
+        for (long id = 1; id <= 3; id++) {
+            simpleDb.genSql()
+                    .append("SELECT title FROM article WHERE id = ?", id)
+                    .selectString();
+        }
+
+        String fingerprint = SqlAnalyzer.fingerprint("SELECT title FROM article WHERE id = ?");
+        StatementStats stats = simpleDb.getMetrics().getStatementStats(fingerprint);
+
+        assertThat(stats).isNotNull();
+        assertThat(stats.getCount()).isGreaterThanOrEqualTo(3);
+        assertThat(stats.getRowCount()).isGreaterThanOrEqualTo(3);
+        assertThat(simpleDb.getMetrics().getConnectionAcquire().getCount()).isPositive();
+        assertThat(simpleDb.getSlowestStatements(5)).isNotEmpty();
+
+        assertThat(SqlAnalyzer.fingerprint("SELECT * FROM article WHERE id IN (1, 2, 3) AND title = 'a'"))
+                .isEqualTo("SELECT * FROM article WHERE id IN (?+) AND title = ?");
+    }
+
+    @Test
+    @DisplayName("read replica routing")
+    public void t028() {
+        // 같은 내장 DB 를 복제본으로 한 번 더 등록하고, 연결할 수 없는 복제본을 하나 섞는다.
+        ConnectionPool.ConnectionFactory unreachable = () -> {
+            throw new SQLException("Communications link failure", "08S01");
+        };
+        SimpleDb routedDb = new SimpleDb(database, List.of(database, unreachable), SimpleDbConfig.defaults());
+
+        try {
+            for (int i = 0; i < 4; i++) {
+                long count = routedDb.genSql()
+                        .append("SELECT COUNT(*)")
+                        .append("FROM article")
+                        .selectLong();
+
+                assertThat(count).isEqualTo(6);
+            }
+
+            assertThat(routedDb.getReplicaRouter().getReplicaCount()).isEqualTo(2);
+            assertThat(routedDb.getReplicaRouter().getAvailableCount()).isEqualTo(1);
+
+            long count = routedDb.genSql()
+                    .append("SELECT COUNT(*)")
+                    .append("FROM article")
+                    .usePrimary()
+                    .selectLong();
+
+            assertThat(count).isEqualTo(6);
+        } finally {
+            routedDb.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("bulk insert")
+    public void t029() {
+        List<Article> articles = IntStream.rangeClosed(7, 9)
+                .mapToObj(no -> new Article(0, LocalDateTime.now(), LocalDateTime.now(), "제목%d".formatted(no), "내용%d".formatted(no), false))
+                .toList();
+
+        List<Long> ids = simpleDb.genSql().bulkInsert("article", articles);
+
+        assertThat(ids).containsExactly(7L, 8L, 9L);
+        assertThat(articles.get(2).getId()).isEqualTo(9L);
+
+        long count = simpleDb.genSql()
+                .append("SELECT COUNT(*)")
+                .append("FROM article")
+                .selectLong();
+
+        assertThat(count).isEqualTo(9);
+    }
+
+    @Test
+    @DisplayName("sql template")
+    public void t030() {
+        SqlTemplate template = simpleDb.template("SELECT COUNT(*) FROM article WHERE id IN (?) AND isBlind = ?");
+
+        assertThat(simpleDb.template("SELECT COUNT(*) FROM article WHERE id IN (?) AND isBlind = ?")).isSameAs(template);
+
+        // 3개는 4자리로 늘어나지만 마지막 값이 반복되므로 결과는 같다.
+        long count = template.bind(List.of(1, 2, 3), false).selectLong();
+        assertThat(count).isEqualTo(3);
+
+        count = template.bind(new long[]{1, 2, 4, 5, 6}, true).selectLong();
+        assertThat(count).isEqualTo(3);
+
+        count = template.bind(List.of(), false).selectLong();
+        assertThat(count).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("paginateByKey")
+    public void t031() {
+        List<List<Article>> pages = simpleDb.genSql()
+                .append("SELECT * FROM article")
+                .append("WHERE isBlind = ? OR id > ?", false, 0)
+                .paginateByKey(Article.class, "id", 2)
+                .toList();
+
+        assertThat(pages).hasSize(3);
+        assertThat(pages.get(2).stream().map(Article::getId)).containsExactly(5L, 6L);
+
+        List<List<Article>> compositePages = simpleDb.genSql()
+                .append("SELECT * FROM article")
+                .paginateByKey(Article.class, List.of("isBlind", "id"), 4)
+                .toList();
+
+        assertThat(compositePages).hasSize(2);
+        assertThat(compositePages.get(1).stream().map(Article::getId)).containsExactly(5L, 6L);
+    }
+
+    @Test
+    @DisplayName("primitive selects")
+    public void t032() {
+        long[] ids = simpleDb.genSql()
+                .append("SELECT id FROM article ORDER BY id")
+                .selectLongArray();
+
+        assertThat(ids).containsExactly(1, 2, 3, 4, 5, 6);
+
+        int[] intIds = simpleDb.genSql()
+                .append("SELECT id FROM article WHERE isBlind = ? ORDER BY id", true)
+                .selectIntArray();
+
+        assertThat(intIds).containsExactly(4, 5, 6);
+
+        long sum;
+        try (LongStream stream = simpleDb.genSql()
+                .append("SELECT id FROM article")
+                .selectLongStream()) {
+            sum = stream.sum();
+        }
+
+        assertThat(sum).isEqualTo(21);
+
+        LongLongMap idToDouble = simpleDb.genSql()
+                .append("SELECT id, id * 2 FROM article")
+                .selectLongToLongMap();
+
+        assertThat(idToDouble.size()).isEqualTo(6);
+        assertThat(idToDouble.get(3, -1)).isEqualTo(6);
+        assertThat(idToDouble.get(7, -1)).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("exportTo")
+    public void t033(@TempDir Path tempDir) throws IOException {
+        Path csv = tempDir.resolve("article.csv");
+        long rows = simpleDb.genSql()
+                .append("SELECT id, title, isBlind FROM article")
+                .append("WHERE isBlind = ?", false)
+                .append("ORDER BY id")
+                .exportTo(csv, ExportFormat.CSV);
+
+        assertThat(rows).isEqualTo(3);
+        assertThat(Files.readAllLines(csv)).containsExactly(
+                "id,title,isBlind",
+                "1,제목1,false",
+                "2,제목2,false",
+                "3,제목3,false"
+        );
+
+        Path columnar = tempDir.resolve("article.sdbc");
+        rows = simpleDb.genSql()
+                .append("SELECT * FROM article")
+                .exportTo(columnar, ExportFormat.COLUMNAR);
+
+        assertThat(rows).isEqualTo(6);
+        assertThat(Files.size(columnar)).isGreaterThan(0);
+    }
+
+    @Test
+    @DisplayName("selectRowsParallel")
+    public void t034() {
+        List<Article> articles = simpleDb.genSql()
+                .append("SELECT * FROM article")
+                .selectRowsParallel(Article.class, "id", 4)
+                .toList();
+
+        assertThat(articles.stream().mapToLong(Article::getId).toArray()).containsExactly(1, 2, 3, 4, 5, 6);
+
+        AtomicInteger count = new AtomicInteger();
+        simpleDb.genSql()
+                .append("SELECT * FROM article")
+                .append("WHERE isBlind = ?", true)
+                .selectRowsParallel(Article.class, "id", 2, rows -> count.addAndGet(rows.size()));
+
+        assertThat(count.get()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("inTransaction retry")
+    public void t035() {
+        TransactionStats stats = simpleDb.getTransactionStats();
+        long deadlocksBefore = stats.getRetryCount(TransactionStats.RetryReason.DEADLOCK);
+        AtomicInteger attempts = new AtomicInteger();
+
+        long count = simpleDb.inTransaction(TransactionIsolation.READ_COMMITTED, tx -> {
+            tx.genSql()
+                    .append("UPDATE article SET title = ?", "제목 tx")
+                    .append("WHERE id = ?", 1)
+                    .update();
+            if (attempts.incrementAndGet() == 1) {
+                throw new RuntimeException(new SQLException("Deadlock found when trying to get lock", "40001", 1213));
+            }
+            return tx.genSql()
+                    .append("SELECT COUNT(*) FROM article WHERE title = ?", "제목 tx")
+                    .selectLong();
+        });
+
+        assertThat(attempts.get()).isEqualTo(2);
+        assertThat(count).isEqualTo(1);
+        assertThat(stats.getRetryCount(TransactionStats.RetryReason.DEADLOCK)).isEqualTo(deadlocksBefore + 1);
+
+        assertThatThrownBy(() -> simpleDb.inTransaction(tx -> {
+            tx.genSql().append("DELETE FROM article").delete();
+            throw new RuntimeException("취소");
+        })).hasMessage("취소");
+
+        assertThat(simpleDb.genSql().append("SELECT COUNT(*) FROM article").selectLong()).isEqualTo(6);
+        assertThat(simpleDb.isInTransaction()).isFalse();
+    }
+
+    @Test
+    @DisplayName("streaming bind")
+    public void t036() {
+        String body = "내용 stream ".repeat(10_000);
+
+        int affectedRowsCount = simpleDb.genSql()
+                .append("UPDATE article")
+                .append("SET `body` = ?", new StringReader(body))
+                .append("WHERE id = ?", 1L)
+                .update();
+
+        assertThat(affectedRowsCount).isEqualTo(1);
+
+        String storedBody = simpleDb.genSql()
+                .append("SELECT `body` FROM article WHERE id = ?", 1)
+                .selectString();
+
+        assertThat(storedBody).isEqualTo(body);
+    }
+
+    @Test
+    @DisplayName("embedded engine")
+    public void t037(@TempDir Path tempDir) {
+        EmbeddedDatabase database = EmbeddedDatabase.open(tempDir);
+        SimpleDb embeddedDb = new SimpleDb(database, SimpleDbConfig.builder().minIdle(0).build());
+
+        try {
+            embeddedDb.run("""
+                    CREATE TABLE article (
+                        id INT UNSIGNED NOT NULL AUTO_INCREMENT,
+                        PRIMARY KEY(id),
+                        createdDate DATETIME NOT NULL,
+                        modifiedDate DATETIME NOT NULL,
+                        title VARCHAR(100) NOT NULL,
+                        `body` TEXT NOT NULL,
+                        isBlind BIT(1) NOT NULL DEFAULT 0
+                    )
+                    """);
+            for (int no = 1; no <= 6; no++) {
+                embeddedDb.run("""
+                        INSERT INTO article
+                        SET createdDate = NOW(),
+                        modifiedDate = NOW(),
+                        title = ?,
+                        `body` = ?,
+                        isBlind = ?
+                        """, "제목%d".formatted(no), "내용%d".formatted(no), no > 3);
+            }
+
+            int affectedRowsCount = embeddedDb.genSql()
+                    .append("UPDATE article")
+                    .append("SET title = ?", "제목 new")
+                    .append("WHERE id IN (?, ?, ?, ?)", 0, 1, 2, 3)
+                    .update();
+
+            assertThat(affectedRowsCount).isEqualTo(3);
+
+            List<Long> ids = embeddedDb.genSql()
+                    .append("SELECT id FROM article")
+                    .append("WHERE isBlind = ?", true)
+                    .append("ORDER BY id DESC LIMIT 2")
+                    .selectLongs();
+
+            assertThat(ids).containsExactly(6L, 5L);
+
+            Article article = embeddedDb.genSql()
+                    .append("SELECT * FROM article WHERE id = ?", 4)
+                    .selectRow(Article.class);
+
+            assertThat(article.getTitle()).isEqualTo("제목4");
+            assertThat(article.isBlind()).isTrue();
+
+            embeddedDb.genSql().append("DELETE FROM article WHERE id = ?", 6).delete();
+            assertThat(embeddedDb.genSql().append("SELECT COUNT(*) FROM article").selectLong()).isEqualTo(5);
+
+            embeddedDb.run("TRUNCATE article");
+            assertThat(embeddedDb.genSql().append("SELECT COUNT(*) FROM article").selectLong()).isZero();
+        } finally {
+            embeddedDb.shutdown();
+            database.close();
+        }
+
+        // 같은 디렉터리를 다시 열면 테이블 정의가 남아 있다.
+        try (EmbeddedDatabase reopened = EmbeddedDatabase.open(tempDir)) {
+            SimpleDb reopenedDb = new SimpleDb(reopened, SimpleDbConfig.builder().minIdle(0).build());
+            long newId = reopenedDb.genSql()
+                    .append("INSERT INTO article")
+                    .append("SET createdDate = NOW()")
+                    .append(", modifiedDate = NOW()")
+                    .append(", title = ?", "제목 new")
+                    .append(", `body` = ?", "내용 new")
+                    .insert();
+
+            assertThat(newId).isEqualTo(1);
+            reopenedDb.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("async writer")
+    public void t038() {
+        LocalDateTime now = LocalDateTime.now();
+        AsyncWriter writer = simpleDb.asyncWriter("article", "createdDate", "modifiedDate", "title", "body");
+
+        assertThat(simpleDb.asyncWriter("article", "createdDate", "modifiedDate", "title", "body")).isSameAs(writer);
+
+        for (int no = 1; no <= 100; no++) {
+            writer.write(now, now, "async 제목 " + no, "async 내용 " + no);
+        }
+        writer.flush();
+
+        long count = simpleDb.genSql()
+                .append("SELECT COUNT(*) FROM article")
+                .selectLong();
+
+        AsyncWriterStats stats = writer.getStats();
+
+        assertThat(count).isEqualTo(106);
+        assertThat(writer.getQueueDepth()).isZero();
+        assertThat(stats.getEnqueuedCount()).isEqualTo(100);
+        assertThat(stats.getWrittenCount()).isEqualTo(100);
+        assertThat(stats.getFailedCount()).isZero();
+        assertThat(stats.getFlushCount()).isPositive();
+
+        writer.close();
+
+        assertThat(writer.isClosed()).isTrue();
+        assertThat(simpleDb.asyncWriter("article", "createdDate", "modifiedDate", "title", "body")).isNotSameAs(writer);
+    }
+
+    @Test
+    @DisplayName("entity cache")
+    public void t039() {
+        SimpleDb cachedDb = new SimpleDb(database, SimpleDbConfig.builder().entityCacheMaxEntries(1000).build());
+
+        try {
+            EntityCache entityCache = cachedDb.getEntityCache();
+
+            Article first = cachedDb.genSql().append("SELECT * FROM article WHERE id = ?", 1L).selectRow(Article.class);
+            Article second = cachedDb.genSql().append("SELECT * FROM article WHERE id = ?", 1L).selectRow(Article.class);
+
+            assertThat(second).isNotSameAs(first);
+            assertThat(second.getTitle()).isEqualTo(first.getTitle());
+            assertThat(second.getCreatedDate()).isEqualTo(first.getCreatedDate());
+            assertThat(entityCache.getMissCount()).isEqualTo(1);
+            assertThat(entityCache.getHitCount()).isEqualTo(1);
+
+            cachedDb.genSql().append("UPDATE article SET title = ? WHERE id = ?", "제목 cached", 1L).update();
+
+            Article updated = cachedDb.genSql().append("SELECT * FROM article WHERE id = ?", 1L).selectRow(Article.class);
+
+            assertThat(updated.getTitle()).isEqualTo("제목 cached");
+            assertThat(entityCache.getInvalidationCount()).isEqualTo(1);
+
+            cachedDb.inTransaction(tx -> {
+                Article a = tx.genSql().append("SELECT * FROM article WHERE id = ?", 2L).selectRow(Article.class);
+                Article b = tx.genSql().append("SELECT * FROM article WHERE id = ?", 2L).selectRow(Article.class);
+
+                assertThat(b).isSameAs(a);
+
+                tx.genSql().append("DELETE FROM article WHERE id = ?", 2L).delete();
+
+                assertThat(tx.genSql().append("SELECT * FROM article WHERE id = ?", 2L).selectRow(Article.class)).isNull();
+                return null;
+            });
+        } finally {
+            cachedDb.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("sql template append and NOT IN")
+    public void t040() {
+        List<Long> ids = simpleDb.template("SELECT id FROM article WHERE id IN (?) ORDER BY id")
+                .bind(List.of(1, 2, 3))
+                .append("LIMIT 2")
+                .selectLongs();
+
+        assertThat(ids).containsExactly(1L, 2L);
+
+        long count = simpleDb.template("SELECT COUNT(*) FROM article WHERE id NOT IN (?)")
+                .bind(List.of(1, 2))
+                .selectLong();
+
+        assertThat(count).isEqualTo(4);
+
+        assertThatThrownBy(() -> simpleDb.template("SELECT COUNT(*) FROM article WHERE id NOT IN (?)").bind(List.of()))
+                .hasMessageContaining("NOT IN");
+    }
+
+    @Test
+    @DisplayName("sql log redaction of VALUES and IN lists")
+    public void t041() {
+        SqlLogger sqlLogger = new SqlLogger(SimpleDbConfig.defaults());
+
+        assertThat(sqlLogger.render(
+                "INSERT INTO member (username, `password`) VALUES (?, ?), (?, ?)",
+                List.of("user1", "1234", "user2", "5678")
+        )).isEqualTo("INSERT INTO member (username, `password`) VALUES ('user1', '****'), ('user2', '****')");
+
+        assertThat(sqlLogger.render(
+                "SELECT * FROM member WHERE token IN (?, ?) AND id NOT IN (?)",
+                List.of("t1", "t2", 3)
+        )).isEqualTo("SELECT * FROM member WHERE token IN ('****', '****') AND id NOT IN (3)");
+
+        // 어느 컬럼 값인지 알 수 없으면 가린다.
+        assertThat(sqlLogger.render("INSERT INTO member VALUES (?, ?)", List.of("user1", "1234")))
+                .isEqualTo("INSERT INTO member VALUES ('****', '****')");
+        assertThat(sqlLogger.render("UPDATE member SET password = SHA2(?, 256) WHERE id = ?", List.of("1234", 1)))
+                .isEqualTo("UPDATE member SET password = SHA2('****', 256) WHERE id = 1");
+    }
+
+    @Test
+    @DisplayName("mutable result row")
+    public void t042() {
+        Map<String, Object> row = simpleDb.genSql()
+                .append("SELECT id, title FROM article WHERE id = ?", 1)
+                .selectRow();
+
+        row.put("title", "제목 changed");
+        row.put("commentCount", 3);
+        row.remove("id");
+
+        assertThat(row).containsOnlyKeys("title", "commentCount");
+        assertThat(row.get("title")).isEqualTo("제목 changed");
+        assertThat(row.get("commentCount")).isEqualTo(3);
+        assertThat(row.get("id")).isNull();
+    }
+
+    @Test
+    @DisplayName("query result cache returns copies")
+    public void t043() {
+        Article article = simpleDb.genSql()
+                .append("SELECT * FROM article WHERE id = ?", 1)
+                .cached(Duration.ofMinutes(1))
+                .selectRow(Article.class);
+        article.setTitle("제목 changed");
+
+        List<Map<String, Object>> rows = simpleDb.genSql()
+                .append("SELECT id, title FROM article WHERE id = ?", 1)
+                .cached(Duration.ofMinutes(1))
+                .selectRows();
+        rows.get(0).put("title", "제목 changed");
+
+        Article cachedArticle = simpleDb.genSql()
+                .append("SELECT * FROM article WHERE id = ?", 1)
+                .cached(Duration.ofMinutes(1))
+                .selectRow(Article.class);
+        List<Map<String, Object>> cachedRows = simpleDb.genSql()
+                .append("SELECT id, title FROM article WHERE id = ?", 1)
+                .cached(Duration.ofMinutes(1))
+                .selectRows();
+
+        assertThat(cachedArticle).isNotSameAs(article);
+        assertThat(cachedArticle.getTitle()).isEqualTo("제목1");
+        assertThat(cachedRows.get(0).get("title")).isEqualTo("제목1");
+    }
+
+    @Test
+    @DisplayName("generated row mapper")
+    public void t044() {
+        List<BaseRowMapper<Article>> mappers = new ArrayList<>();
+        List<Article> articles = new ArrayList<>();
+        simpleDb.genSql()
+                .append("SELECT title, id, isBlind FROM article WHERE id IN (1, 4) ORDER BY id")
+                .forEachRow(rs -> {
+                    BaseRowMapper<Article> mapper = RowMappers.forClass(Article.class, rs.getMetaData());
+                    mappers.add(mapper);
+                    articles.add(mapper.mapRow(rs));
+                });
+
+        // 같은 컬럼 배치는 한 번 만든 히든 클래스 매퍼를 다시 쓴다.
+        assertThat(mappers.get(0).getClass().isHidden()).isTrue();
+        assertThat(mappers.get(1)).isSameAs(mappers.get(0));
+        assertThat(articles.get(0).getId()).isEqualTo(1L);
+        assertThat(articles.get(0).getTitle()).isEqualTo("제목1");
+        assertThat(articles.get(0).isBlind()).isFalse();
+        assertThat(articles.get(1).getId()).isEqualTo(4L);
+        assertThat(articles.get(1).isBlind()).isTrue();
+        assertThat(articles.get(1).getBody()).isNull();
+    }
+
+    @Test
+    @DisplayName("query result cache with unknown tables and uncopyable values")
+    public void t045() {
+        QueryResultCache cache = new QueryResultCache(100);
+        AtomicInteger loads = new AtomicInteger();
+
+        // 읽는 테이블을 알 수 없는 조회는 어떤 테이블에 쓰든 지워진다.
+        for (int i = 0; i < 2; i++) {
+            cache.get("SELECT article_count()", List.of(), "long", Duration.ofMinutes(1), recentlyInvalidated -> (long) loads.incrementAndGet());
+        }
+        assertThat(loads.get()).isEqualTo(1);
+
+        cache.invalidate(Set.of("article"));
+        cache.get("SELECT article_count()", List.of(), "long", Duration.ofMinutes(1), recentlyInvalidated -> (long) loads.incrementAndGet());
+
+        assertThat(loads.get()).isEqualTo(2);
+
+        // 복사할 수 없는 JDK 객체는 예외 없이 그대로 돌려주고 담지 않는다.
+        StringBuilder value = new StringBuilder("값");
+        Object loaded = cache.get("SELECT title FROM article", List.of(), "builder", Duration.ofMinutes(1), recentlyInvalidated -> value);
+
+        assertThat(loaded).isSameAs(value);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("entity cache with a lagging replica")
+    public void t046() {
+        // 복제본은 따로 만든 내장 DB 라 주 DB 에 쓴 내용이 전혀 넘어가지 않는다. 복제가 늦는 상황과 같다.
+        EmbeddedDatabase replica = EmbeddedDatabase.inMemory();
+        SimpleDb replicaDb = new SimpleDb(replica, SimpleDbConfig.builder().minIdle(0).build());
+        replicaDb.run("CREATE TABLE article (id BIGINT AUTO_INCREMENT PRIMARY KEY, title VARCHAR(100), isBlind BIT(1) NOT NULL DEFAULT 0)");
+        replicaDb.run("INSERT INTO article SET title = ?", "제목1");
+
+        SimpleDb routedDb = new SimpleDb(database, List.of(replica),
+                SimpleDbConfig.builder().entityCacheMaxEntries(1000).build());
+
+        try {
+            Article before = routedDb.genSql().append("SELECT * FROM article WHERE id = ?", 1L).selectRow(Article.class);
+
+            assertThat(before.getTitle()).isEqualTo("제목1");
+
+            routedDb.genSql().append("UPDATE article SET title = ? WHERE id = ?", "제목 new", 1L).update();
+
+            // 무효화 직후에는 주 DB 에서 읽어 캐시를 채우므로 복제본의 옛 값이 담기지 않는다.
+            for (int i = 0; i < 2; i++) {
+                Article after = routedDb.genSql().append("SELECT * FROM article WHERE id = ?", 1L).selectRow(Article.class);
+
+                assertThat(after.getTitle()).isEqualTo("제목 new");
+            }
+            assertThat(routedDb.getEntityCache().getHitCount()).isEqualTo(1);
+        } finally {
+            routedDb.shutdown();
+            replicaDb.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("generated row mappers map every supported type and keep primitive initializers on NULL")
+    public void t047() {
+        simpleDb.run("DROP TABLE IF EXISTS mapped_value");
+        simpleDb.run("""
+                CREATE TABLE mapped_value (
+                    id BIGINT NOT NULL,
+                    score INT NULL,
+                    `rank` SMALLINT NULL,
+                    level TINYINT NULL,
+                    ratio DOUBLE NULL,
+                    weight FLOAT NULL,
+                    active BIT(1) NULL,
+                    name VARCHAR(100) NULL,
+                    total BIGINT NULL,
+                    count INT NULL,
+                    verified BIT(1) NULL,
+                    createdAt DATETIME NULL,
+                    birthday DATE NULL,
+                    note VARCHAR(100) NULL
+                )
+                """);
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 6, 7, 8, 9);
+        LocalDate birthday = LocalDate.of(2000, 1, 2);
+        simpleDb.run("""
+                INSERT INTO mapped_value
+                SET id = 1, score = 10, `rank` = 20, level = 30, ratio = 2.5, weight = 0.25, active = 0,
+                name = ?, total = 40, count = 50, verified = 1, createdAt = ?, birthday = ?, note = ?
+                """, "이름", createdAt, birthday, "메모");
+        simpleDb.run("INSERT INTO mapped_value SET id = 2");
+
+        // 모든 컬럼에 setter 가 있으면 히든 클래스 매퍼, setter 없는 note 가 끼면 setter 람다 매퍼를 쓴다.
+        for (String columns : List.of(
+                "id, score, `rank`, level, ratio, weight, active, name, total, count, verified, createdAt, birthday",
+                "id, score, `rank`, level, ratio, weight, active, name, total, count, verified, createdAt, birthday, note")) {
+            List<BaseRowMapper<MappedValue>> mappers = new ArrayList<>();
+            List<MappedValue> values = new ArrayList<>();
+            simpleDb.genSql()
+                    .append("SELECT " + columns + " FROM mapped_value ORDER BY id")
+                    .forEachRow(rs -> {
+                        BaseRowMapper<MappedValue> mapper = RowMappers.forClass(MappedValue.class, rs.getMetaData());
+                        mappers.add(mapper);
+                        values.add(mapper.mapRow(rs));
+                    });
+
+            assertThat(mappers.get(0).getClass().isHidden()).isEqualTo(!columns.endsWith("note"));
+
+            MappedValue full = values.get(0);
+            assertThat(full.getId()).isEqualTo(1L);
+            assertThat(full.getScore()).isEqualTo(10);
+            assertThat(full.getRank()).isEqualTo((short) 20);
+            assertThat(full.getLevel()).isEqualTo((byte) 30);
+            assertThat(full.getRatio()).isEqualTo(2.5);
+            assertThat(full.getWeight()).isEqualTo(0.25f);
+            assertThat(full.isActive()).isFalse();
+            assertThat(full.getName()).isEqualTo("이름");
+            assertThat(full.getTotal()).isEqualTo(40L);
+            assertThat(full.getCount()).isEqualTo(50);
+            assertThat(full.getVerified()).isTrue();
+            assertThat(full.getCreatedAt()).isEqualTo(createdAt);
+            assertThat(full.getBirthday()).isEqualTo(birthday);
+
+            // NULL 컬럼은 원시 타입 필드의 초기값을 덮지 않고, 참조 타입 필드는 null 이 된다.
+            MappedValue empty = values.get(1);
+            assertThat(empty.getId()).isEqualTo(2L);
+            assertThat(empty.getScore()).isEqualTo(7);
+            assertThat(empty.getRank()).isEqualTo((short) 3);
+            assertThat(empty.getLevel()).isEqualTo((byte) 2);
+            assertThat(empty.getRatio()).isEqualTo(1.5);
+            assertThat(empty.getWeight()).isEqualTo(0.5f);
+            assertThat(empty.isActive()).isTrue();
+            assertThat(empty.getName()).isNull();
+            assertThat(empty.getTotal()).isNull();
+            assertThat(empty.getCount()).isNull();
+            assertThat(empty.getVerified()).isNull();
+            assertThat(empty.getCreatedAt()).isNull();
+            assertThat(empty.getBirthday()).isNull();
+        }
+
+        simpleDb.run("DROP TABLE mapped_value");
+    }
+
+    // 생성 매퍼가 지원하는 모든 필드 타입. 원시 타입 필드는 0 이 아닌 초기값을 가진다.
+    public static class MappedValue {
+        private long id;
+        private int score = 7;
+        private short rank = 3;
+        private byte level = 2;
+        private double ratio = 1.5;
+        private float weight = 0.5f;
+        private boolean active = true;
+        private String name;
+        private Long total;
+        private Integer count;
+        private Boolean verified;
+        private LocalDateTime createdAt;
+        private LocalDate birthday;
+        // setter 가 없어 이 컬럼이 있으면 히든 클래스 매퍼를 만들지 않는다.
+        private String note;
+
+        public long getId() { return id; }
+        public void setId(long id) { this.id = id; }
+        public int getScore() { return score; }
+        public void setScore(int score) { this.score = score; }
+        public short getRank() { return rank; }
+        public void setRank(short rank) { this.rank = rank; }
+        public byte getLevel() { return level; }
+        public void setLevel(byte level) { this.level = level; }
+        public double getRatio() { return ratio; }
+        public void setRatio(double ratio) { this.ratio = ratio; }
+        public float getWeight() { return weight; }
+        public void setWeight(float weight) { this.weight = weight; }
+        public boolean isActive() { return active; }
+        public void setActive(boolean active) { this.active = active; }
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+        public Long getTotal() { return total; }
+        public void setTotal(Long total) { this.total = total; }
+        public Integer getCount() { return count; }
+        public void setCount(Integer count) { this.count = count; }
+        public Boolean getVerified() { return verified; }
+        public void setVerified(Boolean verified) { this.verified = verified; }
+        public LocalDateTime getCreatedAt() { return createdAt; }
+        public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+        public LocalDate getBirthday() { return birthday; }
+        public void setBirthday(LocalDate birthday) { this.birthday = birthday; }
+        public String getNote() { return note; }
+    }
+
+    @Test
+    @DisplayName("connection pool replaces connections past max lifetime and evicts idle ones")
+    public void t048() throws Exception {
+        // 하우스키핑은 돌지 않게 두고 대여/반납 시점의 수명 검사만 본다.
+        CountingConnectionFactory factory = new CountingConnectionFactory();
+        ConnectionPool pool = new ConnectionPool(factory, SimpleDbConfig.builder()
+                .minIdle(0)
+                .maxLifetime(Duration.ofMillis(100))
+                .housekeepingPeriod(Duration.ofHours(1))
+                .build());
+
+        try {
+            PooledConnection first = pool.borrow();
+            pool.release(first);
+            Thread.sleep(150);
+
+            // 수명이 지난 유휴 커넥션은 닫고 새로 연다.
+            PooledConnection second = pool.borrow();
+            assertThat(second).isNotSameAs(first);
+            assertThat(first.getConnection().isClosed()).isTrue();
+            assertThat(factory.opens.get()).isEqualTo(2);
+            assertThat(factory.closes.get()).isEqualTo(1);
+
+            // 빌려 간 사이에 수명이 지나면 반납할 때 닫는다.
+            Thread.sleep(150);
+            pool.release(second);
+            assertThat(second.getConnection().isClosed()).isTrue();
+            assertThat(pool.getIdleCount()).isZero();
+            assertThat(pool.getTotalCount()).isZero();
+            assertThat(factory.closes.get()).isEqualTo(2);
+        } finally {
+            pool.close();
+        }
+
+        // 하우스키퍼는 idleTimeout 을 넘긴 유휴 커넥션을 minIdle 까지 정리한다.
+        CountingConnectionFactory idleFactory = new CountingConnectionFactory();
+        ConnectionPool idlePool = new ConnectionPool(idleFactory, SimpleDbConfig.builder()
+                .minIdle(1)
+                .idleTimeout(Duration.ofMillis(100))
+                .housekeepingPeriod(Duration.ofMillis(50))
+                .build());
+
+        try {
+            PooledConnection a = idlePool.borrow();
+            PooledConnection b = idlePool.borrow();
+            PooledConnection c = idlePool.borrow();
+            idlePool.release(a);
+            idlePool.release(b);
+            idlePool.release(c);
+            assertThat(idlePool.getIdleCount()).isEqualTo(3);
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (idlePool.getTotalCount() > 1 && System.nanoTime() < deadline) {
+                Thread.sleep(20);
+            }
+
+            assertThat(idlePool.getTotalCount()).isEqualTo(1);
+            assertThat(idlePool.getIdleCount()).isEqualTo(1);
+            assertThat(idleFactory.opens.get()).isEqualTo(3);
+            assertThat(idleFactory.closes.get()).isEqualTo(2);
+        } finally {
+            idlePool.close();
+        }
+    }
+
+    @Test
+    @DisplayName("connection pool validates on borrow and resets state on return")
+    public void t049() throws Exception {
+        CountingConnectionFactory factory = new CountingConnectionFactory();
+        ConnectionPool pool = new ConnectionPool(factory, SimpleDbConfig.builder()
+                .minIdle(0)
+                .housekeepingPeriod(Duration.ofHours(1))
+                .build());
+
+        try {
+            // 방금 반납된 커넥션은 isValid 왕복 없이 다시 빌려준다.
+            PooledConnection first = pool.borrow();
+            pool.release(first);
+            factory.breakConnection(first.getConnection());
+            PooledConnection reused = pool.borrow();
+            assertThat(reused).isSameAs(first);
+            assertThat(factory.validations.get()).isZero();
+            pool.release(reused);
+
+            // 한동안 쉬었던 커넥션은 검사하고, 깨졌으면 닫은 뒤 새 커넥션을 빌려준다.
+            Thread.sleep(600);
+            PooledConnection replaced = pool.borrow();
+            assertThat(replaced).isNotSameAs(first);
+            assertThat(factory.validations.get()).isEqualTo(1);
+            assertThat(first.getConnection().isClosed()).isTrue();
+            assertThat(factory.opens.get()).isEqualTo(2);
+            assertThat(pool.getTotalCount()).isEqualTo(1);
+
+            // 사용 중 끊긴 커넥션은 반납할 때 버린다.
+            replaced.getConnection().close();
+            pool.release(replaced);
+            assertThat(pool.getIdleCount()).isZero();
+            assertThat(pool.getTotalCount()).isZero();
+
+            // 커밋하지 않은 트랜잭션은 반납할 때 롤백하고 autoCommit 을 되돌린다.
+            PooledConnection tx = pool.borrow();
+            tx.getConnection().setAutoCommit(false);
+            tx.getConnection().prepareStatement("""
+                    INSERT INTO article
+                    SET createdDate = NOW(), modifiedDate = NOW(), title = '제목 tx', `body` = '내용 tx'
+                    """).executeUpdate();
+            pool.release(tx);
+
+            PooledConnection next = pool.borrow();
+            assertThat(next).isSameAs(tx);
+            assertThat(next.getConnection().getAutoCommit()).isTrue();
+            pool.release(next);
+            assertThat(simpleDb.genSql().append("SELECT COUNT(*) FROM article").selectLong()).isEqualTo(6);
+        } finally {
+            pool.close();
+        }
+    }
+
+    // 내장 DB 커넥션을 감싸 열기/닫기/isValid 횟수를 세고, 깨진 커넥션을 흉내 낸다.
+    private static class CountingConnectionFactory implements ConnectionPool.ConnectionFactory {
+        private final AtomicInteger opens = new AtomicInteger();
+        private final AtomicInteger closes = new AtomicInteger();
+        private final AtomicInteger validations = new AtomicInteger();
+        private final Set<Connection> broken = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public Connection create() throws SQLException {
+            Connection target = database.create();
+            opens.incrementAndGet();
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "isValid" -> {
+                                validations.incrementAndGet();
+                                if (broken.contains(proxy)) return false;
+                            }
+                            case "close" -> {
+                                if (!target.isClosed()) closes.incrementAndGet();
+                            }
+                        }
+                        try {
+                            return method.invoke(target, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+
+        void breakConnection(Connection connection) {
+            broken.add(connection);
+        }
+    }
 }
\ No newline at end of file